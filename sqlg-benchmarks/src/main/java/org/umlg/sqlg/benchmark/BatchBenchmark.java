@@ -0,0 +1,57 @@
+package org.umlg.sqlg.benchmark;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.openjdk.jmh.annotations.*;
+import org.umlg.sqlg.structure.SqlgGraph;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds vertices and edges in normal batch mode and flushes them on commit via the {@code BatchManager}.
+ * Every invocation commits {@code vertices} vertices to each of two labels and the edges between them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BatchBenchmark {
+
+    @Param({BenchmarkGraph.H2, BenchmarkGraph.HSQLDB})
+    public String db;
+
+    @Param({"10000"})
+    public int vertices;
+
+    private SqlgGraph sqlgGraph;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.sqlgGraph = BenchmarkGraph.open(this.db, Collections.emptyMap());
+        //create the labels outside of the measurement
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a", "index", 0);
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b", "index", 0);
+        a.addEdge("ab", b, "weight", 0D);
+        this.sqlgGraph.tx().commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.sqlgGraph.tx().rollback();
+        this.sqlgGraph.close();
+    }
+
+    @Benchmark
+    public void addAndFlush() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        for (int i = 0; i < this.vertices; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i, "index", i);
+            Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b" + i, "index", i);
+            a.addEdge("ab", b, "weight", (double) i);
+        }
+        this.sqlgGraph.tx().commit();
+    }
+}
@@ -0,0 +1,72 @@
+package org.umlg.sqlg.benchmark;
+
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Opens the empty {@link SqlgGraph} a benchmark runs against.
+ * <p>
+ * h2 and hsqldb run in memory. postgres runs against a local database that is dropped first, its url, username and
+ * password can be overridden with the {@code sqlg.benchmark.postgres.*} system properties.
+ */
+public final class BenchmarkGraph {
+
+    public static final String H2 = "h2";
+    public static final String HSQLDB = "hsqldb";
+    public static final String POSTGRES = "postgres";
+
+    private static final String POSTGRES_URL = "sqlg.benchmark.postgres.url";
+    private static final String POSTGRES_USERNAME = "sqlg.benchmark.postgres.username";
+    private static final String POSTGRES_PASSWORD = "sqlg.benchmark.postgres.password";
+
+    private BenchmarkGraph() {
+    }
+
+    /**
+     * @param db         One of {@link #H2}, {@link #HSQLDB} or {@link #POSTGRES}.
+     * @param properties Additional sqlg configuration, i.e. to disable a cache.
+     * @return an open graph without any data.
+     */
+    public static SqlgGraph open(String db, Map<String, Object> properties) {
+        Configuration configuration = configuration(db);
+        properties.forEach(configuration::setProperty);
+        SqlgGraph sqlgGraph = SqlgGraph.open(configuration);
+        if (db.equals(POSTGRES)) {
+            SqlgUtil.dropDb(sqlgGraph);
+            sqlgGraph.tx().commit();
+            sqlgGraph.close();
+            sqlgGraph = SqlgGraph.open(configuration);
+        }
+        return sqlgGraph;
+    }
+
+    private static Configuration configuration(String db) {
+        Configuration configuration = new BaseConfiguration();
+        String name = "sqlgbenchmark" + UUID.randomUUID().toString().replace("-", "");
+        switch (db) {
+            case H2:
+                configuration.setProperty(SqlgGraph.JDBC_URL, "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+                configuration.setProperty("jdbc.username", "SA");
+                configuration.setProperty("jdbc.password", "");
+                break;
+            case HSQLDB:
+                configuration.setProperty(SqlgGraph.JDBC_URL, "jdbc:hsqldb:mem:" + name);
+                configuration.setProperty("jdbc.username", "SA");
+                configuration.setProperty("jdbc.password", "");
+                break;
+            case POSTGRES:
+                configuration.setProperty(SqlgGraph.JDBC_URL, System.getProperty(POSTGRES_URL, "jdbc:postgresql://localhost:5432/sqlgraphdb"));
+                configuration.setProperty("jdbc.username", System.getProperty(POSTGRES_USERNAME, "postgres"));
+                configuration.setProperty("jdbc.password", System.getProperty(POSTGRES_PASSWORD, "postgres"));
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown benchmark database '%s', expected one of %s, %s or %s", db, H2, HSQLDB, POSTGRES));
+        }
+        return configuration;
+    }
+}
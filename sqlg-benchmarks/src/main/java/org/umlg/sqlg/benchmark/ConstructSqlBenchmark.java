@@ -0,0 +1,77 @@
+package org.umlg.sqlg.benchmark;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.openjdk.jmh.annotations.*;
+import org.umlg.sqlg.sql.parse.QueryPlanCache;
+import org.umlg.sqlg.sql.parse.ReplacedStep;
+import org.umlg.sqlg.sql.parse.ReplacedStepTree;
+import org.umlg.sqlg.sql.parse.SchemaTableTree;
+import org.umlg.sqlg.step.SqlgGraphStep;
+import org.umlg.sqlg.structure.SqlgGraph;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a compiled traversal into its {@link SchemaTableTree}s and generates their sql with
+ * {@link SchemaTableTree#constructSql(LinkedList)}. The query plan cache is disabled.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstructSqlBenchmark {
+
+    @Param({BenchmarkGraph.H2, BenchmarkGraph.HSQLDB})
+    public String db;
+
+    private SqlgGraph sqlgGraph;
+    private List<ReplacedStep<?, ?>> replacedSteps;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.sqlgGraph = BenchmarkGraph.open(this.db, Collections.singletonMap(QueryPlanCache.QUERY_PLAN_CACHE_SIZE, 0));
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        Vertex c = this.sqlgGraph.addVertex(T.label, "C", "name", "c");
+        a.addEdge("ab", b, "weight", 1);
+        b.addEdge("bc", c, "weight", 2);
+        this.sqlgGraph.tx().commit();
+        Traversal.Admin<Vertex, Vertex> traversal = this.sqlgGraph.traversal().V()
+                .hasLabel("A").has("name", "a")
+                .out("ab").has("name", "b")
+                .out("bc")
+                .asAdmin();
+        traversal.applyStrategies();
+        this.replacedSteps = ((SqlgGraphStep<?, ?>) traversal.getStartStep()).getReplacedSteps();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.sqlgGraph.tx().rollback();
+        this.sqlgGraph.close();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Benchmark
+    public int constructSql() {
+        ReplacedStepTree replacedStepTree = new ReplacedStepTree(this.replacedSteps.get(0));
+        for (ReplacedStep<?, ?> replacedStep : this.replacedSteps.subList(1, this.replacedSteps.size())) {
+            replacedStepTree.addReplacedStep(replacedStep);
+        }
+        int length = 0;
+        for (SchemaTableTree rootSchemaTableTree : this.sqlgGraph.getGremlinParser().parse(replacedStepTree)) {
+            for (LinkedList<SchemaTableTree> distinctQueryStack : rootSchemaTableTree.constructDistinctQueries()) {
+                length += rootSchemaTableTree.constructSql(distinctQueryStack).length();
+                rootSchemaTableTree.resetColumnAliasMaps();
+            }
+        }
+        return length;
+    }
+}
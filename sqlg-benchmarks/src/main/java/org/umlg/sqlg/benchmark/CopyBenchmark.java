@@ -0,0 +1,67 @@
+package org.umlg.sqlg.benchmark;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.openjdk.jmh.annotations.*;
+import org.umlg.sqlg.sql.dialect.PostgresDialect;
+import org.umlg.sqlg.structure.SqlgGraph;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flushes the normal batch mode's vertices with postgres' text and binary {@code COPY} format, see
+ * {@link PostgresDialect#COPY_BINARY}. Only the commit is measured, the vertices are added before every invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CopyBenchmark {
+
+    @Param({BenchmarkGraph.POSTGRES})
+    public String db;
+
+    @Param({"false", "true"})
+    public boolean binary;
+
+    @Param({"100000"})
+    public int vertices;
+
+    private SqlgGraph sqlgGraph;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.sqlgGraph = BenchmarkGraph.open(this.db, Collections.singletonMap(PostgresDialect.COPY_BINARY, this.binary));
+        //create the label outside of the measurement
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a", "index", 0, "value", 0D, "created", LocalDateTime.now(), "tags", new String[]{"a"});
+        this.sqlgGraph.tx().commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.sqlgGraph.tx().rollback();
+        this.sqlgGraph.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void addVertices() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        LocalDateTime created = LocalDateTime.of(2020, 1, 1, 0, 0);
+        for (int i = 0; i < this.vertices; i++) {
+            this.sqlgGraph.addVertex(T.label, "A",
+                    "name", "name" + i,
+                    "index", i,
+                    "value", (double) i,
+                    "created", created.plusSeconds(i),
+                    "tags", new String[]{"a", "b"});
+        }
+    }
+
+    @Benchmark
+    public void flush() {
+        this.sqlgGraph.tx().commit();
+    }
+}
@@ -0,0 +1,78 @@
+package org.umlg.sqlg.benchmark;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.openjdk.jmh.annotations.*;
+import org.umlg.sqlg.structure.RecordId;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.SqlgVertex;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads vertices from the database. {@link #loadVertex()} loads a single vertex by its id via {@code SqlgVertex.load},
+ * {@link #loadLabel()} reads a whole label through the query's {@code RowDecoder}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadBenchmark {
+
+    @Param({BenchmarkGraph.H2, BenchmarkGraph.HSQLDB})
+    public String db;
+
+    @Param({"10000"})
+    public int vertices;
+
+    private SqlgGraph sqlgGraph;
+    private String schema;
+    private long[] ids;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.sqlgGraph = BenchmarkGraph.open(this.db, Collections.emptyMap());
+        this.schema = this.sqlgGraph.getSqlDialect().getPublicSchema();
+        this.ids = new long[this.vertices];
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < this.vertices; i++) {
+            Vertex vertex = this.sqlgGraph.addVertex(T.label, "Person",
+                    "name", "person" + i,
+                    "surname", "surname" + i,
+                    "age", i,
+                    "score", (double) i,
+                    "created", now);
+            this.ids[i] = ((RecordId) vertex.id()).sequenceId();
+        }
+        this.sqlgGraph.tx().commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.sqlgGraph.tx().rollback();
+        this.sqlgGraph.close();
+    }
+
+    @TearDown(Level.Iteration)
+    public void rollback() {
+        this.sqlgGraph.tx().rollback();
+    }
+
+    @Benchmark
+    public Object loadVertex() {
+        long id = this.ids[this.next++ % this.ids.length];
+        return SqlgVertex.of(this.sqlgGraph, id, this.schema, "Person").value("name");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Vertex> loadLabel() {
+        return this.sqlgGraph.traversal().V().hasLabel("Person").toList();
+    }
+}
@@ -0,0 +1,33 @@
+package org.umlg.sqlg.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.umlg.sqlg.structure.SqlgGraph;
+
+/**
+ * Runs the benchmarks and writes their results as json, by default to {@code sqlg-benchmarks-<version>.json}, so that
+ * the results of different Sqlg releases can be compared.
+ * <p>
+ * Accepts the usual jmh command line options, i.e. {@code java -jar sqlg-benchmarks.jar Topology -p db=postgres}
+ * runs the topology benchmarks against a local postgres.
+ */
+public class SqlgBenchmarks {
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLineOptions.getResult().hasValue()) {
+            String version = SqlgGraph.class.getPackage().getImplementationVersion();
+            options.result(version != null ? "sqlg-benchmarks-" + version + ".json" : "sqlg-benchmarks.json");
+        }
+        new Runner(options.build()).run();
+    }
+}
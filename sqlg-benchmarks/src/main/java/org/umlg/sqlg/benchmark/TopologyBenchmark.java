@@ -0,0 +1,77 @@
+package org.umlg.sqlg.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.SchemaTable;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.topology.Schema;
+import org.umlg.sqlg.structure.topology.VertexLabel;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.umlg.sqlg.structure.topology.Topology.VERTEX_PREFIX;
+
+/**
+ * Single label lookups on the {@link org.umlg.sqlg.structure.topology.Topology}, with and without uncommitted schema
+ * changes on the benchmark thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TopologyBenchmark {
+
+    @Param({BenchmarkGraph.H2, BenchmarkGraph.HSQLDB})
+    public String db;
+
+    @Param({"100", "1000"})
+    public int labels;
+
+    @Param({"false", "true"})
+    public boolean uncommittedSchemaChange;
+
+    private SqlgGraph sqlgGraph;
+    private SchemaTable schemaTable;
+    private String label;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.sqlgGraph = BenchmarkGraph.open(this.db, Collections.emptyMap());
+        Schema publicSchema = this.sqlgGraph.getTopology().getPublicSchema();
+        Map<String, PropertyType> properties = new HashMap<>();
+        properties.put("name", PropertyType.STRING);
+        properties.put("index", PropertyType.INTEGER);
+        for (int i = 0; i < this.labels; i++) {
+            publicSchema.ensureVertexLabelExist("Label" + i, properties);
+        }
+        this.sqlgGraph.tx().commit();
+        this.label = "Label" + (this.labels / 2);
+        this.schemaTable = SchemaTable.of(publicSchema.getName(), VERTEX_PREFIX + this.label);
+        if (this.uncommittedSchemaChange) {
+            //Setup runs on the benchmark thread, the change stays uncommitted until the tear down
+            publicSchema.ensureVertexLabelExist("Uncommitted", properties);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.sqlgGraph.tx().rollback();
+        this.sqlgGraph.close();
+    }
+
+    @Benchmark
+    public Map<String, PropertyType> getTableFor() {
+        return this.sqlgGraph.getTopology().getTableFor(this.schemaTable);
+    }
+
+    @Benchmark
+    public Optional<VertexLabel> getVertexLabel() {
+        return this.sqlgGraph.getTopology().getPublicSchema().getVertexLabel(this.label);
+    }
+}
@@ -0,0 +1,65 @@
+package org.umlg.sqlg.benchmark;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.openjdk.jmh.annotations.*;
+import org.umlg.sqlg.structure.SqlgGraph;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Traverses out of many starts, each with {@code fanOut} edges, through {@code SqlgVertexStep}.
+ * The {@code local} step stops the out steps from being folded into the {@code SqlgGraphStep}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VertexStepBenchmark {
+
+    @Param({BenchmarkGraph.H2, BenchmarkGraph.HSQLDB})
+    public String db;
+
+    @Param({"1000"})
+    public int starts;
+
+    @Param({"10"})
+    public int fanOut;
+
+    private SqlgGraph sqlgGraph;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.sqlgGraph = BenchmarkGraph.open(this.db, Collections.emptyMap());
+        this.sqlgGraph.tx().normalBatchModeOn();
+        for (int i = 0; i < this.starts; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+            for (int j = 0; j < this.fanOut; j++) {
+                Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b" + j);
+                a.addEdge("ab", b);
+            }
+        }
+        this.sqlgGraph.tx().commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.sqlgGraph.tx().rollback();
+        this.sqlgGraph.close();
+    }
+
+    @TearDown(Level.Iteration)
+    public void rollback() {
+        this.sqlgGraph.tx().rollback();
+    }
+
+    @Benchmark
+    public List<Vertex> out() {
+        return this.sqlgGraph.traversal().V().hasLabel("A").local(__.out("ab")).toList();
+    }
+}
@@ -17,6 +17,7 @@ import org.umlg.sqlg.util.SqlgUtil;
 import java.io.IOException;
 import java.sql.*;
 import java.util.*;
+import java.util.function.BiConsumer;
 
 import static org.umlg.sqlg.structure.PropertyType.JSON_ORDINAL;
 import static org.umlg.sqlg.structure.topology.Topology.*;
@@ -27,6 +28,12 @@ import static org.umlg.sqlg.structure.topology.Topology.*;
  */
 public abstract class BaseSqlDialect implements SqlDialect, SqlBulkDialect, SqlSchemaChangeDialect {
 
+    /**
+     * Batch mode inserts many vertices or edges per {@code INSERT ... VALUES (...), (...)} statement, default true.
+     * Dialects that flush with their own bulk mechanism, i.e. postgres' copy command, ignore it.
+     */
+    public static final String MULTI_ROW_INSERT = "sqlg.batch.multiRowInsert";
+
     final Logger logger = LoggerFactory.getLogger(getClass().getName());
 
     protected BaseSqlDialect() {
@@ -114,133 +121,48 @@ public abstract class BaseSqlDialect implements SqlDialect, SqlBulkDialect, SqlS
             SortedSet<String> columns = vertices.getLeft();
             Map<SqlgVertex, Map<String, Object>> rows = vertices.getRight();
 
-            StringBuilder sql = new StringBuilder();
-            sql.append("INSERT INTO ");
-            if (!schemaTable.isTemporary() || sqlgGraph.getSqlDialect().needsTemporaryTableSchema()) {
-                sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(schemaTable.getSchema()));
-                sql.append(".");
-            }
-            if (!schemaTable.isTemporary() || !sqlgGraph.getSqlDialect().needsTemporaryTablePrefix()) {
-                sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(VERTEX_PREFIX + schemaTable.getTable()));
-            } else {
-                sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(
-                        sqlgGraph.getSqlDialect().temporaryTablePrefix() +
-                                VERTEX_PREFIX + schemaTable.getTable()));
-            }
-
             VertexLabel vertexLabel = null;
-            Map<String, PropertyColumn> propertyColumns = null;
-            Map<String, PropertyType> properties = null;
             if (!schemaTable.isTemporary()) {
                 vertexLabel = sqlgGraph.getTopology()
                         .getSchema(schemaTable.getSchema()).orElseThrow(() -> new IllegalStateException(String.format("Schema %s not found", schemaTable.getSchema())))
                         .getVertexLabel(schemaTable.getTable()).orElseThrow(() -> new IllegalStateException(String.format("VertexLabel %s not found", schemaTable.getTable())));
-                propertyColumns = vertexLabel.getProperties();
-            } else {
-                properties = sqlgGraph.getTopology().getPublicSchema().getTemporaryTable(VERTEX_PREFIX + schemaTable.getTable());
             }
-            if (!columns.isEmpty()) {
-                Map<String, PropertyType> propertyTypeMap = new HashMap<>();
-                for (String column : columns) {
-                    if (!schemaTable.isTemporary()) {
-                        PropertyColumn propertyColumn = propertyColumns.get(column);
-                        propertyTypeMap.put(column, propertyColumn.getPropertyType());
-                    } else {
-                        propertyTypeMap.put(column, properties.get(column));
-                    }
-                }
-                sql.append(" (");
-                int i = 1;
-                //noinspection Duplicates
-                for (String column : columns) {
-                    PropertyType propertyType = propertyTypeMap.get(column);
-                    String[] sqlDefinitions = sqlgGraph.getSqlDialect().propertyTypeToSqlDefinition(propertyType);
-                    int count = 1;
-                    for (@SuppressWarnings("unused") String sqlDefinition : sqlDefinitions) {
-                        if (count > 1) {
-                            sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(column + propertyType.getPostFixes()[count - 2]));
-                        } else {
-                            sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(column));
-                        }
-                        if (count++ < sqlDefinitions.length) {
-                            sql.append(",");
-                        }
-                    }
-                    if (i++ < columns.size()) {
-                        sql.append(", ");
+            PropertyType[] columnPropertyTypes = vertexColumnPropertyTypes(sqlgGraph, schemaTable, vertexLabel, columns);
+            String insert = vertexInsert(sqlgGraph, schemaTable, columns, columnPropertyTypes);
+            int parametersPerRow = parameterCount(sqlgGraph, columnPropertyTypes);
+            String row = columns.isEmpty() ? null : valuesRow(parametersPerRow);
+            List<SqlgVertex> sqlgVertices = new ArrayList<>(rows.size());
+            List<Map<String, Object>> parameterValueMaps = new ArrayList<>(rows.size());
+            for (Map.Entry<SqlgVertex, Map<String, Object>> rowEntry : rows.entrySet()) {
+                SqlgVertex sqlgVertex = rowEntry.getKey();
+                Map<String, Object> parameterValueMap = rowEntry.getValue();
+                sqlgVertices.add(sqlgVertex);
+                parameterValueMaps.add(parameterValueMap);
+                if (vertexLabel != null && !vertexLabel.hasIDPrimaryKey()) {
+                    List<Comparable> identifiers = new ArrayList<>();
+                    for (String identifier : vertexLabel.getIdentifiers()) {
+                        identifiers.add((Comparable) parameterValueMap.get(identifier));
                     }
+                    sqlgVertex.setInternalPrimaryKey(RecordId.from(SchemaTable.of(schemaTable.getSchema(), schemaTable.getTable()), identifiers));
                 }
-                sql.append(") VALUES ( ");
-
-                i = 1;
-                //noinspection Duplicates
-                for (String column : columns) {
-                    PropertyType propertyType = propertyTypeMap.get(column);
-                    String[] sqlDefinitions = sqlgGraph.getSqlDialect().propertyTypeToSqlDefinition(propertyType);
-                    int count = 1;
-                    //noinspection Duplicates
-                    for (@SuppressWarnings("unused") String sqlDefinition : sqlDefinitions) {
-                        if (count > 1) {
-                            sql.append("?");
-                        } else {
-                            sql.append("?");
-                        }
-                        if (count++ < sqlDefinitions.length) {
-                            sql.append(",");
-                        }
-                    }
-                    if (i++ < columns.size()) {
-                        sql.append(", ");
-                    }
-                }
-                sql.append(")");
-            } else {
-                sql.append(sqlgGraph.getSqlDialect().sqlInsertEmptyValues());
-            }
-            if (sqlgGraph.getSqlDialect().needsSemicolon()) {
-                sql.append(";");
-            }
-            if (logger.isDebugEnabled()) {
-                logger.debug(sql.toString());
             }
-            Connection conn = sqlgGraph.tx().getConnection();
-            try (PreparedStatement preparedStatement = (vertexLabel != null && !vertexLabel.hasIDPrimaryKey() ? conn.prepareStatement(sql.toString()) : conn.prepareStatement(sql.toString(), Statement.RETURN_GENERATED_KEYS))) {
-                List<SqlgVertex> sqlgVertices = new ArrayList<>();
-                for (Map.Entry<SqlgVertex, Map<String, Object>> rowEntry : rows.entrySet()) {
-                    int i = 1;
-                    SqlgVertex sqlgVertex = rowEntry.getKey();
-                    sqlgVertices.add(sqlgVertex);
-                    if (!columns.isEmpty()) {
-                        Map<String, Object> parameterValueMap = rowEntry.getValue();
-                        List<Pair<PropertyType, Object>> typeAndValues = new ArrayList<>();
-                        for (String column : columns) {
-                            if (!schemaTable.isTemporary()) {
-                                PropertyColumn propertyColumn = propertyColumns.get(column);
-                                typeAndValues.add(Pair.of(propertyColumn.getPropertyType(), parameterValueMap.get(column)));
-                            } else {
-                                typeAndValues.add(Pair.of(properties.get(column), parameterValueMap.get(column)));
-                            }
-                        }
-                        if (vertexLabel != null && !vertexLabel.hasIDPrimaryKey()) {
-                            List<Comparable> identifiers = new ArrayList<>();
-                            for (String identifier : vertexLabel.getIdentifiers()) {
-                                identifiers.add((Comparable) parameterValueMap.get(identifier));
+            String[] columnNames = columns.toArray(new String[0]);
+            try {
+                insertRows(
+                        sqlgGraph,
+                        insert,
+                        row,
+                        parametersPerRow,
+                        sqlgVertices,
+                        parameterValueMaps,
+                        (preparedStatement, parameterIndex, parameterValueMap) -> {
+                            for (int j = 0; j < columnNames.length; j++) {
+                                parameterIndex = SqlgUtil.setKeyValueAsParameter(sqlgGraph, true, parameterIndex, preparedStatement, columnPropertyTypes[j], parameterValueMap.get(columnNames[j]));
                             }
-                            sqlgVertex.setInternalPrimaryKey(RecordId.from(SchemaTable.of(schemaTable.getSchema(), schemaTable.getTable()), identifiers));
-
-                        }
-                        SqlgUtil.setKeyValuesAsParameterUsingPropertyColumn(sqlgGraph, true, i, preparedStatement, typeAndValues);
-                    }
-                    preparedStatement.addBatch();
-                }
-                preparedStatement.executeBatch();
-                if (vertexLabel == null || vertexLabel.hasIDPrimaryKey()) {
-                    ResultSet generatedKeys = preparedStatement.getGeneratedKeys();
-                    int i = 0;
-                    while (generatedKeys.next()) {
-                        sqlgVertices.get(i++).setInternalPrimaryKey(RecordId.from(schemaTable, generatedKeys.getLong(1)));
-                    }
-                }
+                            return parameterIndex;
+                        },
+                        vertexLabel == null || vertexLabel.hasIDPrimaryKey() ? (sqlgVertex, id) -> sqlgVertex.setInternalPrimaryKey(RecordId.from(schemaTable, id)) : null
+                );
             } catch (SQLException e) {
                 throw new RuntimeException(e);
             }
@@ -258,186 +180,488 @@ public abstract class BaseSqlDialect implements SqlDialect, SqlBulkDialect, SqlS
             VertexLabel inVertexLabel = sqlgGraph.getTopology().getVertexLabel(inSchemaTable.getSchema(), inSchemaTable.getTable()).orElseThrow(() -> new IllegalStateException(String.format("VertexLabel not found for %s.%s", inSchemaTable.getSchema(), inSchemaTable.getTable())));
 
             Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>> triples = edgeCache.get(metaEdge);
-            Map<String, PropertyType> propertyTypeMap = sqlgGraph.getTopology().getTableFor(metaEdge.getSchemaTable().withPrefix(EDGE_PREFIX));
             SortedSet<String> columns = triples.getLeft();
             Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>> rows = triples.getRight();
 
-            StringBuilder sql = new StringBuilder("INSERT INTO ");
-            sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(metaEdge.getSchemaTable().getSchema()));
-            sql.append(".");
-            sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(EDGE_PREFIX + metaEdge.getSchemaTable().getTable()));
-            sql.append(" (");
-
-            Map<String, PropertyColumn> propertyColumns = sqlgGraph.getTopology()
-                    .getSchema(metaEdge.getSchemaTable().getSchema()).orElseThrow(() -> new IllegalStateException(String.format("Schema %s not found", metaEdge.getSchemaTable().getSchema())))
-                    .getEdgeLabel(metaEdge.getSchemaTable().getTable()).orElseThrow(() -> new IllegalStateException(String.format("EdgeLabel %s not found", metaEdge.getSchemaTable().getTable())))
-                    .getProperties();
-
-            int i = 1;
+            Map<String, PropertyColumn> propertyColumns = edgeLabel.getProperties();
+            PropertyType[] columnPropertyTypes = new PropertyType[columns.size()];
+            int c = 0;
             for (String column : columns) {
-                PropertyType propertyType = propertyTypeMap.get(column);
-                String[] sqlDefinitions = sqlgGraph.getSqlDialect().propertyTypeToSqlDefinition(propertyType);
-                int count = 1;
-                for (@SuppressWarnings("unused") String sqlDefinition : sqlDefinitions) {
-                    if (count > 1) {
-                        sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(column + propertyType.getPostFixes()[count - 2]));
-                    } else {
-                        sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(column));
-                    }
-                    if (count++ < sqlDefinitions.length) {
-                        sql.append(",");
+                columnPropertyTypes[c++] = propertyColumns.get(column).getPropertyType();
+            }
+            PropertyType[] outIdentifierPropertyTypes = identifierPropertyTypes(outVertexLabel);
+            PropertyType[] inIdentifierPropertyTypes = identifierPropertyTypes(inVertexLabel);
+            String insert = edgeInsert(sqlgGraph, metaEdge.getSchemaTable(), columns, columnPropertyTypes, metaEdge.getOutLabel(), outVertexLabel, metaEdge.getInLabel(), inVertexLabel);
+            int parametersPerRow = parameterCount(sqlgGraph, columnPropertyTypes);
+            parametersPerRow += outVertexLabel.hasIDPrimaryKey() ? 1 : outIdentifierPropertyTypes.length;
+            parametersPerRow += inVertexLabel.hasIDPrimaryKey() ? 1 : inIdentifierPropertyTypes.length;
+
+            List<SqlgEdge> sqlgEdges = new ArrayList<>(rows.size());
+            List<Triple<SqlgVertex, SqlgVertex, Map<String, Object>>> parameterValueMaps = new ArrayList<>(rows.size());
+            for (Map.Entry<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>> rowEntry : rows.entrySet()) {
+                SqlgEdge sqlgEdge = rowEntry.getKey();
+                Triple<SqlgVertex, SqlgVertex, Map<String, Object>> parameterValueMap = rowEntry.getValue();
+                sqlgEdges.add(sqlgEdge);
+                parameterValueMaps.add(parameterValueMap);
+                if (!edgeLabel.hasIDPrimaryKey()) {
+                    List<Comparable> identifiers = new ArrayList<>();
+                    for (String identifier : edgeLabel.getIdentifiers()) {
+                        identifiers.add((Comparable) parameterValueMap.getRight().get(identifier));
                     }
-                }
-                if (i++ < columns.size()) {
-                    sql.append(", ");
+                    sqlgEdge.setInternalPrimaryKey(RecordId.from(SchemaTable.of(metaEdge.getSchemaTable().getSchema(), metaEdge.getSchemaTable().getTable()), identifiers));
                 }
             }
-            if (!columns.isEmpty()) {
-                sql.append(", ");
+            String[] columnNames = columns.toArray(new String[0]);
+            try {
+                insertRows(
+                        sqlgGraph,
+                        insert,
+                        valuesRow(parametersPerRow),
+                        parametersPerRow,
+                        sqlgEdges,
+                        parameterValueMaps,
+                        (preparedStatement, parameterIndex, parameterValueMap) -> {
+                            for (int j = 0; j < columnNames.length; j++) {
+                                parameterIndex = SqlgUtil.setKeyValueAsParameter(sqlgGraph, true, parameterIndex, preparedStatement, columnPropertyTypes[j], parameterValueMap.getRight().get(columnNames[j]));
+                            }
+                            parameterIndex = setForeignKey(sqlgGraph, preparedStatement, parameterIndex, outVertexLabel, outIdentifierPropertyTypes, parameterValueMap.getLeft());
+                            return setForeignKey(sqlgGraph, preparedStatement, parameterIndex, inVertexLabel, inIdentifierPropertyTypes, parameterValueMap.getMiddle());
+                        },
+                        edgeLabel.hasIDPrimaryKey() ? (sqlgEdge, id) -> sqlgEdge.setInternalPrimaryKey(RecordId.from(metaEdge.getSchemaTable(), id)) : null
+                );
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
             }
-            if (outVertexLabel.hasIDPrimaryKey()) {
-                sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(metaEdge.getOutLabel() + OUT_VERTEX_COLUMN_END));
+        }
+    }
+
+    private static PropertyType[] vertexColumnPropertyTypes(SqlgGraph sqlgGraph, SchemaTable schemaTable, VertexLabel vertexLabel, Collection<String> columns) {
+        Map<String, PropertyType> temporaryProperties = null;
+        if (schemaTable.isTemporary()) {
+            temporaryProperties = sqlgGraph.getTopology().getPublicSchema().getTemporaryTable(VERTEX_PREFIX + schemaTable.getTable());
+        }
+        PropertyType[] result = new PropertyType[columns.size()];
+        int i = 0;
+        for (String column : columns) {
+            if (temporaryProperties == null) {
+                result[i++] = vertexLabel.getProperties().get(column).getPropertyType();
             } else {
-                int j = 1;
-                for (String identifier : outVertexLabel.getIdentifiers()) {
-                    sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(metaEdge.getOutLabel() + "." + identifier + OUT_VERTEX_COLUMN_END));
-                    if (j++ < outVertexLabel.getIdentifiers().size()) {
-                        sql.append(", ");
-                    }
-                }
+                result[i++] = temporaryProperties.get(column);
             }
+        }
+        return result;
+    }
+
+    /**
+     * @return the {@code INSERT} into the vertex table up to and including {@code VALUES}, or the insert of a row of
+     * defaults if there are no columns.
+     */
+    private String vertexInsert(SqlgGraph sqlgGraph, SchemaTable schemaTable, Collection<String> columns, PropertyType[] columnPropertyTypes) {
+        StringBuilder sql = new StringBuilder();
+        sql.append("INSERT INTO ");
+        if (!schemaTable.isTemporary() || sqlgGraph.getSqlDialect().needsTemporaryTableSchema()) {
+            sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(schemaTable.getSchema()));
+            sql.append(".");
+        }
+        if (!schemaTable.isTemporary() || !sqlgGraph.getSqlDialect().needsTemporaryTablePrefix()) {
+            sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(VERTEX_PREFIX + schemaTable.getTable()));
+        } else {
+            sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(
+                    sqlgGraph.getSqlDialect().temporaryTablePrefix() +
+                            VERTEX_PREFIX + schemaTable.getTable()));
+        }
+        if (!columns.isEmpty()) {
+            sql.append(" (");
+            appendColumns(sqlgGraph, sql, columns, columnPropertyTypes);
+            sql.append(") VALUES ");
+        } else {
+            sql.append(sqlgGraph.getSqlDialect().sqlInsertEmptyValues());
+        }
+        return sql.toString();
+    }
+
+    /**
+     * @return the {@code INSERT} into the edge table up to and including {@code VALUES}. The columns come first,
+     * followed by the out and then the in vertex's foreign keys.
+     */
+    private String edgeInsert(
+            SqlgGraph sqlgGraph,
+            SchemaTable schemaTable,
+            Collection<String> columns,
+            PropertyType[] columnPropertyTypes,
+            String outLabel,
+            VertexLabel outVertexLabel,
+            String inLabel,
+            VertexLabel inVertexLabel) {
+
+        StringBuilder sql = new StringBuilder("INSERT INTO ");
+        sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(schemaTable.getSchema()));
+        sql.append(".");
+        sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(EDGE_PREFIX + schemaTable.getTable()));
+        sql.append(" (");
+        appendColumns(sqlgGraph, sql, columns, columnPropertyTypes);
+        if (!columns.isEmpty()) {
             sql.append(", ");
-            if (inVertexLabel.hasIDPrimaryKey()) {
-                sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(metaEdge.getInLabel() + IN_VERTEX_COLUMN_END));
-            } else {
-                int j = 1;
-                for (String identifier : inVertexLabel.getIdentifiers()) {
-                    sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(metaEdge.getInLabel() + "." + identifier + IN_VERTEX_COLUMN_END));
-                    if (j++ < inVertexLabel.getIdentifiers().size()) {
-                        sql.append(", ");
-                    }
+        }
+        if (outVertexLabel.hasIDPrimaryKey()) {
+            sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(outLabel + OUT_VERTEX_COLUMN_END));
+        } else {
+            int j = 1;
+            for (String identifier : outVertexLabel.getIdentifiers()) {
+                sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(outLabel + "." + identifier + OUT_VERTEX_COLUMN_END));
+                if (j++ < outVertexLabel.getIdentifiers().size()) {
+                    sql.append(", ");
                 }
             }
-            sql.append(") VALUES (");
-
-            i = 1;
-            for (String column : columns) {
-                PropertyType propertyType = propertyTypeMap.get(column);
-                String[] sqlDefinitions = sqlgGraph.getSqlDialect().propertyTypeToSqlDefinition(propertyType);
-                int count = 1;
-                //noinspection Duplicates
-                for (@SuppressWarnings("unused") String sqlDefinition : sqlDefinitions) {
-                    if (count > 1) {
-                        sql.append("?");
-                    } else {
-                        sql.append("?");
-                    }
-                    if (count++ < sqlDefinitions.length) {
-                        sql.append(",");
-                    }
-                }
-                if (i++ < columns.size()) {
+        }
+        sql.append(", ");
+        if (inVertexLabel.hasIDPrimaryKey()) {
+            sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(inLabel + IN_VERTEX_COLUMN_END));
+        } else {
+            int j = 1;
+            for (String identifier : inVertexLabel.getIdentifiers()) {
+                sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(inLabel + "." + identifier + IN_VERTEX_COLUMN_END));
+                if (j++ < inVertexLabel.getIdentifiers().size()) {
                     sql.append(", ");
                 }
             }
-            if (!columns.isEmpty()) {
-                sql.append(", ");
-            }
-            if (outVertexLabel.hasIDPrimaryKey()) {
-                sql.append("?");
-            } else {
-                int j = 1;
-                for (String identifier : outVertexLabel.getIdentifiers()) {
-                    sql.append("?");
-                    if (j++ < outVertexLabel.getIdentifiers().size()) {
-                        sql.append(", ");
-                    }
+        }
+        sql.append(") VALUES ");
+        return sql.toString();
+    }
+
+    private static void appendColumns(SqlgGraph sqlgGraph, StringBuilder sql, Collection<String> columns, PropertyType[] columnPropertyTypes) {
+        int c = 0;
+        //noinspection Duplicates
+        for (String column : columns) {
+            PropertyType propertyType = columnPropertyTypes[c];
+            String[] sqlDefinitions = sqlgGraph.getSqlDialect().propertyTypeToSqlDefinition(propertyType);
+            int count = 1;
+            for (@SuppressWarnings("unused") String sqlDefinition : sqlDefinitions) {
+                if (count > 1) {
+                    sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(column + propertyType.getPostFixes()[count - 2]));
+                } else {
+                    sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(column));
                 }
-            }
-            sql.append(", ");
-            if (inVertexLabel.hasIDPrimaryKey()) {
-                sql.append("?");
-            } else {
-                int j = 1;
-                for (String identifier : inVertexLabel.getIdentifiers()) {
-                    sql.append("?");
-                    if (j++ < inVertexLabel.getIdentifiers().size()) {
-                        sql.append(", ");
-                    }
+                if (count++ < sqlDefinitions.length) {
+                    sql.append(",");
                 }
             }
-            sql.append(")");
-            if (sqlgGraph.getSqlDialect().needsSemicolon()) {
-                sql.append(";");
+            if (++c < columns.size()) {
+                sql.append(", ");
             }
-            if (logger.isDebugEnabled()) {
-                logger.debug(sql.toString());
+        }
+    }
+
+    /**
+     * @return the number of jdbc parameters the property types take, some types are stored in more than one column.
+     */
+    static int parameterCount(SqlgGraph sqlgGraph, PropertyType[] propertyTypes) {
+        int result = 0;
+        for (PropertyType propertyType : propertyTypes) {
+            result += sqlgGraph.getSqlDialect().propertyTypeToSqlDefinition(propertyType).length;
+        }
+        return result;
+    }
+
+    private static PropertyType[] identifierPropertyTypes(VertexLabel vertexLabel) {
+        PropertyType[] result = new PropertyType[vertexLabel.getIdentifiers().size()];
+        int i = 0;
+        for (String identifier : vertexLabel.getIdentifiers()) {
+            result[i++] = vertexLabel.getProperty(identifier).orElseThrow(
+                    () -> new IllegalStateException(String.format("Property for identifier %s not found", identifier))
+            ).getPropertyType();
+        }
+        return result;
+    }
+
+    private static int setForeignKey(SqlgGraph sqlgGraph, PreparedStatement preparedStatement, int parameterIndex, VertexLabel vertexLabel, PropertyType[] identifierPropertyTypes, SqlgVertex sqlgVertex) throws SQLException {
+        if (vertexLabel.hasIDPrimaryKey()) {
+            preparedStatement.setLong(parameterIndex++, ((RecordId) sqlgVertex.id()).sequenceId());
+        } else {
+            int i = 0;
+            for (String identifier : vertexLabel.getIdentifiers()) {
+                parameterIndex = SqlgUtil.setKeyValueAsParameter(sqlgGraph, false, parameterIndex, preparedStatement, identifierPropertyTypes[i++], sqlgVertex.value(identifier));
             }
-            Connection conn = sqlgGraph.tx().getConnection();
-            try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString(), Statement.RETURN_GENERATED_KEYS)) {
-                List<SqlgEdge> sqlgEdges = new ArrayList<>();
-                for (Map.Entry<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>> rowEntry : rows.entrySet()) {
-                    i = 1;
-                    SqlgEdge sqlgEdge = rowEntry.getKey();
-                    sqlgEdges.add(sqlgEdge);
-                    Triple<SqlgVertex, SqlgVertex, Map<String, Object>> parameterValueMap = rowEntry.getValue();
-                    List<Pair<PropertyType, Object>> typeAndValues = new ArrayList<>();
-                    for (String column : columns) {
-                        PropertyColumn propertyColumn = propertyColumns.get(column);
-                        typeAndValues.add(Pair.of(propertyColumn.getPropertyType(), parameterValueMap.getRight().get(column)));
-                    }
-                    i = SqlgUtil.setKeyValuesAsParameterUsingPropertyColumn(sqlgGraph, true, i, preparedStatement, typeAndValues);
+        }
+        return parameterIndex;
+    }
 
-                    if (outVertexLabel.hasIDPrimaryKey()) {
-                        preparedStatement.setLong(i++, ((RecordId) parameterValueMap.getLeft().id()).sequenceId());
-                    } else {
-                        for (String identifier : outVertexLabel.getIdentifiers()) {
-                            i = SqlgUtil.setKeyValueAsParameter(
-                                    sqlgGraph,
-                                    false,
-                                    i,
-                                    preparedStatement,
-                                    ImmutablePair.of(outVertexLabel.getProperty(identifier).orElseThrow(
-                                            () -> new IllegalStateException(String.format("Property for identifier %s not found", identifier))
-                                    ).getPropertyType(), parameterValueMap.getLeft().value(identifier)));
+    /**
+     * @return one row of parameters for an {@code INSERT ... VALUES}, i.e. {@code (?, ?, ?)}
+     */
+    static String valuesRow(int parameters) {
+        StringBuilder row = new StringBuilder("(");
+        for (int i = 0; i < parameters; i++) {
+            if (i > 0) {
+                row.append(", ");
+            }
+            row.append("?");
+        }
+        return row.append(")").toString();
+    }
+
+    /**
+     * Inserts the rows in chunks so that the driver never holds more than one chunk.
+     * <p>
+     * With {@link #MULTI_ROW_INSERT} on, each chunk is a single {@code INSERT ... VALUES (...), (...)} statement of as
+     * many rows as fit into {@link #sqlInParameterLimit()} parameters. The statement for a full chunk is prepared once and
+     * reused for all full chunks, the last chunk gets a statement for its own number of rows.
+     * Otherwise, or if the table has no columns to insert, each chunk is a jdbc batch of single row statements.
+     *
+     * @param insert         The sql up to and including {@code VALUES}.
+     * @param row            The parameters of one row, null if the insert has no parameters.
+     * @param elements       The elements being inserted, in the same order as rows.
+     * @param rowParameters  Sets the parameters of one row starting at the given index and returns the next index.
+     * @param generatedKey   Sets the generated id on the element, null if the ids are user supplied.
+     */
+    private <E extends SqlgElement, R> void insertRows(
+            SqlgGraph sqlgGraph,
+            String insert,
+            String row,
+            int parametersPerRow,
+            List<E> elements,
+            List<R> rows,
+            RowParameters<R> rowParameters,
+            BiConsumer<E, Long> generatedKey) throws SQLException {
+
+        Connection conn = sqlgGraph.tx().getConnection();
+        boolean multiRow = row != null && parametersPerRow > 0 && sqlgGraph.configuration().getBoolean(MULTI_ROW_INSERT, true);
+        int rowsPerStatement = multiRow ? Math.max(1, sqlInParameterLimit() / parametersPerRow) : 1;
+        int chunkSize = multiRow ? rowsPerStatement : sqlInParameterLimit();
+        PreparedStatement chunkStatement = null;
+        try {
+            for (int start = 0; start < rows.size(); start += chunkSize) {
+                int end = Math.min(start + chunkSize, rows.size());
+                if (multiRow) {
+                    PreparedStatement preparedStatement;
+                    if (end - start == rowsPerStatement) {
+                        if (chunkStatement == null) {
+                            chunkStatement = prepareInsert(conn, insertSql(insert, row, rowsPerStatement), generatedKey != null);
                         }
-                    }
-                    if (inVertexLabel.hasIDPrimaryKey()) {
-                        preparedStatement.setLong(i, ((RecordId) parameterValueMap.getMiddle().id()).sequenceId());
+                        preparedStatement = chunkStatement;
                     } else {
-                        for (String identifier : inVertexLabel.getIdentifiers()) {
-                            i = SqlgUtil.setKeyValueAsParameter(
-                                    sqlgGraph,
-                                    false,
-                                    i,
-                                    preparedStatement,
-                                    ImmutablePair.of(inVertexLabel.getProperty(identifier).orElseThrow(
-                                            () -> new IllegalStateException(String.format("Property for identifier %s not found", identifier))
-                                    ).getPropertyType(), parameterValueMap.getMiddle().value(identifier)));
-                        }
+                        preparedStatement = prepareInsert(conn, insertSql(insert, row, end - start), generatedKey != null);
                     }
-                    if (!edgeLabel.hasIDPrimaryKey()) {
-                        List<Comparable> identifiers = new ArrayList<>();
-                        for (String identifier : edgeLabel.getIdentifiers()) {
-                            identifiers.add((Comparable) parameterValueMap.getRight().get(identifier));
+                    try {
+                        int parameterIndex = 1;
+                        for (int i = start; i < end; i++) {
+                            parameterIndex = rowParameters.set(preparedStatement, parameterIndex, rows.get(i));
+                        }
+                        preparedStatement.executeUpdate();
+                        readGeneratedKeys(preparedStatement, elements, start, generatedKey);
+                    } finally {
+                        if (preparedStatement != chunkStatement) {
+                            preparedStatement.close();
                         }
-                        sqlgEdge.setInternalPrimaryKey(RecordId.from(SchemaTable.of(metaEdge.getSchemaTable().getSchema(), metaEdge.getSchemaTable().getTable()), identifiers));
                     }
-                    preparedStatement.addBatch();
-                }
-                preparedStatement.executeBatch();
-                if (edgeLabel.hasIDPrimaryKey()) {
-                    ResultSet generatedKeys = preparedStatement.getGeneratedKeys();
-                    i = 0;
-                    while (generatedKeys.next()) {
-                        sqlgEdges.get(i++).setInternalPrimaryKey(RecordId.from(metaEdge.getSchemaTable(), generatedKeys.getLong(1)));
+                } else {
+                    if (chunkStatement == null) {
+                        chunkStatement = prepareInsert(conn, insertSql(insert, row, 1), generatedKey != null);
                     }
+                    for (int i = start; i < end; i++) {
+                        rowParameters.set(chunkStatement, 1, rows.get(i));
+                        chunkStatement.addBatch();
+                    }
+                    chunkStatement.executeBatch();
+                    readGeneratedKeys(chunkStatement, elements, start, generatedKey);
                 }
-//                insertGlobalUniqueIndex(keyValueMap, propertyColumns);
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
+            }
+        } finally {
+            if (chunkStatement != null) {
+                chunkStatement.close();
+            }
+        }
+    }
+
+    String insertSql(String insert, String row, int rows) {
+        StringBuilder sql = new StringBuilder(insert);
+        if (row != null) {
+            for (int i = 0; i < rows; i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append(row);
             }
         }
+        if (needsSemicolon()) {
+            sql.append(";");
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql.toString());
+        }
+        return sql.toString();
+    }
+
+    private static PreparedStatement prepareInsert(Connection conn, String sql, boolean returnGeneratedKeys) throws SQLException {
+        return returnGeneratedKeys ? conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS) : conn.prepareStatement(sql);
+    }
+
+    private static <E extends SqlgElement> void readGeneratedKeys(PreparedStatement preparedStatement, List<E> elements, int start, BiConsumer<E, Long> generatedKey) throws SQLException {
+        if (generatedKey != null) {
+            try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                int i = start;
+                while (generatedKeys.next()) {
+                    generatedKey.accept(elements.get(i++), generatedKeys.getLong(1));
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowParameters<R> {
+        int set(PreparedStatement preparedStatement, int parameterIndex, R row) throws SQLException;
+    }
+
+    /**
+     * Reads a recursive path that is carried as an sql array of bigint, for the dialects that override
+     * {@link #readRecursivePath(ResultSet, int)}.
+     */
+    protected static long[] readRecursivePathArray(ResultSet resultSet, int columnIndex) throws SQLException {
+        Array array = resultSet.getArray(columnIndex);
+        try {
+            Object[] ids = (Object[]) array.getArray();
+            long[] result = new long[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                result[i] = ((Number) ids[i]).longValue();
+            }
+            return result;
+        } finally {
+            array.free();
+        }
+    }
+
+    /**
+     * Dialects without a copy command stream with multi row inserts, see {@link StreamingInsertSink}.
+     */
+    @Override
+    public boolean supportsStreamingBatchMode() {
+        return supportsBatchMode();
+    }
+
+    @Override
+    public String constructCompleteCopyCommandSqlVertex(SqlgGraph sqlgGraph, SqlgVertex vertex, Map<String, Object> keyValueMap) {
+        SchemaTable schemaTable = SchemaTable.of(vertex.getSchema(), vertex.getTable());
+        VertexLabel vertexLabel = sqlgGraph.getTopology().getVertexLabel(schemaTable.getSchema(), schemaTable.getTable()).orElseThrow(
+                () -> new IllegalStateException(String.format("VertexLabel %s not found.", schemaTable)));
+        return vertexInsert(sqlgGraph, schemaTable, keyValueMap.keySet(), vertexColumnPropertyTypes(sqlgGraph, schemaTable, vertexLabel, keyValueMap.keySet()));
+    }
+
+    @Override
+    public String constructCompleteCopyCommandTemporarySqlVertex(SqlgGraph sqlgGraph, SqlgVertex vertex, Map<String, Object> keyValueMap) {
+        SchemaTable schemaTable = SchemaTable.of(vertex.getSchema(), vertex.getTable(), true);
+        return vertexInsert(sqlgGraph, schemaTable, keyValueMap.keySet(), vertexColumnPropertyTypes(sqlgGraph, schemaTable, null, keyValueMap.keySet()));
+    }
+
+    @Override
+    public String constructCompleteCopyCommandSqlEdge(SqlgGraph sqlgGraph, SqlgEdge sqlgEdge, VertexLabel outVertexLabel, VertexLabel inVertexLabel, SqlgVertex outVertex, SqlgVertex inVertex, Map<String, Object> keyValueMap) {
+        EdgeLabel edgeLabel = sqlgGraph.getTopology().getEdgeLabel(sqlgEdge.getSchema(), sqlgEdge.getTable()).orElseThrow(
+                () -> new IllegalStateException(String.format("EdgeLabel not found for %s.%s", sqlgEdge.getSchema(), sqlgEdge.getTable())));
+        PropertyType[] columnPropertyTypes = new PropertyType[keyValueMap.size()];
+        int i = 0;
+        for (String key : keyValueMap.keySet()) {
+            columnPropertyTypes[i++] = edgeLabel.getProperties().get(key).getPropertyType();
+        }
+        return edgeInsert(
+                sqlgGraph,
+                SchemaTable.of(sqlgEdge.getSchema(), sqlgEdge.getTable()),
+                keyValueMap.keySet(),
+                columnPropertyTypes,
+                outVertex.getSchema() + "." + outVertex.getTable(),
+                outVertexLabel,
+                inVertex.getSchema() + "." + inVertex.getTable(),
+                inVertexLabel
+        );
+    }
+
+    @Override
+    public StreamingRowSink streamSql(SqlgGraph sqlgGraph, String sql) {
+        return new StreamingInsertSink(this, sqlgGraph, sql);
+    }
+
+    @Override
+    public void writeStreamingVertex(StreamingRowSink sink, Map<String, Object> keyValueMap, VertexLabel vertexLabel) {
+        StreamingInsertSink streamingInsertSink = (StreamingInsertSink) sink;
+        PropertyType[] propertyTypes = streamingInsertSink.getPropertyTypes();
+        if (propertyTypes == null) {
+            propertyTypes = new PropertyType[keyValueMap.size()];
+            int i = 0;
+            for (String key : keyValueMap.keySet()) {
+                propertyTypes[i++] = vertexLabel.getProperties().get(key).getPropertyType();
+            }
+        }
+        streamingInsertSink.writeRow(propertyTypes, propertyTypes.length, keyValueMap.values().toArray());
+    }
+
+    @Override
+    public void writeTemporaryStreamingVertex(StreamingRowSink sink, Map<String, Object> keyValueMap) {
+        StreamingInsertSink streamingInsertSink = (StreamingInsertSink) sink;
+        PropertyType[] propertyTypes = streamingInsertSink.getPropertyTypes();
+        if (propertyTypes == null) {
+            propertyTypes = new PropertyType[keyValueMap.size()];
+            int i = 0;
+            for (Object value : keyValueMap.values()) {
+                propertyTypes[i++] = value == null ? PropertyType.STRING : PropertyType.from(value);
+            }
+        }
+        streamingInsertSink.writeRow(propertyTypes, propertyTypes.length, keyValueMap.values().toArray());
+    }
+
+    @Override
+    public void writeStreamingEdge(
+            StreamingRowSink sink,
+            SqlgEdge sqlgEdge,
+            VertexLabel outVertexLabel,
+            VertexLabel inVertexLabel,
+            SqlgVertex outVertex,
+            SqlgVertex inVertex,
+            Map<String, Object> keyValueMap,
+            EdgeLabel edgeLabel) {
+
+        StreamingInsertSink streamingInsertSink = (StreamingInsertSink) sink;
+        PropertyType[] propertyTypes = streamingInsertSink.getPropertyTypes();
+        int outKeys = outVertexLabel.hasIDPrimaryKey() ? 1 : outVertexLabel.getIdentifiers().size();
+        int inKeys = inVertexLabel.hasIDPrimaryKey() ? 1 : inVertexLabel.getIdentifiers().size();
+        if (propertyTypes == null) {
+            propertyTypes = new PropertyType[keyValueMap.size() + outKeys + inKeys];
+            int i = 0;
+            for (String key : keyValueMap.keySet()) {
+                propertyTypes[i++] = edgeLabel.getProperties().get(key).getPropertyType();
+            }
+            i = foreignKeyPropertyTypes(outVertexLabel, propertyTypes, i);
+            foreignKeyPropertyTypes(inVertexLabel, propertyTypes, i);
+        }
+        Object[] values = new Object[propertyTypes.length];
+        int i = 0;
+        for (Object value : keyValueMap.values()) {
+            values[i++] = value;
+        }
+        i = foreignKeyValues(outVertexLabel, outVertex, values, i);
+        foreignKeyValues(inVertexLabel, inVertex, values, i);
+        streamingInsertSink.writeRow(propertyTypes, keyValueMap.size(), values);
+    }
+
+    private static int foreignKeyPropertyTypes(VertexLabel vertexLabel, PropertyType[] propertyTypes, int index) {
+        if (vertexLabel.hasIDPrimaryKey()) {
+            propertyTypes[index++] = PropertyType.LONG;
+        } else {
+            for (PropertyType propertyType : identifierPropertyTypes(vertexLabel)) {
+                propertyTypes[index++] = propertyType;
+            }
+        }
+        return index;
+    }
+
+    private static int foreignKeyValues(VertexLabel vertexLabel, SqlgVertex sqlgVertex, Object[] values, int index) {
+        RecordId recordId = (RecordId) sqlgVertex.id();
+        if (vertexLabel.hasIDPrimaryKey()) {
+            values[index++] = recordId.sequenceId();
+        } else {
+            for (Comparable identifier : recordId.getID().getIdentifiers()) {
+                values[index++] = identifier;
+            }
+        }
+        return index;
     }
 
     @Override
@@ -494,9 +718,13 @@ public abstract class BaseSqlDialect implements SqlDialect, SqlBulkDialect, SqlS
                 sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(Topology.ID));
                 sql.append(" = ?");
             } else {
+                int count = 1;
                 for (String identifier : vertexLabel.getIdentifiers()) {
                     sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(identifier));
                     sql.append(" = ?");
+                    if (count++ < vertexLabel.getIdentifiers().size()) {
+                        sql.append(" AND ");
+                    }
                 }
             }
             if (sqlgGraph.getSqlDialect().needsSemicolon()) {
@@ -532,7 +760,7 @@ public abstract class BaseSqlDialect implements SqlDialect, SqlBulkDialect, SqlS
                             preparedStatement.setLong(i, ((RecordId) sqlgVertex.id()).sequenceId());
                         } else {
                             for (Comparable identifierValue : recordId.getIdentifiers()) {
-                                preparedStatement.setObject(i, identifierValue);
+                                preparedStatement.setObject(i++, identifierValue);
                             }
                         }
                     }
@@ -599,9 +827,13 @@ public abstract class BaseSqlDialect implements SqlDialect, SqlBulkDialect, SqlS
                 sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(Topology.ID));
                 sql.append(" = ?");
             } else {
+                int count = 1;
                 for (String identifier : edgeLabel.getIdentifiers()) {
                     sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(identifier));
                     sql.append(" = ?");
+                    if (count++ < edgeLabel.getIdentifiers().size()) {
+                        sql.append(" AND ");
+                    }
                 }
             }
             if (sqlgGraph.getSqlDialect().needsSemicolon()) {
@@ -637,7 +869,7 @@ public abstract class BaseSqlDialect implements SqlDialect, SqlBulkDialect, SqlS
                             preparedStatement.setLong(i, recordId.sequenceId());
                         } else {
                             for (Comparable identifierValue : recordId.getIdentifiers()) {
-                                preparedStatement.setObject(i, identifierValue);
+                                preparedStatement.setObject(i++, identifierValue);
                             }
                         }
                     }
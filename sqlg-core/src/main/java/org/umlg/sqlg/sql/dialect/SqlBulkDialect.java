@@ -7,7 +7,6 @@ import org.umlg.sqlg.structure.topology.EdgeLabel;
 import org.umlg.sqlg.structure.topology.VertexLabel;
 
 import javax.annotation.Nullable;
-import java.io.Writer;
 import java.util.*;
 
 import static javax.swing.JOptionPane.ERROR_MESSAGE;
@@ -56,16 +55,16 @@ public interface SqlBulkDialect extends SqlDialect {
         throw SqlgExceptions.batchModeNotSupported(dialectName());
     }
 
-    default void writeStreamingVertex(Writer writer, Map<String, Object> keyValueMap, @Nullable VertexLabel vertexLabel) {
+    default void writeStreamingVertex(StreamingRowSink sink, Map<String, Object> keyValueMap, @Nullable VertexLabel vertexLabel) {
         throw SqlgExceptions.batchModeNotSupported(dialectName());
     }
 
-    default void writeTemporaryStreamingVertex(Writer writer, Map<String, Object> keyValueMap) {
+    default void writeTemporaryStreamingVertex(StreamingRowSink sink, Map<String, Object> keyValueMap) {
         throw SqlgExceptions.batchModeNotSupported(dialectName());
     }
 
     default void writeStreamingEdge(
-            Writer writer,
+            StreamingRowSink sink,
             SqlgEdge sqlgEdge,
             VertexLabel outVertexLabel,
             VertexLabel inVertexLabel,
@@ -80,7 +79,7 @@ public interface SqlBulkDialect extends SqlDialect {
         throw new UnsupportedOperationException(ERROR_MESSAGE + dialectName());
     }
 
-    default Writer streamSql(SqlgGraph sqlgGraph, String sql) {
+    default StreamingRowSink streamSql(SqlgGraph sqlgGraph, String sql) {
         throw SqlgExceptions.batchModeNotSupported(dialectName());
     }
 
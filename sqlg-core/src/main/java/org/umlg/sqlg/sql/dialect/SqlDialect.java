@@ -427,6 +427,16 @@ public interface SqlDialect {
         return false;
     }
 
+    /**
+     * The streaming batch mode with lock assigns the ids of new elements up front. It locks the table and takes the ids
+     * from the table's sequence.
+     *
+     * @return true if the dialect can lock a table and reserve ids from its sequence.
+     */
+    default boolean supportsStreamingWithLockBatchMode() {
+        return false;
+    }
+
     default boolean supportsJsonType() {
         return false;
     }
@@ -624,6 +634,26 @@ public interface SqlDialect {
         return " OFFSET " + skip;
     }
 
+    /**
+     * The function to order by to return the rows in a random order. Used to execute sample(n) as ORDER BY ... LIMIT n.
+     *
+     * @return the random function.
+     */
+    default String getRandomFunction() {
+        return "RAND()";
+    }
+
+    /**
+     * A null of the property type's column type. The branches of a
+     * {@link org.umlg.sqlg.sql.parse.UnionQuery} select it for the columns of the other branches' labels.
+     *
+     * @param propertyType A single column property type.
+     * @return the typed null expression.
+     */
+    default String typedNull(PropertyType propertyType) {
+        return "CAST(NULL AS " + propertyTypeToSqlDefinition(propertyType)[0] + ")";
+    }
+
     /**
      * get the full text query for the given predicate and column
      *
@@ -735,6 +765,91 @@ public interface SqlDialect {
         return true;
     }
 
+    /**
+     * Indicates if the rdbms supports 'WITH RECURSIVE' common table expressions together with '||' string concatenation.
+     * This is used to execute a repeat over a single edge label as one query.
+     *
+     * @return true if 'WITH RECURSIVE' is supported else false.
+     */
+    default boolean supportsRecursiveCommonTableExpressions() {
+        return false;
+    }
+
+    /**
+     * The path of vertex ids a 'WITH RECURSIVE' query walks. By default the path is a comma delimited string, dialects
+     * with arrays override {@link #recursivePathStart(String)}, {@link #recursivePathAppend(String, String)},
+     * {@link #recursivePathNotContains(String, String)} and {@link #readRecursivePath(ResultSet, int)} to carry an array.
+     *
+     * @param id The sql of the start's id.
+     * @return The sql of a path that holds only the start's id.
+     */
+    default String recursivePathStart(String id) {
+        return "CAST(',' || CAST(" + id + " AS VARCHAR(20)) || ',' AS VARCHAR(1000000))";
+    }
+
+    /**
+     * @param path The sql of the path.
+     * @param id   The sql of the id to append.
+     * @return The sql of the path with the id appended.
+     */
+    default String recursivePathAppend(String path, String id) {
+        return "CAST(" + path + " || CAST(" + id + " AS VARCHAR(20)) || ',' AS VARCHAR(1000000))";
+    }
+
+    /**
+     * @param path The sql of the path.
+     * @param id   The sql of the id.
+     * @return The sql of a condition that holds if the id is not on the path.
+     */
+    default String recursivePathNotContains(String path, String id) {
+        return path + " NOT LIKE '%,' || CAST(" + id + " AS VARCHAR(20)) || ',%'";
+    }
+
+    /**
+     * Reads a path built with {@link #recursivePathStart(String)} and {@link #recursivePathAppend(String, String)}.
+     *
+     * @return The ids on the path, the start's id first.
+     */
+    default long[] readRecursivePath(ResultSet resultSet, int columnIndex) throws SQLException {
+        String path = resultSet.getString(columnIndex);
+        String[] ids = path.substring(1, path.length() - 1).split(",");
+        long[] result = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            result[i] = Long.parseLong(ids[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Indicates if the rdbms can export a transaction's snapshot to other connections.
+     * This is used to give the queries that run in parallel on pooled connections the same view of the data.
+     *
+     * @return true if {@link #exportSnapshot(Connection)} and {@link #importSnapshot(Connection, String)} are supported.
+     */
+    default boolean supportsExportSnapshot() {
+        return false;
+    }
+
+    /**
+     * Exports the snapshot of the transaction on the connection.
+     *
+     * @param connection The transaction's connection.
+     * @return The snapshot's identifier.
+     */
+    default String exportSnapshot(Connection connection) throws SQLException {
+        throw new UnsupportedOperationException("Exporting a snapshot is not supported on this database");
+    }
+
+    /**
+     * Starts the transaction on the connection with an exported snapshot. Must be called before any other statement.
+     *
+     * @param connection A connection with auto commit off.
+     * @param snapshot   The identifier returned by {@link #exportSnapshot(Connection)}.
+     */
+    default void importSnapshot(Connection connection, String snapshot) throws SQLException {
+        throw new UnsupportedOperationException("Importing a snapshot is not supported on this database");
+    }
+
     /**
      * This is needed for Cockroachdb where the index needs to be specified as a part of the 'CREATE TABLE' statement.
      *
@@ -0,0 +1,132 @@
+package org.umlg.sqlg.sql.dialect;
+
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * The {@link StreamingRowSink} of dialects without a copy command. It inserts the rows with multi row inserts of as
+ * many rows as fit into {@link SqlDialect#sqlInParameterLimit()} parameters. It never holds more than one statement's rows.
+ * <p>
+ * The first {@code columns} property types of a row are the element's properties, the rest are foreign keys that
+ * always take one parameter.
+ */
+final class StreamingInsertSink implements StreamingRowSink {
+
+    private final BaseSqlDialect sqlDialect;
+    private final SqlgGraph sqlgGraph;
+    private final String insert;
+
+    private PropertyType[] propertyTypes;
+    private int columns;
+    private String row;
+    private boolean multiRow;
+    private Object[][] rows;
+    private int size;
+    private PreparedStatement chunkStatement;
+
+    /**
+     * @param insert The sql up to and including {@code VALUES}.
+     */
+    StreamingInsertSink(BaseSqlDialect sqlDialect, SqlgGraph sqlgGraph, String insert) {
+        this.sqlDialect = sqlDialect;
+        this.sqlgGraph = sqlgGraph;
+        this.insert = insert;
+    }
+
+    /**
+     * @return the property types of the rows, null before the first row.
+     */
+    PropertyType[] getPropertyTypes() {
+        return this.propertyTypes;
+    }
+
+    void writeRow(PropertyType[] propertyTypes, int columns, Object[] values) {
+        if (this.propertyTypes == null) {
+            this.propertyTypes = propertyTypes;
+            this.columns = columns;
+            int parametersPerRow = BaseSqlDialect.parameterCount(this.sqlgGraph, Arrays.copyOf(propertyTypes, columns)) + propertyTypes.length - columns;
+            this.row = propertyTypes.length == 0 ? null : BaseSqlDialect.valuesRow(parametersPerRow);
+            this.multiRow = this.row != null && this.sqlgGraph.configuration().getBoolean(BaseSqlDialect.MULTI_ROW_INSERT, true);
+            int rowsPerStatement = this.multiRow ? Math.max(1, this.sqlDialect.sqlInParameterLimit() / parametersPerRow) : this.sqlDialect.sqlInParameterLimit();
+            this.rows = new Object[rowsPerStatement][];
+        }
+        this.rows[this.size++] = values;
+        if (this.size == this.rows.length) {
+            insertRows();
+        }
+    }
+
+    private void insertRows() {
+        if (this.size == 0) {
+            return;
+        }
+        Connection conn = this.sqlgGraph.tx().getConnection();
+        try {
+            if (this.multiRow) {
+                PreparedStatement preparedStatement;
+                if (this.size == this.rows.length) {
+                    if (this.chunkStatement == null) {
+                        this.chunkStatement = conn.prepareStatement(this.sqlDialect.insertSql(this.insert, this.row, this.size));
+                    }
+                    preparedStatement = this.chunkStatement;
+                } else {
+                    preparedStatement = conn.prepareStatement(this.sqlDialect.insertSql(this.insert, this.row, this.size));
+                }
+                try {
+                    int parameterIndex = 1;
+                    for (int i = 0; i < this.size; i++) {
+                        parameterIndex = setRow(preparedStatement, parameterIndex, this.rows[i]);
+                    }
+                    preparedStatement.executeUpdate();
+                } finally {
+                    if (preparedStatement != this.chunkStatement) {
+                        preparedStatement.close();
+                    }
+                }
+            } else {
+                if (this.chunkStatement == null) {
+                    this.chunkStatement = conn.prepareStatement(this.sqlDialect.insertSql(this.insert, this.row, 1));
+                }
+                for (int i = 0; i < this.size; i++) {
+                    setRow(this.chunkStatement, 1, this.rows[i]);
+                    this.chunkStatement.addBatch();
+                }
+                this.chunkStatement.executeBatch();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            Arrays.fill(this.rows, 0, this.size, null);
+            this.size = 0;
+        }
+    }
+
+    private int setRow(PreparedStatement preparedStatement, int parameterIndex, Object[] values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            parameterIndex = SqlgUtil.setKeyValueAsParameter(this.sqlgGraph, i < this.columns, parameterIndex, preparedStatement, this.propertyTypes[i], values[i]);
+        }
+        return parameterIndex;
+    }
+
+    @Override
+    public void close() {
+        try {
+            insertRows();
+        } finally {
+            if (this.chunkStatement != null) {
+                try {
+                    this.chunkStatement.close();
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+                this.chunkStatement = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.umlg.sqlg.sql.dialect;
+
+import org.umlg.sqlg.structure.SqlgGraph;
+
+/**
+ * The rows of one label or temporary table in streaming batch mode. It is returned by
+ * {@link SqlBulkDialect#streamSql(SqlgGraph, String)} and only the dialect that returned it writes rows to it, with
+ * {@code writeStreamingVertex}, {@code writeTemporaryStreamingVertex} or {@code writeStreamingEdge}.
+ */
+public interface StreamingRowSink extends AutoCloseable {
+
+    /**
+     * Writes the rows that are still pending and releases the sink.
+     */
+    @Override
+    void close();
+}
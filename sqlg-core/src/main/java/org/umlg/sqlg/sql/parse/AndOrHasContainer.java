@@ -48,6 +48,8 @@ public class AndOrHasContainer {
     //i.e. g.V().or(__.traversal1, __.traversal2)
     private final List<AndOrHasContainer> andOrHasContainers = new ArrayList<>();
     private final List<HasContainer> hasContainers = new ArrayList<>();
+    //i.e. g.V().where(__.out("ab")), and-ed with the hasContainers.
+    private final List<ExistsContainer> existsContainers = new ArrayList<>();
 
     public AndOrHasContainer(TYPE type) {
         this.type = type;
@@ -65,6 +67,10 @@ public class AndOrHasContainer {
         this.hasContainers.add(hasContainer);
     }
 
+    public void addExistsContainer(ExistsContainer existsContainer) {
+        this.existsContainers.add(existsContainer);
+    }
+
     public void addAndOrHasContainer(AndOrHasContainer andOrHasContainer) {
         this.andOrHasContainers.add(andOrHasContainer);
     }
@@ -91,7 +97,7 @@ public class AndOrHasContainer {
     }
 
     private void toSql(SqlgGraph sqlgGraph, SchemaTableTree schemaTableTree, StringBuilder result, int depth) {
-        if (!this.hasContainers.isEmpty()) {
+        if (!this.hasContainers.isEmpty() || !this.existsContainers.isEmpty()) {
             boolean first = true;
             for (HasContainer h : this.hasContainers) {
 //                if (!SqlgUtil.isBulkWithin(sqlgGraph, h)) {
@@ -131,6 +137,15 @@ public class AndOrHasContainer {
                     }
 //                }
             }
+            for (ExistsContainer existsContainer : this.existsContainers) {
+                if (first) {
+                    first = false;
+                    result.append("(");
+                } else {
+                    result.append(" AND ");
+                }
+                existsContainer.toSql(sqlgGraph, schemaTableTree, result);
+            }
             if (!first) {
                 result.append(")");
             }
@@ -141,7 +156,7 @@ public class AndOrHasContainer {
             for (int i = 0; i < depth; i++) {
                 result.append("\t");
             }
-            if (this.hasContainers.isEmpty()) {
+            if (this.hasContainers.isEmpty() && this.existsContainers.isEmpty()) {
                 result.append("(");
             } else {
                 result.append(" AND (");
@@ -171,13 +186,16 @@ public class AndOrHasContainer {
         }
     }
 
-    public void setParameterOnStatement(Multimap<String, Object> keyValueMap, SchemaTableTree schemaTableTree) {
+    public void setParameterOnStatement(SqlgGraph sqlgGraph, Multimap<String, Object> keyValueMap, SchemaTableTree schemaTableTree) {
         for (HasContainer hasContainer : this.hasContainers) {
             WhereClause whereClause = WhereClause.from(hasContainer.getPredicate());
             whereClause.putKeyValueMap(hasContainer, keyValueMap, schemaTableTree);
         }
+        for (ExistsContainer existsContainer : this.existsContainers) {
+            existsContainer.putKeyValueMap(sqlgGraph, keyValueMap, schemaTableTree);
+        }
         for (AndOrHasContainer andOrHasContainer : this.andOrHasContainers) {
-            andOrHasContainer.setParameterOnStatement(keyValueMap, schemaTableTree);
+            andOrHasContainer.setParameterOnStatement(sqlgGraph, keyValueMap, schemaTableTree);
         }
     }
 }
@@ -0,0 +1,332 @@
+package org.umlg.sqlg.sql.parse;
+
+import com.google.common.collect.Multimap;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
+import org.umlg.sqlg.structure.SchemaTable;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.topology.AbstractLabel;
+import org.umlg.sqlg.structure.topology.EdgeLabel;
+import org.umlg.sqlg.structure.topology.Topology;
+import org.umlg.sqlg.structure.topology.VertexLabel;
+
+import java.util.*;
+
+import static org.umlg.sqlg.structure.topology.Topology.EDGE_PREFIX;
+import static org.umlg.sqlg.structure.topology.Topology.VERTEX_PREFIX;
+
+/**
+ * Represents a filter traversal that only walks vertex steps, i.e. {@code where(out("ab").has("name", "b"))} or
+ * {@code not(out("ab"))}. It is printed in the where clause as a correlated {@code EXISTS} or {@code NOT EXISTS} sub
+ * query joining the edge tables.
+ * <p>
+ * The hops are resolved against the topology when the sql is generated. Every path of edge and vertex labels that the hops
+ * can walk becomes an {@code EXISTS}, or-ed together.
+ */
+public class ExistsContainer {
+
+    private final boolean not;
+    private final List<Hop> hops = new ArrayList<>();
+
+    public ExistsContainer(boolean not) {
+        this.not = not;
+    }
+
+    public Hop addHop(Direction direction, String[] edgeLabels) {
+        Hop hop = new Hop(direction, edgeLabels);
+        this.hops.add(hop);
+        return hop;
+    }
+
+    void toSql(SqlgGraph sqlgGraph, SchemaTableTree schemaTableTree, StringBuilder result) {
+        List<List<Path>> paths = paths(sqlgGraph, schemaTableTree);
+        if (paths.isEmpty()) {
+            result.append(this.not ? "1=1" : "1=0");
+            return;
+        }
+        if (this.not) {
+            result.append("NOT ");
+        }
+        if (paths.size() > 1) {
+            result.append("(");
+        }
+        SqlDialect sqlDialect = sqlgGraph.getSqlDialect();
+        String outer = sqlDialect.maybeWrapInQoutes(schemaTableTree.getSchemaTable().getSchema()) + "." +
+                sqlDialect.maybeWrapInQoutes(schemaTableTree.getSchemaTable().getTable());
+        int count = 1;
+        for (List<Path> path : paths) {
+            toSql(sqlgGraph, outer, path, result);
+            if (count++ < paths.size()) {
+                result.append(" OR ");
+            }
+        }
+        if (paths.size() > 1) {
+            result.append(")");
+        }
+    }
+
+    private void toSql(SqlgGraph sqlgGraph, String outer, List<Path> path, StringBuilder result) {
+        SqlDialect sqlDialect = sqlgGraph.getSqlDialect();
+        result.append("EXISTS (SELECT 1 FROM ");
+        for (int i = 0; i < path.size(); i++) {
+            Path hopPath = path.get(i);
+            String edgeAlias = sqlDialect.maybeWrapInQoutes("exists_e" + (i + 1));
+            if (i > 0) {
+                result.append(" JOIN ");
+            }
+            result.append(sqlDialect.maybeWrapInQoutes(hopPath.edgeLabel.getSchema().getName())).append(".");
+            result.append(sqlDialect.maybeWrapInQoutes(EDGE_PREFIX + hopPath.edgeLabel.getLabel()));
+            result.append(" ").append(edgeAlias);
+            if (i > 0) {
+                Path previous = path.get(i - 1);
+                result.append(" ON ");
+                appendEquals(
+                        sqlDialect,
+                        edgeAlias, foreignKeys(hopPath.from, hopPath.direction),
+                        sqlDialect.maybeWrapInQoutes("exists_e" + i), foreignKeys(previous.to, previous.direction.opposite()),
+                        result
+                );
+            }
+            if (!hopPath.hop.vertexHasContainers.isEmpty()) {
+                String vertexAlias = sqlDialect.maybeWrapInQoutes("exists_v" + (i + 1));
+                result.append(" JOIN ");
+                result.append(sqlDialect.maybeWrapInQoutes(hopPath.to.getSchema().getName())).append(".");
+                result.append(sqlDialect.maybeWrapInQoutes(VERTEX_PREFIX + hopPath.to.getLabel()));
+                result.append(" ").append(vertexAlias).append(" ON ");
+                appendEquals(
+                        sqlDialect,
+                        edgeAlias, foreignKeys(hopPath.to, hopPath.direction.opposite()),
+                        vertexAlias, primaryKeys(hopPath.to),
+                        result
+                );
+            }
+        }
+        result.append(" WHERE ");
+        Path first = path.get(0);
+        appendEquals(
+                sqlDialect,
+                sqlDialect.maybeWrapInQoutes("exists_e1"), foreignKeys(first.from, first.direction),
+                outer, primaryKeys(first.from),
+                result
+        );
+        for (int i = 0; i < path.size(); i++) {
+            Path hopPath = path.get(i);
+            String edgeAlias = sqlDialect.maybeWrapInQoutes("exists_e" + (i + 1));
+            for (HasContainer hasContainer : hopPath.hop.edgeHasContainers) {
+                result.append(" AND ");
+                result.append(WhereClause.from(hasContainer.getPredicate()).toSql(sqlgGraph, null, hasContainer, edgeAlias, true));
+            }
+            if (!hopPath.hop.vertexHasContainers.isEmpty()) {
+                String vertexAlias = sqlDialect.maybeWrapInQoutes("exists_v" + (i + 1));
+                for (HasContainer hasContainer : hopPath.hop.vertexHasContainers) {
+                    result.append(" AND ");
+                    result.append(WhereClause.from(hasContainer.getPredicate()).toSql(sqlgGraph, null, hasContainer, vertexAlias, true));
+                }
+            } else if (hopPath.to != null && i == path.size() - 1) {
+                //the edge table has a foreign key for every vertex label it connects, only the restricted one may be set.
+                result.append(" AND ");
+                result.append(edgeAlias).append(".");
+                result.append(sqlDialect.maybeWrapInQoutes(foreignKeys(hopPath.to, hopPath.direction.opposite()).get(0)));
+                result.append(" IS NOT NULL");
+            }
+        }
+        result.append(")");
+    }
+
+    void putKeyValueMap(SqlgGraph sqlgGraph, Multimap<String, Object> keyValueMap, SchemaTableTree schemaTableTree) {
+        for (List<Path> path : paths(sqlgGraph, schemaTableTree)) {
+            for (Path hopPath : path) {
+                for (HasContainer hasContainer : hopPath.hop.edgeHasContainers) {
+                    WhereClause.from(hasContainer.getPredicate()).putKeyValueMap(hasContainer, keyValueMap, schemaTableTree);
+                }
+                for (HasContainer hasContainer : hopPath.hop.vertexHasContainers) {
+                    WhereClause.from(hasContainer.getPredicate()).putKeyValueMap(hasContainer, keyValueMap, schemaTableTree);
+                }
+            }
+        }
+    }
+
+    /**
+     * The paths through the topology that the hops walk from the schemaTableTree's vertex label, in a stable order as
+     * the sql and its parameters are generated separately.
+     */
+    private List<List<Path>> paths(SqlgGraph sqlgGraph, SchemaTableTree schemaTableTree) {
+        List<List<Path>> result = new ArrayList<>();
+        SchemaTable schemaTable = schemaTableTree.getSchemaTable();
+        if (!schemaTable.isVertexTable()) {
+            return result;
+        }
+        Optional<VertexLabel> vertexLabel = sqlgGraph.getTopology().getVertexLabel(schemaTable.getSchema(), schemaTable.withOutPrefix().getTable());
+        vertexLabel.ifPresent(from -> paths(sqlgGraph, 0, from, new ArrayDeque<>(), result));
+        return result;
+    }
+
+    private void paths(SqlgGraph sqlgGraph, int index, VertexLabel from, Deque<Path> path, List<List<Path>> result) {
+        Hop hop = this.hops.get(index);
+        boolean last = index == this.hops.size() - 1;
+        List<Direction> directions = hop.direction == Direction.BOTH ? List.of(Direction.OUT, Direction.IN) : List.of(hop.direction);
+        for (Direction direction : directions) {
+            Map<String, EdgeLabel> edgeLabels = direction == Direction.OUT ? from.getOutEdgeLabels() : from.getInEdgeLabels();
+            for (EdgeLabel edgeLabel : sorted(edgeLabels.values())) {
+                if (!hop.matchesEdgeLabel(edgeLabel) || !hasProperties(edgeLabel, hop.edgeHasContainers)) {
+                    continue;
+                }
+                if (last && hop.vertexHasContainers.isEmpty() && hop.vertexLabels.isEmpty()) {
+                    path.addLast(new Path(hop, direction, edgeLabel, from, null));
+                    result.add(new ArrayList<>(path));
+                    path.removeLast();
+                    continue;
+                }
+                Set<VertexLabel> vertexLabels = direction == Direction.OUT ? edgeLabel.getInVertexLabels() : edgeLabel.getOutVertexLabels();
+                for (VertexLabel to : sorted(vertexLabels)) {
+                    if (!hop.matchesVertexLabel(sqlgGraph, to) || !hasProperties(to, hop.vertexHasContainers)) {
+                        continue;
+                    }
+                    path.addLast(new Path(hop, direction, edgeLabel, from, to));
+                    if (last) {
+                        result.add(new ArrayList<>(path));
+                    } else {
+                        paths(sqlgGraph, index + 1, to, path, result);
+                    }
+                    path.removeLast();
+                }
+            }
+        }
+    }
+
+    private static <L extends AbstractLabel> List<L> sorted(Collection<L> labels) {
+        List<L> result = new ArrayList<>(labels);
+        result.sort(Comparator.comparing(AbstractLabel::getFullName));
+        return result;
+    }
+
+    /**
+     * A has on a property that the label does not have can never be true.
+     */
+    private static boolean hasProperties(AbstractLabel abstractLabel, List<HasContainer> hasContainers) {
+        for (HasContainer hasContainer : hasContainers) {
+            if (!abstractLabel.getProperties().containsKey(hasContainer.getKey())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> primaryKeys(VertexLabel vertexLabel) {
+        if (vertexLabel.hasIDPrimaryKey()) {
+            return List.of(Topology.ID);
+        } else {
+            return new ArrayList<>(vertexLabel.getIdentifiers());
+        }
+    }
+
+    /**
+     * @param direction The direction of the edge for which the vertex label is the out or in vertex.
+     */
+    private static List<String> foreignKeys(VertexLabel vertexLabel, Direction direction) {
+        String end = direction == Direction.OUT ? Topology.OUT_VERTEX_COLUMN_END : Topology.IN_VERTEX_COLUMN_END;
+        if (vertexLabel.hasIDPrimaryKey()) {
+            return List.of(vertexLabel.getFullName() + end);
+        } else {
+            List<String> result = new ArrayList<>();
+            for (String identifier : vertexLabel.getIdentifiers()) {
+                result.add(vertexLabel.getFullName() + "." + identifier + end);
+            }
+            return result;
+        }
+    }
+
+    private static void appendEquals(SqlDialect sqlDialect, String leftAlias, List<String> leftColumns, String rightAlias, List<String> rightColumns, StringBuilder result) {
+        for (int i = 0; i < leftColumns.size(); i++) {
+            if (i > 0) {
+                result.append(" AND ");
+            }
+            result.append(leftAlias).append(".").append(sqlDialect.maybeWrapInQoutes(leftColumns.get(i)));
+            result.append(" = ");
+            result.append(rightAlias).append(".").append(sqlDialect.maybeWrapInQoutes(rightColumns.get(i)));
+        }
+    }
+
+    /**
+     * One vertex step of the filter traversal, with the has steps on its edges, i.e. {@code outE("ab").has("weight", 1).inV()},
+     * and on the vertices it reaches.
+     */
+    public static class Hop {
+
+        private final Direction direction;
+        private final String[] edgeLabels;
+        private final List<HasContainer> edgeHasContainers = new ArrayList<>();
+        private final List<HasContainer> vertexHasContainers = new ArrayList<>();
+        //Every set restricts the vertex labels, i.e. hasLabel("A", "B").hasLabel("B")
+        private final List<Set<String>> vertexLabels = new ArrayList<>();
+
+        private Hop(Direction direction, String[] edgeLabels) {
+            this.direction = direction;
+            this.edgeLabels = edgeLabels;
+        }
+
+        public Direction getDirection() {
+            return this.direction;
+        }
+
+        public void addEdgeHasContainer(HasContainer hasContainer) {
+            this.edgeHasContainers.add(hasContainer);
+        }
+
+        public void addVertexHasContainer(HasContainer hasContainer) {
+            this.vertexHasContainers.add(hasContainer);
+        }
+
+        public void addVertexLabels(Set<String> vertexLabels) {
+            this.vertexLabels.add(vertexLabels);
+        }
+
+        private boolean matchesEdgeLabel(EdgeLabel edgeLabel) {
+            if (this.edgeLabels.length == 0) {
+                return true;
+            }
+            for (String label : this.edgeLabels) {
+                if (label.equals(edgeLabel.getLabel()) || label.equals(edgeLabel.getFullName())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean matchesVertexLabel(SqlgGraph sqlgGraph, VertexLabel vertexLabel) {
+            for (Set<String> labels : this.vertexLabels) {
+                boolean matches = false;
+                for (String label : labels) {
+                    SchemaTable schemaTable = SchemaTable.from(sqlgGraph, label);
+                    if (schemaTable.getSchema().equals(vertexLabel.getSchema().getName()) && schemaTable.getTable().equals(vertexLabel.getLabel())) {
+                        matches = true;
+                        break;
+                    }
+                }
+                if (!matches) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Path {
+
+        private final Hop hop;
+        private final Direction direction;
+        private final EdgeLabel edgeLabel;
+        private final VertexLabel from;
+        //null if the hop does not care where the edge goes to
+        private final VertexLabel to;
+
+        private Path(Hop hop, Direction direction, EdgeLabel edgeLabel, VertexLabel from, VertexLabel to) {
+            this.hop = hop;
+            this.direction = direction;
+            this.edgeLabel = edgeLabel;
+            this.from = from;
+            this.to = to;
+        }
+    }
+}
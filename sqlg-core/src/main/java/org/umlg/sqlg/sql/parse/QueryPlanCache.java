@@ -0,0 +1,104 @@
+package org.umlg.sqlg.sql.parse;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.umlg.sqlg.structure.topology.Topology;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caches the sql compiled from a {@link SchemaTableTree} query stack together with the {@link ColumnList} and column
+ * aliases needed to load the result set.
+ * The cache is keyed on the shape of the query, i.e. everything that contributes to the sql except the values bound to
+ * the statement's parameters, and on the {@link Topology#getVersion()}.
+ * The cache is cleared whenever the topology changes.
+ * <p>
+ * The size of the cache is configured with {@link #QUERY_PLAN_CACHE_SIZE}, 0 disables the cache.
+ */
+public class QueryPlanCache {
+
+    public static final String QUERY_PLAN_CACHE_SIZE = "query.plan.cache.size";
+    public static final int QUERY_PLAN_CACHE_SIZE_DEFAULT = 1000;
+
+    private final Cache<String, CompiledQuery> cache;
+    private final boolean enabled;
+
+    public QueryPlanCache(Topology topology, int maximumSize) {
+        this.enabled = maximumSize > 0;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(maximumSize, 0))
+                .recordStats()
+                .build();
+        topology.registerListener((topologyInf, oldValue, topologyChangeAction) -> clear());
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    CompiledQuery get(String key) {
+        return this.cache.getIfPresent(key);
+    }
+
+    void put(String key, CompiledQuery compiledQuery) {
+        this.cache.put(key, compiledQuery);
+    }
+
+    public long hitCount() {
+        return this.cache.stats().hitCount();
+    }
+
+    public long missCount() {
+        return this.cache.stats().missCount();
+    }
+
+    public long size() {
+        return this.cache.size();
+    }
+
+    public void clear() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * The sql and its load metadata as it was after {@link SchemaTableTree#constructSql(java.util.LinkedList)}.
+     * Instances are shared between threads and must not be modified.
+     */
+    static class CompiledQuery {
+
+        private final String sql;
+        private final ColumnList columnList;
+        private final Map<String, String> columnNameAliasMap;
+        private final Map<String, String> aliasColumnNameMap;
+        private final int rootAliasCounter;
+
+        CompiledQuery(String sql, ColumnList columnList, AliasMapHolder aliasMapHolder, int rootAliasCounter) {
+            this.sql = sql;
+            this.columnList = columnList;
+            this.columnNameAliasMap = new HashMap<>(aliasMapHolder.getColumnNameAliasMap());
+            this.aliasColumnNameMap = new HashMap<>(aliasMapHolder.getAliasColumnNameMap());
+            this.rootAliasCounter = rootAliasCounter;
+        }
+
+        String getSql() {
+            return this.sql;
+        }
+
+        ColumnList getColumnList() {
+            return this.columnList;
+        }
+
+        Map<String, String> getColumnNameAliasMap() {
+            return this.columnNameAliasMap;
+        }
+
+        Map<String, String> getAliasColumnNameMap() {
+            return this.aliasColumnNameMap;
+        }
+
+        int getRootAliasCounter() {
+            return this.rootAliasCounter;
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package org.umlg.sqlg.sql.parse;
+
+import com.google.common.collect.Multimap;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.topology.Topology;
+import org.umlg.sqlg.structure.topology.VertexLabel;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.umlg.sqlg.structure.topology.Topology.EDGE_PREFIX;
+import static org.umlg.sqlg.structure.topology.Topology.VERTEX_PREFIX;
+
+/**
+ * A repeat over a single edge label that only connects a vertex label to itself, i.e.
+ * {@code repeat(out("manages").simplePath()).until(has("title", "CEO"))}, executed as one {@code WITH RECURSIVE} query
+ * instead of a query per round.
+ * <p>
+ * The recursive rows carry the start vertex, the depth, the id path walked so far and whether the until and emit
+ * traversals hold for the row's vertex. Rows that hold the until do not recurse. The path of ids is used to rebuild the
+ * traversers' paths and, for {@code simplePath()}, to stop at a vertex already on it. It is an array on dialects that
+ * have one, see {@link SqlDialect#recursivePathStart(String)}.
+ * <p>
+ * The rows that are returned join the vertex table, so the vertex a traverser leaves the repeat at is loaded with the
+ * row.
+ */
+public class RecursiveRepeatQuery {
+
+    private static final String CTE = "recursive_repeat";
+    private static final String VERTEX_ALIAS = "recursive_v";
+    private static final String EDGE_ALIAS = "recursive_e";
+    /**
+     * The number of columns before the vertex's columns in the rows of {@link #toSql(SqlgGraph, List, List, Multimap)}.
+     */
+    public static final int VERTEX_COLUMN_OFFSET = 5;
+
+    private final String schema;
+    private final String vertexLabel;
+    private final String edgeLabel;
+    private final Direction direction;
+    private final boolean simplePath;
+    private final Condition until;
+    private final Condition emit;
+    private final boolean untilFirst;
+    private final boolean emitFirst;
+
+    public RecursiveRepeatQuery(
+            VertexLabel vertexLabel,
+            String edgeLabel,
+            Direction direction,
+            boolean simplePath,
+            Condition until,
+            Condition emit,
+            boolean untilFirst,
+            boolean emitFirst) {
+
+        this.schema = vertexLabel.getSchema().getName();
+        this.vertexLabel = vertexLabel.getLabel();
+        this.edgeLabel = edgeLabel;
+        this.direction = direction;
+        this.simplePath = simplePath;
+        this.until = until;
+        this.emit = emit;
+        this.untilFirst = untilFirst;
+        this.emitFirst = emitFirst;
+    }
+
+    public String getSchema() {
+        return this.schema;
+    }
+
+    public String getVertexLabel() {
+        return this.vertexLabel;
+    }
+
+    public boolean isSimplePath() {
+        return this.simplePath;
+    }
+
+    /**
+     * @return true if the start passes the until traversal before taking a step, only the starts can be tested in memory.
+     */
+    public boolean untilStart(Element start) {
+        return this.untilFirst && this.until != null && this.until.test(start, 0);
+    }
+
+    /**
+     * @return true if the start is emitted before taking a step, only the starts can be tested in memory.
+     */
+    public boolean emitStart(Element start) {
+        return this.emitFirst && this.emit != null && !untilStart(start) && this.emit.test(start, 0);
+    }
+
+    /**
+     * The sql for the starts with the given ids. The parameters are added to the keyValueMap in the order they appear in
+     * the sql.
+     * The result columns are the start id, the id path, the depth, 1 or 0 for the until and the emit, and then the
+     * vertexColumns of the row's vertex.
+     */
+    public String toSql(SqlgGraph sqlgGraph, List<Long> startIds, List<String> vertexColumns, Multimap<String, Object> keyValueMap) {
+        SqlDialect sqlDialect = sqlgGraph.getSqlDialect();
+        Map<String, ?> properties = sqlgGraph.getTopology().getVertexLabel(this.schema, this.vertexLabel)
+                .map(VertexLabel::getProperties)
+                .orElse(Collections.emptyMap());
+        String cte = sqlDialect.maybeWrapInQoutes(CTE);
+        String vertexAlias = sqlDialect.maybeWrapInQoutes(VERTEX_ALIAS);
+        String edgeAlias = sqlDialect.maybeWrapInQoutes(EDGE_ALIAS);
+        String vertexTable = sqlDialect.maybeWrapInQoutes(this.schema) + "." + sqlDialect.maybeWrapInQoutes(VERTEX_PREFIX + this.vertexLabel);
+        String edgeTable = sqlDialect.maybeWrapInQoutes(this.schema) + "." + sqlDialect.maybeWrapInQoutes(EDGE_PREFIX + this.edgeLabel);
+        String id = vertexAlias + "." + sqlDialect.maybeWrapInQoutes(Topology.ID);
+        String path = cte + "." + sqlDialect.maybeWrapInQoutes("path");
+        String fromForeignKey = this.schema + "." + this.vertexLabel + (this.direction == Direction.OUT ? Topology.OUT_VERTEX_COLUMN_END : Topology.IN_VERTEX_COLUMN_END);
+        String toForeignKey = this.schema + "." + this.vertexLabel + (this.direction == Direction.OUT ? Topology.IN_VERTEX_COLUMN_END : Topology.OUT_VERTEX_COLUMN_END);
+
+        StringBuilder sql = new StringBuilder("WITH RECURSIVE ");
+        sql.append(cte).append("(");
+        sql.append(sqlDialect.maybeWrapInQoutes("start")).append(", ");
+        sql.append(sqlDialect.maybeWrapInQoutes(Topology.ID)).append(", ");
+        sql.append(sqlDialect.maybeWrapInQoutes("depth")).append(", ");
+        sql.append(sqlDialect.maybeWrapInQoutes("until")).append(", ");
+        sql.append(sqlDialect.maybeWrapInQoutes("emit")).append(", ");
+        sql.append(sqlDialect.maybeWrapInQoutes("path")).append(") AS (\nSELECT ");
+        //The starts, only tested if the until and emit come before the repeat.
+        sql.append(id).append(", ").append(id).append(", 0, ");
+        Condition startUntil = this.untilFirst ? this.until : null;
+        Condition startEmit = this.emitFirst ? this.emit : null;
+        appendFlags(sqlgGraph, startUntil, startEmit, false, "0", vertexAlias, properties, sql, keyValueMap);
+        sql.append(", ").append(sqlDialect.recursivePathStart(id));
+        sql.append("\nFROM ").append(vertexTable).append(" ").append(vertexAlias);
+        sql.append("\nWHERE ").append(id).append(" IN (");
+        for (int i = 0; i < startIds.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("?");
+            keyValueMap.put(Topology.ID, startIds.get(i));
+        }
+        sql.append(")\nUNION ALL\nSELECT ");
+        //A step, with the until after the emit if the until comes before the repeat and the emit after it.
+        String depth = cte + "." + sqlDialect.maybeWrapInQoutes("depth") + " + 1";
+        sql.append(cte).append(".").append(sqlDialect.maybeWrapInQoutes("start")).append(", ");
+        sql.append(id).append(", ").append(depth).append(", ");
+        appendFlags(sqlgGraph, this.until, this.emit, this.untilFirst && !this.emitFirst, depth, vertexAlias, properties, sql, keyValueMap);
+        sql.append(", ").append(sqlDialect.recursivePathAppend(path, id));
+        sql.append("\nFROM ").append(cte);
+        sql.append(" JOIN ").append(edgeTable).append(" ").append(edgeAlias).append(" ON ");
+        sql.append(edgeAlias).append(".").append(sqlDialect.maybeWrapInQoutes(fromForeignKey));
+        sql.append(" = ").append(cte).append(".").append(sqlDialect.maybeWrapInQoutes(Topology.ID));
+        sql.append(" JOIN ").append(vertexTable).append(" ").append(vertexAlias).append(" ON ");
+        sql.append(id).append(" = ").append(edgeAlias).append(".").append(sqlDialect.maybeWrapInQoutes(toForeignKey));
+        sql.append("\nWHERE ").append(cte).append(".").append(sqlDialect.maybeWrapInQoutes("until")).append(" = 0");
+        if (this.simplePath) {
+            sql.append(" AND ").append(sqlDialect.recursivePathNotContains(path, id));
+        }
+        sql.append("\n)\nSELECT ");
+        sql.append(cte).append(".").append(sqlDialect.maybeWrapInQoutes("start")).append(", ");
+        sql.append(path).append(", ");
+        sql.append(cte).append(".").append(sqlDialect.maybeWrapInQoutes("depth")).append(", ");
+        sql.append(cte).append(".").append(sqlDialect.maybeWrapInQoutes("until")).append(", ");
+        sql.append(cte).append(".").append(sqlDialect.maybeWrapInQoutes("emit"));
+        for (String vertexColumn : vertexColumns) {
+            sql.append(", ").append(vertexAlias).append(".").append(sqlDialect.maybeWrapInQoutes(vertexColumn));
+        }
+        sql.append("\nFROM ").append(cte);
+        sql.append(" JOIN ").append(vertexTable).append(" ").append(vertexAlias).append(" ON ");
+        sql.append(id).append(" = ").append(cte).append(".").append(sqlDialect.maybeWrapInQoutes(Topology.ID));
+        sql.append("\nWHERE ").append(cte).append(".").append(sqlDialect.maybeWrapInQoutes("until")).append(" = 1 OR ");
+        sql.append(cte).append(".").append(sqlDialect.maybeWrapInQoutes("emit")).append(" = 1");
+        sql.append("\nORDER BY ").append(cte).append(".").append(sqlDialect.maybeWrapInQoutes("depth"));
+        if (sqlDialect.needsSemicolon()) {
+            sql.append(";");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Appends the until and the emit columns. A row that passes the until is only emitted if the emit is tested first.
+     */
+    private void appendFlags(
+            SqlgGraph sqlgGraph,
+            Condition until,
+            Condition emit,
+            boolean emitBeforeUntil,
+            String depth,
+            String vertexAlias,
+            Map<String, ?> properties,
+            StringBuilder sql,
+            Multimap<String, Object> keyValueMap) {
+
+        if (until != null) {
+            sql.append("CASE WHEN ");
+            until.toSql(sqlgGraph, depth, vertexAlias, properties, sql, keyValueMap);
+            sql.append(" THEN 1 ELSE 0 END, ");
+        } else {
+            sql.append("0, ");
+        }
+        if (emit != null) {
+            sql.append("CASE WHEN ");
+            if (until != null && !emitBeforeUntil) {
+                until.toSql(sqlgGraph, depth, vertexAlias, properties, sql, keyValueMap);
+                sql.append(" THEN 0 WHEN ");
+            }
+            emit.toSql(sqlgGraph, depth, vertexAlias, properties, sql, keyValueMap);
+            sql.append(" THEN 1 ELSE 0 END");
+        } else {
+            sql.append("0");
+        }
+    }
+
+    /**
+     * An until or emit traversal, either has containers on the vertex, and-ed together, or a maximum number of loops for
+     * {@code times(n)}. No has containers is always true, i.e. {@code emit()}.
+     */
+    public static final class Condition {
+
+        private final List<HasContainer> hasContainers;
+        private final long maxLoops;
+
+        private Condition(List<HasContainer> hasContainers, long maxLoops) {
+            this.hasContainers = hasContainers;
+            this.maxLoops = maxLoops;
+        }
+
+        public static Condition of(List<HasContainer> hasContainers) {
+            return new Condition(hasContainers, -1);
+        }
+
+        public static Condition loops(long maxLoops) {
+            return new Condition(Collections.emptyList(), maxLoops);
+        }
+
+        boolean test(Element element, int depth) {
+            if (this.maxLoops != -1) {
+                return depth >= this.maxLoops;
+            }
+            return HasContainer.testAll(element, this.hasContainers);
+        }
+
+        private void toSql(SqlgGraph sqlgGraph, String depth, String vertexAlias, Map<String, ?> properties, StringBuilder sql, Multimap<String, Object> keyValueMap) {
+            if (this.maxLoops != -1) {
+                sql.append(depth).append(" >= ").append(this.maxLoops);
+            } else if (this.hasContainers.isEmpty()) {
+                sql.append("1=1");
+            } else {
+                int count = 1;
+                for (HasContainer hasContainer : this.hasContainers) {
+                    if (properties.containsKey(hasContainer.getKey())) {
+                        WhereClause whereClause = WhereClause.from(hasContainer.getPredicate());
+                        sql.append(whereClause.toSql(sqlgGraph, null, hasContainer, vertexAlias, true));
+                        whereClause.putKeyValueMap(hasContainer, keyValueMap, null);
+                    } else {
+                        //The vertex label does not have the property, the has can never be true.
+                        sql.append("1=0");
+                    }
+                    if (count++ < this.hasContainers.size()) {
+                        sql.append(" AND ");
+                    }
+                }
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Condition)) {
+                return false;
+            }
+            Condition other = (Condition) o;
+            return this.maxLoops == other.maxLoops && this.hasContainers.equals(other.hasContainers);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.hasContainers, this.maxLoops);
+        }
+
+        @Override
+        public String toString() {
+            return this.maxLoops != -1 ? "loops(" + this.maxLoops + ")" : this.hasContainers.toString();
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RecursiveRepeatQuery)) {
+            return false;
+        }
+        RecursiveRepeatQuery other = (RecursiveRepeatQuery) o;
+        return this.simplePath == other.simplePath &&
+                this.untilFirst == other.untilFirst &&
+                this.emitFirst == other.emitFirst &&
+                this.schema.equals(other.schema) &&
+                this.vertexLabel.equals(other.vertexLabel) &&
+                this.edgeLabel.equals(other.edgeLabel) &&
+                this.direction == other.direction &&
+                Objects.equals(this.until, other.until) &&
+                Objects.equals(this.emit, other.emit);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.schema, this.vertexLabel, this.edgeLabel, this.direction, this.simplePath, this.until, this.emit, this.untilFirst, this.emitFirst);
+    }
+
+    @Override
+    public String toString() {
+        return this.direction + ",[" + this.edgeLabel + "]" + (this.simplePath ? ",simplePath" : "") +
+                (this.until != null ? ",until(" + this.until + ")" : "") +
+                (this.emit != null ? ",emit(" + this.emit + ")" : "");
+    }
+}
@@ -17,6 +17,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.structure.*;
 import org.umlg.sqlg.strategy.BaseStrategy;
 import org.umlg.sqlg.strategy.SqlgComparatorHolder;
+import org.umlg.sqlg.strategy.SqlgDedupSampleTailHolder;
 import org.umlg.sqlg.strategy.SqlgRangeHolder;
 import org.umlg.sqlg.strategy.TopologyStrategy;
 import org.umlg.sqlg.structure.PropertyType;
@@ -52,6 +53,10 @@ public class ReplacedStep<S, E> {
      * range limitation if any
      */
     private SqlgRangeHolder sqlgRangeHolder;
+    /**
+     * dedup, sample or tail that follows the step, if any
+     */
+    private SqlgDedupSampleTailHolder sqlgDedupSampleTailHolder;
     //This indicates the distanced of the replaced steps from the starting step. i.e. g.V(1).out().out().out() will be 0,1,2 for the 3 outs
     private int depth;
     private boolean emit;
@@ -550,6 +555,7 @@ public class ReplacedStep<S, E> {
                 this.sqlgComparatorHolder,
                 this.sqlgComparatorHolder.getComparators(),
                 this.sqlgRangeHolder,
+                this.sqlgDedupSampleTailHolder,
                 SchemaTableTree.STEP_TYPE.GRAPH_STEP,
                 this.emit,
                 this.untilFirst,
@@ -830,6 +836,18 @@ public class ReplacedStep<S, E> {
         return this.getSqlgRangeHolder() != null;
     }
 
+    public SqlgDedupSampleTailHolder getSqlgDedupSampleTailHolder() {
+        return this.sqlgDedupSampleTailHolder;
+    }
+
+    public void setSqlgDedupSampleTailHolder(SqlgDedupSampleTailHolder sqlgDedupSampleTailHolder) {
+        this.sqlgDedupSampleTailHolder = sqlgDedupSampleTailHolder;
+    }
+
+    public boolean hasDedupSampleTail() {
+        return this.sqlgDedupSampleTailHolder != null;
+    }
+
     public boolean applyInStep() {
         return this.getSqlgRangeHolder().isApplyInStep();
     }
@@ -11,6 +11,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SelectOneStep;
 import org.javatuples.Pair;
 import org.umlg.sqlg.strategy.BaseStrategy;
+import org.umlg.sqlg.strategy.SqlgDedupSampleTailHolder;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -116,6 +117,40 @@ public class ReplacedStepTree<S, E> {
         return replacedStep.hasRange();
     }
 
+    public boolean hasSkip() {
+        List<ReplacedStep<S, E>> replacedSteps = linearPathToLeafNode();
+        ReplacedStep<S, E> replacedStep = replacedSteps.get(replacedSteps.size() - 1);
+        return replacedStep.hasRange() && replacedStep.getSqlgRangeHolder().hasSkip();
+    }
+
+    public SqlgDedupSampleTailHolder getDedupSampleTailHolder() {
+        List<ReplacedStep<S, E>> replacedSteps = linearPathToLeafNode();
+        ReplacedStep<S, E> replacedStep = replacedSteps.get(replacedSteps.size() - 1);
+        return replacedStep.getSqlgDedupSampleTailHolder();
+    }
+
+    /**
+     * @return true if all the comparators are on the leaf node.
+     */
+    public boolean orderByIsOnLeafNode() {
+        List<ReplacedStep<S, E>> replacedSteps = linearPathToLeafNode();
+        for (int i = 0; i < replacedSteps.size() - 1; i++) {
+            if (replacedSteps.get(i).getSqlgComparatorHolder().hasComparators()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean hasAggregateFunction() {
+        for (ReplacedStep<S, E> replacedStep : linearPathToLeafNode()) {
+            if (replacedStep.hasAggregateFunction()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public boolean hasOrderBy() {
         for (ReplacedStep<S, E> replacedStep : linearPathToLeafNode()) {
             if (replacedStep.getSqlgComparatorHolder().hasComparators()) {
@@ -212,6 +247,9 @@ public class ReplacedStepTree<S, E> {
         if (replacedStep.getSqlgRangeHolder() != null) {
             replacedStep.getSqlgRangeHolder().reset();
         }
+        if (replacedStep.getSqlgDedupSampleTailHolder() != null) {
+            replacedStep.getSqlgDedupSampleTailHolder().reset();
+        }
     }
 
     public class TreeNode {
@@ -0,0 +1,379 @@
+package org.umlg.sqlg.sql.parse;
+
+import com.google.common.base.Preconditions;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.umlg.sqlg.strategy.Emit;
+import org.umlg.sqlg.strategy.SqlgComparatorHolder;
+import org.umlg.sqlg.structure.*;
+import org.umlg.sqlg.structure.topology.Topology;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.*;
+
+import static org.umlg.sqlg.structure.topology.Topology.EDGE_PREFIX;
+import static org.umlg.sqlg.structure.topology.Topology.VERTEX_PREFIX;
+
+/**
+ * Reads the rows of a distinct query into the {@link Emit}s of its labeled elements.
+ * A RowDecoder is built on the query's first row. It resolves the column indexes of the elements' ids, properties and
+ * edge foreign keys, and the elements' labels, once for all the rows instead of per row by name.
+ */
+public final class RowDecoder {
+
+    private final ElementDecoder[][] subQueryStacks;
+    //Indexed as the subQueryStacks, the elements are emitted for a local optional step.
+    private final boolean[] localOptional;
+    private final boolean repeatEmit;
+    private final boolean forParent;
+
+    private RowDecoder(ElementDecoder[][] subQueryStacks, boolean[] localOptional, boolean repeatEmit, boolean forParent) {
+        this.subQueryStacks = subQueryStacks;
+        this.localOptional = localOptional;
+        this.repeatEmit = repeatEmit;
+        this.forParent = forParent;
+    }
+
+    /**
+     * @param resultSetMetaData   The query's columns, the aliases of the id columns are mapped back to the elements.
+     * @param rootSchemaTableTree The root of the query, its column lists and alias maps must be those of the query.
+     * @param subQueryStacks      The query's stack split into its sub queries.
+     * @param forParent           Indicates that the gremlin query is for SqlgVertexStep. It is in the context of an incoming traverser, the parent.
+     */
+    public static RowDecoder of(
+            ResultSetMetaData resultSetMetaData,
+            SchemaTableTree rootSchemaTableTree,
+            List<LinkedList<SchemaTableTree>> subQueryStacks,
+            boolean forParent) throws SQLException {
+
+        for (LinkedList<SchemaTableTree> subQueryStack : subQueryStacks) {
+            for (SchemaTableTree schemaTableTree : subQueryStack) {
+                schemaTableTree.clearColumnNamePropertyNameMap();
+            }
+        }
+        Map<String, Integer> idColumns = idColumns(resultSetMetaData, rootSchemaTableTree);
+        ElementDecoder[][] elementDecoders = new ElementDecoder[subQueryStacks.size()][];
+        boolean[] localOptional = new boolean[subQueryStacks.size()];
+        for (int i = 0; i < subQueryStacks.size(); i++) {
+            LinkedList<SchemaTableTree> subQueryStack = subQueryStacks.get(i);
+            boolean lastQueryStack = i == subQueryStacks.size() - 1;
+            List<ElementDecoder> stackDecoders = new ArrayList<>();
+            int count = 1;
+            for (SchemaTableTree schemaTableTree : subQueryStack) {
+                if (!schemaTableTree.getLabels().isEmpty()) {
+                    //Only the last node in the last subQueryStack gets the labels of an emit, as the labels only apply to
+                    //the exiting element that gets emitted. i.e. for "repeat(traversal()).emit().as('label')"
+                    Set<String> labels;
+                    if (schemaTableTree.isEmit() && (!lastQueryStack || count != subQueryStack.size())) {
+                        labels = Collections.emptySet();
+                    } else {
+                        labels = schemaTableTree.getRealLabels();
+                    }
+                    stackDecoders.add(new ElementDecoder(schemaTableTree, idColumns, labels));
+                }
+                count++;
+            }
+            elementDecoders[i] = stackDecoders.toArray(new ElementDecoder[0]);
+            SchemaTableTree lastSchemaTableTree = subQueryStack.getLast();
+            localOptional[i] = lastSchemaTableTree.isLocalStep() && lastSchemaTableTree.isOptionalLeftJoin();
+        }
+        SchemaTableTree lastSchemaTableTree = subQueryStacks.get(subQueryStacks.size() - 1).getLast();
+        boolean repeatEmit = lastSchemaTableTree.getReplacedStepDepth() == lastSchemaTableTree.getStepDepth() &&
+                lastSchemaTableTree.isEmit() &&
+                lastSchemaTableTree.isUntilFirst();
+        return new RowDecoder(elementDecoders, localOptional, repeatEmit, forParent);
+    }
+
+    /**
+     * Maps the id and identifier columns from their alias back to their column name, on to their column index.
+     * The map is empty on aggregation queries where the identifier columns are removed when building the outer select.
+     */
+    private static Map<String, Integer> idColumns(ResultSetMetaData resultSetMetaData, SchemaTableTree rootSchemaTableTree) throws SQLException {
+        Map<String, Integer> idColumns = new HashMap<>();
+        Set<String> identifiers = rootSchemaTableTree.getAllIdentifiers();
+        Map<String, String> aliasColumnNameMap = rootSchemaTableTree.getAliasColumnNameMap();
+        for (int columnCount = 1; columnCount <= resultSetMetaData.getColumnCount(); columnCount++) {
+            String columnLabel = resultSetMetaData.getColumnLabel(columnCount);
+            String unAliased = aliasColumnNameMap.get(columnLabel);
+            String columnName = unAliased != null ? unAliased : columnLabel;
+            int separator = columnName.lastIndexOf(SchemaTableTree.ALIAS_SEPARATOR);
+            if (separator != -1) {
+                String column = columnName.substring(separator + SchemaTableTree.ALIAS_SEPARATOR.length());
+                if (column.equals(Topology.ID) || identifiers.contains(column)) {
+                    idColumns.put(columnName, columnCount);
+                }
+            }
+        }
+        return idColumns;
+    }
+
+    /**
+     * Loads the row the resultSet is on.
+     *
+     * @return A list of @{@link Emit}s that represent a single @{@link org.apache.tinkerpop.gremlin.process.traversal.Path}
+     */
+    public List<Emit<SqlgElement>> load(SqlgGraph sqlgGraph, ResultSet resultSet) throws SQLException {
+        List<Emit<SqlgElement>> result = new ArrayList<>();
+        //The elements of a vertex step's query remember the start they belong to, they can not be shared.
+        IdentityMap identityMap = this.forParent ? null : sqlgGraph.tx().getIdentityMap();
+        long parentIndex = this.forParent ? resultSet.getLong(1) : -1L;
+        for (int i = 0; i < this.subQueryStacks.length; i++) {
+            int size = result.size();
+            for (ElementDecoder elementDecoder : this.subQueryStacks[i]) {
+                SqlgElement sqlgElement = elementDecoder.load(sqlgGraph, resultSet, identityMap);
+                if (sqlgElement != null) {
+                    Emit<SqlgElement> emit;
+                    if (this.forParent) {
+                        //1 is the parentIndex. This is the id of the incoming parent.
+                        emit = new Emit<>(parentIndex, sqlgElement, elementDecoder.labels, elementDecoder.stepDepth, elementDecoder.sqlgComparatorHolder);
+                    } else {
+                        emit = new Emit<>(sqlgElement, elementDecoder.labels, elementDecoder.stepDepth, elementDecoder.sqlgComparatorHolder);
+                    }
+                    if (this.localOptional[i]) {
+                        emit.setIncomingOnlyLocalOptionalStep(true);
+                    }
+                    result.add(emit);
+                }
+            }
+            if (i == this.subQueryStacks.length - 1) {
+                Preconditions.checkState(result.size() > size);
+                if (this.repeatEmit) {
+                    result.get(result.size() - 1).setRepeat(true);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Loads the element of a labeled {@link SchemaTableTree} from the row.
+     */
+    private static final class ElementDecoder {
+
+        private final SchemaTableTree schemaTableTree;
+        private final boolean isVertex;
+        private final String schema;
+        private final String rawLabel;
+        //The element's label without its prefix, the key of its RecordId.
+        private final SchemaTable rawSchemaTable;
+        private final boolean aggregate;
+        private final Set<String> labels;
+        private final int stepDepth;
+        private final SqlgComparatorHolder sqlgComparatorHolder;
+        //-1 if the element has identifiers, or if the query is an aggregate.
+        private final int idColumn;
+        //null if the element's identifiers are not in the query.
+        private final int[] identifierColumns;
+        private final PropertyLayout propertyLayout;
+        private final PropertyDecoder[] properties;
+        private final Map<String, String> columnNameAliasMap;
+        private final ForeignKeyDecoder[] foreignKeys;
+
+        private ElementDecoder(SchemaTableTree schemaTableTree, Map<String, Integer> idColumns, Set<String> labels) {
+            this.schemaTableTree = schemaTableTree;
+            SchemaTable schemaTable = schemaTableTree.getSchemaTable();
+            this.isVertex = schemaTable.isVertexTable();
+            this.schema = schemaTable.getSchema();
+            this.rawLabel = schemaTable.getTable().substring(this.isVertex ? VERTEX_PREFIX.length() : EDGE_PREFIX.length()).intern();
+            this.rawSchemaTable = SchemaTable.of(this.schema, this.rawLabel);
+            this.aggregate = schemaTableTree.hasAggregateFunction();
+            this.labels = labels;
+            this.stepDepth = schemaTableTree.getStepDepth();
+            this.sqlgComparatorHolder = schemaTableTree.getSqlgComparatorHolder();
+            if (schemaTableTree.isHasIDPrimaryKey() && !this.aggregate) {
+                Integer idColumn = idColumns.get(schemaTableTree.labeledAliasId());
+                Preconditions.checkState(idColumn != null, "%s not found in the query's columns", schemaTableTree.labeledAliasId());
+                this.idColumn = idColumn;
+            } else {
+                this.idColumn = -1;
+            }
+            if (!schemaTableTree.isHasIDPrimaryKey() && !this.aggregate && !idColumns.isEmpty()) {
+                List<String> identifiers = schemaTableTree.getIdentifiers().asList();
+                this.identifierColumns = new int[identifiers.size()];
+                for (int i = 0; i < identifiers.size(); i++) {
+                    String labeledAliasIdentifier = schemaTableTree.labeledAliasIdentifier(identifiers.get(i));
+                    Integer identifierColumn = idColumns.get(labeledAliasIdentifier);
+                    Preconditions.checkState(identifierColumn != null, "%s not found in the query's columns", labeledAliasIdentifier);
+                    this.identifierColumns[i] = identifierColumn;
+                }
+            } else {
+                this.identifierColumns = null;
+            }
+            this.propertyLayout = schemaTableTree.getPropertyLayout();
+            this.columnNameAliasMap = schemaTableTree.getColumnNameAliasMap();
+            List<PropertyDecoder> properties = new ArrayList<>();
+            List<ForeignKeyDecoder> foreignKeys = new ArrayList<>();
+            for (ColumnList columnList : schemaTableTree.getRootColumnListStack()) {
+                for (ColumnList.Column column : columnList.getFor(this.stepDepth, schemaTable).keySet()) {
+                    if (!column.getColumn().equals("index") && !column.isID() && !column.isForeignKey()) {
+                        properties.add(new PropertyDecoder(column));
+                    }
+                }
+                if (!this.isVertex) {
+                    for (List<ColumnList.Column> columns : columnList.getInForeignKeys(this.stepDepth, schemaTable).values()) {
+                        foreignKeys.add(new ForeignKeyDecoder(Direction.IN, columns));
+                    }
+                    for (List<ColumnList.Column> columns : columnList.getOutForeignKeys(this.stepDepth, schemaTable).values()) {
+                        foreignKeys.add(new ForeignKeyDecoder(Direction.OUT, columns));
+                    }
+                }
+            }
+            this.properties = properties.toArray(new PropertyDecoder[0]);
+            this.foreignKeys = foreignKeys.toArray(new ForeignKeyDecoder[0]);
+        }
+
+        /**
+         * @return null if the element is not in the row.
+         */
+        private SqlgElement load(SqlgGraph sqlgGraph, ResultSet resultSet, IdentityMap identityMap) throws SQLException {
+            Long id = null;
+            List<Comparable> identifiers = null;
+            if (this.schemaTableTree.isHasIDPrimaryKey()) {
+                //aggregate queries have no ID
+                id = -1L;
+                if (this.idColumn != -1) {
+                    id = resultSet.getLong(this.idColumn);
+                    if (resultSet.wasNull()) {
+                        return null;
+                    }
+                }
+            } else if (this.identifierColumns != null) {
+                identifiers = new ArrayList<>(this.identifierColumns.length);
+                for (int identifierColumn : this.identifierColumns) {
+                    identifiers.add((Comparable) resultSet.getObject(identifierColumn));
+                }
+                if (resultSet.wasNull()) {
+                    return null;
+                }
+            } else {
+                identifiers = List.of(-1);
+            }
+            //With an identity map an element that was already loaded is returned instead of a new one, its columns are
+            //only read if they were not read from this row's query by the same schemaTableTree.
+            SqlgElement sqlgElement = null;
+            //aggregate queries return elements without an id
+            boolean shared = identityMap != null && !this.aggregate;
+            if (shared) {
+                sqlgElement = identityMap.get(this.isVertex, id != null ? RecordId.from(this.rawSchemaTable, id) : RecordId.from(this.rawSchemaTable, identifiers));
+                if (sqlgElement != null && !identityMap.mustLoad(sqlgElement, resultSet, this.schemaTableTree)) {
+                    return sqlgElement;
+                }
+            }
+            if (sqlgElement == null) {
+                if (this.isVertex) {
+                    sqlgElement = id != null ?
+                            SqlgVertex.of(sqlgGraph, id, this.schema, this.rawLabel) :
+                            SqlgVertex.of(sqlgGraph, identifiers, this.schema, this.rawLabel);
+                } else {
+                    sqlgElement = id != null ?
+                            new SqlgEdge(sqlgGraph, id, this.schema, this.rawLabel) :
+                            new SqlgEdge(sqlgGraph, identifiers, this.schema, this.rawLabel);
+                }
+                if (shared) {
+                    identityMap.put(sqlgElement, resultSet, this.schemaTableTree);
+                }
+            }
+            sqlgElement.usePropertyLayout(this.propertyLayout);
+            for (PropertyDecoder property : this.properties) {
+                boolean settedProperty = sqlgElement.loadProperty(
+                        resultSet,
+                        property.name,
+                        property.columnIndex,
+                        this.columnNameAliasMap,
+                        this.stepDepth,
+                        property.propertyType,
+                        property.average
+                );
+                //Check if the query returned anything at all, if not default the aggregate result
+                if (!settedProperty && property.aggregate) {
+                    sqlgElement.internalSetProperty(property.name, Double.NaN);
+                }
+            }
+            for (ForeignKeyDecoder foreignKey : this.foreignKeys) {
+                foreignKey.load(resultSet, (SqlgEdge) sqlgElement);
+            }
+            return sqlgElement;
+        }
+    }
+
+    /**
+     * A property column with the type it is read as.
+     */
+    private static final class PropertyDecoder {
+
+        private final String name;
+        private final int columnIndex;
+        private final PropertyType propertyType;
+        private final boolean aggregate;
+        private final boolean average;
+
+        private PropertyDecoder(ColumnList.Column column) {
+            this.name = column.getColumn();
+            String aggregateFunction = column.getAggregateFunction();
+            this.aggregate = aggregateFunction != null;
+            this.average = this.aggregate && aggregateFunction.equalsIgnoreCase("avg");
+            if (this.average) {
+                //the column before the average holds the weight
+                this.columnIndex = column.getColumnIndex() - 1;
+                this.propertyType = PropertyType.DOUBLE;
+            } else if (this.aggregate && aggregateFunction.equalsIgnoreCase("sum")) {
+                this.columnIndex = column.getColumnIndex();
+                if (column.getPropertyType() == PropertyType.INTEGER || column.getPropertyType() == PropertyType.SHORT) {
+                    this.propertyType = PropertyType.LONG;
+                } else {
+                    this.propertyType = column.getPropertyType();
+                }
+            } else if (this.aggregate && aggregateFunction.equals(GraphTraversal.Symbols.count)) {
+                this.columnIndex = column.getColumnIndex();
+                this.propertyType = PropertyType.LONG;
+            } else {
+                this.columnIndex = column.getColumnIndex();
+                this.propertyType = column.getPropertyType();
+            }
+        }
+    }
+
+    /**
+     * The foreign key columns of an edge's in or out vertex label.
+     */
+    private static final class ForeignKeyDecoder {
+
+        private final Direction direction;
+        //null if the foreign key is the vertex label's ID.
+        private final List<ColumnList.Column> columns;
+        private final SchemaTable foreignSchemaTable;
+        private final int columnIndex;
+
+        private ForeignKeyDecoder(Direction direction, List<ColumnList.Column> columns) {
+            this.direction = direction;
+            ColumnList.Column column = columns.get(0);
+            if (columns.size() == 1 && !column.isForeignKeyProperty()) {
+                this.columns = null;
+                this.foreignSchemaTable = column.getForeignSchemaTable();
+                this.columnIndex = column.getColumnIndex();
+            } else {
+                this.columns = columns;
+                this.foreignSchemaTable = null;
+                this.columnIndex = -1;
+            }
+        }
+
+        private void load(ResultSet resultSet, SqlgEdge sqlgEdge) throws SQLException {
+            if (this.direction == Direction.IN) {
+                if (this.columns == null) {
+                    sqlgEdge.loadInVertex(resultSet, this.foreignSchemaTable, this.columnIndex);
+                } else {
+                    sqlgEdge.loadInVertex(resultSet, this.columns);
+                }
+            } else {
+                if (this.columns == null) {
+                    sqlgEdge.loadOutVertex(resultSet, this.foreignSchemaTable, this.columnIndex);
+                } else {
+                    sqlgEdge.loadOutVertex(resultSet, this.columns);
+                }
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.umlg.sqlg.sql.parse;
 
 import com.google.common.base.Preconditions;
 import org.apache.commons.collections4.set.ListOrderedSet;
+import org.apache.commons.lang3.Range;
 import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
@@ -13,9 +14,16 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.SelectOneStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ElementValueComparator;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.OrP;
 import org.apache.tinkerpop.gremlin.structure.*;
+import org.umlg.sqlg.predicate.ArrayContains;
+import org.umlg.sqlg.predicate.ArrayOverlaps;
 import org.umlg.sqlg.predicate.Existence;
 import org.umlg.sqlg.predicate.FullText;
+import org.umlg.sqlg.predicate.PropertyReference;
+import org.umlg.sqlg.predicate.Text;
 import org.umlg.sqlg.strategy.*;
 import org.umlg.sqlg.structure.PropertyType;
 import org.umlg.sqlg.structure.*;
@@ -23,8 +31,6 @@ import org.umlg.sqlg.structure.topology.*;
 import org.umlg.sqlg.util.SqlgUtil;
 
 import java.security.SecureRandom;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -73,6 +79,8 @@ public class SchemaTableTree {
     //This counter must only ever be used on the root node of the schema table tree
     //It is used to alias the select clauses
     private int rootAliasCounter = 1;
+    //Indicates that the root's sql is a branch of a UnionQuery, the UnionQuery orders and ranges the rows.
+    private boolean unionBranch = false;
     private boolean emit;
     //left join, as required by the optimized ChooseStep via the optional step
     private boolean optionalLeftJoin;
@@ -86,6 +94,8 @@ public class SchemaTableTree {
     private String labeledAliasId;
     private ListOrderedSet<String> identifiers;
     private String distributionColumn;
+    //The slots the elements loaded by this SchemaTableTree keep their properties in.
+    private PropertyLayout propertyLayout;
     private boolean localStep = false;
     private boolean isIdStep = false;
     private boolean fakeEmit = false;
@@ -99,6 +109,10 @@ public class SchemaTableTree {
      * range limitation, if any
      */
     private SqlgRangeHolder sqlgRangeHolder;
+    /**
+     * dedup, sample or tail that follows the last step, if any
+     */
+    private SqlgDedupSampleTailHolder sqlgDedupSampleTailHolder;
     //This is the incoming element id and the traversals start elements index, for SqlgVertexStep.
     private List<Pair<RecordId.ID, Long>> parentIdsAndIndexes;
     private Set<String> restrictedProperties = null;
@@ -140,6 +154,7 @@ public class SchemaTableTree {
                     SqlgComparatorHolder sqlgComparatorHolder,
                     List<org.javatuples.Pair<Traversal.Admin<?, ?>, Comparator<?>>> dbComparators,
                     SqlgRangeHolder sqlgRangeHolder,
+                    SqlgDedupSampleTailHolder sqlgDedupSampleTailHolder,
                     STEP_TYPE stepType,
                     boolean emit,
                     boolean untilFirst,
@@ -160,6 +175,7 @@ public class SchemaTableTree {
         this.sqlgComparatorHolder = sqlgComparatorHolder;
         this.dbComparators = dbComparators;
         this.sqlgRangeHolder = sqlgRangeHolder;
+        this.sqlgDedupSampleTailHolder = sqlgDedupSampleTailHolder;
         this.labels = Collections.unmodifiableSet(labels);
         this.stepType = stepType;
         this.emit = emit;
@@ -540,6 +556,7 @@ public class SchemaTableTree {
                     this.schemaTable.withOutPrefix().getTable()
             ).orElseThrow(illegalStateExceptionSupplier);
             this.identifiers = vertexLabel.getIdentifiers();
+            this.propertyLayout = vertexLabel.getPropertyLayout();
             if (vertexLabel.isDistributed()) {
                 this.distributionColumn = vertexLabel.getDistributionPropertyColumn().getName();
             } else {
@@ -551,6 +568,7 @@ public class SchemaTableTree {
                     this.schemaTable.withOutPrefix().getTable()
             ).orElseThrow(illegalStateExceptionSupplier);
             this.identifiers = edgeLabel.getIdentifiers();
+            this.propertyLayout = edgeLabel.getPropertyLayout();
             if (edgeLabel.isDistributed()) {
                 this.distributionColumn = edgeLabel.getDistributionPropertyColumn().getName();
             } else {
@@ -573,6 +591,7 @@ public class SchemaTableTree {
                 replacedStep.getSqlgComparatorHolder(),
                 replacedStep.getSqlgComparatorHolder().getComparators(),
                 replacedStep.getSqlgRangeHolder(),
+                replacedStep.getSqlgDedupSampleTailHolder(),
                 replacedStep.getRestrictedProperties(),
                 replacedStep.getAggregateFunction(),
                 replacedStep.getGroupBy(),
@@ -612,6 +631,7 @@ public class SchemaTableTree {
                 replacedStep.getSqlgComparatorHolder(),
                 replacedStep.getSqlgComparatorHolder().getComparators(),
                 replacedStep.getSqlgRangeHolder(),
+                replacedStep.getSqlgDedupSampleTailHolder(),
                 replacedStep.getRestrictedProperties(),
                 replacedStep.getAggregateFunction(),
                 replacedStep.getGroupBy(),
@@ -633,6 +653,7 @@ public class SchemaTableTree {
             SqlgComparatorHolder sqlgComparatorHolder,
             List<org.javatuples.Pair<Traversal.Admin<?, ?>, Comparator<?>>> dbComparators,
             SqlgRangeHolder sqlgRangeHolder,
+            SqlgDedupSampleTailHolder sqlgDedupSampleTailHolder,
             Set<String> restrictedProperties,
             Pair<String, List<String>> aggregateFunction,
             List<String> groupBy,
@@ -652,6 +673,7 @@ public class SchemaTableTree {
             schemaTableTree.sqlgComparatorHolder = sqlgComparatorHolder;
             schemaTableTree.dbComparators = new ArrayList<>(dbComparators);
             schemaTableTree.sqlgRangeHolder = sqlgRangeHolder;
+            schemaTableTree.sqlgDedupSampleTailHolder = sqlgDedupSampleTailHolder;
         }
         schemaTableTree.parent = this;
         schemaTableTree.direction = direction;
@@ -668,7 +690,7 @@ public class SchemaTableTree {
         return schemaTableTree;
     }
 
-    private Map<String, Map<String, PropertyType>> getFilteredAllTables() {
+    Map<String, Map<String, PropertyType>> getFilteredAllTables() {
         return getRoot().filteredAllTables;
     }
 
@@ -676,7 +698,7 @@ public class SchemaTableTree {
         this.aliasMapHolder = new AliasMapHolder();
     }
 
-    private Map<String, String> getColumnNameAliasMap() {
+    Map<String, String> getColumnNameAliasMap() {
         return this.getRoot().aliasMapHolder.getColumnNameAliasMap();
     }
 
@@ -733,6 +755,21 @@ public class SchemaTableTree {
         this.aliasMapHolder.clear();
         this.rootAliasCounter = 1;
         this.columnListStack.clear();
+        this.unionBranch = false;
+    }
+
+    /**
+     * Prepares the root to construct its sql as a branch of a {@link UnionQuery}.
+     * The sql has no order by or range clause and its aliases follow on the previous branch's aliases.
+     */
+    void unionBranch(int rootAliasCounter) {
+        resetColumnAliasMaps();
+        this.unionBranch = true;
+        this.rootAliasCounter = rootAliasCounter;
+    }
+
+    int getRootAliasCounter() {
+        return this.rootAliasCounter;
     }
 
     public SchemaTable getSchemaTable() {
@@ -750,14 +787,166 @@ public class SchemaTableTree {
             return constructDuplicatePathSql(subQueryStacks, Collections.emptySet());
         } else {
             //If there are no duplicates in the path then one select statement will suffice.
-            return constructSinglePathSql(false, distinctQueryStack, null, null, Collections.emptySet(), false);
+            QueryPlanCache queryPlanCache = this.sqlgGraph.getQueryPlanCache();
+            String queryPlanCacheKey = null;
+            if (queryPlanCache.isEnabled() && isQueryPlanCacheable(distinctQueryStack)) {
+                distinctQueryStack.forEach(SchemaTableTree::clearTempFakeLabels);
+                queryPlanCacheKey = queryPlanCacheKey(distinctQueryStack);
+                QueryPlanCache.CompiledQuery compiledQuery = queryPlanCache.get(queryPlanCacheKey);
+                if (compiledQuery != null) {
+                    return fromCompiledQuery(distinctQueryStack, compiledQuery);
+                }
+            }
+            String sql = constructSinglePathSql(false, distinctQueryStack, null, null, Collections.emptySet(), false);
+            if (queryPlanCacheKey != null) {
+                queryPlanCache.put(queryPlanCacheKey, new QueryPlanCache.CompiledQuery(sql, this.columnListStack.get(0), this.aliasMapHolder, this.rootAliasCounter));
+            }
+            return sql;
+        }
+    }
+
+    /**
+     * Only {@link STEP_TYPE#GRAPH_STEP} queries are cached as the sql of a {@link org.umlg.sqlg.step.SqlgVertexStep}
+     * query holds the incoming element ids.
+     * Queries whose sql holds the has container's values, drop, aggregate and and/or queries are not cached either.
+     */
+    private boolean isQueryPlanCacheable(LinkedList<SchemaTableTree> distinctQueryStack) {
+        if (this.stepType != STEP_TYPE.GRAPH_STEP || distinctQueryStack.getFirst() != this || this.unionBranch ||
+                !this.columnListStack.isEmpty() || this.rootAliasCounter != 1 ||
+                this.sqlgGraph.getTopology().isSchemaChanged()) {
+            return false;
+        }
+        for (SchemaTableTree schemaTableTree : distinctQueryStack) {
+            if (schemaTableTree.drop ||
+                    !schemaTableTree.andOrHasContainers.isEmpty() ||
+                    !schemaTableTree.additionalPartitionHasContainers.isEmpty() ||
+                    schemaTableTree.hasAggregateFunction() ||
+                    (schemaTableTree.groupBy != null && !schemaTableTree.groupBy.isEmpty())) {
+                return false;
+            }
+            for (HasContainer hasContainer : schemaTableTree.hasContainers) {
+                if (SqlgUtil.isBulkWithinAndOut(this.sqlgGraph, hasContainer) || predicateSignature(hasContainer.getPredicate()) == null) {
+                    return false;
+                }
+            }
+            for (org.javatuples.Pair<Traversal.Admin<?, ?>, Comparator<?>> comparator : schemaTableTree.dbComparators) {
+                if (comparatorSignature(comparator) == null) {
+                    return false;
+                }
+            }
         }
+        return true;
+    }
+
+    private String queryPlanCacheKey(LinkedList<SchemaTableTree> distinctQueryStack) {
+        StringBuilder key = new StringBuilder();
+        key.append(this.sqlgGraph.getTopology().getVersion()).append(this.eagerLoad ? "|eager" : "");
+        for (SchemaTableTree schemaTableTree : distinctQueryStack) {
+            key.append("\n").append(schemaTableTree.schemaTable)
+                    .append("|").append(schemaTableTree.stepDepth)
+                    .append("|").append(schemaTableTree.replacedStepDepth)
+                    .append("|").append(schemaTableTree.stepType)
+                    .append("|").append(schemaTableTree.direction)
+                    .append("|").append(new TreeSet<>(schemaTableTree.labels))
+                    .append("|").append(schemaTableTree.emit)
+                    .append(schemaTableTree.untilFirst)
+                    .append(schemaTableTree.optionalLeftJoin)
+                    .append(schemaTableTree.localStep)
+                    .append(schemaTableTree.localBarrierStep)
+                    .append(schemaTableTree.fakeEmit)
+                    .append(schemaTableTree.idOnly)
+                    .append(schemaTableTree.isIdStep)
+                    .append("|").append(schemaTableTree.restrictedProperties == null ? "*" : new TreeSet<>(schemaTableTree.restrictedProperties));
+            for (HasContainer hasContainer : schemaTableTree.hasContainers) {
+                key.append("|has:").append(hasContainer.getKey()).append(predicateSignature(hasContainer.getPredicate()));
+            }
+            for (org.javatuples.Pair<Traversal.Admin<?, ?>, Comparator<?>> comparator : schemaTableTree.dbComparators) {
+                key.append("|order:").append(comparatorSignature(comparator));
+            }
+            SqlgRangeHolder rangeHolder = schemaTableTree.sqlgRangeHolder;
+            if (rangeHolder != null && rangeHolder.isApplyOnDb()) {
+                key.append("|range:").append(rangeHolder.hasRange() ? rangeHolder.getRange() : rangeHolder.getSkip());
+            }
+            SqlgDedupSampleTailHolder dedupSampleTailHolder = schemaTableTree.sqlgDedupSampleTailHolder;
+            if (dedupSampleTailHolder != null && dedupSampleTailHolder.isApplyOnDb()) {
+                key.append("|").append(dedupSampleTailHolder);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * @return the part of the predicate that contributes to the sql, null if the sql holds the predicate's value.
+     */
+    private static String predicateSignature(P<?> p) {
+        if (p instanceof AndP || p instanceof OrP) {
+            List<? extends P<?>> predicates = ((ConnectiveP<?>) p).getPredicates();
+            StringBuilder result = new StringBuilder(p instanceof AndP ? "and(" : "or(");
+            for (P<?> predicate : predicates) {
+                if (!(predicate.getBiPredicate() instanceof Compare)) {
+                    return null;
+                }
+                result.append(predicate.getBiPredicate()).append(",");
+            }
+            return result.append(")").toString();
+        } else if (p.getValue() instanceof PropertyReference && p.getBiPredicate() instanceof Compare) {
+            return p.getBiPredicate() + "(" + ((PropertyReference) p.getValue()).getColumnName() + ")";
+        } else if (p.getBiPredicate() instanceof Compare || p.getBiPredicate() instanceof Text || p.getBiPredicate() instanceof Existence) {
+            return p.getBiPredicate().toString();
+        } else if (p.getBiPredicate() instanceof Contains) {
+            return p.getBiPredicate() + "(" + ((Collection<?>) p.getValue()).size() + ")";
+        } else if (p.getBiPredicate() instanceof ArrayContains || p.getBiPredicate() instanceof ArrayOverlaps) {
+            return p.getBiPredicate().getClass().getSimpleName();
+        } else {
+            return null;
+        }
+    }
+
+    private static String comparatorSignature(org.javatuples.Pair<Traversal.Admin<?, ?>, Comparator<?>> comparator) {
+        if (comparator.getValue1() instanceof ElementValueComparator) {
+            ElementValueComparator<?> elementValueComparator = (ElementValueComparator<?>) comparator.getValue1();
+            if (elementValueComparator.getValueComparator() instanceof Order) {
+                return elementValueComparator.getPropertyKey() + " " + elementValueComparator.getValueComparator();
+            }
+        } else if (comparator.getValue1() instanceof Order) {
+            if (comparator.getValue0() instanceof ValueTraversal) {
+                return ((ValueTraversal<?, ?>) comparator.getValue0()).getPropertyKey() + " " + comparator.getValue1();
+            } else if (comparator.getValue0() instanceof TokenTraversal) {
+                return ((TokenTraversal<?, ?>) comparator.getValue0()).getToken() + " " + comparator.getValue1();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Restores the state {@link #constructSinglePathSql} leaves behind for loading the result set.
+     */
+    private String fromCompiledQuery(LinkedList<SchemaTableTree> distinctQueryStack, QueryPlanCache.CompiledQuery compiledQuery) {
+        for (SchemaTableTree stt : distinctQueryStack) {
+            stt.calculatePropertyRestrictions();
+        }
+        SchemaTableTree lastSchemaTableTree = distinctQueryStack.getLast();
+        if (!lastSchemaTableTree.hasLabels()) {
+            lastSchemaTableTree.addLabel(lastSchemaTableTree.getStepDepth() + BaseStrategy.PATH_LABEL_SUFFIX + BaseStrategy.SQLG_PATH_TEMP_FAKE_LABEL);
+        }
+        this.columnListStack.add(compiledQuery.getColumnList());
+        this.aliasMapHolder.getColumnNameAliasMap().putAll(compiledQuery.getColumnNameAliasMap());
+        this.aliasMapHolder.getAliasColumnNameMap().putAll(compiledQuery.getAliasColumnNameMap());
+        this.rootAliasCounter = compiledQuery.getRootAliasCounter();
+        return compiledQuery.getSql();
     }
 
     public String constructSqlForOptional(LinkedList<SchemaTableTree> innerJoinStack, Set<SchemaTableTree> leftJoinOn) {
         Preconditions.checkState(this.parent == null, CONSTRUCT_SQL_MAY_ONLY_BE_CALLED_ON_THE_ROOT_OBJECT);
-        if (duplicatesInStack(innerJoinStack)) {
+        if (duplicatesInStack(innerJoinStack) || leftJoinOnDuplicates(innerJoinStack, leftJoinOn)) {
             List<LinkedList<SchemaTableTree>> subQueryStacks = splitIntoSubStacks(innerJoinStack);
+            //The left joins are added to the last sub query, it may not already join their tables.
+            LinkedList<SchemaTableTree> last = subQueryStacks.get(subQueryStacks.size() - 1);
+            if (last.size() > 1 && leftJoinOnDuplicates(last, leftJoinOn)) {
+                LinkedList<SchemaTableTree> leftJoinSubStack = new LinkedList<>();
+                leftJoinSubStack.add(last.removeLast());
+                subQueryStacks.add(leftJoinSubStack);
+            }
             return constructDuplicatePathSql(subQueryStacks, leftJoinOn);
         } else {
             //If there are no duplicates in the path then one select statement will suffice.
@@ -854,7 +1043,11 @@ public class SchemaTableTree {
         }
         singlePathSql.append(constructOuterGroupByClause(sqlgGraph, subQueryLinkedLists, isDrop()));
         singlePathSql.append(constructOuterOrderByClause(sqlgGraph, subQueryLinkedLists));
-        String result = "SELECT\n\t" + constructOuterFromClause(subQueryLinkedLists);
+        String select = "SELECT\n\t";
+        if (leftJoinOn.isEmpty() && isDistinct(subQueryLinkedLists.stream().flatMap(Collection::stream).collect(Collectors.toList()))) {
+            select = "SELECT DISTINCT\n\t";
+        }
+        String result = select + constructOuterFromClause(subQueryLinkedLists);
         return result + singlePathSql;
     }
 
@@ -926,6 +1119,9 @@ public class SchemaTableTree {
         int startIndexColumns = 1;
 
         StringBuilder singlePathSql = new StringBuilder("\nSELECT\n\t");
+        if (!partOfDuplicateQuery && !dropStep && leftJoinOn.isEmpty() && isDistinct(distinctQueryStack)) {
+            singlePathSql.insert(7, " DISTINCT");
+        }
         SchemaTableTree firstSchemaTableTree = distinctQueryStack.getFirst();
         SchemaTable firstSchemaTable = firstSchemaTableTree.getSchemaTable();
 
@@ -1516,6 +1712,17 @@ public class SchemaTableTree {
 
     private String toOrderByClause(MutableBoolean printedOrderBy, int counter) {
         String result = "";
+        if (getRoot().unionBranch) {
+            return result;
+        }
+        if (isApplyDedupSampleTail(SqlgDedupSampleTailHolder.Type.SAMPLE)) {
+            //sample(n) is only applied on the db for single queries without comparators
+            result += printedOrderBy.booleanValue() ? ",\n\t" : "\nORDER BY\n\t";
+            printedOrderBy.setTrue();
+            result += sqlgGraph.getSqlDialect().getRandomFunction();
+        }
+        //tail(n) reads the last n rows in the reversed order, SqlgGraphStep restores the order in memory.
+        boolean reverse = isApplyDedupSampleTail(SqlgDedupSampleTailHolder.Type.TAIL);
         for (org.javatuples.Pair<Traversal.Admin<?, ?>, Comparator<?>> comparator : this.getDbComparators()) {
             if (!printedOrderBy.booleanValue()) {
                 printedOrderBy.setTrue();
@@ -1540,14 +1747,14 @@ public class SchemaTableTree {
                 result += " " + alias;
                 //noinspection deprecation
                 if (elementValueComparator.getValueComparator() == Order.asc) {
-                    result += " ASC";
+                    result += reverse ? " DESC" : " ASC";
                 } else if (elementValueComparator.getValueComparator() == Order.asc) {
-                    result += " ASC";
+                    result += reverse ? " DESC" : " ASC";
                 } else //noinspection deprecation
                     if (elementValueComparator.getValueComparator() == Order.desc) {
-                        result += " DESC";
+                        result += reverse ? " ASC" : " DESC";
                     } else if (elementValueComparator.getValueComparator() == Order.desc) {
-                        result += " DESC";
+                        result += reverse ? " ASC" : " DESC";
                     } else {
                         throw new RuntimeException("Only handle Order.incr and Order.decr, not " + elementValueComparator.getValueComparator().toString());
                     }
@@ -1592,9 +1799,9 @@ public class SchemaTableTree {
                 }
                 result += " " + alias;
                 if (comparator.getValue1() == Order.asc) {
-                    result += " ASC";
+                    result += reverse ? " DESC" : " ASC";
                 } else if (comparator.getValue1() == Order.desc) {
-                    result += " DESC";
+                    result += reverse ? " ASC" : " DESC";
                 } else {
                     throw new RuntimeException("Only handle Order.incr and Order.decr, not " + comparator.getValue1().toString());
                 }
@@ -1656,9 +1863,9 @@ public class SchemaTableTree {
                 }
                 result += " " + alias;
                 if (comparator.getValue1() == Order.asc) {
-                    result += " ASC";
+                    result += reverse ? " DESC" : " ASC";
                 } else if (comparator.getValue1() == Order.desc) {
-                    result += " DESC";
+                    result += reverse ? " ASC" : " DESC";
                 } else {
                     throw new RuntimeException("Only handle Order.incr and Order.decr, not " + comparator.toString());
                 }
@@ -1668,6 +1875,12 @@ public class SchemaTableTree {
     }
 
     private String toRangeClause(MutableBoolean mutableOrderBy) {
+        if (getRoot().unionBranch) {
+            return "";
+        }
+        if (isApplyDedupSampleTail(SqlgDedupSampleTailHolder.Type.SAMPLE) || isApplyDedupSampleTail(SqlgDedupSampleTailHolder.Type.TAIL)) {
+            return "\n" + sqlgGraph.getSqlDialect().getRangeClause(Range.between(0L, this.sqlgDedupSampleTailHolder.getAmount()));
+        }
         if (this.sqlgRangeHolder != null && this.sqlgRangeHolder.isApplyOnDb()) {
             if (this.sqlgRangeHolder.hasRange()) {
                 //This is MssqlServer, ugly but what to do???
@@ -1684,6 +1897,40 @@ public class SchemaTableTree {
         return "";
     }
 
+    private boolean isApplyDedupSampleTail(SqlgDedupSampleTailHolder.Type type) {
+        return this.sqlgDedupSampleTailHolder != null &&
+                this.sqlgDedupSampleTailHolder.getType() == type &&
+                this.sqlgDedupSampleTailHolder.isApplyOnDb() &&
+                this.stepDepth == this.replacedStepDepth;
+    }
+
+    /**
+     * SELECT DISTINCT compares all the selected columns, json, gis and array columns can not be compared on all dialects.
+     */
+    private boolean isDistinct(List<SchemaTableTree> distinctQueryStack) {
+        SchemaTableTree lastSchemaTableTree = distinctQueryStack.get(distinctQueryStack.size() - 1);
+        if (!lastSchemaTableTree.isApplyDedupSampleTail(SqlgDedupSampleTailHolder.Type.DEDUP)) {
+            return false;
+        }
+        for (SchemaTableTree schemaTableTree : distinctQueryStack) {
+            Map<String, PropertyType> properties = getFilteredAllTables().get(schemaTableTree.getSchemaTable().toString());
+            if (properties != null) {
+                for (PropertyType propertyType : properties.values()) {
+                    if (propertyType.isArray() ||
+                            propertyType == PropertyType.JSON ||
+                            propertyType == PropertyType.POINT ||
+                            propertyType == PropertyType.LINESTRING ||
+                            propertyType == PropertyType.POLYGON ||
+                            propertyType == PropertyType.GEOGRAPHY_POINT ||
+                            propertyType == PropertyType.GEOGRAPHY_POLYGON) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
     private SchemaTableTree findSelectSchemaTable(String select) {
         return this.walkUp((t) -> t.stream().anyMatch(a -> a.endsWith(BaseStrategy.PATH_LABEL_SUFFIX + select)));
     }
@@ -1717,6 +1964,23 @@ public class SchemaTableTree {
         return false;
     }
 
+    /**
+     * Returns true if an optional left join is on a table that the stack already joins, the table would then be joined
+     * twice without an alias.
+     */
+    private static boolean leftJoinOnDuplicates(LinkedList<SchemaTableTree> stack, Set<SchemaTableTree> leftJoinOn) {
+        Set<SchemaTable> schemaTables = new HashSet<>();
+        for (SchemaTableTree schemaTableTree : stack) {
+            schemaTables.add(schemaTableTree.getSchemaTable());
+        }
+        for (SchemaTableTree schemaTableTree : leftJoinOn) {
+            if (schemaTables.contains(schemaTableTree.getSchemaTable())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Constructs the from clause with the required selected fields needed to make the join between the previous and the next SchemaTable
      *
@@ -2187,7 +2451,7 @@ public class SchemaTableTree {
         return this.getColumnNameAliasMap().get(result);
     }
 
-    private String labeledAliasIdentifier(String identifier) {
+    String labeledAliasIdentifier(String identifier) {
         String reducedLabels = reducedLabels();
         return this.stepDepth + ALIAS_SEPARATOR + reducedLabels + ALIAS_SEPARATOR + getSchemaTable().getSchema() + ALIAS_SEPARATOR + getSchemaTable().getTable() + ALIAS_SEPARATOR + identifier;
     }
@@ -2700,85 +2964,6 @@ public class SchemaTableTree {
         return tmpTableAliasCounter;
     }
 
-    public void loadProperty(ResultSet resultSet, SqlgElement sqlgElement) throws SQLException {
-        for (ColumnList columnList : this.getRootColumnListStack()) {
-            LinkedHashMap<ColumnList.Column, String> columns = columnList.getFor(this.stepDepth, this.schemaTable);
-            for (ColumnList.Column column : columns.keySet()) {
-                if (!column.getColumn().equals("index") && !column.isID() && !column.isForeignKey()) {
-                    String propertyName = column.getColumn();
-                    PropertyType propertyType = column.getPropertyType();
-                    boolean settedProperty;
-                    if (column.getAggregateFunction() != null && column.getAggregateFunction().equalsIgnoreCase("avg")) {
-                        settedProperty = sqlgElement.loadProperty(
-                                resultSet,
-                                propertyName,
-                                column.getColumnIndex() - 1,
-                                getColumnNameAliasMap(),
-                                this.stepDepth,
-                                PropertyType.DOUBLE,
-                                true);
-
-                    } else if (column.getAggregateFunction() != null && column.getAggregateFunction().equalsIgnoreCase("sum")) {
-                        PropertyType becomes;
-                        if (column.getPropertyType() == PropertyType.INTEGER || column.getPropertyType() == PropertyType.SHORT) {
-                            becomes = PropertyType.LONG;
-                        } else {
-                            becomes = column.getPropertyType();
-                        }
-                        settedProperty = sqlgElement.loadProperty(resultSet, propertyName, column.getColumnIndex(), getColumnNameAliasMap(), this.stepDepth, becomes);
-                    } else if (column.getAggregateFunction() != null && column.getAggregateFunction().equals(GraphTraversal.Symbols.count)) {
-                        PropertyType becomes = PropertyType.LONG;
-                        settedProperty = sqlgElement.loadProperty(resultSet, propertyName, column.getColumnIndex(), getColumnNameAliasMap(), this.stepDepth, becomes);
-                    } else if (column.getAggregateFunction() != null) {
-                        settedProperty = sqlgElement.loadProperty(resultSet, propertyName, column.getColumnIndex(), getColumnNameAliasMap(), this.stepDepth, propertyType);
-                    } else {
-                        settedProperty = sqlgElement.loadProperty(resultSet, propertyName, column.getColumnIndex(), getColumnNameAliasMap(), this.stepDepth, propertyType);
-                    }
-                    //Check if the query returned anything at all, if not default the aggregate result
-                    if (!settedProperty && column.getAggregateFunction() != null) {
-                        sqlgElement.internalSetProperty(propertyName, Double.NaN);
-                    }
-                }
-            }
-        }
-    }
-
-    public void loadEdgeInOutVertices(ResultSet resultSet, SqlgEdge sqlgEdge) throws SQLException {
-        Preconditions.checkState(this.schemaTable.isEdgeTable());
-        for (ColumnList columnList : this.getRootColumnListStack()) {
-            Map<SchemaTable, List<ColumnList.Column>> inForeignKeyColumns = columnList.getInForeignKeys(this.stepDepth, this.schemaTable);
-            for (Map.Entry<SchemaTable, List<ColumnList.Column>> schemaTableColumnsEntry : inForeignKeyColumns.entrySet()) {
-                List<ColumnList.Column> columns = schemaTableColumnsEntry.getValue();
-                if (columns.size() == 1 && !columns.get(0).isForeignKeyProperty()) {
-                    ColumnList.Column column = columns.get(0);
-                    sqlgEdge.loadInVertex(resultSet, column.getForeignSchemaTable(), column.getColumnIndex());
-                } else {
-                    sqlgEdge.loadInVertex(resultSet, columns);
-                }
-            }
-            Map<SchemaTable, List<ColumnList.Column>> outForeignKeyColumns = columnList.getOutForeignKeys(this.stepDepth, this.schemaTable);
-            for (Map.Entry<SchemaTable, List<ColumnList.Column>> schemaTableColumnsEntry : outForeignKeyColumns.entrySet()) {
-                List<ColumnList.Column> columns = schemaTableColumnsEntry.getValue();
-                if (columns.size() == 1 && !columns.get(0).isForeignKeyProperty()) {
-                    ColumnList.Column column = columns.get(0);
-                    sqlgEdge.loadOutVertex(resultSet, column.getForeignSchemaTable(), column.getColumnIndex());
-                } else {
-                    sqlgEdge.loadOutVertex(resultSet, columns);
-                }
-            }
-        }
-    }
-
-    public List<Comparable> loadIdentifierObjects(Map<String, Integer> idColumnCountMap, ResultSet resultSet) throws SQLException {
-        List<Comparable> identifierObjects = new ArrayList<>();
-        for (String identifier : this.identifiers) {
-            String labelledAliasIdentifier = labeledAliasIdentifier(identifier);
-            int count = idColumnCountMap.get(labelledAliasIdentifier);
-            identifierObjects.add((Comparable) resultSet.getObject(count));
-        }
-        return identifierObjects;
-    }
-
     public void clearColumnNamePropertyNameMap() {
         if (this.columnNamePropertyName != null) {
             this.columnNamePropertyName.clear();
@@ -2860,10 +3045,14 @@ public class SchemaTableTree {
         return this.identifiers;
     }
 
-    private List<ColumnList> getRootColumnListStack() {
+    List<ColumnList> getRootColumnListStack() {
         return this.getRoot().columnListStack;
     }
 
+    PropertyLayout getPropertyLayout() {
+        return this.propertyLayout;
+    }
+
     private boolean isDistributed() {
         return this.distributionColumn != null;
     }
@@ -3002,6 +3191,14 @@ public class SchemaTableTree {
         return groupBy;
     }
 
+    SqlgRangeHolder getSqlgRangeHolder() {
+        return this.sqlgRangeHolder;
+    }
+
+    boolean hasChildren() {
+        return !this.children.isEmpty();
+    }
+
     public void setGroupBy(List<String> groupBy) {
         this.groupBy = groupBy;
     }
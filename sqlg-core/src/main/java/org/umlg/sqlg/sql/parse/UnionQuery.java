@@ -0,0 +1,263 @@
+package org.umlg.sqlg.sql.parse;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.ValueTraversal;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
+import org.umlg.sqlg.strategy.SqlgRangeHolder;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.topology.EdgeLabel;
+import org.umlg.sqlg.structure.topology.VertexLabel;
+
+import java.util.*;
+
+import static org.umlg.sqlg.structure.PropertyType.*;
+import static org.umlg.sqlg.structure.topology.Topology.EDGE_PREFIX;
+
+/**
+ * The per label queries of a {@link org.umlg.sqlg.step.SqlgGraphStep} combined in one {@code UNION ALL} query, so that
+ * the database orders and ranges the rows of all the labels.
+ * i.e. {@code g.V().order().by("name").limit(10)} returns 10 rows instead of loading and sorting every vertex in memory.
+ * <p>
+ * Every branch selects its label's columns from the label's regular query, the other branches' columns are null.
+ * The first column holds the branch, followed by the order by properties and the branch's id that the outer query
+ * orders on. Ties are ordered on the branch and the id, as the in memory sort of the separate queries does.
+ * <p>
+ * Only labels queried without joins whose columns are all single column types that can be cast from null are combined.
+ * As every branch selects every label's columns the union is only used up to {@link #MAXIMUM_COLUMNS} columns, i.e.
+ * postgres allows at most 1664 columns in a select.
+ */
+public class UnionQuery {
+
+    public static final String MAXIMUM_COLUMNS = "sqlg.unionQuery.maximumColumns";
+    static final int MAXIMUM_COLUMNS_DEFAULT = 1000;
+
+    private static final String BRANCH = "sqlgUnion";
+    private static final String ORDER = "sqlgUnionOrder";
+    private static final String ID = "sqlgUnionId";
+    private static final String BRANCH_ALIAS = "b";
+    private static final String UNION_ALIAS = "u";
+
+    private final SqlgGraph sqlgGraph;
+    private final List<SchemaTableTree> rootSchemaTableTrees;
+    private final List<LinkedList<SchemaTableTree>> distinctQueryStacks = new ArrayList<>();
+    private final List<List<LinkedList<SchemaTableTree>>> subQueryStacks = new ArrayList<>();
+    private final List<String> orderByKeys;
+    private final List<Order> orders;
+
+    private UnionQuery(SqlgGraph sqlgGraph, List<SchemaTableTree> rootSchemaTableTrees, List<String> orderByKeys, List<Order> orders) {
+        this.sqlgGraph = sqlgGraph;
+        this.rootSchemaTableTrees = rootSchemaTableTrees;
+        this.orderByKeys = orderByKeys;
+        this.orders = orders;
+        for (SchemaTableTree rootSchemaTableTree : rootSchemaTableTrees) {
+            LinkedList<SchemaTableTree> distinctQueryStack = new LinkedList<>();
+            distinctQueryStack.add(rootSchemaTableTree);
+            this.distinctQueryStacks.add(distinctQueryStack);
+            this.subQueryStacks.add(SchemaTableTree.splitIntoSubStacks(distinctQueryStack));
+        }
+    }
+
+    /**
+     * @return empty if the queries can not be combined, they then execute one after the other and are sorted in memory.
+     */
+    public static Optional<UnionQuery> of(SqlgGraph sqlgGraph, Set<SchemaTableTree> rootSchemaTableTrees) {
+        if (rootSchemaTableTrees.size() < 2) {
+            return Optional.empty();
+        }
+        List<SchemaTableTree> roots = new ArrayList<>(rootSchemaTableTrees);
+        List<org.javatuples.Pair<Traversal.Admin<?, ?>, Comparator<?>>> comparators = roots.get(0).getDbComparators();
+        if (comparators.isEmpty()) {
+            return Optional.empty();
+        }
+        List<String> orderByKeys = new ArrayList<>();
+        List<Order> orders = new ArrayList<>();
+        for (org.javatuples.Pair<Traversal.Admin<?, ?>, Comparator<?>> comparator : comparators) {
+            if (!(comparator.getValue0() instanceof ValueTraversal) || (comparator.getValue1() != Order.asc && comparator.getValue1() != Order.desc)) {
+                return Optional.empty();
+            }
+            orderByKeys.add(((ValueTraversal<?, ?>) comparator.getValue0()).getPropertyKey());
+            orders.add((Order) comparator.getValue1());
+        }
+        Integer[] orderByTypes = new Integer[orderByKeys.size()];
+        //the branch, the order by properties and the id come first
+        int columnCount = orderByKeys.size() + 2;
+        int maximumColumns = sqlgGraph.configuration().getInt(MAXIMUM_COLUMNS, MAXIMUM_COLUMNS_DEFAULT);
+        for (SchemaTableTree root : roots) {
+            if (root.getStepType() != SchemaTableTree.STEP_TYPE.GRAPH_STEP || root.hasChildren() || root.isDrop() ||
+                    root.isEmit() || root.isOptionalLeftJoin() || root.hasAggregateFunction() ||
+                    (root.getGroupBy() != null && !root.getGroupBy().isEmpty()) || !root.isHasIDPrimaryKey() ||
+                    !root.getDbComparators().equals(comparators)) {
+                return Optional.empty();
+            }
+            Map<String, PropertyType> properties = root.getFilteredAllTables().get(root.getSchemaTable().toString());
+            if (properties == null || !properties.values().stream().allMatch(UnionQuery::isUnionType)) {
+                return Optional.empty();
+            }
+            for (int i = 0; i < orderByKeys.size(); i++) {
+                PropertyType propertyType = properties.get(orderByKeys.get(i));
+                if (propertyType == null || (orderByTypes[i] != null && orderByTypes[i] != propertyType.ordinal())) {
+                    return Optional.empty();
+                }
+                orderByTypes[i] = propertyType.ordinal();
+            }
+            //the label's id and properties
+            columnCount += properties.size() + 1;
+            if (root.getSchemaTable().isEdgeTable()) {
+                Optional<EdgeLabel> edgeLabel = sqlgGraph.getTopology().getEdgeLabel(
+                        root.getSchemaTable().getSchema(),
+                        root.getSchemaTable().getTable().substring(EDGE_PREFIX.length())
+                );
+                if (edgeLabel.isEmpty() || !hasIdForeignKeys(edgeLabel.get())) {
+                    return Optional.empty();
+                }
+                columnCount += edgeLabel.get().getOutVertexLabels().size() + edgeLabel.get().getInVertexLabels().size();
+            }
+            if (columnCount > maximumColumns) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(new UnionQuery(sqlgGraph, roots, orderByKeys, orders));
+    }
+
+    private static boolean isUnionType(PropertyType propertyType) {
+        switch (propertyType.ordinal()) {
+            case BOOLEAN_ORDINAL:
+            case SHORT_ORDINAL:
+            case INTEGER_ORDINAL:
+            case LONG_ORDINAL:
+            case DOUBLE_ORDINAL:
+            case STRING_ORDINAL:
+            case VARCHAR_ORDINAL:
+            case LOCALDATE_ORDINAL:
+            case LOCALDATETIME_ORDINAL:
+            case LOCALTIME_ORDINAL:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * The foreign keys to vertex labels with user supplied identifiers have the identifiers' types.
+     */
+    private static boolean hasIdForeignKeys(EdgeLabel edgeLabel) {
+        for (VertexLabel vertexLabel : edgeLabel.getOutVertexLabels()) {
+            if (!vertexLabel.hasIDPrimaryKey()) {
+                return false;
+            }
+        }
+        for (VertexLabel vertexLabel : edgeLabel.getInVertexLabels()) {
+            if (!vertexLabel.hasIDPrimaryKey()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        return this.rootSchemaTableTrees.size();
+    }
+
+    public SchemaTableTree getRootSchemaTableTree(int branch) {
+        return this.rootSchemaTableTrees.get(branch);
+    }
+
+    public List<LinkedList<SchemaTableTree>> getSubQueryStacks(int branch) {
+        return this.subQueryStacks.get(branch);
+    }
+
+    /**
+     * @return all the branches' SchemaTableTrees in the order their parameters occur in the sql.
+     */
+    public LinkedList<SchemaTableTree> getParameterStack() {
+        return new LinkedList<>(this.rootSchemaTableTrees);
+    }
+
+    /**
+     * Constructs the sql of the branches, reading the rows depends on the column aliases and indexes the branches leave behind.
+     */
+    public String constructSql() {
+        SqlDialect sqlDialect = this.sqlgGraph.getSqlDialect();
+        List<String> branchSqls = new ArrayList<>();
+        List<LinkedHashMap<ColumnList.Column, String>> branchColumns = new ArrayList<>();
+        int rootAliasCounter = 1;
+        //the branch, the order by properties and the id come first
+        int columnIndex = this.orderByKeys.size() + 3;
+        for (int branch = 0; branch < this.rootSchemaTableTrees.size(); branch++) {
+            SchemaTableTree root = this.rootSchemaTableTrees.get(branch);
+            root.unionBranch(rootAliasCounter);
+            branchSqls.add(root.constructSql(this.distinctQueryStacks.get(branch)));
+            rootAliasCounter = root.getRootAliasCounter();
+            ColumnList columnList = root.getRootColumnListStack().get(0);
+            LinkedHashMap<ColumnList.Column, String> columns = columnList.getFor(root.getStepDepth(), root.getSchemaTable());
+            columnList.indexColumns(columnIndex);
+            columnIndex += columns.size();
+            branchColumns.add(columns);
+        }
+        StringBuilder sql = new StringBuilder("SELECT * FROM (");
+        for (int branch = 0; branch < this.rootSchemaTableTrees.size(); branch++) {
+            SchemaTableTree root = this.rootSchemaTableTrees.get(branch);
+            if (branch > 0) {
+                sql.append("\nUNION ALL");
+            }
+            sql.append("\nSELECT\n\t").append(branch).append(" AS ").append(sqlDialect.maybeWrapInQoutes(BRANCH));
+            for (int i = 0; i < this.orderByKeys.size(); i++) {
+                sql.append(",\n\t");
+                appendBranchColumn(sql, root.lastMappedAliasIdentifier(this.orderByKeys.get(i)));
+                sql.append(" AS ").append(sqlDialect.maybeWrapInQoutes(ORDER + (i + 1)));
+            }
+            for (Map.Entry<ColumnList.Column, String> columnEntry : branchColumns.get(branch).entrySet()) {
+                if (columnEntry.getKey().isID()) {
+                    sql.append(",\n\t");
+                    appendBranchColumn(sql, columnEntry.getValue());
+                    sql.append(" AS ").append(sqlDialect.maybeWrapInQoutes(ID));
+                }
+            }
+            for (int other = 0; other < branchColumns.size(); other++) {
+                for (Map.Entry<ColumnList.Column, String> columnEntry : branchColumns.get(other).entrySet()) {
+                    ColumnList.Column column = columnEntry.getKey();
+                    sql.append(",\n\t");
+                    if (other == branch) {
+                        appendBranchColumn(sql, columnEntry.getValue());
+                    } else {
+                        PropertyType propertyType = column.isID() || column.getPropertyType() == null ? PropertyType.LONG : column.getPropertyType();
+                        sql.append(sqlDialect.typedNull(propertyType));
+                    }
+                    sql.append(" AS ").append(sqlDialect.maybeWrapInQoutes(columnEntry.getValue()));
+                }
+            }
+            sql.append("\nFROM (").append(branchSqls.get(branch)).append("\n) ").append(BRANCH_ALIAS);
+        }
+        sql.append("\n) ").append(UNION_ALIAS).append("\nORDER BY");
+        for (int i = 0; i < this.orders.size(); i++) {
+            sql.append("\n\t").append(sqlDialect.maybeWrapInQoutes(ORDER + (i + 1)));
+            sql.append(this.orders.get(i) == Order.asc ? " ASC," : " DESC,");
+        }
+        sql.append("\n\t").append(sqlDialect.maybeWrapInQoutes(BRANCH)).append(",");
+        sql.append("\n\t").append(sqlDialect.maybeWrapInQoutes(ID));
+        SqlgRangeHolder sqlgRangeHolder = this.rootSchemaTableTrees.get(0).getSqlgRangeHolder();
+        if (sqlgRangeHolder != null && sqlgRangeHolder.isApplyOnDb()) {
+            if (sqlgRangeHolder.hasRange()) {
+                sql.append("\n").append(sqlDialect.getRangeClause(sqlgRangeHolder.getRange()));
+            } else {
+                sql.append(sqlDialect.getSkipClause(sqlgRangeHolder.getSkip()));
+            }
+        }
+        return sql.toString();
+    }
+
+    private void appendBranchColumn(StringBuilder sql, String alias) {
+        sql.append(BRANCH_ALIAS).append(".").append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(alias));
+    }
+
+    /**
+     * Resets the branches' column aliases once the rows are read.
+     */
+    public void reset() {
+        for (SchemaTableTree rootSchemaTableTree : this.rootSchemaTableTrees) {
+            rootSchemaTableTree.resetColumnAliasMaps();
+        }
+    }
+}
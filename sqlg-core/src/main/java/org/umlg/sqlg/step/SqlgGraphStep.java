@@ -12,8 +12,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.umlg.sqlg.sql.parse.ReplacedStep;
 import org.umlg.sqlg.sql.parse.ReplacedStepTree;
 import org.umlg.sqlg.sql.parse.SchemaTableTree;
+import org.umlg.sqlg.sql.parse.UnionQuery;
 import org.umlg.sqlg.strategy.Emit;
 import org.umlg.sqlg.strategy.SqlgComparatorHolder;
+import org.umlg.sqlg.strategy.SqlgDedupSampleTailHolder;
 import org.umlg.sqlg.structure.SqlgCompiledResultIterator;
 import org.umlg.sqlg.structure.SqlgElement;
 import org.umlg.sqlg.structure.SqlgGraph;
@@ -46,6 +48,7 @@ public class SqlgGraphStep<S, E extends SqlgElement> extends GraphStep implement
     private long rangeCount = 0;
     private boolean eagerLoad = false;
     private boolean isForMultipleQueries = false;
+    private UnionQuery unionQuery;
 
     /**
      * This is a jippo of sorts.
@@ -201,15 +204,24 @@ public class SqlgGraphStep<S, E extends SqlgElement> extends GraphStep implement
         Preconditions.checkState(this.replacedSteps.size() > 0, "There must be at least one replacedStep");
         Preconditions.checkState(this.replacedSteps.get(0).isGraphStep(), "The first step must a SqlgGraphStep");
         Set<SchemaTableTree> rootSchemaTableTrees = prepare();
-        return new SqlgCompiledResultIterator<>(this.sqlgGraph, rootSchemaTableTrees);
+        return new SqlgCompiledResultIterator<>(this.sqlgGraph, rootSchemaTableTrees, this.unionQuery);
     }
 
     private Set<SchemaTableTree> prepare() {
         this.replacedStepTree.maybeAddLabelToLeafNodes();
         Set<SchemaTableTree> rootSchemaTableTrees = parseForStrategy();
+        this.unionQuery = null;
+        //If the order is over multiple labels that are only queried on their own table then one UNION ALL query orders them.
+        if (this.replacedStepTree.hasOrderBy() && isForMultipleQueries() &&
+                this.replacedStepTree.orderByIsOrder() && !this.replacedStepTree.orderByIsBeforeLeftJoin()) {
+            this.unionQuery = UnionQuery.of(this.sqlgGraph, rootSchemaTableTrees).orElse(null);
+        }
         //If the order is over multiple tables then the resultSet will be completely loaded into memory and then sorted.
         if (this.replacedStepTree.hasOrderBy()) {
-            if (isForMultipleQueries() || !this.replacedStepTree.orderByIsOrder() || this.replacedStepTree.orderByIsBeforeLeftJoin()) {
+            if (this.unionQuery != null) {
+                //This is only needed for test assertions at the moment.
+                this.replacedStepTree.applyComparatorsOnDb();
+            } else if (isForMultipleQueries() || !this.replacedStepTree.orderByIsOrder() || this.replacedStepTree.orderByIsBeforeLeftJoin()) {
                 setEagerLoad(true);
                 //Remove the dbComparators
                 for (SchemaTableTree rootSchemaTableTree : rootSchemaTableTrees) {
@@ -225,7 +237,7 @@ public class SqlgGraphStep<S, E extends SqlgElement> extends GraphStep implement
         //range is always the last step as sqlg does not optimize beyond a range step.
         if (this.replacedStepTree.hasRange()) {
             if (this.replacedStepTree.hasOrderBy()) {
-                if (isForMultipleQueries()) {
+                if (isForMultipleQueries() && this.unionQuery == null) {
                     this.replacedStepTree.doNotApplyRangeOnDb();
                     setEagerLoad(true);
                 } else {
@@ -240,6 +252,27 @@ public class SqlgGraphStep<S, E extends SqlgElement> extends GraphStep implement
                 }
             }
         }
+        //sample(n) and tail(n) return n rows per query, that is only the step's result if there is one query.
+        SqlgDedupSampleTailHolder dedupSampleTailHolder = this.replacedStepTree.getDedupSampleTailHolder();
+        if (dedupSampleTailHolder != null) {
+            dedupSampleTailHolder.reset();
+            if (dedupSampleTailHolder.isTail()) {
+                if (isForMultipleQueries() ||
+                        !this.replacedStepTree.orderByIsOrder() ||
+                        this.replacedStepTree.orderByIsBeforeLeftJoin() ||
+                        !this.replacedStepTree.orderByIsOnLeafNode()) {
+                    dedupSampleTailHolder.doNotApplyOnDb();
+                } else {
+                    //The query returns the last rows in the reversed order, they are sorted again in memory.
+                    setEagerLoad(true);
+                    for (SchemaTableTree rootSchemaTableTree : rootSchemaTableTrees) {
+                        rootSchemaTableTree.loadEager();
+                    }
+                }
+            } else if (dedupSampleTailHolder.isSample() && isForMultipleQueries()) {
+                dedupSampleTailHolder.doNotApplyOnDb();
+            }
+        }
         return rootSchemaTableTrees;
     }
 
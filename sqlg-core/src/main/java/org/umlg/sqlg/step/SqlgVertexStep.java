@@ -29,7 +29,13 @@ import java.util.*;
 public class SqlgVertexStep<E extends SqlgElement> extends SqlgAbstractStep implements SqlgStep {
 
     private static final Logger logger = LoggerFactory.getLogger(SqlgVertexStep.class);
+    /**
+     * The maximum number of incoming starts that are barriered and queried together.
+     * 0, the default, means all the starts are barriered before executing the query.
+     */
+    public static final String VERTEX_STEP_BATCH_SIZE = "sqlg.vertexstep.batchSize";
     private final SqlgGraph sqlgGraph;
+    private final int batchSize;
 
     //This holds the head/start traversers per SchemaTable.
     //A query is executed per SchemaTable
@@ -69,11 +75,14 @@ public class SqlgVertexStep<E extends SqlgElement> extends SqlgAbstractStep impl
     private boolean isSqlgLocalStepBarrierChild;
     private boolean first = true;
     private boolean hasStarts = false;
+    //Set on the first processNextStart, the replacedStepTree is only complete once the strategies have run.
+    private boolean batched;
 
     public SqlgVertexStep(final Traversal.Admin traversal) {
         super(traversal);
         this.sqlgGraph = (SqlgGraph) traversal.getGraph().get();
         this.isSqlgLocalStepBarrierChild = traversal.getParent() instanceof SqlgLocalStepBarrier;
+        this.batchSize = this.sqlgGraph.configuration().getInt(VERTEX_STEP_BATCH_SIZE, 0);
     }
 
     @Override
@@ -86,8 +95,12 @@ public class SqlgVertexStep<E extends SqlgElement> extends SqlgAbstractStep impl
 
     @Override
     protected Traverser.Admin<E> processNextStart() {
+        if (this.first) {
+            this.batched = isBatched();
+        }
         this.first = false;
-        if (this.starts.hasNext()) {
+        //When batching, the next batch of starts is only pulled once the current batch's results are exhausted.
+        if (!this.batched && this.starts.hasNext()) {
             barrierTheHeads();
             constructQueryPerSchemaTable();
         }
@@ -130,6 +143,9 @@ public class SqlgVertexStep<E extends SqlgElement> extends SqlgAbstractStep impl
                 } else {
                     if (!this.starts.hasNext()) {
                         throw FastNoSuchElementException.instance();
+                    } else if (this.batched) {
+                        barrierTheHeads();
+                        constructQueryPerSchemaTable();
                     } else {
                         throw new IllegalStateException("BUG: this should never happen.");
                     }
@@ -142,7 +158,12 @@ public class SqlgVertexStep<E extends SqlgElement> extends SqlgAbstractStep impl
         //these collections are only used for the current starts.
         this.heads.clear();
         this.schemaTableParentIds.clear();
-        while (this.starts.hasNext()) {
+        int count = 0;
+        if (this.batched) {
+            //The previous batch's results are exhausted, its heads are no longer needed.
+            this.startIndexTraverserAdminMap.clear();
+        }
+        while (this.starts.hasNext() && (!this.batched || count++ < this.batchSize)) {
             @SuppressWarnings("unchecked")
             Traverser.Admin<E> h = this.starts.next();
             E value = h.get();
@@ -165,6 +186,17 @@ public class SqlgVertexStep<E extends SqlgElement> extends SqlgAbstractStep impl
         }
     }
 
+    /**
+     * Starts are only batched if the results of one batch do not depend on the starts of another.
+     * i.e. there is no order by, aggregate function or skip on the optimized steps.
+     */
+    private boolean isBatched() {
+        return this.batchSize > 0 &&
+                !this.replacedStepTree.hasOrderBy() &&
+                !this.replacedStepTree.hasAggregateFunction() &&
+                !this.replacedStepTree.hasSkip();
+    }
+
     //B_LP_O_P_S_SE_SL_Traverser
     private void eagerLoad() {
         this.traversers.clear();
@@ -259,6 +291,9 @@ public class SqlgVertexStep<E extends SqlgElement> extends SqlgAbstractStep impl
                 if (this.replacedStepTree.hasOrderBy()) {
                     this.replacedStepTree.doNotApplyRangeOnDb();
                     setEagerLoad(true);
+                } else if (this.batched) {
+                    //The range spans all the batches so it can only be applied in the step.
+                    this.replacedStepTree.doNotApplyRangeOnDb();
                 } else {
                     if (!isForMultipleQueries()) {
                         //In this case the range is only applied on the db.
@@ -1,17 +1,14 @@
 package org.umlg.sqlg.step.barrier;
 
-import com.google.common.collect.LinkedListMultimap;
-import com.google.common.collect.Multimap;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
-import org.apache.tinkerpop.gremlin.structure.Element;
 import org.umlg.sqlg.step.SqlgConnectiveStep;
 import org.umlg.sqlg.structure.traverser.SqlgTraverser;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -39,60 +36,37 @@ public class SqlgAndStepBarrier<S> extends SqlgConnectiveStep<S> {
     protected Traverser.Admin<S> processNextStart() {
         if (this.first) {
             this.first = false;
-            Multimap<String, Traverser.Admin<S>> startRecordIds = LinkedListMultimap.create();
+            StartPaths<S> startPaths = new StartPaths<>();
             while (this.starts.hasNext()) {
                 Traverser.Admin<S> start = this.starts.next();
                 if (start instanceof SqlgTraverser) {
                     ((SqlgTraverser) start).setRequiresOneBulk(true);
                 }
-                List<Object> startObjects = start.path().objects();
-                StringBuilder recordIdConcatenated = new StringBuilder();
-                for (Object startObject : startObjects) {
-                    if (startObject instanceof Element) {
-                        Element e = (Element) startObject;
-                        recordIdConcatenated.append(e.id().toString());
-                    } else {
-                        recordIdConcatenated.append(startObject.toString());
-                    }
-                }
-                startRecordIds.put(recordIdConcatenated.toString(), start);
+                startPaths.add(start);
             }
 
-            boolean first = true;
+            //the starts that passed every and traversal so far, only they are passed on to the next and traversal.
+            BitSet passed = null;
             for (Traversal.Admin<S, ?> andTraversal : this.andTraversals) {
-                for (Traverser.Admin<S> start : startRecordIds.values()) {
-                    andTraversal.addStart(start);
+                for (int i = 0; i < startPaths.size(); i++) {
+                    if (passed == null || passed.get(i)) {
+                        andTraversal.addStart(startPaths.get(i));
+                    }
                 }
-                //Need to use a tmp map here to prevent duplicates.
                 //If the and traversals yields multiple results the start must only be added once.
-                Multimap<String, Traverser.Admin<S>> tmpStartRecordIds = LinkedListMultimap.create();
-                tmpStartRecordIds.putAll(startRecordIds);
-                List<Traverser.Admin<S>> tmpResult = new ArrayList<>();
+                BitSet matched = new BitSet(startPaths.size());
                 while (andTraversal.hasNext()) {
-                    Traverser.Admin<?> filterTraverser = andTraversal.nextTraverser();
-                    List<Object> filterTraverserObjects = filterTraverser.path().objects();
-                    String startId = "";
-                    for (Object filteredTraverserObject : filterTraverserObjects) {
-                        if (filteredTraverserObject instanceof Element) {
-                            Element e = (Element) filteredTraverserObject;
-                            startId += e.id().toString();
-                        } else {
-                            startId += filteredTraverserObject.toString();
-                        }
-                        if (tmpStartRecordIds.containsKey(startId)) {
-                            if (first) {
-                                this.results.addAll(tmpStartRecordIds.get(startId));
-                            } else {
-                                tmpResult.addAll(tmpStartRecordIds.get(startId));
-                            }
-                            tmpStartRecordIds.removeAll(startId);
-                        }
-                    }
+                    startPaths.matches(andTraversal.nextTraverser(), matched::set);
+                }
+                if (passed != null) {
+                    matched.and(passed);
                 }
-                if (!first) {
-                    this.results = new ArrayList<>(CollectionUtils.intersection(this.results, tmpResult));
+                passed = matched;
+            }
+            if (passed != null) {
+                for (int i = passed.nextSetBit(0); i >= 0; i = passed.nextSetBit(i + 1)) {
+                    this.results.add(startPaths.get(i));
                 }
-                first = false;
             }
             this.results.sort((o1, o2) -> {
                 SqlgTraverser x = (SqlgTraverser) o1;
@@ -94,11 +94,7 @@ public abstract class SqlgBranchStepBarrier<S, E, M> extends SqlgAbstractStep<S,
                     //This assumes that branchTraversals that do not go to the db only return one value per start.
                     List<Object> branchTraverserPathObjects = branchTraverser.path().objects();
                     for (Map.Entry<Long, Traverser.Admin<S>> cachedStartEntry : cachedStarts.entrySet()) {
-                        startCount = cachedStartEntry.getKey();
                         Traverser.Admin<S> cachedStart = cachedStartEntry.getValue();
-                        if (cachedStart.get() instanceof SqlgElement) {
-                            startCount = ((SqlgElement) cachedStart.get()).getInternalStartTraverserIndex();
-                        }
                         boolean startsWith = m instanceof Boolean && (!((Boolean) m)) || !(branchTraverserPathObjects.get(0) instanceof SqlgElement);
                         //for CountGlobalStep the path is lost but all elements return something so the branch to take is always the 'true' branch.
                         //for SqlgHasNextStep the path is lost on 'false'.
@@ -116,7 +112,8 @@ public abstract class SqlgBranchStepBarrier<S, E, M> extends SqlgAbstractStep<S,
                             }
                         }
                         if (startsWith) {
-                            Traverser.Admin<S> start = cachedStarts.remove(startCount);
+                            //starts that are the same element instance share its index, so remove the entry itself
+                            Traverser.Admin<S> start = cachedStarts.remove(cachedStartEntry.getKey());
                             startBranchTraversalResults.put(start, branchTraverserPathObjects.get(branchTraverserPathObjects.size() - 1));
                             break;
                         }
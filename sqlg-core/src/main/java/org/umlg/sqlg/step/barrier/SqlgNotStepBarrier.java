@@ -1,17 +1,15 @@
 package org.umlg.sqlg.step.barrier;
 
-import com.google.common.collect.LinkedListMultimap;
-import com.google.common.collect.Multimap;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
-import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.umlg.sqlg.step.SqlgFilterStep;
 import org.umlg.sqlg.structure.traverser.SqlgTraverser;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -36,44 +34,23 @@ public class SqlgNotStepBarrier<S> extends SqlgFilterStep<S> implements Traversa
     protected Traverser.Admin<S> processNextStart() {
         if (this.first) {
             this.first = false;
-            Multimap<String, Traverser.Admin<S>> startRecordIds = LinkedListMultimap.create();
+            StartPaths<S> startPaths = new StartPaths<>();
             while (this.starts.hasNext()) {
                 Traverser.Admin<S> start = this.starts.next();
                 if (start instanceof SqlgTraverser) {
                     ((SqlgTraverser) start).setRequiresOneBulk(true);
                 }
-                List<Object> startObjects = start.path().objects();
-                StringBuilder recordIdConcatenated = new StringBuilder();
-                for (Object startObject : startObjects) {
-                    if (startObject instanceof Element) {
-                        Element e = (Element) startObject;
-                        recordIdConcatenated.append(e.id().toString());
-                    } else {
-                        recordIdConcatenated.append(startObject.toString());
-                    }
-                }
-                startRecordIds.put(recordIdConcatenated.toString(), start);
+                startPaths.add(start);
                 this.notTraversal.addStart(start);
             }
 
+            BitSet matched = new BitSet(startPaths.size());
             while (this.notTraversal.hasNext()) {
-                Traverser.Admin<?> orTraverser = this.notTraversal.nextTraverser();
-                List<Object> filterTraverserObjects = orTraverser.path().objects();
-                String startId = "";
-                for (Object filteredTraverserObject : filterTraverserObjects) {
-                    if (filteredTraverserObject instanceof Element) {
-                        Element e = (Element) filteredTraverserObject;
-                        startId += e.id().toString();
-                    } else {
-                        startId += filteredTraverserObject.toString();
-                    }
-                    startRecordIds.removeAll(startId);
-                    if (startRecordIds.isEmpty()) {
-                        break;
-                    }
-                }
+                startPaths.matches(this.notTraversal.nextTraverser(), matched::set);
+            }
+            for (int i = matched.nextClearBit(0); i < startPaths.size(); i = matched.nextClearBit(i + 1)) {
+                this.results.add(startPaths.get(i));
             }
-            this.results.addAll(startRecordIds.values());
             this.results.sort((o1, o2) -> {
                 SqlgTraverser x = (SqlgTraverser) o1;
                 SqlgTraverser y = (SqlgTraverser) o2;
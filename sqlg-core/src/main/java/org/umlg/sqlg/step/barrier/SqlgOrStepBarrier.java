@@ -1,16 +1,14 @@
 package org.umlg.sqlg.step.barrier;
 
-import com.google.common.collect.LinkedListMultimap;
-import com.google.common.collect.Multimap;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
-import org.apache.tinkerpop.gremlin.structure.Element;
 import org.umlg.sqlg.step.SqlgConnectiveStep;
 import org.umlg.sqlg.structure.traverser.SqlgTraverser;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -38,48 +36,31 @@ public class SqlgOrStepBarrier<S> extends SqlgConnectiveStep<S> {
     protected Traverser.Admin<S> processNextStart() {
         if (this.first) {
             this.first = false;
-            Multimap<String, Traverser.Admin<S>> startRecordIds = LinkedListMultimap.create();
+            StartPaths<S> startPaths = new StartPaths<>();
             while (this.starts.hasNext()) {
                 Traverser.Admin<S> start = this.starts.next();
                 if (start instanceof SqlgTraverser) {
                     ((SqlgTraverser) start).setRequiresOneBulk(true);
                 }
-                List<Object> startObjects = start.path().objects();
-                StringBuilder recordIdConcatenated = new StringBuilder();
-                for (Object startObject : startObjects) {
-                    if (startObject instanceof Element) {
-                        Element e = (Element) startObject;
-                        recordIdConcatenated.append(e.id().toString());
-                    } else {
-                        recordIdConcatenated.append(startObject.toString());
-                    }
-                }
-                startRecordIds.put(recordIdConcatenated.toString(), start);
+                startPaths.add(start);
             }
 
+            //a start that matched an or traversal is not passed on to the next one.
+            BitSet matched = new BitSet(startPaths.size());
             for (Traversal.Admin<S, ?> orTraversal : this.orTraversals) {
-                for (Traverser.Admin<S> start : startRecordIds.values()) {
-                    orTraversal.addStart(start);
+                if (matched.cardinality() == startPaths.size()) {
+                    break;
+                }
+                for (int i = matched.nextClearBit(0); i < startPaths.size(); i = matched.nextClearBit(i + 1)) {
+                    orTraversal.addStart(startPaths.get(i));
                 }
                 while (orTraversal.hasNext()) {
-                    Traverser.Admin<?> orTraverser = orTraversal.nextTraverser();
-                    List<Object> filterTraverserObjects = orTraverser.path().objects();
-                    String startId = "";
-                    for (Object filteredTraverserObject : filterTraverserObjects) {
-                        if (filteredTraverserObject instanceof Element) {
-                            Element e = (Element) filteredTraverserObject;
-                            startId += e.id().toString();
-                        } else {
-                            startId += filteredTraverserObject.toString();
-                        }
-                        if (startRecordIds.containsKey(startId)) {
-                            this.results.addAll(startRecordIds.get(startId));
-                            startRecordIds.removeAll(startId);
-                        }
-                        if (startRecordIds.isEmpty()) {
-                            break;
+                    startPaths.matches(orTraversal.nextTraverser(), i -> {
+                        if (!matched.get(i)) {
+                            matched.set(i);
+                            this.results.add(startPaths.get(i));
                         }
-                    }
+                    });
                 }
             }
             this.results.sort((o1, o2) -> {
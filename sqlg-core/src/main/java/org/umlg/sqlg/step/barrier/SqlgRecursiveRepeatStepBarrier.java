@@ -0,0 +1,211 @@
+package org.umlg.sqlg.step.barrier;
+
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.Multimap;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
+import org.umlg.sqlg.sql.parse.RecursiveRepeatQuery;
+import org.umlg.sqlg.step.SqlgAbstractStep;
+import org.umlg.sqlg.structure.PathVertexLoader;
+import org.umlg.sqlg.structure.RecordId;
+import org.umlg.sqlg.structure.SchemaTable;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.SqlgVertex;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Replaces a {@link org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep} over a single edge label that
+ * only connects a vertex label to itself. All the starts are collected and the repeat is executed as one recursive query
+ * per {@link org.umlg.sqlg.sql.dialect.SqlDialect#sqlInParameterLimit()} starts, instead of a query per round.
+ * <p>
+ * The query returns the columns of the vertices that leave the repeat, the other vertices of their paths load their
+ * properties together, see {@link PathVertexLoader}.
+ * <p>
+ * Starts of another vertex label do not have the edge, they are only tested against the until and emit traversals that
+ * come before the repeat.
+ *
+ * @see RecursiveRepeatQuery
+ */
+public class SqlgRecursiveRepeatStepBarrier<S> extends SqlgAbstractStep<S, S> {
+
+    private final SqlgGraph sqlgGraph;
+    private final RecursiveRepeatQuery recursiveRepeatQuery;
+    private boolean first = true;
+    private Iterator<Traverser.Admin<S>> results = Collections.emptyIterator();
+
+    public SqlgRecursiveRepeatStepBarrier(final Traversal.Admin traversal, RecursiveRepeatQuery recursiveRepeatQuery) {
+        super(traversal);
+        this.sqlgGraph = (SqlgGraph) traversal.getGraph().get();
+        this.recursiveRepeatQuery = recursiveRepeatQuery;
+    }
+
+    @Override
+    protected Traverser.Admin<S> processNextStart() {
+        if (this.first) {
+            this.first = false;
+            this.results = repeat().iterator();
+        }
+        if (this.results.hasNext()) {
+            return this.results.next();
+        }
+        throw FastNoSuchElementException.instance();
+    }
+
+    private List<Traverser.Admin<S>> repeat() {
+        //The results by depth, the depth a traverser leaves the repeat at.
+        List<List<Traverser.Admin<S>>> results = new ArrayList<>();
+        SchemaTable schemaTable = SchemaTable.of(this.recursiveRepeatQuery.getSchema(), this.recursiveRepeatQuery.getVertexLabel());
+        Map<Long, List<Traverser.Admin<S>>> startsById = new LinkedHashMap<>();
+        while (this.starts.hasNext()) {
+            Traverser.Admin<S> start = this.starts.next();
+            SqlgVertex vertex = (SqlgVertex) start.get();
+            RecordId recordId = (RecordId) vertex.id();
+            if (recordId.getSchemaTable().equals(schemaTable)) {
+                startsById.computeIfAbsent(recordId.sequenceId(), k -> new ArrayList<>()).add(start);
+            } else {
+                if (this.recursiveRepeatQuery.untilStart(vertex)) {
+                    add(results, 0, start.split());
+                } else if (this.recursiveRepeatQuery.emitStart(vertex)) {
+                    add(results, 0, start.split());
+                }
+            }
+        }
+        List<Long> ids = new ArrayList<>(startsById.keySet());
+        if (!ids.isEmpty()) {
+            if (this.sqlgGraph.tx().isInBatchMode()) {
+                this.sqlgGraph.tx().flush();
+            }
+            PathVertexLoader pathVertexLoader = new PathVertexLoader(this.sqlgGraph, this.recursiveRepeatQuery.getSchema(), this.recursiveRepeatQuery.getVertexLabel());
+            //The until and emit parameters are repeated in every query, the starts get the rest.
+            Multimap<String, Object> conditionParameters = LinkedListMultimap.create();
+            this.recursiveRepeatQuery.toSql(this.sqlgGraph, Collections.emptyList(), pathVertexLoader.getColumns(), conditionParameters);
+            int batchSize = Math.max(1, this.sqlgGraph.getSqlDialect().sqlInParameterLimit() - conditionParameters.size());
+            for (int i = 0; i < ids.size(); i += batchSize) {
+                execute(ids.subList(i, Math.min(i + batchSize, ids.size())), startsById, pathVertexLoader, results);
+            }
+        }
+        List<Traverser.Admin<S>> result = new ArrayList<>();
+        results.forEach(result::addAll);
+        return result;
+    }
+
+    private void execute(List<Long> ids, Map<Long, List<Traverser.Admin<S>>> startsById, PathVertexLoader pathVertexLoader, List<List<Traverser.Admin<S>>> results) {
+        SqlDialect sqlDialect = this.sqlgGraph.getSqlDialect();
+        Multimap<String, Object> keyValueMap = LinkedListMultimap.create();
+        String sql = this.recursiveRepeatQuery.toSql(this.sqlgGraph, ids, pathVertexLoader.getColumns(), keyValueMap);
+        try {
+            PreparedStatement preparedStatement = this.sqlgGraph.tx().prepareStatement(sql);
+            try {
+                SqlgUtil.setKeyValuesAsParameter(this.sqlgGraph, false, 1, preparedStatement, SqlgUtil.transformToTypeAndValue(keyValueMap));
+                if (this.sqlgGraph.tx().getFetchSize() != null) {
+                    preparedStatement.setFetchSize(this.sqlgGraph.tx().getFetchSize());
+                }
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        long start = resultSet.getLong(1);
+                        //The path starts with the start's id and ends with the row's vertex.
+                        long[] path = sqlDialect.readRecursivePath(resultSet, 2);
+                        int depth = resultSet.getInt(3);
+                        boolean until = resultSet.getInt(4) == 1;
+                        boolean emit = resultSet.getInt(5) == 1;
+                        List<SqlgVertex> pathVertices = new ArrayList<>(path.length - 1);
+                        for (int i = 1; i < path.length - 1; i++) {
+                            pathVertices.add(pathVertexLoader.get(path[i]));
+                        }
+                        if (depth > 0) {
+                            pathVertices.add(pathVertexLoader.load(resultSet, RecursiveRepeatQuery.VERTEX_COLUMN_OFFSET));
+                        }
+                        for (Traverser.Admin<S> traverser : startsById.get(start)) {
+                            if (depth > 0 && this.recursiveRepeatQuery.isSimplePath() && !isSimplePath(traverser, pathVertices)) {
+                                continue;
+                            }
+                            if (until) {
+                                add(results, depth, walk(traverser, pathVertices));
+                            }
+                            if (emit) {
+                                add(results, depth, walk(traverser, pathVertices));
+                            }
+                        }
+                    }
+                }
+            } finally {
+                this.sqlgGraph.tx().closePreparedStatement(preparedStatement);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * The recursive query only knows the path from the start, the vertices of the path must not be on the start's path
+     * either.
+     */
+    private boolean isSimplePath(Traverser.Admin<S> start, List<SqlgVertex> pathVertices) {
+        List<Object> objects = start.path().objects();
+        if (objects.size() == 1) {
+            return true;
+        }
+        Set<Object> startPath = new HashSet<>(objects);
+        if (startPath.size() < objects.size()) {
+            return false;
+        }
+        for (SqlgVertex pathVertex : pathVertices) {
+            if (startPath.contains(pathVertex)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Traverser.Admin<S> walk(Traverser.Admin<S> start, List<SqlgVertex> pathVertices) {
+        Traverser.Admin<S> result = start.split();
+        for (SqlgVertex pathVertex : pathVertices) {
+            result = result.split((S) pathVertex, EmptyStep.instance());
+        }
+        return result;
+    }
+
+    private void add(List<List<Traverser.Admin<S>>> results, int depth, Traverser.Admin<S> traverser) {
+        while (results.size() <= depth) {
+            results.add(new ArrayList<>());
+        }
+        results.get(depth).add(traverser);
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        if (this.recursiveRepeatQuery.isSimplePath()) {
+            return EnumSet.of(TraverserRequirement.PATH);
+        } else {
+            return Collections.emptySet();
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.first = true;
+        this.results = Collections.emptyIterator();
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.recursiveRepeatQuery);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.recursiveRepeatQuery.hashCode();
+    }
+}
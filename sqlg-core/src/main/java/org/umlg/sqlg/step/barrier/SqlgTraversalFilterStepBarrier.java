@@ -1,13 +1,10 @@
 package org.umlg.sqlg.step.barrier;
 
-import com.google.common.collect.LinkedListMultimap;
-import com.google.common.collect.Multimap;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
-import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.umlg.sqlg.step.SqlgAbstractStep;
 import org.umlg.sqlg.structure.traverser.SqlgTraverser;
@@ -34,7 +31,7 @@ public class SqlgTraversalFilterStepBarrier<S> extends SqlgAbstractStep<S, S> im
     protected Traverser.Admin<S> processNextStart() throws NoSuchElementException {
         if (this.first) {
             this.first = false;
-            Multimap<String, Traverser.Admin<S>> startRecordIds = LinkedListMultimap.create();
+            StartPaths<S> startPaths = new StartPaths<>();
             while (this.starts.hasNext()) {
                 Traverser.Admin<S> start = this.starts.next();
                 //Well now, can't say I really really get this.
@@ -47,40 +44,17 @@ public class SqlgTraversalFilterStepBarrier<S> extends SqlgAbstractStep<S, S> im
                 if (start instanceof SqlgTraverser) {
                     ((SqlgTraverser) start).setRequiresOneBulk(true);
                 }
-                List<Object> startObjects = start.path().objects();
-                StringBuilder recordIdConcatenated = new StringBuilder();
-                for (Object startObject : startObjects) {
-                    if (startObject instanceof Element) {
-                        Element e = (Element) startObject;
-                        recordIdConcatenated.append(e.id().toString());
-                    } else {
-                        recordIdConcatenated.append(startObject.toString());
-                    }
-                }
-                startRecordIds.put(recordIdConcatenated.toString(), start);
-
+                startPaths.add(start);
                 this.filterTraversal.addStart(start);
             }
+            BitSet matched = new BitSet(startPaths.size());
             while (this.filterTraversal.hasNext()) {
-                Traverser.Admin<?> filterTraverser = this.filterTraversal.nextTraverser();
-                List<Object> filterTraverserObjects = filterTraverser.path().objects();
-                String startId = "";
-                for (Object filteredTraverserObject : filterTraverserObjects) {
-                    if (filteredTraverserObject instanceof Element) {
-                        Element e = (Element) filteredTraverserObject;
-                        startId += e.id().toString();
-                    } else {
-                        startId += filteredTraverserObject.toString();
-                    }
-                    if (startRecordIds.containsKey(startId)) {
-                        results.addAll(startRecordIds.get(startId));
-                        startRecordIds.removeAll(startId);
+                startPaths.matches(this.filterTraversal.nextTraverser(), i -> {
+                    if (!matched.get(i)) {
+                        matched.set(i);
+                        this.results.add(startPaths.get(i));
                     }
-                    if (startRecordIds.isEmpty()) {
-                        break;
-                    }
-                }
-
+                });
             }
             this.results.sort((o1, o2) -> {
                 SqlgTraverser x = (SqlgTraverser) o1;
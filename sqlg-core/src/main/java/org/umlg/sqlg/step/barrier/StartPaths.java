@@ -0,0 +1,147 @@
+package org.umlg.sqlg.step.barrier;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.structure.Element;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * The starts of a filtering barrier indexed by their paths, so that the traversers coming out of the filter traversals
+ * can be matched back to the starts they were split from. A filter traverser's path begins with its start's path.
+ * <p>
+ * Paths are keyed by a rolling long hash of their objects, elements by their id, in an open addressing table that chains
+ * the indexes of the starts with the same key. A key only selects candidates, the path objects themselves are compared.
+ */
+final class StartPaths<S> {
+
+    private final List<Traverser.Admin<S>> starts = new ArrayList<>();
+    private final List<List<Object>> paths = new ArrayList<>();
+    //start index -> the next start index with the same key, -1 ends the chain
+    private int[] chains = new int[16];
+    private long[] keys = new long[32];
+    //slot -> the first start index + 1 with the slot's key, 0 is an empty slot
+    private int[] heads = new int[32];
+    private int usedSlots;
+
+    void add(Traverser.Admin<S> start) {
+        List<Object> path = start.path().objects();
+        long key = 0;
+        for (Object object : path) {
+            key = key(key, object);
+        }
+        int index = this.starts.size();
+        this.starts.add(start);
+        this.paths.add(path);
+        if (index == this.chains.length) {
+            this.chains = Arrays.copyOf(this.chains, index * 2);
+        }
+        if ((this.usedSlots + 1) * 2 > this.keys.length) {
+            rehash();
+        }
+        int slot = slot(key);
+        if (this.heads[slot] == 0) {
+            this.keys[slot] = key;
+            this.usedSlots++;
+            this.chains[index] = -1;
+        } else {
+            this.chains[index] = this.heads[slot] - 1;
+        }
+        this.heads[slot] = index + 1;
+    }
+
+    int size() {
+        return this.starts.size();
+    }
+
+    Traverser.Admin<S> get(int index) {
+        return this.starts.get(index);
+    }
+
+    /**
+     * Passes the index of every start whose path is a prefix of the traverser's path to the consumer, the longest path
+     * last.
+     */
+    void matches(Traverser.Admin<?> traverser, IntConsumer consumer) {
+        List<Object> path = traverser.path().objects();
+        long key = 0;
+        for (int length = 1; length <= path.size(); length++) {
+            key = key(key, path.get(length - 1));
+            int slot = find(key);
+            if (slot == -1) {
+                continue;
+            }
+            for (int index = this.heads[slot] - 1; index != -1; index = this.chains[index]) {
+                if (isPrefix(this.paths.get(index), path, length)) {
+                    consumer.accept(index);
+                }
+            }
+        }
+    }
+
+    private static boolean isPrefix(List<Object> startPath, List<Object> path, int length) {
+        if (startPath.size() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            Object startObject = startPath.get(i);
+            Object object = path.get(i);
+            if (startObject instanceof Element) {
+                if (!(object instanceof Element) || !((Element) startObject).id().equals(((Element) object).id())) {
+                    return false;
+                }
+            } else if (!Objects.equals(startObject, object)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long key(long key, Object object) {
+        int hash = object instanceof Element ? ((Element) object).id().hashCode() : Objects.hashCode(object);
+        return key * 31 + hash;
+    }
+
+    private int find(long key) {
+        int mask = this.keys.length - 1;
+        int slot = spread(key) & mask;
+        while (this.heads[slot] != 0) {
+            if (this.keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slot(long key) {
+        int mask = this.keys.length - 1;
+        int slot = spread(key) & mask;
+        while (this.heads[slot] != 0 && this.keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        long[] keys = this.keys;
+        int[] heads = this.heads;
+        this.keys = new long[keys.length * 2];
+        this.heads = new int[keys.length * 2];
+        for (int i = 0; i < keys.length; i++) {
+            if (heads[i] != 0) {
+                int slot = slot(keys[i]);
+                this.keys[slot] = keys[i];
+                this.heads[slot] = heads[i];
+            }
+        }
+    }
+
+    private static int spread(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -10,6 +10,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.lambda.LoopTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.TokenTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.ValueTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.branch.ChooseStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.branch.LocalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.branch.OptionalStep;
@@ -25,6 +26,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.EventStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.*;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.PropertyType;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -32,6 +34,7 @@ import org.javatuples.Pair;
 import org.umlg.sqlg.predicate.Text;
 import org.umlg.sqlg.predicate.*;
 import org.umlg.sqlg.sql.parse.AndOrHasContainer;
+import org.umlg.sqlg.sql.parse.ExistsContainer;
 import org.umlg.sqlg.sql.parse.ReplacedStep;
 import org.umlg.sqlg.sql.parse.ReplacedStepTree;
 import org.umlg.sqlg.step.*;
@@ -785,7 +788,7 @@ public abstract class BaseStrategy {
             Step<?, ?> currentStep = iterator.next();
             countToGoPrevious++;
             if (currentStep instanceof ConnectiveStep) {
-                Optional<AndOrHasContainer> outerAndOrHasContainer = handleConnectiveStepInternal((ConnectiveStep) currentStep);
+                Optional<AndOrHasContainer> outerAndOrHasContainer = handleConnectiveStepInternal((ConnectiveStep) currentStep, emitsVertices(this.currentReplacedStep));
                 if (outerAndOrHasContainer.isPresent()) {
                     this.currentReplacedStep.addAndOrHasContainer(outerAndOrHasContainer.get());
                     for (String label : currentStep.getLabels()) {
@@ -795,6 +798,19 @@ public abstract class BaseStrategy {
                     iterator.remove();
                     countToGoPrevious--;
                 }
+            } else if ((currentStep instanceof TraversalFilterStep || currentStep instanceof NotStep) && emitsVertices(this.currentReplacedStep)) {
+                Optional<ExistsContainer> existsContainer = handleExistsStep(currentStep);
+                if (existsContainer.isPresent()) {
+                    AndOrHasContainer andOrHasContainer = new AndOrHasContainer(AndOrHasContainer.TYPE.NONE);
+                    andOrHasContainer.addExistsContainer(existsContainer.get());
+                    this.currentReplacedStep.addAndOrHasContainer(andOrHasContainer);
+                    for (String label : currentStep.getLabels()) {
+                        this.currentReplacedStep.addLabel(pathCount.getValue() + BaseStrategy.PATH_LABEL_SUFFIX + label);
+                    }
+                    this.traversal.removeStep(currentStep);
+                    iterator.remove();
+                    countToGoPrevious--;
+                }
             } else if (currentStep instanceof IdentityStep) {
                 // do nothing
             } else {
@@ -806,7 +822,127 @@ public abstract class BaseStrategy {
         }
     }
 
-    private Optional<AndOrHasContainer> handleConnectiveStepInternal(ConnectiveStep connectiveStep) {
+    /**
+     * The EXISTS sub query is correlated on the vertex table the step's traversers are on, edges are not supported.
+     */
+    private boolean emitsVertices(ReplacedStep<?, ?> replacedStep) {
+        if (replacedStep.isForSqlgSchema()) {
+            return false;
+        }
+        Step<?, ?> step = replacedStep.getStep();
+        if (step instanceof GraphStep) {
+            return ((GraphStep<?, ?>) step).returnsVertex();
+        } else if (step instanceof VertexStep) {
+            return ((VertexStep<?>) step).returnsVertex();
+        } else {
+            return step instanceof EdgeVertexStep || step instanceof EdgeOtherVertexStep;
+        }
+    }
+
+    /**
+     * if this is a where(traversal), filter(traversal) or not(traversal) step with a traversal of only vertex and has steps,
+     * returns it as an EXISTS or NOT EXISTS.
+     */
+    private Optional<ExistsContainer> handleExistsStep(Step<?, ?> currentStep) {
+        @SuppressWarnings("unchecked")
+        List<Traversal.Admin<?, ?>> localChildren = (List) ((TraversalParent) currentStep).getLocalChildren();
+        if (localChildren.size() != 1) {
+            return Optional.empty();
+        }
+        return handleExistsTraversal(localChildren.get(0), currentStep instanceof NotStep);
+    }
+
+    private Optional<ExistsContainer> handleExistsTraversal(Traversal.Admin<?, ?> existsTraversal, boolean not) {
+        ExistsContainer existsContainer = new ExistsContainer(not);
+        ExistsContainer.Hop hop = null;
+        boolean onEdge = false;
+        for (Step<?, ?> step : existsTraversal.getSteps()) {
+            //labels inside the sub traversal are not part of the outer traversal's path
+            if (!step.getLabels().isEmpty()) {
+                return Optional.empty();
+            }
+            if (step instanceof VertexStep && !onEdge) {
+                VertexStep<?> vertexStep = (VertexStep<?>) step;
+                if (vertexStep.returnsEdge() && vertexStep.getDirection() == Direction.BOTH) {
+                    return Optional.empty();
+                }
+                hop = existsContainer.addHop(vertexStep.getDirection(), vertexStep.getEdgeLabels());
+                onEdge = vertexStep.returnsEdge();
+            } else if (step instanceof EdgeVertexStep && onEdge) {
+                if (((EdgeVertexStep) step).getDirection() != hop.getDirection().opposite()) {
+                    return Optional.empty();
+                }
+                onEdge = false;
+            } else if (step instanceof HasStep && hop != null) {
+                HasStep<?> hasStep = (HasStep<?>) step;
+                if (!isNotWithMultipleColumnValue(hasStep)) {
+                    return Optional.empty();
+                }
+                for (HasContainer hasContainer : hasStep.getHasContainers()) {
+                    Set<String> labels;
+                    if (!onEdge && (labels = labelHasContainerLabels(hasContainer)) != null) {
+                        hop.addVertexLabels(labels);
+                    } else if (isPropertyWhereClauseHasContainer(hasContainer)) {
+                        if (onEdge) {
+                            hop.addEdgeHasContainer(hasContainer);
+                        } else {
+                            hop.addVertexHasContainer(hasContainer);
+                        }
+                    } else {
+                        return Optional.empty();
+                    }
+                }
+            } else {
+                return Optional.empty();
+            }
+        }
+        if (hop == null) {
+            return Optional.empty();
+        }
+        return Optional.of(existsContainer);
+    }
+
+    private Set<String> labelHasContainerLabels(HasContainer hasContainer) {
+        if (!hasContainer.getKey().equals(T.label.getAccessor())) {
+            return null;
+        }
+        if (hasContainer.getBiPredicate() == Compare.eq && hasContainer.getValue() instanceof String) {
+            return Collections.singleton((String) hasContainer.getValue());
+        } else if (hasContainer.getBiPredicate() == Contains.within && hasContainer.getValue() instanceof Collection) {
+            Set<String> labels = new HashSet<>();
+            for (Object label : (Collection<?>) hasContainer.getValue()) {
+                if (!(label instanceof String)) {
+                    return null;
+                }
+                labels.add((String) label);
+            }
+            return labels;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * @return true if the hasContainer is on a single column property and can be printed by {@link org.umlg.sqlg.sql.parse.WhereClause}
+     * with a table alias prefix.
+     */
+    public static boolean isPropertyWhereClauseHasContainer(HasContainer hasContainer) {
+        if (!hasContainerKeyNotIdOrLabel(hasContainer)) {
+            return false;
+        }
+        BiPredicate<?, ?> biPredicate = hasContainer.getBiPredicate();
+        Object value = hasContainer.getValue();
+        if (SUPPORTED_BI_PREDICATE.contains(biPredicate)) {
+            return value != null && !(value instanceof PropertyReference) && !isMultipleColumnValue(value);
+        } else if (biPredicate == Contains.within || biPredicate == Contains.without) {
+            return value instanceof Collection && !((Collection<?>) value).isEmpty() &&
+                    ((Collection<?>) value).stream().noneMatch(BaseStrategy::isMultipleColumnValue);
+        } else {
+            return biPredicate instanceof Text;
+        }
+    }
+
+    private Optional<AndOrHasContainer> handleConnectiveStepInternal(ConnectiveStep connectiveStep, boolean exists) {
         AndOrHasContainer.TYPE type = AndOrHasContainer.TYPE.from(connectiveStep);
         AndOrHasContainer outerAndOrHasContainer = new AndOrHasContainer(type);
         outerAndOrHasContainer.setConnectiveStepLabels(connectiveStep.getLabels());
@@ -814,6 +950,13 @@ public abstract class BaseStrategy {
         List<Traversal.Admin<?, ?>> localTraversals = connectiveStep.getLocalChildren();
         for (Traversal.Admin<?, ?> localTraversal : localTraversals) {
             if (!TraversalHelper.hasAllStepsOfClass(localTraversal, HasStep.class, ConnectiveStep.class, TraversalFilterStep.class, NotStep.class)) {
+                Optional<ExistsContainer> existsContainer = exists ? handleExistsTraversal(localTraversal, false) : Optional.empty();
+                if (existsContainer.isPresent()) {
+                    AndOrHasContainer andOrHasContainer = new AndOrHasContainer(AndOrHasContainer.TYPE.NONE);
+                    andOrHasContainer.addExistsContainer(existsContainer.get());
+                    outerAndOrHasContainer.addAndOrHasContainer(andOrHasContainer);
+                    continue;
+                }
                 return Optional.empty();
             }
             AndOrHasContainer andOrHasContainer = new AndOrHasContainer(AndOrHasContainer.TYPE.NONE);
@@ -856,21 +999,27 @@ public abstract class BaseStrategy {
                     }
                 } else if (step instanceof TraversalFilterStep) {
                     String notNullKey = isNotNullStep(step);
+                    Optional<ExistsContainer> existsContainer;
                     if (notNullKey != null) {
                         andOrHasContainer.addHasContainer(new HasContainer(notNullKey, new P<>(Existence.NOTNULL, null)));
+                    } else if (exists && (existsContainer = handleExistsStep(step)).isPresent()) {
+                        andOrHasContainer.addExistsContainer(existsContainer.get());
                     } else {
                         return Optional.empty();
                     }
                 } else if (step instanceof NotStep) {
                     String nullKey = isNullStep(step);
+                    Optional<ExistsContainer> existsContainer;
                     if (nullKey != null) {
                         andOrHasContainer.addHasContainer(new HasContainer(nullKey, new P<>(Existence.NULL, null)));
+                    } else if (exists && (existsContainer = handleExistsStep(step)).isPresent()) {
+                        andOrHasContainer.addExistsContainer(existsContainer.get());
                     } else {
                         return Optional.empty();
                     }
                 } else {
                     ConnectiveStep connectiveStepLocalChild = (ConnectiveStep) step;
-                    Optional<AndOrHasContainer> result = handleConnectiveStepInternal(connectiveStepLocalChild);
+                    Optional<AndOrHasContainer> result = handleConnectiveStepInternal(connectiveStepLocalChild, exists);
                     if (result.isPresent()) {
                         andOrHasContainer.addAndOrHasContainer(result.get());
                     } else {
@@ -989,7 +1138,7 @@ public abstract class BaseStrategy {
         return true;
     }
 
-    private boolean hasContainerKeyNotIdOrLabel(HasContainer hasContainer) {
+    private static boolean hasContainerKeyNotIdOrLabel(HasContainer hasContainer) {
         return !(hasContainer.getKey().equals(TopologyStrategy.TOPOLOGY_SELECTION_SQLG_SCHEMA) || hasContainer.getKey().equals(TopologyStrategy.TOPOLOGY_SELECTION_GLOBAL_UNIQUE_INDEX) ||
                 hasContainer.getKey().equals(T.id.getAccessor()) || (hasContainer.getKey().equals(T.label.getAccessor())));
     }
@@ -1116,6 +1265,10 @@ public abstract class BaseStrategy {
         return result;
     }
 
+    private static boolean isMultipleColumnValue(Object value) {
+        return value instanceof ZonedDateTime || value instanceof Period || value instanceof Duration;
+    }
+
     private boolean containsWithMultipleColumnValue(List<Object> values) {
         for (Object value : values) {
             if (value instanceof ZonedDateTime ||
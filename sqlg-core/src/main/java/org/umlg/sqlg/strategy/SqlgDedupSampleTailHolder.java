@@ -0,0 +1,71 @@
+package org.umlg.sqlg.strategy;
+
+/**
+ * Holds a dedup(), sample(n) or tail(n) that directly follows the optimized steps.
+ * The TinkerPop step remains in the traversal, the query only returns fewer rows.
+ * i.e. SELECT DISTINCT, ORDER BY RAND() LIMIT n or the reversed ORDER BY with LIMIT n.
+ */
+public class SqlgDedupSampleTailHolder {
+
+    public enum Type {
+        DEDUP, SAMPLE, TAIL
+    }
+
+    private final Type type;
+    private final long amount;
+    private boolean applyOnDb = true;
+
+    private SqlgDedupSampleTailHolder(Type type, long amount) {
+        this.type = type;
+        this.amount = amount;
+    }
+
+    public static SqlgDedupSampleTailHolder dedup() {
+        return new SqlgDedupSampleTailHolder(Type.DEDUP, -1);
+    }
+
+    public static SqlgDedupSampleTailHolder sample(long amount) {
+        return new SqlgDedupSampleTailHolder(Type.SAMPLE, amount);
+    }
+
+    public static SqlgDedupSampleTailHolder tail(long amount) {
+        return new SqlgDedupSampleTailHolder(Type.TAIL, amount);
+    }
+
+    public Type getType() {
+        return this.type;
+    }
+
+    public boolean isDedup() {
+        return this.type == Type.DEDUP;
+    }
+
+    public boolean isSample() {
+        return this.type == Type.SAMPLE;
+    }
+
+    public boolean isTail() {
+        return this.type == Type.TAIL;
+    }
+
+    public long getAmount() {
+        return this.amount;
+    }
+
+    public void doNotApplyOnDb() {
+        this.applyOnDb = false;
+    }
+
+    public boolean isApplyOnDb() {
+        return this.applyOnDb;
+    }
+
+    public void reset() {
+        this.applyOnDb = true;
+    }
+
+    @Override
+    public String toString() {
+        return this.type + (this.amount != -1 ? "(" + this.amount + ")" : "");
+    }
+}
@@ -0,0 +1,115 @@
+package org.umlg.sqlg.strategy;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.ConstantTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.SampleGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.TailGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SeedStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.umlg.sqlg.sql.parse.ReplacedStep;
+import org.umlg.sqlg.step.SqlgGraphStep;
+import org.umlg.sqlg.step.SqlgStep;
+import org.umlg.sqlg.step.SqlgVertexStep;
+import org.umlg.sqlg.strategy.barrier.SqlgVertexStepStrategy;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.util.SqlgTraversalUtil;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reduces the rows the query returns for a dedup(), sample(n) or tail(n) that directly follows the optimized steps.
+ * i.e. g.V().hasLabel("Event").out("by").dedup() executes as SELECT DISTINCT.
+ * <p>
+ * The TinkerPop steps remain in the traversal, so the result is the same whether the query applies them or not.
+ * sample(n) and tail(n) are only applied by {@link SqlgGraphStep} when it executes one query.
+ */
+public class SqlgDedupSampleTailStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
+
+    public SqlgDedupSampleTailStrategy() {
+        super();
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        //Only optimize SqlgGraph. StarGraph also passes through here.
+        if (traversal.getGraph().isEmpty() || !(traversal.getGraph().orElseThrow(IllegalStateException::new) instanceof SqlgGraph)) {
+            return;
+        }
+        if (!SqlgTraversalUtil.mayOptimize(traversal)) {
+            return;
+        }
+        for (Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof SqlgGraphStep || step instanceof SqlgVertexStep) {
+                SqlgStep sqlgStep = (SqlgStep) step;
+                List<ReplacedStep<?, ?>> replacedSteps = sqlgStep.getReplacedSteps();
+                if (replacedSteps.isEmpty() || !reducible(replacedSteps)) {
+                    continue;
+                }
+                ReplacedStep<?, ?> lastReplacedStep = replacedSteps.get(replacedSteps.size() - 1);
+                boolean hasOrderBy = replacedSteps.stream().anyMatch(r -> r.getSqlgComparatorHolder().hasComparators());
+                Step<?, ?> next = step.getNextStep();
+                while (next instanceof NoOpBarrierStep) {
+                    next = next.getNextStep();
+                }
+                if (next instanceof DedupGlobalStep) {
+                    DedupGlobalStep<?> dedupGlobalStep = (DedupGlobalStep<?>) next;
+                    if (!hasOrderBy && dedupGlobalStep.getLocalChildren().isEmpty() && dedupGlobalStep.getScopeKeys().isEmpty()) {
+                        lastReplacedStep.setSqlgDedupSampleTailHolder(SqlgDedupSampleTailHolder.dedup());
+                    }
+                } else if (next instanceof SampleGlobalStep && step instanceof SqlgGraphStep) {
+                    SampleGlobalStep<?> sampleGlobalStep = (SampleGlobalStep<?>) next;
+                    //SeedStrategy makes sample repeatable, the database's random order is not.
+                    if (!hasOrderBy && sampleGlobalStep.getLocalChildren().get(0) instanceof ConstantTraversal &&
+                            TraversalHelper.getRootTraversal(traversal).getStrategies().getStrategy(SeedStrategy.class).isEmpty()) {
+                        lastReplacedStep.setSqlgDedupSampleTailHolder(SqlgDedupSampleTailHolder.sample(amount(sampleGlobalStep, "amountToSample")));
+                    }
+                } else if (next instanceof TailGlobalStep && step instanceof SqlgGraphStep) {
+                    //Without an order the last rows are not defined by the query.
+                    if (hasOrderBy) {
+                        lastReplacedStep.setSqlgDedupSampleTailHolder(SqlgDedupSampleTailHolder.tail(amount(next, "limit")));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The rows must map one to one to the step's traversers.
+     */
+    private static boolean reducible(List<ReplacedStep<?, ?>> replacedSteps) {
+        for (ReplacedStep<?, ?> replacedStep : replacedSteps) {
+            if (replacedStep.isEmit() || replacedStep.isLeftJoin() || replacedStep.hasRange() || replacedStep.hasAggregateFunction() ||
+                    (replacedStep.getGroupBy() != null && !replacedStep.getGroupBy().isEmpty()) || replacedStep.isDrop() || replacedStep.isIdOnly()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long amount(Step<?, ?> step, String field) {
+        try {
+            Field f = step.getClass().getDeclaredField(field);
+            f.setAccessible(true);
+            return ((Number) f.get(step)).longValue();
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public Set<Class<? extends OptimizationStrategy>> applyPrior() {
+        return Stream.of(
+                SqlgGraphStepStrategy.class,
+                SqlgVertexStepStrategy.class
+        ).collect(Collectors.toSet());
+    }
+}
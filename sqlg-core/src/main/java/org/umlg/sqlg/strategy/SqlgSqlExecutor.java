@@ -8,6 +8,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.event.EventCallb
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.umlg.sqlg.sql.parse.SchemaTableTree;
+import org.umlg.sqlg.sql.parse.UnionQuery;
 import org.umlg.sqlg.structure.SqlgEdge;
 import org.umlg.sqlg.structure.SqlgGraph;
 import org.umlg.sqlg.structure.topology.EdgeLabel;
@@ -75,6 +76,11 @@ public class SqlgSqlExecutor {
         return executeQuery(sqlgGraph, sql, distinctQueryStack);
     }
 
+    public static Triple<ResultSet, ResultSetMetaData, PreparedStatement> executeUnionQuery(SqlgGraph sqlgGraph, UnionQuery unionQuery) {
+        String sql = unionQuery.constructSql();
+        return executeQuery(sqlgGraph, sql, unionQuery.getParameterStack());
+    }
+
     public static Triple<ResultSet, ResultSetMetaData, PreparedStatement> executeOptionalQuery(
             SqlgGraph sqlgGraph, SchemaTableTree rootSchemaTableTree,
             Pair<LinkedList<SchemaTableTree>, Set<SchemaTableTree>> leftJoinQuery) {
@@ -100,7 +106,6 @@ public class SqlgSqlExecutor {
             if (distinctQueryStack.peekFirst().getStepType() != SchemaTableTree.STEP_TYPE.GRAPH_STEP) {
                 Preconditions.checkState(!distinctQueryStack.peekFirst().getParentIdsAndIndexes().isEmpty());
             }
-            Connection conn = sqlgGraph.tx().getConnection();
             if (logger.isDebugEnabled()) {
                 logger.debug(sql);
             }
@@ -128,8 +133,7 @@ public class SqlgSqlExecutor {
 //            		logger.warn(sqle.getMessage());
 //            	}
 //            }
-            PreparedStatement preparedStatement = conn.prepareStatement(sql);
-            sqlgGraph.tx().add(preparedStatement);
+            PreparedStatement preparedStatement = sqlgGraph.tx().prepareStatement(sql);
             int parameterCount = 1;
             SqlgUtil.setParametersOnStatement(sqlgGraph, distinctQueryStack, preparedStatement, parameterCount);
             // https://jdbc.postgresql.org/documentation/head/query.html#query-with-cursor
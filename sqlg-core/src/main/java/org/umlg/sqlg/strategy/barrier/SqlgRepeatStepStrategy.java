@@ -4,22 +4,35 @@ import org.apache.commons.lang3.Range;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.LoopTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.TrueTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.PathFilterStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.SampleGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.CountStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.umlg.sqlg.sql.parse.RecursiveRepeatQuery;
+import org.umlg.sqlg.step.barrier.SqlgRecursiveRepeatStepBarrier;
 import org.umlg.sqlg.step.barrier.SqlgRepeatStepBarrier;
+import org.umlg.sqlg.strategy.BaseStrategy;
 import org.umlg.sqlg.strategy.SqlgGraphStepStrategy;
 import org.umlg.sqlg.strategy.SqlgRangeHolder;
+import org.umlg.sqlg.structure.SchemaTable;
 import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.topology.EdgeLabel;
+import org.umlg.sqlg.structure.topology.Schema;
+import org.umlg.sqlg.structure.topology.VertexLabel;
 import org.umlg.sqlg.util.SqlgTraversalUtil;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.lang.reflect.Field;
+import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -74,6 +87,17 @@ public class SqlgRepeatStepStrategy extends AbstractTraversalStrategy<TraversalS
                     }
                 }
 
+                Optional<RecursiveRepeatQuery> recursiveRepeatQuery = recursiveRepeatQuery(traversal, repeatStep);
+                if (recursiveRepeatQuery.isPresent()) {
+                    SqlgRecursiveRepeatStepBarrier<?> sqlgRecursiveRepeatStepBarrier = new SqlgRecursiveRepeatStepBarrier<>(traversal, recursiveRepeatQuery.get());
+                    for (String label : repeatStep.getLabels()) {
+                        sqlgRecursiveRepeatStepBarrier.addLabel(label);
+                    }
+                    //noinspection unchecked
+                    TraversalHelper.replaceStep((Step) repeatStep, sqlgRecursiveRepeatStepBarrier, traversal);
+                    continue;
+                }
+
                 SqlgRepeatStepBarrier<?> sqlgRepeatStepBarrier = new SqlgRepeatStepBarrier<>(traversal, repeatStep);
                 for (String label : repeatStep.getLabels()) {
                     sqlgRepeatStepBarrier.addLabel(label);
@@ -102,6 +126,118 @@ public class SqlgRepeatStepStrategy extends AbstractTraversalStrategy<TraversalS
         }
     }
 
+    /**
+     * A repeat of a vertex step on a single edge label, optionally followed by {@code simplePath()}, can execute as one
+     * recursive query if the edge label only connects a vertex label to itself and the until and emit traversals are
+     * has steps on the vertex' properties, {@code emit()} or {@code times(n)}.
+     * A range step after the repeat stays with {@link SqlgRepeatStepBarrier} as it ends the repetition early.
+     */
+    private Optional<RecursiveRepeatQuery> recursiveRepeatQuery(Traversal.Admin<?, ?> traversal, RepeatStep<?> repeatStep) {
+        SqlgGraph sqlgGraph = (SqlgGraph) traversal.getGraph().orElseThrow(IllegalStateException::new);
+        if (!sqlgGraph.getSqlDialect().supportsRecursiveCommonTableExpressions() || loopName(repeatStep) != null) {
+            return Optional.empty();
+        }
+        if (repeatStep.getNextStep() instanceof RangeGlobalStep) {
+            return Optional.empty();
+        }
+        List<Step> steps = repeatStep.getRepeatTraversal().getSteps();
+        if (steps.size() < 2 || steps.size() > 3 || !(steps.get(0) instanceof VertexStep) || !(steps.get(steps.size() - 1) instanceof RepeatStep.RepeatEndStep)) {
+            return Optional.empty();
+        }
+        VertexStep<?> vertexStep = (VertexStep<?>) steps.get(0);
+        if (!vertexStep.returnsVertex() || vertexStep.getDirection() == Direction.BOTH || vertexStep.getEdgeLabels().length != 1 || !vertexStep.getLabels().isEmpty()) {
+            return Optional.empty();
+        }
+        boolean simplePath = steps.size() == 3;
+        if (simplePath) {
+            if (!(steps.get(1) instanceof PathFilterStep)) {
+                return Optional.empty();
+            }
+            PathFilterStep<?> pathFilterStep = (PathFilterStep<?>) steps.get(1);
+            if (!pathFilterStep.isSimple() || pathFilterStep.getFromLabel() != null || pathFilterStep.getToLabel() != null ||
+                    !pathFilterStep.getLocalChildren().isEmpty() || !pathFilterStep.getLabels().isEmpty()) {
+                return Optional.empty();
+            }
+        }
+        if (repeatStep.getUntilTraversal() == null && repeatStep.getEmitTraversal() == null) {
+            return Optional.empty();
+        }
+        Optional<RecursiveRepeatQuery.Condition> until = condition(repeatStep.getUntilTraversal());
+        Optional<RecursiveRepeatQuery.Condition> emit = condition(repeatStep.getEmitTraversal());
+        if ((repeatStep.getUntilTraversal() != null && until.isEmpty()) || (repeatStep.getEmitTraversal() != null && emit.isEmpty())) {
+            return Optional.empty();
+        }
+        Optional<VertexLabel> vertexLabel = selfReferencingVertexLabel(sqlgGraph, vertexStep.getEdgeLabels()[0]);
+        return vertexLabel.map(v -> new RecursiveRepeatQuery(
+                v,
+                SchemaTable.from(sqlgGraph, vertexStep.getEdgeLabels()[0]).getTable(),
+                vertexStep.getDirection(),
+                simplePath,
+                until.orElse(null),
+                emit.orElse(null),
+                repeatStep.untilFirst,
+                repeatStep.emitFirst
+        ));
+    }
+
+    private Optional<RecursiveRepeatQuery.Condition> condition(Traversal.Admin<?, ?> traversal) {
+        if (traversal == null) {
+            return Optional.empty();
+        } else if (traversal instanceof TrueTraversal) {
+            return Optional.of(RecursiveRepeatQuery.Condition.of(Collections.emptyList()));
+        } else if (traversal instanceof LoopTraversal) {
+            return Optional.of(RecursiveRepeatQuery.Condition.loops(((LoopTraversal<?>) traversal).getMaxLoops()));
+        }
+        List<HasContainer> hasContainers = new ArrayList<>();
+        for (Step<?, ?> step : traversal.getSteps()) {
+            if (!(step instanceof HasStep) || !step.getLabels().isEmpty()) {
+                return Optional.empty();
+            }
+            for (HasContainer hasContainer : ((HasStep<?>) step).getHasContainers()) {
+                if (!BaseStrategy.isPropertyWhereClauseHasContainer(hasContainer)) {
+                    return Optional.empty();
+                }
+                hasContainers.add(hasContainer);
+            }
+        }
+        return hasContainers.isEmpty() ? Optional.empty() : Optional.of(RecursiveRepeatQuery.Condition.of(hasContainers));
+    }
+
+    /**
+     * @return The vertex label if the edge label is only between it and itself.
+     */
+    private Optional<VertexLabel> selfReferencingVertexLabel(SqlgGraph sqlgGraph, String edgeLabel) {
+        List<EdgeLabel> edgeLabels = new ArrayList<>();
+        if (edgeLabel.contains(".")) {
+            SchemaTable schemaTable = SchemaTable.from(sqlgGraph, edgeLabel);
+            sqlgGraph.getTopology().getEdgeLabel(schemaTable.getSchema(), schemaTable.getTable()).ifPresent(edgeLabels::add);
+        } else {
+            for (Schema schema : sqlgGraph.getTopology().getSchemas()) {
+                schema.getEdgeLabel(edgeLabel).ifPresent(edgeLabels::add);
+            }
+        }
+        if (edgeLabels.size() != 1) {
+            return Optional.empty();
+        }
+        Set<VertexLabel> outVertexLabels = edgeLabels.get(0).getOutVertexLabels();
+        Set<VertexLabel> inVertexLabels = edgeLabels.get(0).getInVertexLabels();
+        if (outVertexLabels.size() != 1 || !outVertexLabels.equals(inVertexLabels)) {
+            return Optional.empty();
+        }
+        VertexLabel vertexLabel = outVertexLabels.iterator().next();
+        return vertexLabel.hasIDPrimaryKey() ? Optional.of(vertexLabel) : Optional.empty();
+    }
+
+    private String loopName(RepeatStep<?> repeatStep) {
+        try {
+            Field f = repeatStep.getClass().getDeclaredField("loopName");
+            f.setAccessible(true);
+            return (String) f.get(repeatStep);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public Set<Class<? extends OptimizationStrategy>> applyPost() {
         return Stream.of(
@@ -4,10 +4,11 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.umlg.sqlg.sql.dialect.SqlBulkDialect;
+import org.umlg.sqlg.sql.dialect.StreamingRowSink;
 import org.umlg.sqlg.structure.topology.EdgeLabel;
 import org.umlg.sqlg.structure.topology.VertexLabel;
 
-import java.io.Writer;
+import java.lang.reflect.Array;
 import java.util.*;
 
 import static org.umlg.sqlg.structure.topology.Topology.EDGE_PREFIX;
@@ -19,6 +20,21 @@ import static org.umlg.sqlg.structure.topology.Topology.VERTEX_PREFIX;
  */
 public class BatchManager {
 
+    /**
+     * The number of new vertices and edges that the normal batch mode holds before it flushes them, 0, the default, never
+     * flushes before commit or an explicit flush.
+     */
+    public static final String MAX_PENDING_ROWS = "sqlg.batch.maxPendingRows";
+    /**
+     * The estimated heap, in bytes, of the new vertices and edges that the normal batch mode holds before it flushes them,
+     * 0, the default, never flushes before commit or an explicit flush.
+     */
+    public static final String MAX_PENDING_BYTES = "sqlg.batch.maxPendingBytes";
+
+    //rough sizes of a cached element with its property map and of one property entry, used to estimate the pending bytes
+    private static final long ELEMENT_BYTES = 128;
+    private static final long PROPERTY_BYTES = 48;
+
     private final SqlgGraph sqlgGraph;
     private final SqlBulkDialect sqlDialect;
 
@@ -37,8 +53,8 @@ public class BatchManager {
     //map per label's edges to delete
     private final Map<SchemaTable, List<SqlgEdge>> removeEdgeCache = new LinkedHashMap<>();
 
-    private final Map<SchemaTable, Writer> streamingVertexOutputStreamCache = new LinkedHashMap<>();
-    private final Map<SchemaTable, Writer> streamingEdgeOutputStreamCache = new LinkedHashMap<>();
+    private final Map<SchemaTable, StreamingRowSink> streamingVertexOutputStreamCache = new LinkedHashMap<>();
+    private final Map<SchemaTable, StreamingRowSink> streamingEdgeOutputStreamCache = new LinkedHashMap<>();
 
     //indicates what is being streamed
     private SchemaTable streamingBatchModeVertexSchemaTable;
@@ -50,6 +66,11 @@ public class BatchManager {
     private long batchIndex;
     private boolean isBusyFlushing;
 
+    private int maxPendingRows;
+    private long maxPendingBytes;
+    private int pendingRows;
+    private long pendingBytes;
+
     public enum BatchModeType {
         NONE, NORMAL, STREAMING, STREAMING_WITH_LOCK
     }
@@ -83,17 +104,21 @@ public class BatchManager {
 
     void batchModeOn(BatchModeType batchModeType) {
         this.batchModeType = batchModeType;
+        if (batchModeType == BatchModeType.NORMAL) {
+            this.maxPendingRows = this.sqlgGraph.configuration().getInt(MAX_PENDING_ROWS, 0);
+            this.maxPendingBytes = this.sqlgGraph.configuration().getLong(MAX_PENDING_BYTES, 0L);
+        }
     }
 
     void addTemporaryVertex(SqlgVertex sqlgVertex, Map<String, Object> keyValueMap) {
         SchemaTable schemaTable = SchemaTable.of(sqlgVertex.getSchema(), sqlgVertex.getTable());
-        Writer writer = this.streamingVertexOutputStreamCache.get(schemaTable);
-        if (writer == null) {
+        StreamingRowSink sink = this.streamingVertexOutputStreamCache.get(schemaTable);
+        if (sink == null) {
             String sql = this.sqlDialect.constructCompleteCopyCommandTemporarySqlVertex(sqlgGraph, sqlgVertex, keyValueMap);
-            writer = this.sqlDialect.streamSql(this.sqlgGraph, sql);
-            this.streamingVertexOutputStreamCache.put(schemaTable, writer);
+            sink = this.sqlDialect.streamSql(this.sqlgGraph, sql);
+            this.streamingVertexOutputStreamCache.put(schemaTable, sink);
         }
-        this.sqlDialect.writeTemporaryStreamingVertex(writer, keyValueMap);
+        this.sqlDialect.writeTemporaryStreamingVertex(sink, keyValueMap);
 
     }
 
@@ -109,6 +134,7 @@ public class BatchManager {
                 pairs.getLeft().addAll(keyValueMap.keySet());
                 pairs.getRight().put(sqlgVertex, keyValueMap);
             }
+            addPending(keyValueMap);
         } else {
             if (this.streamingBatchModeVertexSchemaTable == null) {
                 this.streamingBatchModeVertexSchemaTable = sqlgVertex.getSchemaTable();
@@ -127,18 +153,18 @@ public class BatchManager {
             if (this.isInStreamingModeWithLock()) {
                 sqlgVertex.setInternalPrimaryKey(RecordId.from(schemaTable, ++this.batchIndex));
             }
-            Writer writer = this.streamingVertexOutputStreamCache.get(schemaTable);
-            if (writer == null) {
+            StreamingRowSink sink = this.streamingVertexOutputStreamCache.get(schemaTable);
+            if (sink == null) {
                 String sql = this.sqlDialect.constructCompleteCopyCommandSqlVertex(sqlgGraph, sqlgVertex, keyValueMap);
-                writer = this.sqlDialect.streamSql(this.sqlgGraph, sql);
-                this.streamingVertexOutputStreamCache.put(schemaTable, writer);
+                sink = this.sqlDialect.streamSql(this.sqlgGraph, sql);
+                this.streamingVertexOutputStreamCache.put(schemaTable, sink);
             }
             VertexLabel vertexLabel = null;
             if (!schemaTable.isTemporary()) {
                 vertexLabel = sqlgGraph.getTopology().getVertexLabel(schemaTable.getSchema(), schemaTable.getTable()).orElseThrow(
                         () -> new IllegalStateException(String.format("VertexLabel %s not found.", schemaTable.toString())));
             }
-            this.sqlDialect.writeStreamingVertex(writer, keyValueMap, vertexLabel);
+            this.sqlDialect.writeStreamingVertex(sink, keyValueMap, vertexLabel);
             if (this.isInStreamingModeWithLock()) {
                 this.batchCount++;
             }
@@ -163,6 +189,7 @@ public class BatchManager {
                 triples.getLeft().addAll(keyValueMap.keySet());
                 triples.getRight().put(sqlgEdge, Triple.of(outVertex, inVertex, keyValueMap));
             }
+            addPending(keyValueMap);
         } else {
             if (this.streamingBatchModeEdgeSchemaTable == null) {
                 this.streamingBatchModeEdgeSchemaTable = sqlgEdge.getSchemaTablePrefixed();
@@ -181,14 +208,14 @@ public class BatchManager {
             if (this.isInStreamingModeWithLock()) {
                 sqlgEdge.setInternalPrimaryKey(RecordId.from(outSchemaTable, ++this.batchIndex));
             }
-            Writer writer = this.streamingEdgeOutputStreamCache.get(outSchemaTable);
-            if (writer == null) {
+            StreamingRowSink sink = this.streamingEdgeOutputStreamCache.get(outSchemaTable);
+            if (sink == null) {
                 String sql = this.sqlDialect.constructCompleteCopyCommandSqlEdge(sqlgGraph, sqlgEdge, outVertexLabel, inVertexLabel, outVertex, inVertex, keyValueMap);
-                writer = this.sqlDialect.streamSql(this.sqlgGraph, sql);
-                this.streamingEdgeOutputStreamCache.put(outSchemaTable, writer);
+                sink = this.sqlDialect.streamSql(this.sqlgGraph, sql);
+                this.streamingEdgeOutputStreamCache.put(outSchemaTable, sink);
             }
             this.sqlDialect.writeStreamingEdge(
-                    writer,
+                    sink,
                     sqlgEdge,
                     outVertexLabel,
                     inVertexLabel,
@@ -203,6 +230,34 @@ public class BatchManager {
         }
     }
 
+    /**
+     * Flushes once the new vertices and edges exceed {@link #MAX_PENDING_ROWS} or {@link #MAX_PENDING_BYTES}.
+     * The vertices are flushed before the edges so every cached edge's vertices are persisted by the time it is inserted.
+     */
+    private void addPending(Map<String, Object> keyValueMap) {
+        this.pendingRows++;
+        if (this.maxPendingBytes > 0) {
+            this.pendingBytes += estimateBytes(keyValueMap);
+        }
+        if ((this.maxPendingRows > 0 && this.pendingRows >= this.maxPendingRows) ||
+                (this.maxPendingBytes > 0 && this.pendingBytes >= this.maxPendingBytes)) {
+            flush();
+        }
+    }
+
+    private static long estimateBytes(Map<String, Object> keyValueMap) {
+        long bytes = ELEMENT_BYTES;
+        for (Object value : keyValueMap.values()) {
+            bytes += PROPERTY_BYTES;
+            if (value instanceof String) {
+                bytes += 2L * ((String) value).length();
+            } else if (value != null && value.getClass().isArray()) {
+                bytes += 16L * Array.getLength(value);
+            }
+        }
+        return bytes;
+    }
+
     public void flush() {
         this.isBusyFlushing = true;
         this.sqlDialect.flushVertexCache(this.sqlgGraph, this.vertexCache);
@@ -344,6 +399,8 @@ public class BatchManager {
         this.removeVertexCache.clear();
         this.edgePropertyCache.clear();
         this.vertexPropertyCache.clear();
+        this.pendingRows = 0;
+        this.pendingBytes = 0;
     }
 
     void removeVertex(String schema, String table, SqlgVertex vertex) {
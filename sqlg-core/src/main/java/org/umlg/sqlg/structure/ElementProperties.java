@@ -0,0 +1,172 @@
+package org.umlg.sqlg.structure;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The property values of a {@link SqlgElement}.
+ * <p>
+ * Elements loaded from the database use the {@link PropertyLayout} of their label and keep the values in an array
+ * indexed by the property's slot. Properties that are not in the layout, and all the properties of elements without a
+ * layout, are kept in a {@link ConcurrentHashMap} that is only created when needed.
+ * <p>
+ * As with the {@link ConcurrentHashMap} this replaces multiple threads can read and write the properties, null keys and
+ * values are not allowed.
+ */
+final class ElementProperties extends AbstractMap<String, Object> {
+
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final Object[] NO_VALUES = new Object[0];
+
+    private volatile PropertyLayout layout;
+    private volatile Object[] values = NO_VALUES;
+    private volatile Map<String, Object> overflow;
+
+    /**
+     * The element loads its properties with the layout, unless it already has one or has properties.
+     */
+    void useLayout(PropertyLayout layout) {
+        if (this.layout == null) {
+            synchronized (this) {
+                if (this.layout == null && this.overflow == null) {
+                    this.values = new Object[layout.size()];
+                    this.layout = layout;
+                }
+            }
+        }
+    }
+
+    private int slot(Object key) {
+        PropertyLayout layout = this.layout;
+        return layout == null || !(key instanceof String) ? -1 : layout.slot((String) key);
+    }
+
+    private Map<String, Object> overflow() {
+        Map<String, Object> overflow = this.overflow;
+        if (overflow == null) {
+            synchronized (this) {
+                overflow = this.overflow;
+                if (overflow == null) {
+                    overflow = new ConcurrentHashMap<>();
+                    this.overflow = overflow;
+                }
+            }
+        }
+        return overflow;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int slot = slot(key);
+        if (slot != -1) {
+            Object value = VALUES.getVolatile(this.values, slot);
+            if (value != null) {
+                return value;
+            }
+        }
+        Map<String, Object> overflow = this.overflow;
+        return overflow == null ? null : overflow.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        int slot = slot(key);
+        if (slot != -1) {
+            return VALUES.getAndSet(this.values, slot, value);
+        }
+        return overflow().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        Object value = null;
+        int slot = slot(key);
+        if (slot != -1) {
+            value = VALUES.getAndSet(this.values, slot, (Object) null);
+        }
+        Map<String, Object> overflow = this.overflow;
+        if (overflow != null) {
+            Object overflowValue = overflow.remove(key);
+            if (value == null) {
+                value = overflowValue;
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        Object[] values = this.values;
+        for (int slot = 0; slot < values.length; slot++) {
+            VALUES.setVolatile(values, slot, (Object) null);
+        }
+        Map<String, Object> overflow = this.overflow;
+        if (overflow != null) {
+            overflow.clear();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        Object[] values = this.values;
+        for (int slot = 0; slot < values.length; slot++) {
+            if (VALUES.getVolatile(values, slot) != null) {
+                return false;
+            }
+        }
+        Map<String, Object> overflow = this.overflow;
+        return overflow == null || overflow.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return snapshot().size();
+    }
+
+    /**
+     * The entries are a snapshot of the properties when the set is iterated, {@link Map.Entry#setValue(Object)} is not
+     * supported.
+     */
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return snapshot().iterator();
+            }
+
+            @Override
+            public int size() {
+                return snapshot().size();
+            }
+        };
+    }
+
+    private List<Entry<String, Object>> snapshot() {
+        List<Entry<String, Object>> entries = new ArrayList<>();
+        PropertyLayout layout = this.layout;
+        Object[] values = this.values;
+        for (int slot = 0; slot < values.length; slot++) {
+            Object value = VALUES.getVolatile(values, slot);
+            if (value != null) {
+                entries.add(new SimpleImmutableEntry<>(layout.name(slot), value));
+            }
+        }
+        Map<String, Object> overflow = this.overflow;
+        if (overflow != null) {
+            for (Entry<String, Object> entry : overflow.entrySet()) {
+                entries.add(new SimpleImmutableEntry<>(entry));
+            }
+        }
+        return entries;
+    }
+}
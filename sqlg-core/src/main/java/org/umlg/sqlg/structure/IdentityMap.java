@@ -0,0 +1,109 @@
+package org.umlg.sqlg.structure;
+
+import java.lang.ref.WeakReference;
+import java.sql.ResultSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The vertices and edges a transaction loaded with its queries, keyed on their {@link RecordId}.
+ * Rows that return an element that was already loaded return the same instance instead of a new one, and only read its
+ * columns again if they come from a different query, or from the same query's columns for another step.
+ * <p>
+ * At most {@link #IDENTITY_MAP_SIZE} vertices and as many edges are kept, the least recently returned are dropped
+ * first. 0 disables the identity map.
+ * It is not used in batch mode, and not for the queries of a {@link org.umlg.sqlg.step.SqlgVertexStep}, their elements
+ * remember which start they belong to.
+ */
+public final class IdentityMap {
+
+    public static final String IDENTITY_MAP_SIZE = "sqlg.identityMap.size";
+    static final int IDENTITY_MAP_SIZE_DEFAULT = 0;
+
+    private final Map<RecordId, Entry> vertices;
+    private final Map<RecordId, Entry> edges;
+    //The result set the elements were last loaded from, weak as the rows of a parallel query are held in memory.
+    private WeakReference<ResultSet> resultSet;
+    private int resultSetIndex;
+
+    IdentityMap(int maximumSize) {
+        this.vertices = lruMap(maximumSize);
+        this.edges = lruMap(maximumSize);
+    }
+
+    private static Map<RecordId, Entry> lruMap(int maximumSize) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RecordId, Entry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * @return the loaded element, null if the element is not in the identity map.
+     */
+    public SqlgElement get(boolean vertex, RecordId recordId) {
+        Entry entry = (vertex ? this.vertices : this.edges).get(recordId);
+        return entry == null ? null : entry.element;
+    }
+
+    /**
+     * Adds an element that was loaded from the resultSet's current row.
+     *
+     * @param loader The object that read the element's columns.
+     */
+    public void put(SqlgElement sqlgElement, ResultSet resultSet, Object loader) {
+        (sqlgElement instanceof SqlgVertex ? this.vertices : this.edges).put(
+                sqlgElement.recordId,
+                new Entry(sqlgElement, loader, resultSetIndex(resultSet))
+        );
+    }
+
+    /**
+     * Checks whether the columns of an element that is in the identity map must be read from the resultSet's row.
+     * They must unless the same loader read them from the same resultSet before.
+     *
+     * @return true if the columns must be read, the element is then marked as loaded by the loader.
+     */
+    public boolean mustLoad(SqlgElement sqlgElement, ResultSet resultSet, Object loader) {
+        Entry entry = (sqlgElement instanceof SqlgVertex ? this.vertices : this.edges).get(sqlgElement.recordId);
+        int resultSetIndex = resultSetIndex(resultSet);
+        if (entry == null) {
+            put(sqlgElement, resultSet, loader);
+            return true;
+        } else if (entry.loader != loader || entry.resultSetIndex != resultSetIndex) {
+            entry.loader = loader;
+            entry.resultSetIndex = resultSetIndex;
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    //Every change of result set gets a new index, so an index is never shared by two result sets.
+    private int resultSetIndex(ResultSet resultSet) {
+        if (this.resultSet == null || this.resultSet.get() != resultSet) {
+            this.resultSet = new WeakReference<>(resultSet);
+            this.resultSetIndex++;
+        }
+        return this.resultSetIndex;
+    }
+
+    int size() {
+        return this.vertices.size() + this.edges.size();
+    }
+
+    private static final class Entry {
+
+        private final SqlgElement element;
+        private Object loader;
+        private int resultSetIndex;
+
+        private Entry(SqlgElement element, Object loader, int resultSetIndex) {
+            this.element = element;
+            this.loader = loader;
+            this.resultSetIndex = resultSetIndex;
+        }
+    }
+}
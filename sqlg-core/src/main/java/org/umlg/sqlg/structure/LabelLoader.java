@@ -0,0 +1,315 @@
+package org.umlg.sqlg.structure;
+
+import org.umlg.sqlg.sql.dialect.SqlDialect;
+import org.umlg.sqlg.structure.topology.*;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+import static org.umlg.sqlg.structure.topology.Topology.EDGE_PREFIX;
+import static org.umlg.sqlg.structure.topology.Topology.VERTEX_PREFIX;
+
+/**
+ * The sql {@link SqlgVertex#load()} and {@link SqlgEdge#load()} use to load an element by its id, together with the
+ * column index to property mapping of its {@link java.sql.ResultSet}.
+ * A LabelLoader is built once per {@link VertexLabel} or {@link EdgeLabel} and {@link Topology#getVersion()} and
+ * shared between threads.
+ * LabelLoaders built while the current thread's transaction has uncommitted topology changes are not cached.
+ */
+final class LabelLoader {
+
+    private final long topologyVersion;
+    private final boolean hasIDPrimaryKey;
+    //SELECT ... FROM ..., without the WHERE clause.
+    private final String selectFrom;
+    private final String where;
+    private final String loadSql;
+    //The names of the columns the selectFrom selects, in order.
+    private final List<String> columns;
+    //Indexed on the column index, null for the columns that are not loaded as properties.
+    private final String[] propertyNames;
+    private final PropertyType[] propertyTypes;
+    private final PropertyLayout propertyLayout;
+    private final List<VertexLabel> inForeignKeys;
+    private final List<VertexLabel> outForeignKeys;
+    private final boolean needsSemicolon;
+
+    private LabelLoader(
+            SqlDialect sqlDialect,
+            long topologyVersion,
+            AbstractLabel abstractLabel,
+            String selectFrom,
+            String where,
+            List<String> columns,
+            List<String> columnProperties,
+            List<PropertyType> columnPropertyTypes,
+            List<VertexLabel> inForeignKeys,
+            List<VertexLabel> outForeignKeys) {
+
+        this.topologyVersion = topologyVersion;
+        this.hasIDPrimaryKey = abstractLabel.hasIDPrimaryKey();
+        this.needsSemicolon = sqlDialect.needsSemicolon();
+        this.selectFrom = selectFrom;
+        this.where = where;
+        StringBuilder sql = new StringBuilder(selectFrom);
+        sql.append(where);
+        //noinspection Duplicates
+        if (this.hasIDPrimaryKey) {
+            sql.append(sqlDialect.maybeWrapInQoutes("ID"));
+            sql.append(" = ?");
+        } else {
+            int count = 1;
+            for (String identifier : abstractLabel.getIdentifiers()) {
+                sql.append(sqlDialect.maybeWrapInQoutes(identifier));
+                sql.append(" = ?");
+                if (count++ < abstractLabel.getIdentifiers().size()) {
+                    sql.append(" AND ");
+                }
+            }
+        }
+        if (this.needsSemicolon) {
+            sql.append(";");
+        }
+        this.loadSql = sql.toString();
+        this.columns = columns;
+        this.propertyNames = columnProperties.toArray(new String[0]);
+        this.propertyTypes = columnPropertyTypes.toArray(new PropertyType[0]);
+        this.propertyLayout = abstractLabel.getPropertyLayout();
+        this.inForeignKeys = inForeignKeys;
+        this.outForeignKeys = outForeignKeys;
+    }
+
+    static LabelLoader vertexLoader(SqlgGraph sqlgGraph, String schema, String table) {
+        Topology topology = sqlgGraph.getTopology();
+        long topologyVersion = topology.getVersion();
+        SchemaTable schemaTable = SchemaTable.of(schema, VERTEX_PREFIX + table);
+        LabelLoader labelLoader = sqlgGraph.labelLoaders.get(schemaTable);
+        if (labelLoader == null || labelLoader.topologyVersion != topologyVersion) {
+            VertexLabel vertexLabel = topology.getSchema(schema)
+                    .orElseThrow(() -> new IllegalStateException(String.format("Schema %s not found", schema)))
+                    .getVertexLabel(table)
+                    .orElseThrow(() -> new IllegalStateException(String.format("VertexLabel %s not found", table)));
+            labelLoader = forVertex(sqlgGraph.getSqlDialect(), topologyVersion, vertexLabel);
+            if (!topology.isSchemaChanged()) {
+                sqlgGraph.labelLoaders.put(schemaTable, labelLoader);
+            }
+        }
+        return labelLoader;
+    }
+
+    static LabelLoader edgeLoader(SqlgGraph sqlgGraph, String schema, String table) {
+        Topology topology = sqlgGraph.getTopology();
+        long topologyVersion = topology.getVersion();
+        SchemaTable schemaTable = SchemaTable.of(schema, EDGE_PREFIX + table);
+        LabelLoader labelLoader = sqlgGraph.labelLoaders.get(schemaTable);
+        if (labelLoader == null || labelLoader.topologyVersion != topologyVersion) {
+            EdgeLabel edgeLabel = topology.getSchema(schema)
+                    .orElseThrow(() -> new IllegalStateException(String.format("Schema %s not found", schema)))
+                    .getEdgeLabel(table)
+                    .orElseThrow(() -> new IllegalStateException(String.format("EdgeLabel %s not found", table)));
+            labelLoader = forEdge(sqlgGraph.getSqlDialect(), topologyVersion, edgeLabel);
+            if (!topology.isSchemaChanged()) {
+                sqlgGraph.labelLoaders.put(schemaTable, labelLoader);
+            }
+        }
+        return labelLoader;
+    }
+
+    private static LabelLoader forVertex(SqlDialect sqlDialect, long topologyVersion, VertexLabel vertexLabel) {
+        //Generate the columns to prevent 'ERROR: cached plan must not change result type" error'
+        //This happens when the schema changes after the statement is prepared.
+        List<String> columns = new ArrayList<>();
+        List<String> columnProperties = new ArrayList<>();
+        List<PropertyType> columnPropertyTypes = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT\n\t");
+        sql.append(sqlDialect.maybeWrapInQoutes("ID"));
+        columns.add("ID");
+        appendProperties(sqlDialect, vertexLabel, sql, columns, columnProperties, columnPropertyTypes);
+        sql.append("\nFROM\n\t");
+        sql.append(sqlDialect.maybeWrapInQoutes(vertexLabel.getSchema().getName()));
+        sql.append(".");
+        sql.append(sqlDialect.maybeWrapInQoutes(VERTEX_PREFIX + vertexLabel.getName()));
+        return new LabelLoader(
+                sqlDialect,
+                topologyVersion,
+                vertexLabel,
+                sql.toString(),
+                "\nWHERE\n\t",
+                Collections.unmodifiableList(columns),
+                columnProperties,
+                columnPropertyTypes,
+                Collections.emptyList(),
+                Collections.emptyList()
+        );
+    }
+
+    private static LabelLoader forEdge(SqlDialect sqlDialect, long topologyVersion, EdgeLabel edgeLabel) {
+        //Generate the columns to prevent 'ERROR: cached plan must not change result type" error'
+        //This happens when the schema changes after the statement is prepared.
+        List<String> columns = new ArrayList<>();
+        List<String> columnProperties = new ArrayList<>();
+        List<PropertyType> columnPropertyTypes = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT\n\t");
+        sql.append(sqlDialect.maybeWrapInQoutes("ID"));
+        columns.add("ID");
+        appendProperties(sqlDialect, edgeLabel, sql, columns, columnProperties, columnPropertyTypes);
+        List<VertexLabel> outForeignKeys = new ArrayList<>();
+        for (VertexLabel vertexLabel : edgeLabel.getOutVertexLabels()) {
+            outForeignKeys.add(vertexLabel);
+            appendForeignKey(sqlDialect, vertexLabel, Topology.OUT_VERTEX_COLUMN_END, sql);
+        }
+        List<VertexLabel> inForeignKeys = new ArrayList<>();
+        for (VertexLabel vertexLabel : edgeLabel.getInVertexLabels()) {
+            inForeignKeys.add(vertexLabel);
+            appendForeignKey(sqlDialect, vertexLabel, Topology.IN_VERTEX_COLUMN_END, sql);
+        }
+        sql.append("\nFROM\n\t");
+        sql.append(sqlDialect.maybeWrapInQoutes(edgeLabel.getSchema().getName()));
+        sql.append(".");
+        sql.append(sqlDialect.maybeWrapInQoutes(EDGE_PREFIX + edgeLabel.getName()));
+        return new LabelLoader(
+                sqlDialect,
+                topologyVersion,
+                edgeLabel,
+                sql.toString(),
+                " WHERE ",
+                Collections.unmodifiableList(columns),
+                columnProperties,
+                columnPropertyTypes,
+                Collections.unmodifiableList(inForeignKeys),
+                Collections.unmodifiableList(outForeignKeys)
+        );
+    }
+
+    private static void appendProperties(
+            SqlDialect sqlDialect,
+            AbstractLabel abstractLabel,
+            StringBuilder sql,
+            List<String> columns,
+            List<String> columnProperties,
+            List<PropertyType> columnPropertyTypes) {
+
+        //column indexes start at 1, index 0 is unused and column 1 is the ID
+        columnProperties.add(null);
+        columnPropertyTypes.add(null);
+        columnProperties.add(null);
+        columnPropertyTypes.add(null);
+        for (PropertyColumn propertyColumn : abstractLabel.getProperties().values()) {
+            PropertyType propertyType = propertyColumn.getPropertyType();
+            sql.append(", ");
+            sql.append(sqlDialect.maybeWrapInQoutes(propertyColumn.getName()));
+            columns.add(propertyColumn.getName());
+            columnProperties.add(propertyColumn.getName());
+            columnPropertyTypes.add(propertyType);
+            // additional columns for time zone, etc.
+            String[] postFixes = propertyType.getPostFixes();
+            if (postFixes != null) {
+                for (String postFix : postFixes) {
+                    sql.append(", ");
+                    sql.append(sqlDialect.maybeWrapInQoutes(propertyColumn.getName() + postFix));
+                    columns.add(propertyColumn.getName() + postFix);
+                    //the additional columns are read by name when loading the property
+                    columnProperties.add(null);
+                    columnPropertyTypes.add(null);
+                }
+            }
+        }
+    }
+
+    private static void appendForeignKey(SqlDialect sqlDialect, VertexLabel vertexLabel, String columnEnd, StringBuilder sql) {
+        sql.append(", ");
+        if (vertexLabel.hasIDPrimaryKey()) {
+            String foreignKey = vertexLabel.getSchema().getName() + "." + vertexLabel.getName() + columnEnd;
+            sql.append(sqlDialect.maybeWrapInQoutes(foreignKey));
+        } else {
+            int countIdentifier = 1;
+            for (String identifier : vertexLabel.getIdentifiers()) {
+                PropertyColumn propertyColumn = vertexLabel.getProperty(identifier).orElseThrow(
+                        () -> new IllegalStateException(String.format("identifier %s column must be a property", identifier))
+                );
+                PropertyType propertyType = propertyColumn.getPropertyType();
+                String[] propertyTypeToSqlDefinition = sqlDialect.propertyTypeToSqlDefinition(propertyType);
+                int count = 1;
+                for (String ignored : propertyTypeToSqlDefinition) {
+                    if (count > 1) {
+                        sql.append(sqlDialect.maybeWrapInQoutes(vertexLabel.getFullName() + "." + identifier + propertyType.getPostFixes()[count - 2] + columnEnd));
+                    } else {
+                        //The first column existVertexLabel no postfix
+                        sql.append(sqlDialect.maybeWrapInQoutes(vertexLabel.getFullName() + "." + identifier + columnEnd));
+                    }
+                    if (count++ < propertyTypeToSqlDefinition.length) {
+                        sql.append(", ");
+                    }
+                }
+                if (countIdentifier++ < vertexLabel.getIdentifiers().size()) {
+                    sql.append(", ");
+                }
+            }
+        }
+    }
+
+    boolean hasIDPrimaryKey() {
+        return this.hasIDPrimaryKey;
+    }
+
+    /**
+     * @return the sql to load one element, its parameters are the element's id or identifiers.
+     */
+    String getLoadSql() {
+        return this.loadSql;
+    }
+
+    /**
+     * @return the sql to load count elements with a sequence id.
+     */
+    String getLoadAllSql(SqlDialect sqlDialect, int count) {
+        StringBuilder sql = new StringBuilder(this.selectFrom);
+        sql.append(this.where);
+        sql.append(sqlDialect.maybeWrapInQoutes("ID"));
+        sql.append(" IN (");
+        sql.append(String.join(", ", Collections.nCopies(count, "?")));
+        sql.append(")");
+        if (this.needsSemicolon) {
+            sql.append(";");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * @return the names of the columns {@link #loadProperties(SqlgElement, ResultSet, int)} reads, the "ID" first. The
+     * foreign keys of an edge are not included.
+     */
+    List<String> getColumns() {
+        return this.columns;
+    }
+
+    List<VertexLabel> getInForeignKeys() {
+        return this.inForeignKeys;
+    }
+
+    List<VertexLabel> getOutForeignKeys() {
+        return this.outForeignKeys;
+    }
+
+    /**
+     * Loads the properties of the current row of the resultSet into the element.
+     */
+    void loadProperties(SqlgElement sqlgElement, ResultSet resultSet) throws SQLException {
+        loadProperties(sqlgElement, resultSet, 0);
+    }
+
+    /**
+     * Loads the properties of the current row of the resultSet into the element, the {@link #getColumns()} are the
+     * columns after the first columnOffset columns.
+     */
+    void loadProperties(SqlgElement sqlgElement, ResultSet resultSet, int columnOffset) throws SQLException {
+        sqlgElement.usePropertyLayout(this.propertyLayout);
+        for (int columnIndex = 1; columnIndex < this.propertyNames.length; columnIndex++) {
+            String propertyName = this.propertyNames[columnIndex];
+            if (propertyName != null) {
+                sqlgElement.loadProperty(resultSet, propertyName, columnOffset + columnIndex, Collections.emptyMap(), -1, this.propertyTypes[columnIndex]);
+            }
+        }
+    }
+}
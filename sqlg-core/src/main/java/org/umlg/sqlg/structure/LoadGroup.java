@@ -0,0 +1,78 @@
+package org.umlg.sqlg.structure;
+
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * A group of id only elements of the same label that were produced by the same query.
+ * The first element of the group that needs its properties loads the properties of all the elements in the group with
+ * one {@code WHERE "ID" IN (...)} query instead of one query per element.
+ * <p>
+ * The number of elements in a group is bounded by {@link #LOAD_GROUP_SIZE}, 0 disables grouping.
+ * Only elements with a sequence id are grouped, elements with user supplied identifiers load themselves one at a time.
+ */
+public class LoadGroup {
+
+    public static final String LOAD_GROUP_SIZE = "sqlg.loadGroup.size";
+    static final int LOAD_GROUP_SIZE_DEFAULT = 1000;
+
+    private final int maximumSize;
+    private final List<SqlgElement> elements;
+    //The ids of the rows that were found, null until the group is loaded.
+    private Set<Long> found;
+
+    LoadGroup(int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.elements = new ArrayList<>();
+    }
+
+    /**
+     * A group that has loaded is closed, elements added after the load would find their id in the loaded rows without
+     * their own properties having been loaded.
+     */
+    synchronized boolean isFull() {
+        return this.found != null || this.elements.size() >= this.maximumSize;
+    }
+
+    /**
+     * Only id only elements with a sequence id can be grouped.
+     */
+    static boolean canGroup(SqlgElement sqlgElement) {
+        return sqlgElement != null &&
+                sqlgElement.loadGroup == null &&
+                sqlgElement.recordId != null &&
+                sqlgElement.recordId.hasSequenceId() &&
+                sqlgElement.recordId.sequenceId() != -1 &&
+                sqlgElement.properties.isEmpty();
+    }
+
+    void add(SqlgElement sqlgElement) {
+        sqlgElement.loadGroup = this;
+        this.elements.add(sqlgElement);
+    }
+
+    /**
+     * Loads the properties of all the elements in the group that have not been loaded yet.
+     *
+     * @param sqlgElement The element whose properties are needed.
+     * @return true if the element's row was found, false if the element must load itself.
+     */
+    synchronized boolean load(SqlgElement sqlgElement) {
+        sqlgElement.loadGroup = null;
+        if (this.found == null) {
+            Map<Long, List<SqlgElement>> pending = new LinkedHashMap<>();
+            for (SqlgElement element : this.elements) {
+                if (element.properties.isEmpty()) {
+                    pending.computeIfAbsent(element.recordId.sequenceId(), k -> new ArrayList<>()).add(element);
+                }
+            }
+            this.elements.clear();
+            try {
+                this.found = pending.isEmpty() ? Collections.emptySet() : sqlgElement.loadAll(pending);
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return this.found.contains(sqlgElement.recordId.sequenceId());
+    }
+}
@@ -0,0 +1,187 @@
+package org.umlg.sqlg.structure;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.sql.parse.SchemaTableTree;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import javax.sql.RowSetMetaData;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetFactory;
+import javax.sql.rowset.RowSetProvider;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Executes the queries of a {@link SqlgCompiledResultIterator} in parallel for a transaction in
+ * {@link SqlgTransaction#parallelQueriesOn()} mode.
+ * Every query runs on its own pooled connection, at most {@link #PARALLEL_QUERIES_SIZE} at the same time.
+ * The rows are read into memory and the connection is returned to the pool straight away, so an iterator that is not
+ * read to the end holds no connections. The results are handed out in the order of the queries.
+ * <p>
+ * Reading the rows into memory is the cost of the parallelism. Up to {@link #PARALLEL_QUERIES_SIZE} complete results
+ * are held at the same time, and the values are read back from a {@link CachedRowSet}, which may report other column
+ * types than the driver does. A query that returns more than {@link #PARALLEL_QUERIES_MAX_ROWS} rows is not held,
+ * {@link #next()} returns null for it and the caller executes it again on the transaction's connection, streaming
+ * its rows.
+ * <p>
+ * If the dialect supports it the transaction's snapshot is imported by the connections, so all the queries see the same data.
+ * Otherwise every query sees the data committed when it starts, as the statements of a read committed transaction do.
+ */
+public class ParallelQueries {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelQueries.class);
+    public static final String PARALLEL_QUERIES_SIZE = "sqlg.parallelQueries.size";
+    static final int PARALLEL_QUERIES_SIZE_DEFAULT = 4;
+    /**
+     * The maximum number of rows read into memory per query, 0 means no maximum.
+     */
+    public static final String PARALLEL_QUERIES_MAX_ROWS = "sqlg.parallelQueries.maxRows";
+    private static final int PARALLEL_QUERIES_MAX_ROWS_DEFAULT = 10_000;
+
+    private final SqlgGraph sqlgGraph;
+    private final ExecutorService executorService;
+    private final int size;
+    private final int maxRows;
+    private final String snapshot;
+    private final RowSetFactory rowSetFactory;
+    private final Iterator<Pair<String, LinkedList<SchemaTableTree>>> queries;
+    private final Deque<Future<CachedRowSet>> executing = new ArrayDeque<>();
+    private volatile boolean closed = false;
+
+    /**
+     * @param sqlgGraph The graph.
+     * @param queries   The sql and the query stack of every query, in the order the results are read.
+     */
+    ParallelQueries(SqlgGraph sqlgGraph, List<Pair<String, LinkedList<SchemaTableTree>>> queries) {
+        this.sqlgGraph = sqlgGraph;
+        this.executorService = sqlgGraph.getParallelQueriesExecutor();
+        this.size = sqlgGraph.getParallelQueriesSize();
+        this.maxRows = sqlgGraph.configuration().getInt(PARALLEL_QUERIES_MAX_ROWS, PARALLEL_QUERIES_MAX_ROWS_DEFAULT);
+        try {
+            this.rowSetFactory = RowSetProvider.newFactory();
+            if (sqlgGraph.getSqlDialect().supportsExportSnapshot()) {
+                this.snapshot = sqlgGraph.getSqlDialect().exportSnapshot(sqlgGraph.tx().getConnection());
+            } else {
+                this.snapshot = null;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        this.queries = queries.iterator();
+        submit();
+    }
+
+    private void submit() {
+        while (this.executing.size() < this.size && this.queries.hasNext()) {
+            Pair<String, LinkedList<SchemaTableTree>> query = this.queries.next();
+            this.executing.add(this.executorService.submit(() -> execute(query.getLeft(), query.getRight())));
+        }
+    }
+
+    boolean hasNext() {
+        return !this.executing.isEmpty();
+    }
+
+    /**
+     * Waits for the next query's rows.
+     *
+     * @return The rows, or null if the query returns more than {@link #PARALLEL_QUERIES_MAX_ROWS} rows and must be
+     * executed on the transaction's connection.
+     */
+    ResultSet next() {
+        Future<CachedRowSet> future = this.executing.removeFirst();
+        submit();
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Queries that have not started yet are skipped.
+     */
+    void close() {
+        this.closed = true;
+        for (Future<CachedRowSet> future : this.executing) {
+            future.cancel(false);
+        }
+        this.executing.clear();
+    }
+
+    private CachedRowSet execute(String sql, LinkedList<SchemaTableTree> distinctQueryStack) throws SQLException {
+        if (this.closed) {
+            return null;
+        }
+        Connection connection = this.sqlgGraph.getConnection();
+        Integer transactionIsolation = null;
+        try {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            if (this.snapshot != null) {
+                transactionIsolation = connection.getTransactionIsolation();
+                this.sqlgGraph.getSqlDialect().importSnapshot(connection, this.snapshot);
+            }
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(sql);
+            }
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                SqlgUtil.setParametersOnStatement(this.sqlgGraph, distinctQueryStack, preparedStatement, 1);
+                if (this.maxRows > 0) {
+                    //one more row than the maximum tells that the result is too large
+                    preparedStatement.setMaxRows(this.maxRows + 1);
+                }
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    CachedRowSet cachedRowSet = this.rowSetFactory.createCachedRowSet();
+                    cachedRowSet.populate(resultSet);
+                    if (this.maxRows > 0 && cachedRowSet.size() > this.maxRows) {
+                        cachedRowSet.close();
+                        return null;
+                    }
+                    //The rows are read by their column labels, the row set looks columns up by name.
+                    RowSetMetaData rowSetMetaData = (RowSetMetaData) cachedRowSet.getMetaData();
+                    for (int column = 1; column <= rowSetMetaData.getColumnCount(); column++) {
+                        rowSetMetaData.setColumnName(column, rowSetMetaData.getColumnLabel(column));
+                    }
+                    return cachedRowSet;
+                }
+            }
+        } finally {
+            release(connection, transactionIsolation);
+        }
+    }
+
+    //The connection goes back to the pool as it was taken from it.
+    private static void release(Connection connection, Integer transactionIsolation) {
+        try {
+            connection.rollback();
+            connection.setReadOnly(false);
+            if (transactionIsolation != null) {
+                connection.setTransactionIsolation(transactionIsolation);
+            }
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            LOGGER.error("Failed to reset a parallel query's connection.", e);
+        } finally {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                LOGGER.error("Failed to close a parallel query's connection.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.umlg.sqlg.structure;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the vertices of a query whose rows hold the columns of one vertex of a label together with the ids of the
+ * vertices of the same label that were walked to reach it, i.e. the rows of a
+ * {@link org.umlg.sqlg.sql.parse.RecursiveRepeatQuery}.
+ * <p>
+ * A vertex is created once per id. The row's vertex loads its properties from the row, the vertices of the path that
+ * are not loaded are added to a {@link LoadGroup} so that they load their properties together when first needed.
+ */
+public final class PathVertexLoader {
+
+    private final SqlgGraph sqlgGraph;
+    private final String schema;
+    private final String table;
+    private final LabelLoader labelLoader;
+    private final int loadGroupSize;
+    private final Map<Long, SqlgVertex> vertices = new HashMap<>();
+    private LoadGroup loadGroup;
+
+    public PathVertexLoader(SqlgGraph sqlgGraph, String schema, String table) {
+        this.sqlgGraph = sqlgGraph;
+        this.schema = schema;
+        this.table = table;
+        this.labelLoader = LabelLoader.vertexLoader(sqlgGraph, schema, table);
+        this.loadGroupSize = sqlgGraph.tx().isInBatchMode() ? 0 : sqlgGraph.configuration().getInt(LoadGroup.LOAD_GROUP_SIZE, LoadGroup.LOAD_GROUP_SIZE_DEFAULT);
+    }
+
+    /**
+     * @return the names of the vertex label's columns the query must select, in order and starting with the "ID".
+     */
+    public List<String> getColumns() {
+        return this.labelLoader.getColumns();
+    }
+
+    /**
+     * Returns the vertex of the row, loaded from the {@link #getColumns()} that follow the row's first columnOffset
+     * columns.
+     */
+    public SqlgVertex load(ResultSet resultSet, int columnOffset) throws SQLException {
+        long id = resultSet.getLong(columnOffset + 1);
+        SqlgVertex sqlgVertex = this.vertices.get(id);
+        if (sqlgVertex == null) {
+            sqlgVertex = SqlgVertex.of(this.sqlgGraph, id, this.schema, this.table);
+            this.vertices.put(id, sqlgVertex);
+        }
+        if (sqlgVertex.properties.isEmpty()) {
+            sqlgVertex.loadGroup = null;
+            this.labelLoader.loadProperties(sqlgVertex, resultSet, columnOffset);
+        }
+        return sqlgVertex;
+    }
+
+    /**
+     * Returns the vertex of an id on the row's path. Its properties are loaded with the other vertices of its load group
+     * when first needed.
+     */
+    public SqlgVertex get(long id) {
+        SqlgVertex sqlgVertex = this.vertices.get(id);
+        if (sqlgVertex == null) {
+            sqlgVertex = SqlgVertex.of(this.sqlgGraph, id, this.schema, this.table);
+            this.vertices.put(id, sqlgVertex);
+            if (this.loadGroupSize > 0 && LoadGroup.canGroup(sqlgVertex)) {
+                if (this.loadGroup == null || this.loadGroup.isFull()) {
+                    this.loadGroup = new LoadGroup(this.loadGroupSize);
+                }
+                this.loadGroup.add(sqlgVertex);
+            }
+        }
+        return sqlgVertex;
+    }
+}
@@ -0,0 +1,73 @@
+package org.umlg.sqlg.structure;
+
+import org.umlg.sqlg.structure.topology.AbstractLabel;
+import org.umlg.sqlg.structure.topology.PropertyColumn;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The slots of the properties of an {@link AbstractLabel}, shared by the elements of the label that are loaded from the
+ * database. The elements keep their property values in an array indexed by the slot instead of in a map per element.
+ * <p>
+ * A layout is immutable, {@link #with(Map)} returns a new layout that keeps the slots of this one and appends the new
+ * properties. Elements hold on to the layout they were loaded with, properties that are not in it are kept in a map.
+ */
+public final class PropertyLayout {
+
+    public static final PropertyLayout EMPTY = new PropertyLayout(new HashMap<>(), new String[0]);
+
+    private final Map<String, Integer> slots;
+    private final String[] names;
+
+    private PropertyLayout(Map<String, Integer> slots, String[] names) {
+        this.slots = slots;
+        this.names = names;
+    }
+
+    /**
+     * @return true if every property has a slot in this layout.
+     */
+    public boolean containsAll(Map<String, PropertyColumn> properties) {
+        for (String name : properties.keySet()) {
+            if (!this.slots.containsKey(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return this layout with a slot appended for every property that does not have one yet.
+     */
+    public PropertyLayout with(Map<String, PropertyColumn> properties) {
+        Map<String, Integer> slots = new HashMap<>(this.slots);
+        String[] names = Arrays.copyOf(this.names, this.names.length + properties.size());
+        int size = this.names.length;
+        for (PropertyColumn propertyColumn : properties.values()) {
+            if (!slots.containsKey(propertyColumn.getName())) {
+                slots.put(propertyColumn.getName(), size);
+                names[size] = propertyColumn.getName();
+                size++;
+            }
+        }
+        return new PropertyLayout(slots, Arrays.copyOf(names, size));
+    }
+
+    /**
+     * @return the property's slot, -1 if it does not have one.
+     */
+    int slot(String name) {
+        Integer slot = this.slots.get(name);
+        return slot == null ? -1 : slot;
+    }
+
+    String name(int slot) {
+        return this.names[slot];
+    }
+
+    int size() {
+        return this.names.length;
+    }
+}
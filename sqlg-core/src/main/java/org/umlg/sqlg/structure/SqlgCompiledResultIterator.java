@@ -3,10 +3,12 @@ package org.umlg.sqlg.structure;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
 import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
+import org.umlg.sqlg.sql.parse.RowDecoder;
 import org.umlg.sqlg.sql.parse.SchemaTableTree;
+import org.umlg.sqlg.sql.parse.UnionQuery;
 import org.umlg.sqlg.strategy.Emit;
 import org.umlg.sqlg.strategy.SqlgSqlExecutor;
-import org.umlg.sqlg.util.SqlgUtil;
+import org.umlg.sqlg.structure.topology.Topology;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -51,8 +53,20 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
     private boolean lazy = true;
 
     private boolean first = true;
-    private final Map<String, Integer> lastElementIdCountMap = new HashMap<>();
+    //Reads the rows of the current query, built on its first row.
+    private RowDecoder rowDecoder;
     private QUERY queryState = QUERY.REGULAR;
+    //The id only elements are loaded per label in groups of at most loadGroupSize elements.
+    private final int loadGroupSize;
+    private final Map<SchemaTable, LoadGroup> loadGroups = new HashMap<>();
+    //The regular queries execute in parallel if the transaction is in parallel queries mode.
+    private boolean tryParallelQueries;
+    private ParallelQueries parallelQueries;
+    private Iterator<Pair<SchemaTableTree, LinkedList<SchemaTableTree>>> parallelDistinctQueries;
+    //The regular queries execute as one UNION ALL query, the branches' decoders are built on their first row.
+    private UnionQuery unionQuery;
+    private boolean unionQueryExecuted = false;
+    private final Map<Integer, RowDecoder> unionRowDecoders = new HashMap<>();
 
     private enum QUERY {
         REGULAR,
@@ -70,6 +84,14 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
         this.rootSchemaTableTreeIterator = rootSchemaTableTrees.iterator();
         this.lazy = sqlgGraph.tx().isLazyQueries();
         this.forParent = forParent;
+        this.loadGroupSize = sqlgGraph.tx().isInBatchMode() ? 0 : sqlgGraph.configuration().getInt(LoadGroup.LOAD_GROUP_SIZE, LoadGroup.LOAD_GROUP_SIZE_DEFAULT);
+        this.tryParallelQueries = !forParent && sqlgGraph.tx().isInParallelQueriesMode() && !sqlgGraph.tx().isInBatchMode();
+    }
+
+    public SqlgCompiledResultIterator(SqlgGraph sqlgGraph, Set<SchemaTableTree> rootSchemaTableTrees, UnionQuery unionQuery) {
+        this(sqlgGraph, rootSchemaTableTrees, false);
+        this.unionQuery = unionQuery;
+        this.tryParallelQueries = this.tryParallelQueries && unionQuery == null;
     }
 
     @Override
@@ -108,6 +130,36 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
                             }
                             if (this.elements == null) {
                                 closePreparedStatement();
+                                if (this.unionQuery != null) {
+                                    if (!this.unionQueryExecuted) {
+                                        this.unionQueryExecuted = true;
+                                        this.queryResult = SqlgSqlExecutor.executeUnionQuery(this.sqlgGraph, this.unionQuery);
+                                    } else {
+                                        this.unionQuery.reset();
+                                        this.queryState = QUERY.OPTIONAL;
+                                        this.rootSchemaTableTreeIterator = this.rootSchemaTableTrees.iterator();
+                                    }
+                                    break;
+                                }
+                                if (this.tryParallelQueries) {
+                                    this.tryParallelQueries = false;
+                                    this.parallelQueries = startParallelQueries();
+                                }
+                                if (this.parallelQueries != null) {
+                                    if (this.parallelQueries.hasNext()) {
+                                        nextParallelQuery();
+                                        this.first = true;
+                                    } else {
+                                        this.parallelQueries.close();
+                                        this.parallelQueries = null;
+                                        if (this.currentRootSchemaTableTree != null) {
+                                            this.currentRootSchemaTableTree.resetColumnAliasMaps();
+                                        }
+                                        this.queryState = QUERY.OPTIONAL;
+                                        this.rootSchemaTableTreeIterator = this.rootSchemaTableTrees.iterator();
+                                    }
+                                    break;
+                                }
                                 //try the next distinctQueryStack
                                 if (this.distinctQueriesIterator.hasNext()) {
                                     this.currentDistinctQueryStack = this.distinctQueriesIterator.next();
@@ -243,6 +295,66 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
         return (E) result;
     }
 
+    /**
+     * Constructs the sql of all the regular queries up front, the queries then execute in parallel.
+     * Drop queries and single queries execute as usual on the transaction's connection.
+     *
+     * @return null if the queries must execute one after the other.
+     */
+    private ParallelQueries startParallelQueries() {
+        List<Pair<SchemaTableTree, LinkedList<SchemaTableTree>>> distinctQueries = new ArrayList<>();
+        for (SchemaTableTree rootSchemaTableTree : this.rootSchemaTableTrees) {
+            if (rootSchemaTableTree.getStepType() != SchemaTableTree.STEP_TYPE.GRAPH_STEP) {
+                return null;
+            }
+            for (LinkedList<SchemaTableTree> distinctQueryStack : rootSchemaTableTree.constructDistinctQueries()) {
+                if (distinctQueryStack.getLast().isDrop()) {
+                    return null;
+                }
+                distinctQueries.add(Pair.of(rootSchemaTableTree, distinctQueryStack));
+            }
+        }
+        if (distinctQueries.size() < 2) {
+            return null;
+        }
+        List<Pair<String, LinkedList<SchemaTableTree>>> queries = new ArrayList<>();
+        for (Pair<SchemaTableTree, LinkedList<SchemaTableTree>> distinctQuery : distinctQueries) {
+            distinctQuery.getLeft().resetColumnAliasMaps();
+            queries.add(Pair.of(distinctQuery.getLeft().constructSql(distinctQuery.getRight()), distinctQuery.getRight()));
+            distinctQuery.getLeft().resetColumnAliasMaps();
+        }
+        this.parallelDistinctQueries = distinctQueries.iterator();
+        return new ParallelQueries(this.sqlgGraph, queries);
+    }
+
+    /**
+     * The sql is constructed again as reading the result depends on the column aliases of the query.
+     * A query with more rows than {@link ParallelQueries#PARALLEL_QUERIES_MAX_ROWS} is executed again serially.
+     */
+    private void nextParallelQuery() {
+        Pair<SchemaTableTree, LinkedList<SchemaTableTree>> distinctQuery = this.parallelDistinctQueries.next();
+        if (this.currentRootSchemaTableTree != null && this.currentRootSchemaTableTree != distinctQuery.getLeft()) {
+            this.currentRootSchemaTableTree.resetColumnAliasMaps();
+        }
+        this.currentRootSchemaTableTree = distinctQuery.getLeft();
+        this.currentDistinctQueryStack = distinctQuery.getRight();
+        this.subQueryStacks = SchemaTableTree.splitIntoSubStacks(this.currentDistinctQueryStack);
+        this.currentRootSchemaTableTree.resetColumnAliasMaps();
+        this.currentRootSchemaTableTree.constructSql(this.currentDistinctQueryStack);
+        ResultSet resultSet = this.parallelQueries.next();
+        if (resultSet == null) {
+            //too many rows to hold in memory, stream them from the transaction's connection.
+            this.currentRootSchemaTableTree.resetColumnAliasMaps();
+            executeRegularQuery();
+            return;
+        }
+        try {
+            this.queryResult = Triple.of(resultSet, resultSet.getMetaData(), null);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private void executeDropQuery() {
         SqlgSqlExecutor.executeDropQuery(this.sqlgGraph, this.currentRootSchemaTableTree, this.currentDistinctQueryStack);
     }
@@ -260,98 +372,100 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
     }
 
     private void iterateRegularQueries() throws SQLException {
-        List<Emit<SqlgElement>> result;
-        if (!this.forParent) {
-            result = SqlgUtil.loadResultSetIntoResultIterator(
-                    this.sqlgGraph,
-                    this.queryResult.getMiddle(),
-                    this.queryResult.getLeft(),
-                    this.currentRootSchemaTableTree,
-                    this.subQueryStacks,
-                    this.first,
-                    this.lastElementIdCountMap
-            );
+        if (this.unionQuery != null) {
+            iterateUnionQuery();
         } else {
-            result = SqlgUtil.loadResultSetIntoResultIterator(
-                    this.sqlgGraph,
-                    this.queryResult.getMiddle(),
-                    this.queryResult.getLeft(),
-                    this.currentRootSchemaTableTree,
-                    this.subQueryStacks,
-                    this.first,
-                    this.lastElementIdCountMap,
-                    true
-            );
+            iterateQuery();
         }
-        if (!result.isEmpty()) {
+    }
+
+    /**
+     * The first column holds the branch the row belongs to.
+     */
+    private void iterateUnionQuery() throws SQLException {
+        ResultSet resultSet = this.queryResult.getLeft();
+        if (resultSet.next()) {
+            int branch = resultSet.getInt(1);
+            RowDecoder rowDecoder = this.unionRowDecoders.get(branch);
+            if (rowDecoder == null) {
+                rowDecoder = RowDecoder.of(
+                        this.queryResult.getMiddle(),
+                        this.unionQuery.getRootSchemaTableTree(branch),
+                        this.unionQuery.getSubQueryStacks(branch),
+                        false
+                );
+                this.unionRowDecoders.put(branch, rowDecoder);
+            }
+            List<Emit<SqlgElement>> result = rowDecoder.load(this.sqlgGraph, resultSet);
+            addToLoadGroups(result);
             this.elements = result;
         }
     }
 
     private void iterateOptionalQueries() throws SQLException {
-        List<Emit<SqlgElement>> result;
-        if (!this.forParent) {
-            result = SqlgUtil.loadResultSetIntoResultIterator(
-                    this.sqlgGraph,
-                    this.queryResult.getMiddle(),
-                    this.queryResult.getLeft(),
-                    this.currentRootSchemaTableTree,
-                    this.subQueryStacks,
-                    this.first,
-                    this.lastElementIdCountMap
-            );
-        } else {
-            result = SqlgUtil.loadResultSetIntoResultIterator(
-                    this.sqlgGraph,
-                    this.queryResult.getMiddle(),
-                    this.queryResult.getLeft(),
-                    this.currentRootSchemaTableTree,
-                    this.subQueryStacks,
-                    this.first,
-                    this.lastElementIdCountMap,
-                    true
-            );
-        }
-        if (!result.isEmpty()) {
-            this.elements = result;
-        }
+        iterateQuery();
     }
 
     private void iterateEmitQueries() throws SQLException {
-        List<Emit<SqlgElement>> result;
-        if (!this.forParent) {
-            result = SqlgUtil.loadResultSetIntoResultIterator(
-                    this.sqlgGraph,
-                    this.queryResult.getMiddle(),
-                    this.queryResult.getLeft(),
-                    this.currentRootSchemaTableTree,
-                    this.subQueryStacks,
-                    this.first,
-                    this.lastElementIdCountMap
-            );
-        } else {
-            result = SqlgUtil.loadResultSetIntoResultIterator(
-                    this.sqlgGraph,
-                    this.queryResult.getMiddle(),
-                    this.queryResult.getLeft(),
-                    this.currentRootSchemaTableTree,
-                    this.subQueryStacks,
-                    this.first,
-                    this.lastElementIdCountMap,
-                    true
-            );
+        iterateQuery();
+    }
 
-        }
-        if (!result.isEmpty()) {
+    /**
+     * Loads the next row of the current query, its {@link RowDecoder} is built on the first row.
+     */
+    private void iterateQuery() throws SQLException {
+        ResultSet resultSet = this.queryResult.getLeft();
+        if (resultSet.next()) {
+            if (this.first) {
+                this.rowDecoder = RowDecoder.of(this.queryResult.getMiddle(), this.currentRootSchemaTableTree, this.subQueryStacks, this.forParent);
+            }
+            List<Emit<SqlgElement>> result = this.rowDecoder.load(this.sqlgGraph, resultSet);
+            addToLoadGroups(result);
             this.elements = result;
         }
     }
 
+    private void addToLoadGroups(List<Emit<SqlgElement>> result) {
+        if (this.loadGroupSize > 0) {
+            for (Emit<SqlgElement> emit : result) {
+                SqlgElement sqlgElement = emit.getElement();
+                addToLoadGroup(sqlgElement);
+                if (sqlgElement instanceof SqlgEdge) {
+                    addToLoadGroup(((SqlgEdge) sqlgElement).inVertex);
+                    addToLoadGroup(((SqlgEdge) sqlgElement).outVertex);
+                }
+            }
+        }
+    }
+
+    private void addToLoadGroup(SqlgElement sqlgElement) {
+        if (LoadGroup.canGroup(sqlgElement)) {
+            SchemaTable schemaTable = SchemaTable.of(
+                    sqlgElement.schema,
+                    (sqlgElement instanceof SqlgVertex ? Topology.VERTEX_PREFIX : Topology.EDGE_PREFIX) + sqlgElement.table
+            );
+            LoadGroup loadGroup = this.loadGroups.get(schemaTable);
+            if (loadGroup == null || loadGroup.isFull()) {
+                loadGroup = new LoadGroup(this.loadGroupSize);
+                this.loadGroups.put(schemaTable, loadGroup);
+            }
+            loadGroup.add(sqlgElement);
+        }
+    }
+
     private void closePreparedStatement() {
-        if (this.queryResult != null) {
+        if (this.queryResult != null && this.queryResult.getRight() == null) {
+            //the rows of a parallel query
+            try {
+                this.queryResult.getLeft().close();
+                this.queryResult = null;
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        } else if (this.queryResult != null) {
             try {
-                this.queryResult.getRight().close();
-                this.sqlgGraph.tx().getPreparedStatementCache().remove(this.queryResult.getRight());
+                this.queryResult.getLeft().close();
+                this.sqlgGraph.tx().closePreparedStatement(this.queryResult.getRight());
                 this.queryResult = null;
             } catch (SQLException e) {
                 throw new RuntimeException(e);
@@ -26,8 +26,8 @@ import static org.umlg.sqlg.structure.topology.Topology.EDGE_PREFIX;
 public class SqlgEdge extends SqlgElement implements Edge {
 
     private static final Logger logger = LoggerFactory.getLogger(SqlgEdge.class);
-    private SqlgVertex inVertex;
-    private SqlgVertex outVertex;
+    SqlgVertex inVertex;
+    SqlgVertex outVertex;
 
     /**
      * Called from @link {@link SqlgVertex} to create a brand new edge.
@@ -307,127 +307,71 @@ public class SqlgEdge extends SqlgElement implements Edge {
                 throw new IllegalStateException("streaming is in progress, first flush or commit before querying.");
             }
 
-            //Generate the columns to prevent 'ERROR: cached plan must not change result type" error'
-            //This happens when the schema changes after the statement is prepared.
-            @SuppressWarnings("OptionalGetWithoutIsPresent")
-            EdgeLabel edgeLabel = this.sqlgGraph.getTopology().getSchema(this.schema).orElseThrow(() -> new IllegalStateException(String.format("Schema %s not found", this.schema))).getEdgeLabel(this.table).orElseThrow(() -> new IllegalStateException(String.format("EdgeLabel %s not found", this.table)));
-            StringBuilder sql = new StringBuilder("SELECT\n\t");
-            sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes("ID"));
-            appendProperties(edgeLabel, sql);
-            List<VertexLabel> outForeignKeys = new ArrayList<>();
-            for (VertexLabel vertexLabel : edgeLabel.getOutVertexLabels()) {
-                outForeignKeys.add(vertexLabel);
-                sql.append(", ");
-                if (vertexLabel.hasIDPrimaryKey()) {
-                    String foreignKey = vertexLabel.getSchema().getName() + "." + vertexLabel.getName() + Topology.OUT_VERTEX_COLUMN_END;
-                    sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(foreignKey));
-                } else {
-                    int countIdentifier = 1;
-                    for (String identifier : vertexLabel.getIdentifiers()) {
-                        PropertyColumn propertyColumn = vertexLabel.getProperty(identifier).orElseThrow(
-                                () -> new IllegalStateException(String.format("identifier %s column must be a property", identifier))
-                        );
-                        PropertyType propertyType = propertyColumn.getPropertyType();
-                        String[] propertyTypeToSqlDefinition = this.sqlgGraph.getSqlDialect().propertyTypeToSqlDefinition(propertyType);
-                        int count = 1;
-                        for (String ignored : propertyTypeToSqlDefinition) {
-                            if (count > 1) {
-                                sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(vertexLabel.getFullName() + "." + identifier + propertyType.getPostFixes()[count - 2] + Topology.OUT_VERTEX_COLUMN_END));
-                            } else {
-                                //The first column existVertexLabel no postfix
-                                sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(vertexLabel.getFullName() + "." + identifier + Topology.OUT_VERTEX_COLUMN_END));
-                            }
-                            if (count++ < propertyTypeToSqlDefinition.length) {
-                                sql.append(", ");
-                            }
-                        }
-                        if (countIdentifier++ < vertexLabel.getIdentifiers().size()) {
-                            sql.append(", ");
-                        }
-                    }
-                }
+            if (this.loadGroup != null && this.loadGroup.load(this)) {
+                return;
             }
-            List<VertexLabel> inForeignKeys = new ArrayList<>();
-            for (VertexLabel vertexLabel : edgeLabel.getInVertexLabels()) {
-                sql.append(", ");
-                inForeignKeys.add(vertexLabel);
-                if (vertexLabel.hasIDPrimaryKey()) {
-                    String foreignKey = vertexLabel.getSchema().getName() + "." + vertexLabel.getName() + Topology.IN_VERTEX_COLUMN_END;
-                    sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(foreignKey));
-                } else {
-                    int countIdentifier = 1;
-                    for (String identifier : vertexLabel.getIdentifiers()) {
-                        PropertyColumn propertyColumn = vertexLabel.getProperty(identifier).orElseThrow(
-                                () -> new IllegalStateException(String.format("identifier %s column must be a property", identifier))
-                        );
-                        PropertyType propertyType = propertyColumn.getPropertyType();
-                        String[] propertyTypeToSqlDefinition = this.sqlgGraph.getSqlDialect().propertyTypeToSqlDefinition(propertyType);
+
+            LabelLoader labelLoader = LabelLoader.edgeLoader(this.sqlgGraph, this.schema, this.table);
+            String sql = labelLoader.getLoadSql();
+            if (logger.isDebugEnabled()) {
+                logger.debug(sql);
+            }
+            try {
+                PreparedStatement preparedStatement = this.sqlgGraph.tx().prepareStatement(sql);
+                try {
+                    if (labelLoader.hasIDPrimaryKey()) {
+                        preparedStatement.setLong(1, this.recordId.sequenceId());
+                    } else {
                         int count = 1;
-                        for (String ignored : propertyTypeToSqlDefinition) {
-                            if (count > 1) {
-                                sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(vertexLabel.getFullName() + "." + identifier + propertyType.getPostFixes()[count - 2] + Topology.IN_VERTEX_COLUMN_END));
-                            } else {
-                                //The first column existVertexLabel no postfix
-                                sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(vertexLabel.getFullName() + "." + identifier + Topology.IN_VERTEX_COLUMN_END));
-                            }
-                            if (count++ < propertyTypeToSqlDefinition.length) {
-                                sql.append(", ");
-                            }
+                        for (Comparable identifierValue : this.recordId.getIdentifiers()) {
+                            preparedStatement.setObject(count++, identifierValue);
                         }
-                        if (countIdentifier++ < vertexLabel.getIdentifiers().size()) {
-                            sql.append(", ");
+                    }
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        if (resultSet.next()) {
+                            loadResultSet(resultSet, labelLoader);
                         }
                     }
+                } finally {
+                    this.sqlgGraph.tx().closePreparedStatement(preparedStatement);
                 }
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
             }
-            sql.append("\nFROM\n\t");
-            sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(this.schema));
-            sql.append(".");
-            sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(EDGE_PREFIX + this.table));
-            sql.append(" WHERE ");
-            //noinspection Duplicates
-            if (edgeLabel.hasIDPrimaryKey()) {
-                sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes("ID"));
-                sql.append(" = ?");
-            } else {
-                int count = 1;
-                for (String identifier : edgeLabel.getIdentifiers()) {
-                    sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(identifier));
-                    sql.append(" = ?");
-                    if (count++ < edgeLabel.getIdentifiers().size()) {
-                        sql.append(" AND ");
-                    }
+        }
+    }
 
-                }
-            }
-            if (this.sqlgGraph.getSqlDialect().needsSemicolon()) {
-                sql.append(";");
-            }
-            Connection conn = this.sqlgGraph.tx().getConnection();
-            if (logger.isDebugEnabled()) {
-                logger.debug(sql.toString());
+
+
+    @Override
+    Set<Long> loadAll(Map<Long, List<SqlgElement>> elements) throws SQLException {
+        LabelLoader labelLoader = LabelLoader.edgeLoader(this.sqlgGraph, this.schema, this.table);
+        String sql = labelLoader.getLoadAllSql(this.sqlgGraph.getSqlDialect(), elements.size());
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql);
+        }
+        Set<Long> found = new HashSet<>();
+        PreparedStatement preparedStatement = this.sqlgGraph.tx().prepareStatement(sql);
+        try {
+            int parameterIndex = 1;
+            for (Long id : elements.keySet()) {
+                preparedStatement.setLong(parameterIndex++, id);
             }
-            try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
-                if (edgeLabel.hasIDPrimaryKey()) {
-                    preparedStatement.setLong(1, this.recordId.sequenceId());
-                } else {
-                    int count = 1;
-                    for (Comparable identifierValue : this.recordId.getIdentifiers()) {
-                        preparedStatement.setObject(count++, identifierValue);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    long id = resultSet.getLong(1);
+                    found.add(id);
+                    for (SqlgElement sqlgElement : elements.get(id)) {
+                        ((SqlgEdge) sqlgElement).loadResultSet(resultSet, labelLoader);
                     }
                 }
-                ResultSet resultSet = preparedStatement.executeQuery();
-                if (resultSet.next()) {
-                    loadResultSet(resultSet, inForeignKeys, outForeignKeys);
-                }
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
             }
+        } finally {
+            this.sqlgGraph.tx().closePreparedStatement(preparedStatement);
         }
+        return found;
     }
 
-
-
     public void loadInVertex(ResultSet resultSet, SchemaTable inVertexSchemaTable, int columnIdx) throws SQLException {
         Long inId = resultSet.getLong(columnIdx);
         if (!resultSet.wasNull()) {
@@ -468,22 +412,13 @@ public class SqlgEdge extends SqlgElement implements Edge {
         }
     }
 
-    private void loadResultSet(ResultSet resultSet, List<VertexLabel> inForeignKeys, List<VertexLabel> outForeignKeys) throws SQLException {
+    private void loadResultSet(ResultSet resultSet, LabelLoader labelLoader) throws SQLException {
         SchemaTable inVertexColumnName = null;
         SchemaTable outVertexColumnName = null;
-        ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
-        for (int i = 1; i <= resultSetMetaData.getColumnCount(); i++) {
-            String columnName = resultSetMetaData.getColumnLabel(i);
-            if (!columnName.equals("ID") &&
-                    !columnName.endsWith(Topology.OUT_VERTEX_COLUMN_END) &&
-                    !columnName.endsWith(Topology.IN_VERTEX_COLUMN_END)) {
-
-                loadProperty(resultSet, columnName, i);
-            }
-        }
+        labelLoader.loadProperties(this, resultSet);
         long inId = -1;
         List<Comparable> inComparables = new ArrayList<>();
-        for (VertexLabel inVertexLabel: inForeignKeys) {
+        for (VertexLabel inVertexLabel : labelLoader.getInForeignKeys()) {
             inVertexColumnName = SchemaTable.of(inVertexLabel.getSchema().getName(), inVertexLabel.getLabel());
             if (inVertexLabel.hasIDPrimaryKey()) {
                 String foreignKey = inVertexLabel.getSchema().getName() + "." + inVertexLabel.getName() + Topology.IN_VERTEX_COLUMN_END;
@@ -515,7 +450,7 @@ public class SqlgEdge extends SqlgElement implements Edge {
         }
         long outId = -1;
         List<Comparable> outComparables = new ArrayList<>();
-        for (VertexLabel outVertexLabel: outForeignKeys) {
+        for (VertexLabel outVertexLabel : labelLoader.getOutForeignKeys()) {
             outVertexColumnName = SchemaTable.of(outVertexLabel.getSchema().getName(), outVertexLabel.getLabel());
             if (outVertexLabel.hasIDPrimaryKey()) {
                 String foreignKey = outVertexLabel.getSchema().getName() + "." + outVertexLabel.getName() + Topology.OUT_VERTEX_COLUMN_END;
@@ -18,7 +18,6 @@ import org.umlg.sqlg.util.SqlgUtil;
 import java.sql.*;
 import java.time.*;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 import static org.umlg.sqlg.sql.parse.SchemaTableTree.ALIAS_SEPARATOR;
 import static org.umlg.sqlg.structure.PropertyType.*;
@@ -38,11 +37,13 @@ public abstract class SqlgElement implements Element {
     RecordId recordId;
     final SqlgGraph sqlgGraph;
     //Multiple threads can access the same element
-    Map<String, Object> properties = new ConcurrentHashMap<>();
+    final ElementProperties properties = new ElementProperties();
     private final SqlgElementElementPropertyRollback elementPropertyRollback;
     boolean removed = false;
     //Used in the SqlgBranchStepBarrier to sort the results by the start elements.
     private long internalStartTraverserIndex;
+    //The group of id only elements this element loads its properties with, null if it loads itself.
+    LoadGroup loadGroup;
 
     public SqlgElement(SqlgGraph sqlgGraph, String schema, String table) {
         this.sqlgGraph = sqlgGraph;
@@ -937,6 +938,14 @@ public abstract class SqlgElement implements Element {
         this.properties.put(property, value);
     }
 
+    /**
+     * Keeps the properties the element loads in the slots of its label's layout instead of in a map.
+     * Has no effect if the element already has properties.
+     */
+    public void usePropertyLayout(PropertyLayout propertyLayout) {
+        this.properties.useLayout(propertyLayout);
+    }
+
     void loadProperty(ResultSet resultSet, String propertyName, int columnIndex) throws SQLException {
         if (propertyName.endsWith(Topology.ZONEID) ||
                 propertyName.endsWith(Topology.MONTHS) ||
@@ -957,20 +966,13 @@ public abstract class SqlgElement implements Element {
         this.internalStartTraverserIndex = internalStartTraverserIndex;
     }
 
-    void appendProperties(AbstractLabel edgeLabel, StringBuilder sql) {
-        for (PropertyColumn propertyColumn : edgeLabel.getProperties().values()) {
-            sql.append(", ");
-            sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(propertyColumn.getName()));
-            // additional columns for time zone, etc.
-            String[] ps = propertyColumn.getPropertyType().getPostFixes();
-            if (ps != null) {
-                for (String p : propertyColumn.getPropertyType().getPostFixes()) {
-                    sql.append(", ");
-                    sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(propertyColumn.getName() + p));
-                }
-            }
-        }
-    }
-
     abstract AbstractLabel getAbstractLabel(Schema schema);
+
+    /**
+     * Loads the properties of the elements, all of this element's label, with one query.
+     *
+     * @param elements The elements to load keyed on their sequence id.
+     * @return The ids of the elements whose row was found.
+     */
+    abstract Set<Long> loadAll(Map<Long, List<SqlgElement>> elements) throws SQLException;
 }
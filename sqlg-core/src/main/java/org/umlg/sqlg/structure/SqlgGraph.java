@@ -26,6 +26,7 @@ import org.slf4j.LoggerFactory;
 import org.umlg.sqlg.sql.dialect.SqlBulkDialect;
 import org.umlg.sqlg.sql.dialect.SqlDialect;
 import org.umlg.sqlg.sql.parse.GremlinParser;
+import org.umlg.sqlg.sql.parse.QueryPlanCache;
 import org.umlg.sqlg.strategy.*;
 import org.umlg.sqlg.strategy.barrier.*;
 import org.umlg.sqlg.structure.topology.IndexType;
@@ -39,6 +40,10 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import static org.apache.tinkerpop.gremlin.structure.Graph.OptIn;
@@ -248,6 +253,11 @@ public class SqlgGraph implements Graph {
     private final SqlgTransaction sqlgTransaction;
     private final Topology topology;
     private final GremlinParser gremlinParser;
+    private final QueryPlanCache queryPlanCache;
+    //The sql and column mapping used to load an element by its id, per label.
+    final Map<SchemaTable, LabelLoader> labelLoaders = new ConcurrentHashMap<>();
+    //Executes the queries of transactions in parallel queries mode, created on first use.
+    private ExecutorService parallelQueriesExecutor;
     private final SqlDialect sqlDialect;
     private final String jdbcUrl;
     private final ObjectMapper mapper = new ObjectMapper();
@@ -280,6 +290,7 @@ public class SqlgGraph implements Graph {
                                 new SqlgHasStepStrategy(),
                                 new SqlgDropStepStrategy(),
                                 new SqlgRestrictPropertiesStrategy(),
+                                new SqlgDedupSampleTailStrategy(),
                                 new SqlgAddVertexStartStepStrategy(),
                                 new SqlgUnionStepStrategy(),
                                 new SqlgStartStepStrategy(),
@@ -357,6 +368,7 @@ public class SqlgGraph implements Graph {
         //Instantiating Topology will create the 'public' schema if it does not exist.
         this.topology = new Topology(this);
         this.gremlinParser = new GremlinParser(this);
+        this.queryPlanCache = new QueryPlanCache(this.topology, this.configuration.getInt(QueryPlanCache.QUERY_PLAN_CACHE_SIZE, QueryPlanCache.QUERY_PLAN_CACHE_SIZE_DEFAULT));
         if (!this.sqlDialect.supportsSchemas() && this.getTopology().getSchema(this.sqlDialect.getPublicSchema()).isEmpty()) {
             //This is for mariadb. Need to make sure a db called public exist
             this.getTopology().ensureSchemaExist(this.sqlDialect.getPublicSchema());
@@ -381,6 +393,26 @@ public class SqlgGraph implements Graph {
         return gremlinParser;
     }
 
+    public QueryPlanCache getQueryPlanCache() {
+        return this.queryPlanCache;
+    }
+
+    synchronized ExecutorService getParallelQueriesExecutor() {
+        if (this.parallelQueriesExecutor == null) {
+            AtomicInteger threadCount = new AtomicInteger(1);
+            this.parallelQueriesExecutor = Executors.newFixedThreadPool(getParallelQueriesSize(), r -> {
+                Thread thread = new Thread(r, "sqlg-parallel-query-" + threadCount.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return this.parallelQueriesExecutor;
+    }
+
+    int getParallelQueriesSize() {
+        return Math.max(1, this.configuration.getInt(ParallelQueries.PARALLEL_QUERIES_SIZE, ParallelQueries.PARALLEL_QUERIES_SIZE_DEFAULT));
+    }
+
     public SqlDialect getSqlDialect() {
         return sqlDialect;
     }
@@ -612,6 +644,13 @@ public class SqlgGraph implements Graph {
         } catch (ClassNotFoundException ignore) {
             //swallow
         }
+        synchronized (this) {
+            if (this.parallelQueriesExecutor != null) {
+                this.parallelQueriesExecutor.shutdownNow();
+                this.parallelQueriesExecutor = null;
+            }
+        }
+        this.tx().closeStatementCaches();
         this.topology.close();
         this.sqlgDataSource.close();
     }
@@ -18,6 +18,7 @@ import org.umlg.sqlg.structure.topology.*;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.file.Paths;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -135,9 +136,14 @@ class SqlgStartupManager {
                     updateTopology(oldVersion);
                 }
             }
-            cacheTopology();
+            boolean fromSnapshot = cacheTopology();
             if (this.sqlgGraph.configuration().getBoolean("validate.topology", false)) {
-                validateTopology();
+                if (fromSnapshot) {
+                    //Validating walks the DatabaseMetaData of every table, with a snapshot it happens when the errors are asked for.
+                    this.sqlgGraph.getTopology().validateTopologyOnRequest();
+                } else {
+                    validateTopology();
+                }
             }
             this.sqlgGraph.tx().commit();
         } catch (Exception e) {
@@ -271,8 +277,17 @@ class SqlgStartupManager {
         }
     }
 
-    private void cacheTopology() {
-        this.sqlgGraph.getTopology().cacheTopology();
+    /**
+     * @return true if the topology was loaded from the {@link TopologySnapshot}.
+     */
+    private boolean cacheTopology() {
+        String snapshot = this.sqlgGraph.configuration().getString(TopologySnapshot.TOPOLOGY_SNAPSHOT, null);
+        if (snapshot != null) {
+            return this.sqlgGraph.getTopology().cacheTopology(Paths.get(snapshot));
+        } else {
+            this.sqlgGraph.getTopology().cacheTopology();
+            return false;
+        }
     }
 
     private void validateTopology() {
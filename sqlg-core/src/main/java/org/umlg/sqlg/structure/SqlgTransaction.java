@@ -13,6 +13,8 @@ import org.umlg.sqlg.structure.topology.Topology;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -26,6 +28,11 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
     private static final String BATCH_MODE_NOT_SUPPORTED = "Batch mode not supported!";
     @SuppressWarnings("WeakerAccess")
     public static final String QUERY_LAZY = "query.lazy";
+    /**
+     * The maximum number of prepared statements cached per connection, 0 disables the cache.
+     */
+    public static final String STATEMENT_CACHE_SIZE = "statement.cache.size";
+    private static final int STATEMENT_CACHE_SIZE_DEFAULT = 100;
 
     private final SqlgGraph sqlgGraph;
     private BeforeCommit beforeCommitFunction;
@@ -37,6 +44,9 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
 
     private final ThreadLocal<PreparedStatementCache> threadLocalPreparedStatementTx = ThreadLocal.withInitial(PreparedStatementCache::new);
 
+    //The prepared statement caches per physical connection, they survive the transaction as the pool reuses the connection.
+    private final Map<Connection, StatementCache> statementCaches = new HashMap<>();
+
     private final ThreadLocal<AtomicBoolean> threadLocalTopologyLocked = ThreadLocal.withInitial(() -> new AtomicBoolean(true));
 
     /**
@@ -76,6 +86,11 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
                     tc = TransactionCache.of(connection, lazy);
                 }
                 tc.setFetchSize(getDefaultFetchSize());
+                tc.setStatementCache(statementCacheFor(connection));
+                int identityMapSize = this.sqlgGraph.getConfiguration().getInt(IdentityMap.IDENTITY_MAP_SIZE, IdentityMap.IDENTITY_MAP_SIZE_DEFAULT);
+                if (identityMapSize > 0) {
+                    tc.setIdentityMap(new IdentityMap(identityMapSize));
+                }
                 this.threadLocalTx.set(tc);
             } catch (SQLException e) {
                 throw new RuntimeException(e);
@@ -103,7 +118,6 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
             if (this.afterCommitFunction != null) {
                 this.afterCommitFunction.doAfterCommit();
             }
-            this.threadLocalPreparedStatementTx.get().close();
         } catch (Exception e) {
             this.rollback();
             if (e instanceof RuntimeException) {
@@ -112,6 +126,8 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
                 throw new RuntimeException(e);
             }
         } finally {
+            closeStatements();
+            resetReadOnly(connection);
             try {
                 if (connection != null) {
                     connection.close();
@@ -153,10 +169,11 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
             for (ElementPropertyRollback elementPropertyRollback : threadLocalTx.get().getElementPropertyRollback().keySet()) {
                 elementPropertyRollback.clearProperties();
             }
-            this.threadLocalPreparedStatementTx.get().close();
         } catch (SQLException e) {
             throw new RuntimeException(e);
         } finally {
+            closeStatements();
+            resetReadOnly(connection);
             try {
                 if (connection != null) {
                     connection.close();
@@ -172,6 +189,69 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
         }
     }
 
+    private StatementCache statementCacheFor(Connection connection) {
+        int statementCacheSize = this.sqlgGraph.getConfiguration().getInt(STATEMENT_CACHE_SIZE, STATEMENT_CACHE_SIZE_DEFAULT);
+        //The topology is null while the graph is being opened.
+        if (statementCacheSize <= 0 || this.sqlgGraph.getTopology() == null) {
+            return null;
+        }
+        //Statements prepared on the pool's proxy connection are closed when the proxy is returned to the pool.
+        Connection physicalConnection = connection;
+        try {
+            if (connection.isWrapperFor(Connection.class)) {
+                physicalConnection = connection.unwrap(Connection.class);
+            }
+        } catch (SQLException e) {
+            LOGGER.debug("Failed to unwrap the pooled connection, statements will only be cached for the transaction.", e);
+        }
+        synchronized (this.statementCaches) {
+            StatementCache statementCache = this.statementCaches.get(physicalConnection);
+            if (statementCache == null) {
+                //A new physical connection, forget the connections the pool has since closed.
+                this.statementCaches.entrySet().removeIf(entry -> {
+                    try {
+                        return entry.getKey().isClosed();
+                    } catch (SQLException e) {
+                        return true;
+                    }
+                });
+                statementCache = new StatementCache(physicalConnection, this.sqlgGraph.getTopology(), statementCacheSize);
+                this.statementCaches.put(physicalConnection, statementCache);
+            }
+            return statementCache;
+        }
+    }
+
+    /**
+     * Closes the statements of all connections' caches, called when the graph is closed.
+     */
+    void closeStatementCaches() {
+        synchronized (this.statementCaches) {
+            for (StatementCache statementCache : this.statementCaches.values()) {
+                statementCache.close();
+            }
+            this.statementCaches.clear();
+        }
+    }
+
+    /**
+     * Returns the cached statements still in use to the connection's {@link StatementCache}, with their result sets
+     * closed, and closes all other statements of the transaction.
+     */
+    private void closeStatements() {
+        TransactionCache transactionCache = this.threadLocalTx.get();
+        if (transactionCache != null && transactionCache.getStatementCache() != null) {
+            for (PreparedStatement preparedStatement : transactionCache.getStatementCache().releaseAll()) {
+                this.threadLocalPreparedStatementTx.get().remove(preparedStatement);
+            }
+        }
+        try {
+            this.threadLocalPreparedStatementTx.get().close();
+        } catch (SQLException e) {
+            LOGGER.error("Failed to close the transaction's prepared statements.", e);
+        }
+    }
+
     /**
      * If {@link Topology#isLocked()} then this method will unlock the {@link Topology} for the duration of the transaction.
      * It will automatically be locked again on commit or rollback.
@@ -189,6 +269,9 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
 
     public void streamingWithLockBatchModeOn() {
         if (supportsBatchMode()) {
+            if (!this.sqlgGraph.getSqlDialect().supportsStreamingWithLockBatchMode()) {
+                throw new IllegalStateException(String.format("%s does not support %s batch mode.", this.sqlgGraph.getSqlDialect().dialectName(), BatchManager.BatchModeType.STREAMING_WITH_LOCK));
+            }
             readWrite();
             this.threadLocalTx.get().getBatchManager().batchModeOn(BatchManager.BatchModeType.STREAMING_WITH_LOCK);
         } else {
@@ -236,6 +319,57 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
         }
     }
 
+    /**
+     * Makes the transaction read only and executes the per label queries of a {@link org.umlg.sqlg.step.SqlgGraphStep}
+     * in parallel, each on its own pooled connection. At most {@link ParallelQueries#PARALLEL_QUERIES_SIZE} queries run
+     * at the same time. The results are returned in the same order as when the queries run one after the other.
+     * <p>
+     * If the dialect supports exporting snapshots all the queries see the transaction's snapshot, otherwise every query
+     * sees the data committed when it starts.
+     * Must be called before the transaction executes any statement, the parallel queries do not see its writes.
+     */
+    public void parallelQueriesOn() {
+        readWrite();
+        if (isInBatchMode()) {
+            throw new IllegalStateException("Parallel queries are not supported in batch mode.");
+        }
+        try {
+            this.threadLocalTx.get().getConnection().setReadOnly(true);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        this.threadLocalTx.get().setParallelQueries(true);
+    }
+
+    public boolean isInParallelQueriesMode() {
+        return isOpen() && this.threadLocalTx.get().isParallelQueries();
+    }
+
+    /**
+     * @return the elements the transaction's queries loaded, null if {@link IdentityMap#IDENTITY_MAP_SIZE} is 0 or the
+     * transaction is in batch mode.
+     */
+    public IdentityMap getIdentityMap() {
+        if (!isOpen() || isInBatchMode()) {
+            return null;
+        }
+        return this.threadLocalTx.get().getIdentityMap();
+    }
+
+    //The connection goes back to the pool writable.
+    private void resetReadOnly(Connection connection) {
+        TransactionCache transactionCache = this.threadLocalTx.get();
+        if (transactionCache != null && transactionCache.isParallelQueries()) {
+            try {
+                if (connection != null && !connection.isClosed()) {
+                    connection.setReadOnly(false);
+                }
+            } catch (SQLException e) {
+                LOGGER.error("Failed to reset the connection's read only mode.", e);
+            }
+        }
+    }
+
     @SuppressWarnings("WeakerAccess")
     public boolean isInBatchMode() {
         return supportsBatchMode() && isInNormalBatchMode() || isInStreamingBatchMode() || isInStreamingWithLockBatchMode();
@@ -315,6 +449,54 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
         this.threadLocalPreparedStatementTx.get().add(preparedStatement);
     }
 
+    /**
+     * Prepares the statement on the transaction's connection. If the statement cache is enabled the statement is taken
+     * from the connection's {@link StatementCache}.
+     * The statement must be closed with {@link #closePreparedStatement(PreparedStatement)}.
+     *
+     * @param sql The sql to prepare.
+     * @return The prepared statement.
+     */
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        Connection connection = getConnection();
+        StatementCache statementCache = this.threadLocalTx.get().getStatementCache();
+        PreparedStatement preparedStatement;
+        if (statementCache != null) {
+            preparedStatement = statementCache.take(sql);
+        } else {
+            preparedStatement = connection.prepareStatement(sql);
+        }
+        add(preparedStatement);
+        return preparedStatement;
+    }
+
+    /**
+     * Returns a statement prepared with {@link #prepareStatement(String)} to the statement cache, or closes it.
+     *
+     * @param preparedStatement The statement to close.
+     */
+    public void closePreparedStatement(PreparedStatement preparedStatement) throws SQLException {
+        TransactionCache transactionCache = this.threadLocalTx.get();
+        if (transactionCache != null && transactionCache.getStatementCache() != null && transactionCache.getStatementCache().isInUse(preparedStatement)) {
+            transactionCache.getStatementCache().release(preparedStatement);
+        } else {
+            preparedStatement.close();
+        }
+        this.threadLocalPreparedStatementTx.get().remove(preparedStatement);
+    }
+
+    // only used for tests
+    public int getIdentityMapSize() {
+        IdentityMap identityMap = getIdentityMap();
+        return identityMap != null ? identityMap.size() : 0;
+    }
+
+    // only used for tests
+    public int getStatementCacheSize() {
+        TransactionCache transactionCache = this.threadLocalTx.get();
+        return transactionCache != null && transactionCache.getStatementCache() != null ? transactionCache.getStatementCache().size() : 0;
+    }
+
     // only used for tests
     public PreparedStatementCache getPreparedStatementCache() {
         return threadLocalPreparedStatementTx.get();
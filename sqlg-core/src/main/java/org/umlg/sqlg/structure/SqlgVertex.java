@@ -426,52 +426,35 @@ public class SqlgVertex extends SqlgElement implements Vertex {
                 throw new IllegalStateException("streaming is in progress, first flush or commit before querying.");
             }
 
-            //Generate the columns to prevent 'ERROR: cached plan must not change result type" error'
-            //This happens when the schema changes after the statement is prepared.
-            VertexLabel vertexLabel = this.sqlgGraph.getTopology().getSchema(this.schema).orElseThrow(() -> new IllegalStateException(String.format("Schema %s not found", this.schema))).getVertexLabel(this.table).orElseThrow(() -> new IllegalStateException(String.format("VertexLabel %s not found", this.table)));
-            StringBuilder sql = new StringBuilder("SELECT\n\t");
-            sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes("ID"));
-            appendProperties(vertexLabel, sql);
-            sql.append("\nFROM\n\t");
-            sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(this.schema));
-            sql.append(".");
-            sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(VERTEX_PREFIX + this.table));
-            sql.append("\nWHERE\n\t");
-            //noinspection Duplicates
-            if (vertexLabel.hasIDPrimaryKey()) {
-                sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes("ID"));
-                sql.append(" = ?");
-            } else {
-                int count = 1;
-                for (String identifier : vertexLabel.getIdentifiers()) {
-                    sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(identifier));
-                    sql.append(" = ?");
-                    if (count++ < vertexLabel.getIdentifiers().size()) {
-                        sql.append(" AND ");
-                    }
-                }
-            }
-            if (this.sqlgGraph.getSqlDialect().needsSemicolon()) {
-                sql.append(";");
+            if (this.loadGroup != null && this.loadGroup.load(this)) {
+                return;
             }
-            Connection conn = this.sqlgGraph.tx().getConnection();
+
+            LabelLoader labelLoader = LabelLoader.vertexLoader(this.sqlgGraph, this.schema, this.table);
+            String sql = labelLoader.getLoadSql();
             if (logger.isDebugEnabled()) {
-                logger.debug(sql.toString());
+                logger.debug(sql);
             }
-            try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
-                if (vertexLabel.hasIDPrimaryKey()) {
-                    preparedStatement.setLong(1, this.recordId.sequenceId());
-                } else {
-                    int count = 1;
-                    for (Comparable identifierValue : this.recordId.getIdentifiers()) {
-                        preparedStatement.setObject(count++, identifierValue);
+            try {
+                PreparedStatement preparedStatement = this.sqlgGraph.tx().prepareStatement(sql);
+                try {
+                    if (labelLoader.hasIDPrimaryKey()) {
+                        preparedStatement.setLong(1, this.recordId.sequenceId());
+                    } else {
+                        int count = 1;
+                        for (Comparable identifierValue : this.recordId.getIdentifiers()) {
+                            preparedStatement.setObject(count++, identifierValue);
+                        }
                     }
-                }
-                ResultSet resultSet = preparedStatement.executeQuery();
-                if (resultSet.next()) {
-                    loadResultSet(resultSet);
-                } else {
-                    throw new IllegalStateException(String.format("Vertex with label %s and id %s does not exist.", this.schema + "." + this.table, this.recordId.getID().toString()));
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        if (resultSet.next()) {
+                            labelLoader.loadProperties(this, resultSet);
+                        } else {
+                            throw new IllegalStateException(String.format("Vertex with label %s and id %s does not exist.", this.schema + "." + this.table, this.recordId.getID().toString()));
+                        }
+                    }
+                } finally {
+                    this.sqlgGraph.tx().closePreparedStatement(preparedStatement);
                 }
             } catch (SQLException e) {
                 throw new RuntimeException(e);
@@ -479,6 +462,35 @@ public class SqlgVertex extends SqlgElement implements Vertex {
         }
     }
 
+    @Override
+    Set<Long> loadAll(Map<Long, List<SqlgElement>> elements) throws SQLException {
+        LabelLoader labelLoader = LabelLoader.vertexLoader(this.sqlgGraph, this.schema, this.table);
+        String sql = labelLoader.getLoadAllSql(this.sqlgGraph.getSqlDialect(), elements.size());
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql);
+        }
+        Set<Long> found = new HashSet<>();
+        PreparedStatement preparedStatement = this.sqlgGraph.tx().prepareStatement(sql);
+        try {
+            int parameterIndex = 1;
+            for (Long id : elements.keySet()) {
+                preparedStatement.setLong(parameterIndex++, id);
+            }
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    long id = resultSet.getLong(1);
+                    found.add(id);
+                    for (SqlgElement sqlgElement : elements.get(id)) {
+                        labelLoader.loadProperties(sqlgElement, resultSet);
+                    }
+                }
+            }
+        } finally {
+            this.sqlgGraph.tx().closePreparedStatement(preparedStatement);
+        }
+        return found;
+    }
+
     //TODO optimize the if statement here to be outside the main ResultSet loop
 //    @Override
     public void loadResultSet(ResultSet resultSet) throws SQLException {
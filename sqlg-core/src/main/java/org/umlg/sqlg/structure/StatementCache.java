@@ -0,0 +1,159 @@
+package org.umlg.sqlg.structure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.structure.topology.Topology;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A cache of prepared statements for one physical connection, keyed on the statement's sql.
+ * The statements outlive the transaction so that a pooled connection reuses them in the next transaction.
+ * <p>
+ * A statement is taken out of the cache while it is in use and is returned to it when its {@link java.sql.ResultSet}
+ * is done with. This way a statement is never executed again while a lazy iteration over its result is in progress.
+ * The least recently used statement is closed when the cache grows beyond its maximum size.
+ * All statements are closed when the {@link Topology#getVersion()} changes as the prepared statements might no longer
+ * match the tables they select from.
+ * <p>
+ * A StatementCache is only ever used by the thread holding its connection.
+ */
+class StatementCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatementCache.class);
+    private final Connection connection;
+    private final Topology topology;
+    private final LinkedHashMap<String, PreparedStatement> idle;
+    //The statements that are in use, with their sql and the topology version they were prepared under.
+    private final Map<PreparedStatement, InUse> inUse = new IdentityHashMap<>();
+    private long topologyVersion;
+
+    StatementCache(Connection connection, Topology topology, int maximumSize) {
+        this.connection = connection;
+        this.topology = topology;
+        this.topologyVersion = topology.getVersion();
+        this.idle = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > maximumSize) {
+                    close(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    Connection getConnection() {
+        return this.connection;
+    }
+
+    PreparedStatement take(String sql) throws SQLException {
+        invalidateIfTopologyChanged();
+        PreparedStatement preparedStatement = this.idle.remove(sql);
+        if (preparedStatement == null || preparedStatement.isClosed()) {
+            preparedStatement = this.connection.prepareStatement(sql);
+        } else {
+            preparedStatement.clearParameters();
+        }
+        this.inUse.put(preparedStatement, new InUse(sql, this.topologyVersion));
+        return preparedStatement;
+    }
+
+    /**
+     * Returns the statement to the cache. Statements not taken from this cache, prepared under a previous topology or
+     * of which an idle copy is already cached are closed.
+     */
+    void release(PreparedStatement preparedStatement) {
+        InUse inUse = this.inUse.remove(preparedStatement);
+        invalidateIfTopologyChanged();
+        if (inUse == null || inUse.topologyVersion != this.topologyVersion || this.idle.containsKey(inUse.sql)) {
+            close(preparedStatement);
+        } else {
+            this.idle.put(inUse.sql, preparedStatement);
+        }
+    }
+
+    /**
+     * Called at the end of the transaction, returns all statements still in use to the cache.
+     * A statement still in use had its result not fully iterated, its {@link ResultSet} is closed first.
+     *
+     * @return the released statements.
+     */
+    List<PreparedStatement> releaseAll() {
+        List<PreparedStatement> preparedStatements = new ArrayList<>(this.inUse.keySet());
+        for (PreparedStatement preparedStatement : preparedStatements) {
+            closeResultSet(preparedStatement);
+            release(preparedStatement);
+        }
+        return preparedStatements;
+    }
+
+    boolean isInUse(PreparedStatement preparedStatement) {
+        return this.inUse.containsKey(preparedStatement);
+    }
+
+    int size() {
+        return this.idle.size();
+    }
+
+    void close() {
+        List<PreparedStatement> preparedStatements = new ArrayList<>(this.idle.values());
+        preparedStatements.addAll(this.inUse.keySet());
+        this.idle.clear();
+        this.inUse.clear();
+        for (PreparedStatement preparedStatement : preparedStatements) {
+            close(preparedStatement);
+        }
+    }
+
+    private void invalidateIfTopologyChanged() {
+        long currentVersion = this.topology.getVersion();
+        if (this.topologyVersion != currentVersion) {
+            for (PreparedStatement preparedStatement : this.idle.values()) {
+                close(preparedStatement);
+            }
+            this.idle.clear();
+            this.topologyVersion = currentVersion;
+        }
+    }
+
+    private static void closeResultSet(PreparedStatement preparedStatement) {
+        try {
+            ResultSet resultSet = preparedStatement.getResultSet();
+            if (resultSet != null) {
+                resultSet.close();
+            }
+        } catch (SQLException e) {
+            //the statement is closed or unusable, release will not cache it.
+            LOGGER.debug("Failed to close the result set of a cached prepared statement.", e);
+            close(preparedStatement);
+        }
+    }
+
+    private static void close(PreparedStatement preparedStatement) {
+        try {
+            preparedStatement.close();
+        } catch (SQLException e) {
+            LOGGER.debug("Failed to close cached prepared statement.", e);
+        }
+    }
+
+    private static final class InUse {
+        private final String sql;
+        private final long topologyVersion;
+
+        private InUse(String sql, long topologyVersion) {
+            this.sql = sql;
+            this.topologyVersion = topologyVersion;
+        }
+    }
+}
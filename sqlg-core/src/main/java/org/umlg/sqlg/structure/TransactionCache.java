@@ -27,6 +27,20 @@ class TransactionCache {
      */
     private Integer fetchSize = null;
 
+    /**
+     * the connection's statement cache, null if disabled
+     */
+    private StatementCache statementCache;
+
+    /**
+     * is the transaction read only with the queries of a step executed in parallel?
+     */
+    private boolean parallelQueries;
+
+    /**
+     * the elements loaded by the transaction's queries, null if disabled
+     */
+    private IdentityMap identityMap;
 
     static TransactionCache of(Connection connection, BatchManager batchManager, boolean lazyQueries) {
         return new TransactionCache(connection, batchManager, lazyQueries);
@@ -113,4 +127,28 @@ class TransactionCache {
         this.fetchSize = fetchSize;
     }
 
+    StatementCache getStatementCache() {
+        return this.statementCache;
+    }
+
+    void setStatementCache(StatementCache statementCache) {
+        this.statementCache = statementCache;
+    }
+
+    boolean isParallelQueries() {
+        return this.parallelQueries;
+    }
+
+    void setParallelQueries(boolean parallelQueries) {
+        this.parallelQueries = parallelQueries;
+    }
+
+    IdentityMap getIdentityMap() {
+        return this.identityMap;
+    }
+
+    void setIdentityMap(IdentityMap identityMap) {
+        this.identityMap = identityMap;
+    }
+
 }
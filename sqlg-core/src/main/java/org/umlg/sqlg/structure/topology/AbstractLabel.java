@@ -7,8 +7,6 @@ import com.google.common.base.Preconditions;
 import org.apache.commons.collections4.set.ListOrderedSet;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
-import org.apache.tinkerpop.gremlin.structure.Vertex;
-import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.umlg.sqlg.structure.*;
@@ -37,6 +35,8 @@ public abstract class AbstractLabel implements TopologyInf {
     final Map<String, PropertyColumn> properties = new ConcurrentHashMap<>();
     final Map<String, PropertyColumn> uncommittedProperties = new ThreadLocalMap<>();
     final Set<String> uncommittedRemovedProperties = new ThreadLocalSet<>();
+    //Only grows, the slots of removed properties stay empty.
+    private volatile PropertyLayout propertyLayout = PropertyLayout.EMPTY;
 
     private final TreeMap<Integer, String> identifierMap = new TreeMap<>();
     final ListOrderedSet<String> identifiers = new ListOrderedSet<>();
@@ -518,6 +518,20 @@ public abstract class AbstractLabel implements TopologyInf {
         return result;
     }
 
+    /**
+     * @return the slots of the label's committed properties, shared by the elements that are loaded from the label.
+     */
+    public PropertyLayout getPropertyLayout() {
+        PropertyLayout propertyLayout = this.propertyLayout;
+        if (!propertyLayout.containsAll(this.properties)) {
+            synchronized (this) {
+                propertyLayout = this.propertyLayout.with(this.properties);
+                this.propertyLayout = propertyLayout;
+            }
+        }
+        return propertyLayout;
+    }
+
     public ListOrderedSet<String> getIdentifiers() {
         ListOrderedSet<String> result = ListOrderedSet.listOrderedSet(new ArrayList<>(this.identifiers.asList()));
         if (getTopology().isSchemaChanged()) {
@@ -677,14 +691,19 @@ public abstract class AbstractLabel implements TopologyInf {
         }
     }
 
-    void addProperty(Vertex propertyVertex) {
-        Preconditions.checkState(getTopology().isSchemaChanged());
-        PropertyColumn property = new PropertyColumn(this, propertyVertex.value(SQLG_SCHEMA_PROPERTY_NAME), PropertyType.valueOf(propertyVertex.value(SQLG_SCHEMA_PROPERTY_TYPE)));
-        this.properties.put(propertyVertex.value(SQLG_SCHEMA_PROPERTY_NAME), property);
+    /**
+     * Loads a committed property, from sqlg_schema or the topology snapshot. Does not check schemaChanged as the
+     * schemas are assembled on worker threads, see {@link Topology#cacheTopology()}.
+     */
+    void addProperty(String name, PropertyType propertyType) {
+        PropertyColumn property = new PropertyColumn(this, name, propertyType);
+        this.properties.put(name, property);
     }
 
+    /**
+     * Loads a committed identifier, like {@link #addProperty(String, PropertyType)}.
+     */
     void addIdentifier(String propertyName, int index) {
-        Preconditions.checkState(getTopology().isSchemaChanged());
         this.identifierMap.put(index, propertyName);
         this.identifiers.clear();
         for (Integer mapIndex : this.identifierMap.keySet()) {
@@ -696,64 +715,63 @@ public abstract class AbstractLabel implements TopologyInf {
         this.identifierMap.clear();
     }
 
-    void addDistributionColocate(Vertex colocate) {
-        Preconditions.checkState(getTopology().isSchemaChanged());
-        this.distributionColocateAbstractLabel = getSchema().getVertexLabel(colocate.value(SQLG_SCHEMA_VERTEX_LABEL_NAME)).orElseThrow(() -> new IllegalStateException("Distribution Co-locate vertex label %s not found", colocate.value(SQLG_SCHEMA_VERTEX_LABEL_NAME)));
+    /**
+     * Loads the committed co-located vertex label, like {@link #addProperty(String, PropertyType)}.
+     */
+    void addDistributionColocate(String vertexLabelName) {
+        this.distributionColocateAbstractLabel = getSchema().getVertexLabel(vertexLabelName).orElseThrow(() -> new IllegalStateException(String.format("Distribution Co-locate vertex label %s not found", vertexLabelName)));
     }
 
-    void addDistributionProperty(Vertex distributionProperty) {
-        Preconditions.checkState(this.getTopology().isSchemaChanged());
-        this.distributionPropertyColumn = new PropertyColumn(this, distributionProperty.value(SQLG_SCHEMA_PROPERTY_NAME), PropertyType.valueOf(distributionProperty.value(SQLG_SCHEMA_PROPERTY_TYPE)));
+    /**
+     * Loads the committed distribution property, like {@link #addProperty(String, PropertyType)}.
+     */
+    void addDistributionProperty(String name, PropertyType propertyType) {
+        this.distributionPropertyColumn = new PropertyColumn(this, name, propertyType);
     }
 
-    Partition addPartition(Vertex partitionVertex) {
-        Preconditions.checkState(this.getTopology().isSchemaChanged());
-        VertexProperty<String> from = partitionVertex.property(SQLG_SCHEMA_PARTITION_FROM);
-        VertexProperty<String> to = partitionVertex.property(SQLG_SCHEMA_PARTITION_TO);
-        VertexProperty<String> in = partitionVertex.property(SQLG_SCHEMA_PARTITION_IN);
-        VertexProperty<Integer> modulus = partitionVertex.property(SQLG_SCHEMA_PARTITION_MODULUS);
-        VertexProperty<Integer> remainder = partitionVertex.property(SQLG_SCHEMA_PARTITION_REMAINDER);
-        VertexProperty<String> partitionType = partitionVertex.property(SQLG_SCHEMA_PARTITION_PARTITION_TYPE);
-        VertexProperty<String> partitionExpression = partitionVertex.property(SQLG_SCHEMA_PARTITION_PARTITION_EXPRESSION);
+    /**
+     * Loads a committed partition, like {@link #addProperty(String, PropertyType)}.
+     */
+    Partition addPartition(TopologyLoader.PartitionRow partitionRow) {
         Partition partition;
-        if (from.isPresent()) {
-            Preconditions.checkState(to.isPresent());
-            Preconditions.checkState(!in.isPresent());
-            Preconditions.checkState(!modulus.isPresent());
-            Preconditions.checkState(!remainder.isPresent());
+        if (partitionRow.from != null) {
+            Preconditions.checkState(partitionRow.to != null);
+            Preconditions.checkState(partitionRow.in == null);
+            Preconditions.checkState(partitionRow.modulus == null);
+            Preconditions.checkState(partitionRow.remainder == null);
             partition = new Partition(
                     this.sqlgGraph,
                     this,
-                    partitionVertex.value(SQLG_SCHEMA_PARTITION_NAME),
-                    from.value(),
-                    to.value(),
-                    PartitionType.from(partitionType.value()),
-                    partitionExpression.isPresent() ? partitionExpression.value() : null);
-        } else if (in.isPresent()) {
-            Preconditions.checkState(in.isPresent());
-            Preconditions.checkState(!to.isPresent());
-            Preconditions.checkState(!modulus.isPresent());
-            Preconditions.checkState(!remainder.isPresent());
+                    partitionRow.name,
+                    partitionRow.from,
+                    partitionRow.to,
+                    PartitionType.from(partitionRow.partitionType),
+                    partitionRow.partitionExpression);
+        } else if (partitionRow.in != null) {
+            Preconditions.checkState(partitionRow.in != null);
+            Preconditions.checkState(partitionRow.to == null);
+            Preconditions.checkState(partitionRow.modulus == null);
+            Preconditions.checkState(partitionRow.remainder == null);
             partition = new Partition(
                     this.sqlgGraph,
                     this,
-                    partitionVertex.value(SQLG_SCHEMA_PARTITION_NAME),
-                    in.value(),
-                    PartitionType.from(partitionType.value()),
-                    partitionExpression.isPresent() ? partitionExpression.value() : null);
+                    partitionRow.name,
+                    partitionRow.in,
+                    PartitionType.from(partitionRow.partitionType),
+                    partitionRow.partitionExpression);
         } else {
-            Preconditions.checkState(modulus.isPresent());
-            Preconditions.checkState(remainder.isPresent());
+            Preconditions.checkState(partitionRow.modulus != null);
+            Preconditions.checkState(partitionRow.remainder != null);
             partition = new Partition(
                     this.sqlgGraph,
                     this,
-                    partitionVertex.value(SQLG_SCHEMA_PARTITION_NAME),
-                    modulus.value(),
-                    remainder.value(),
-                    PartitionType.from(partitionType.value()),
-                    partitionExpression.isPresent() ? partitionExpression.value() : null);
+                    partitionRow.name,
+                    partitionRow.modulus,
+                    partitionRow.remainder,
+                    PartitionType.from(partitionRow.partitionType),
+                    partitionRow.partitionExpression);
         }
-        this.partitions.put(partitionVertex.value(SQLG_SCHEMA_PARTITION_NAME), partition);
+        this.partitions.put(partitionRow.name, partition);
         return partition;
     }
 
@@ -857,6 +875,65 @@ public abstract class AbstractLabel implements TopologyInf {
         return propertyArrayNode;
     }
 
+    /**
+     * The committed properties, identifiers and indexes for the {@link TopologySnapshot}.
+     */
+    ObjectNode toSnapshotJson() {
+        ObjectNode result = new ObjectNode(Topology.OBJECT_MAPPER.getNodeFactory());
+        result.put("label", this.label);
+        ArrayNode propertyArrayNode = new ArrayNode(Topology.OBJECT_MAPPER.getNodeFactory());
+        for (PropertyColumn property : this.properties.values()) {
+            ObjectNode propertyNode = new ObjectNode(Topology.OBJECT_MAPPER.getNodeFactory());
+            propertyNode.put("name", property.getName());
+            //varChar properties have no PropertyType when loaded from sqlg_schema
+            propertyNode.put("propertyType", property.getPropertyType() != null ? property.getPropertyType().name() : null);
+            propertyArrayNode.add(propertyNode);
+        }
+        result.set("properties", propertyArrayNode);
+        ArrayNode identifierArrayNode = new ArrayNode(Topology.OBJECT_MAPPER.getNodeFactory());
+        for (String identifier : this.identifiers) {
+            identifierArrayNode.add(identifier);
+        }
+        result.set("identifiers", identifierArrayNode);
+        ArrayNode indexArrayNode = new ArrayNode(Topology.OBJECT_MAPPER.getNodeFactory());
+        for (Index index : this.indexes.values()) {
+            ObjectNode indexNode = new ObjectNode(Topology.OBJECT_MAPPER.getNodeFactory());
+            indexNode.put("name", index.getName());
+            indexNode.set("indexType", index.getIndexType().toNotifyJson());
+            ArrayNode indexPropertyArrayNode = new ArrayNode(Topology.OBJECT_MAPPER.getNodeFactory());
+            for (PropertyColumn property : index.getProperties()) {
+                indexPropertyArrayNode.add(property.getName());
+            }
+            indexNode.set("properties", indexPropertyArrayNode);
+            indexArrayNode.add(indexNode);
+        }
+        result.set("indexes", indexArrayNode);
+        return result;
+    }
+
+    /**
+     * Loads the properties, identifiers and indexes written by {@link #toSnapshotJson()} as committed, the same as
+     * they are loaded from sqlg_schema.
+     */
+    void fromSnapshotJson(JsonNode labelNode) {
+        for (JsonNode propertyNode : labelNode.get("properties")) {
+            JsonNode propertyTypeNode = propertyNode.get("propertyType");
+            addProperty(propertyNode.get("name").asText(), propertyTypeNode.isNull() ? null : PropertyType.valueOf(propertyTypeNode.asText()));
+        }
+        int identifierIndex = 0;
+        for (JsonNode identifierNode : labelNode.get("identifiers")) {
+            addIdentifier(identifierNode.asText(), identifierIndex++);
+        }
+        clearIdentifiersMap();
+        for (JsonNode indexNode : labelNode.get("indexes")) {
+            Index index = new Index(indexNode.get("name").asText(), IndexType.fromNotifyJson(indexNode.get("indexType")), this);
+            addIndex(index);
+            for (JsonNode propertyNode : indexNode.get("properties")) {
+                getProperty(propertyNode.asText()).ifPresent(index::addProperty);
+            }
+        }
+    }
+
     Optional<JsonNode> toNotifyJson() {
         if (getTopology().isSchemaChanged()) {
             ObjectNode result = new ObjectNode(Topology.OBJECT_MAPPER.getNodeFactory());
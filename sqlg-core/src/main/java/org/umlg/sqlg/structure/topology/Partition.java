@@ -4,8 +4,6 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Preconditions;
-import org.apache.tinkerpop.gremlin.structure.Vertex;
-import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.umlg.sqlg.sql.dialect.SqlDialect;
@@ -1275,95 +1273,91 @@ public class Partition implements TopologyInf {
         return Optional.ofNullable(result);
     }
 
-    Partition addPartition(Vertex partitionVertex) {
-        Preconditions.checkState(this.getAbstractLabel().getSchema().getTopology().isSchemaChanged());
-        VertexProperty<String> from = partitionVertex.property(SQLG_SCHEMA_PARTITION_FROM);
-        VertexProperty<String> to = partitionVertex.property(SQLG_SCHEMA_PARTITION_TO);
-        VertexProperty<String> in = partitionVertex.property(SQLG_SCHEMA_PARTITION_IN);
-        VertexProperty<Integer> modulus = partitionVertex.property(SQLG_SCHEMA_PARTITION_MODULUS);
-        VertexProperty<Integer> remainder = partitionVertex.property(SQLG_SCHEMA_PARTITION_REMAINDER);
-        VertexProperty<String> partitionType = partitionVertex.property(SQLG_SCHEMA_PARTITION_PARTITION_TYPE);
-        VertexProperty<String> partitionExpression = partitionVertex.property(SQLG_SCHEMA_PARTITION_PARTITION_EXPRESSION);
+    /**
+     * Loads a committed sub partition. Does not check schemaChanged as the schemas are assembled on worker threads, see
+     * {@link Topology#cacheTopology()}.
+     */
+    Partition addPartition(TopologyLoader.PartitionRow partitionRow) {
         Partition partition;
-        if (from.isPresent()) {
-            Preconditions.checkState(to.isPresent());
-            Preconditions.checkState(!in.isPresent());
-            if (partitionExpression.isPresent()) {
-                PartitionType partitionType1 = PartitionType.from(partitionType.value());
+        if (partitionRow.from != null) {
+            Preconditions.checkState(partitionRow.to != null);
+            Preconditions.checkState(partitionRow.in == null);
+            if (partitionRow.partitionExpression != null) {
+                PartitionType partitionType1 = PartitionType.from(partitionRow.partitionType);
                 Preconditions.checkState(!partitionType1.isNone());
                 partition = new Partition(
                         this.sqlgGraph,
                         this,
-                        partitionVertex.value(SQLG_SCHEMA_PARTITION_NAME),
-                        from.value(),
-                        to.value(),
+                        partitionRow.name,
+                        partitionRow.from,
+                        partitionRow.to,
                         partitionType1,
-                        partitionExpression.value());
+                        partitionRow.partitionExpression);
             } else {
-                PartitionType partitionType1 = PartitionType.from(partitionType.value());
+                PartitionType partitionType1 = PartitionType.from(partitionRow.partitionType);
                 Preconditions.checkState(partitionType1.isNone());
                 partition = new Partition(
                         this.sqlgGraph,
                         this,
-                        partitionVertex.value(SQLG_SCHEMA_PARTITION_NAME),
-                        from.value(),
-                        to.value(),
+                        partitionRow.name,
+                        partitionRow.from,
+                        partitionRow.to,
                         partitionType1,
                         null);
 
             }
-        } else if (in.isPresent()) {
-            Preconditions.checkState(!to.isPresent());
-            Preconditions.checkState(!from.isPresent());
-            if (partitionExpression.isPresent()) {
-                PartitionType partitionType1 = PartitionType.from(partitionType.value());
+        } else if (partitionRow.in != null) {
+            Preconditions.checkState(partitionRow.to == null);
+            Preconditions.checkState(partitionRow.from == null);
+            if (partitionRow.partitionExpression != null) {
+                PartitionType partitionType1 = PartitionType.from(partitionRow.partitionType);
                 Preconditions.checkState(!partitionType1.isNone());
                 partition = new Partition(
                         this.sqlgGraph,
                         this,
-                        partitionVertex.value(SQLG_SCHEMA_PARTITION_NAME),
-                        in.value(),
+                        partitionRow.name,
+                        partitionRow.in,
                         partitionType1,
-                        partitionExpression.value());
+                        partitionRow.partitionExpression);
             } else {
-                PartitionType partitionType1 = PartitionType.from(partitionType.value());
+                PartitionType partitionType1 = PartitionType.from(partitionRow.partitionType);
                 Preconditions.checkState(partitionType1.isNone());
                 partition = new Partition(
                         this.sqlgGraph,
                         this,
-                        partitionVertex.value(SQLG_SCHEMA_PARTITION_NAME),
-                        in.value(),
+                        partitionRow.name,
+                        partitionRow.in,
                         partitionType1,
                         null);
             }
         } else {
-            Preconditions.checkState(modulus.isPresent());
-            Preconditions.checkState(remainder.isPresent());
-            if (partitionExpression.isPresent()) {
-                PartitionType partitionType1 = PartitionType.from(partitionType.value());
+            Preconditions.checkState(partitionRow.modulus != null);
+            Preconditions.checkState(partitionRow.remainder != null);
+            if (partitionRow.partitionExpression != null) {
+                PartitionType partitionType1 = PartitionType.from(partitionRow.partitionType);
                 Preconditions.checkState(!partitionType1.isNone());
                 partition = new Partition(
                         this.sqlgGraph,
                         this,
-                        partitionVertex.value(SQLG_SCHEMA_PARTITION_NAME),
-                        modulus.value(),
-                        remainder.value(),
+                        partitionRow.name,
+                        partitionRow.modulus,
+                        partitionRow.remainder,
                         partitionType1,
-                        partitionExpression.value());
+                        partitionRow.partitionExpression);
             } else {
-                PartitionType partitionType1 = PartitionType.from(partitionType.value());
+                PartitionType partitionType1 = PartitionType.from(partitionRow.partitionType);
                 Preconditions.checkState(partitionType1.isNone());
                 partition = new Partition(
                         this.sqlgGraph,
                         this,
-                        partitionVertex.value(SQLG_SCHEMA_PARTITION_NAME),
-                        modulus.value(),
-                        remainder.value(),
+                        partitionRow.name,
+                        partitionRow.modulus,
+                        partitionRow.remainder,
                         partitionType1,
                         null);
             }
         }
-        this.partitions.put(partitionVertex.value(SQLG_SCHEMA_PARTITION_NAME), partition);
+        this.partitions.put(partitionRow.name, partition);
         return partition;
     }
 
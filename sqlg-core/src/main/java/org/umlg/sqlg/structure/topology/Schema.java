@@ -6,14 +6,10 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Preconditions;
 import org.apache.commons.collections4.set.ListOrderedSet;
 import org.apache.commons.lang3.tuple.Pair;
-import org.apache.tinkerpop.gremlin.process.traversal.Path;
-import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
-import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.umlg.sqlg.sql.dialect.SqlDialect;
-import org.umlg.sqlg.strategy.BaseStrategy;
 import org.umlg.sqlg.structure.PropertyType;
 import org.umlg.sqlg.structure.*;
 import org.umlg.sqlg.util.ThreadLocalMap;
@@ -50,7 +46,6 @@ public class Schema implements TopologyInf {
     final Set<String> uncommittedRemovedEdgeLabels = new ThreadLocalSet<>();
 
     public static final String SQLG_SCHEMA = "sqlg_schema";
-    private static final String MARKER = "~gremlin.incidentToAdjacent";
 
     //temporary table map. it is in a thread local as temporary tables are only valid per session/connection.
     private final ThreadLocal<Map<String, Map<String, PropertyType>>> threadLocalTemporaryTables = ThreadLocal.withInitial(HashMap::new);
@@ -1003,229 +998,79 @@ public class Schema implements TopologyInf {
         return this.name.equals(SQLG_SCHEMA);
     }
 
-    void loadVertexOutEdgesAndProperties(GraphTraversalSource traversalSource, Vertex schemaVertex) {
-        //First load the vertex and its properties
-        Map<String, Partition> partitionMap = new HashMap<>();
-        List<Path> vertices = traversalSource
-                .V(schemaVertex)
-                .out(SQLG_SCHEMA_SCHEMA_VERTEX_EDGE).as("vertex")
-                //a vertex does not necessarily have properties so use optional.
-                .optional(
-                        __.outE(
-                                        SQLG_SCHEMA_VERTEX_PROPERTIES_EDGE,
-                                        SQLG_SCHEMA_VERTEX_IDENTIFIER_EDGE,
-                                        SQLG_SCHEMA_VERTEX_PARTITION_EDGE,
-                                        SQLG_SCHEMA_VERTEX_DISTRIBUTION_COLUMN_EDGE,
-                                        SQLG_SCHEMA_VERTEX_DISTRIBUTION_COLOCATE_EDGE
-                                ).as("edgeToProperty").otherV().as("property_partition")
-                                .optional(
-                                        __.repeat(__.out(SQLG_SCHEMA_PARTITION_PARTITION_EDGE)).emit().as("subPartition")
-                                )
-                )
-                .path()
-                .toList();
-        for (Path vertexPath : vertices) {
-            Vertex vertexVertex = null;
-            Vertex vertexPropertyPartitionVertex = null;
-            Vertex partitionParentVertex = null;
-            Element partitionParentParentElement = null;
-            Vertex subPartition = null;
-            Edge edgeToIdentifierOrColocate = null;
-            List<Set<String>> labelsList = vertexPath.labels();
-            for (Set<String> labels : labelsList) {
-                for (String label : labels) {
-                    switch (label) {
-                        case "vertex":
-                            vertexVertex = vertexPath.get("vertex");
-                            break;
-                        case "property_partition":
-                            vertexPropertyPartitionVertex = vertexPath.get("property_partition");
-                            break;
-                        case BaseStrategy.SQLG_PATH_FAKE_LABEL:
-                            break;
-                        case "subPartition":
-                            Preconditions.checkState(vertexPropertyPartitionVertex != null);
-                            subPartition = vertexPath.get("subPartition");
-                            partitionParentVertex = vertexPath.get(vertexPath.size() - 2);
-                            partitionParentParentElement = vertexPath.get(vertexPath.size() - 3);
-                            break;
-                        case "edgeToProperty":
-                            edgeToIdentifierOrColocate = vertexPath.get("edgeToProperty");
-                            break;
-                        case MARKER:
-                            break;
-                        case "sqlgPathTempFakeLabel":
-                            break;
-                        default:
-                            throw new IllegalStateException(String.format("BUG: Only \"vertex\", \"property\" and \"partition\" are expected as a label. Found %s", label));
-                    }
-                }
-            }
-            Preconditions.checkState(vertexVertex != null, "BUG: Topology vertex not found.");
-            String schemaName = schemaVertex.value(SQLG_SCHEMA_SCHEMA_NAME);
-            String tableName = vertexVertex.value(SQLG_SCHEMA_VERTEX_LABEL_NAME);
-            PartitionType partitionType = PartitionType.valueOf(vertexVertex.value(SQLG_SCHEMA_VERTEX_LABEL_PARTITION_TYPE));
-            VertexProperty<String> partitionExpression = vertexVertex.property(SQLG_SCHEMA_VERTEX_LABEL_PARTITION_EXPRESSION);
-            VertexProperty<Integer> shardCount = vertexVertex.property(SQLG_SCHEMA_VERTEX_LABEL_DISTRIBUTION_SHARD_COUNT);
-            VertexLabel vertexLabel;
-            vertexLabel = this.vertexLabels.get(schemaName + "." + VERTEX_PREFIX + tableName);
+    /**
+     * Loads the schema's vertex labels and their out edge labels, with their properties, identifiers, distribution and
+     * partitions, from the {@link TopologyLoader}'s rows. Only this schema's labels are touched.
+     */
+    void loadVertexOutEdgesAndProperties(TopologyLoader topologyLoader) {
+        //First load the vertices and their properties
+        List<TopologyLoader.LabelRow> vertexLabelRows = topologyLoader.getVertexLabels(this.name);
+        for (TopologyLoader.LabelRow vertexLabelRow : vertexLabelRows) {
+            VertexLabel vertexLabel = this.vertexLabels.get(this.name + "." + VERTEX_PREFIX + vertexLabelRow.name);
             if (vertexLabel == null) {
-                if (!partitionType.isNone()) {
-                    vertexLabel = new VertexLabel(this, tableName, partitionType, partitionExpression.value());
+                if (!vertexLabelRow.partitionType.isNone()) {
+                    vertexLabel = new VertexLabel(this, vertexLabelRow.name, vertexLabelRow.partitionType, vertexLabelRow.partitionExpression);
                 } else {
-                    vertexLabel = new VertexLabel(this, tableName);
-                }
-                if (shardCount.isPresent()) {
-                    vertexLabel.setShardCount(shardCount.value());
+                    vertexLabel = new VertexLabel(this, vertexLabelRow.name);
                 }
-                this.vertexLabels.put(schemaName + "." + VERTEX_PREFIX + tableName, vertexLabel);
-            }
-            if (vertexPropertyPartitionVertex != null) {
-                if (vertexPropertyPartitionVertex.label().equals("sqlg_schema.property")) {
-                    //load the property
-                    //Because there are multiple edges to the same property, identifier and distribution properties will be loaded multiple times.
-                    //Its ok because of set semantics.
-                    vertexLabel.addProperty(vertexPropertyPartitionVertex);
-                    //Check if the property is an identifier (primary key)
-                    if (edgeToIdentifierOrColocate != null) {
-                        if (edgeToIdentifierOrColocate.label().equals(SQLG_SCHEMA_VERTEX_IDENTIFIER_EDGE)) {
-                            vertexLabel.addIdentifier(vertexPropertyPartitionVertex.value(Topology.SQLG_SCHEMA_VERTEX_LABEL_NAME), edgeToIdentifierOrColocate.value(Topology.SQLG_SCHEMA_VERTEX_IDENTIFIER_INDEX_EDGE));
-                        } else if (edgeToIdentifierOrColocate.label().equals(SQLG_SCHEMA_VERTEX_DISTRIBUTION_COLUMN_EDGE)) {
-                            vertexLabel.addDistributionProperty(vertexPropertyPartitionVertex);
-                        }
-                    }
-                } else if (edgeToIdentifierOrColocate != null && edgeToIdentifierOrColocate.label().equals("vertex_colocate")) {
-                    Preconditions.checkState(vertexPropertyPartitionVertex.label().equals("sqlg_schema.vertex"));
-                    vertexLabel.addDistributionColocate(vertexPropertyPartitionVertex);
-                } else if (!partitionMap.containsKey(vertexPropertyPartitionVertex.<String>value(SQLG_SCHEMA_PARTITION_NAME)) && (partitionParentParentElement == null || partitionParentParentElement.label().equals("vertex_partition"))) {
-                    Partition partition = vertexLabel.addPartition(vertexPropertyPartitionVertex);
-                    partitionMap.put(partition.getName(), partition);
+                if (vertexLabelRow.shardCount != null) {
+                    vertexLabel.setShardCount(vertexLabelRow.shardCount);
                 }
+                this.vertexLabels.put(this.name + "." + VERTEX_PREFIX + vertexLabelRow.name, vertexLabel);
             }
-            if (subPartition != null) {
-                Partition partition = partitionMap.get(partitionParentVertex.<String>value(SQLG_SCHEMA_PARTITION_NAME));
-                Preconditions.checkState(partition != null, "Partition %s not found", partitionParentVertex.<String>value(SQLG_SCHEMA_PARTITION_NAME));
-                Partition partition1 = partition.addPartition(subPartition);
-                partitionMap.put(partition1.getName(), partition1);
-            }
+            loadProperties(
+                    vertexLabel,
+                    topologyLoader.getVertexProperties(vertexLabelRow.id),
+                    topologyLoader.getVertexIdentifiers(vertexLabelRow.id),
+                    topologyLoader.getVertexDistributionProperty(vertexLabelRow.id)
+            );
+            loadPartitions(topologyLoader, vertexLabel, topologyLoader.getVertexPartitions(vertexLabelRow.id));
+            topologyLoader.vertexLabelLoaded(vertexLabelRow.id, vertexLabel);
         }
-
-
-        partitionMap.clear();
         //Load the out edges. This will load all edges as all edges have a out vertex.
-        List<Path> outEdges = traversalSource
-                .V(schemaVertex)
-                .out(SQLG_SCHEMA_SCHEMA_VERTEX_EDGE).as("vertex")
-                //a vertex does not necessarily have properties so use optional.
-                .optional(
-                        __.out(SQLG_SCHEMA_OUT_EDGES_EDGE).as("outEdgeVertex")
-                                .optional(
-                                        __.outE(SQLG_SCHEMA_EDGE_PROPERTIES_EDGE,
-                                                        SQLG_SCHEMA_EDGE_IDENTIFIER_EDGE,
-                                                        SQLG_SCHEMA_EDGE_PARTITION_EDGE,
-                                                        SQLG_SCHEMA_EDGE_DISTRIBUTION_COLUMN_EDGE,
-                                                        SQLG_SCHEMA_EDGE_LABEL_DISTRIBUTION_SHARD_COUNT,
-                                                        SQLG_SCHEMA_EDGE_DISTRIBUTION_COLOCATE_EDGE
-                                                ).as("edge_identifier").otherV().as("property_partition")
-                                                .optional(
-                                                        __.repeat(__.out(SQLG_SCHEMA_PARTITION_PARTITION_EDGE)).emit().as("subPartition")
-                                                )
-                                )
-                )
-                .path()
-                .toList();
-        for (Path outEdgePath : outEdges) {
-            List<Set<String>> labelsList = outEdgePath.labels();
-            Vertex vertexVertex = null;
-            Vertex outEdgeVertex = null;
-            Vertex edgePropertyPartitionVertex = null;
-            Vertex partitionParentVertex = null;
-            Element partitionParentParentElement = null;
-            Vertex subPartition = null;
-            Edge edgeIdentifierEdge = null;
-            for (Set<String> labels : labelsList) {
-                for (String label : labels) {
-                    switch (label) {
-                        case "vertex":
-                            vertexVertex = outEdgePath.get("vertex");
-                            break;
-                        case "outEdgeVertex":
-                            outEdgeVertex = outEdgePath.get("outEdgeVertex");
-                            break;
-                        case "property_partition":
-                            edgePropertyPartitionVertex = outEdgePath.get("property_partition");
-                            break;
-                        case "subPartition":
-                            Preconditions.checkState(edgePropertyPartitionVertex != null);
-                            subPartition = outEdgePath.get("subPartition");
-                            partitionParentVertex = outEdgePath.get(outEdgePath.size() - 2);
-                            partitionParentParentElement = outEdgePath.get(outEdgePath.size() - 3);
-                            break;
-                        case "edge_identifier":
-                            edgeIdentifierEdge = outEdgePath.get("edge_identifier");
-                            break;
-                        case BaseStrategy.SQLG_PATH_FAKE_LABEL:
-                        case MARKER:
-                        case "sqlgPathTempFakeLabel":
-                            break;
-                        default:
-                            throw new IllegalStateException(String.format("BUG: Only \"vertex\", \"outEdgeVertex\" and \"property\" is expected as a label. Found \"%s\"", label));
-                    }
-                }
-            }
-            Preconditions.checkState(vertexVertex != null, "BUG: Topology vertex not found.");
-            String schemaName = schemaVertex.value(SQLG_SCHEMA_SCHEMA_NAME);
-            String tableName = vertexVertex.value(SQLG_SCHEMA_VERTEX_LABEL_NAME);
-            VertexLabel vertexLabel = this.vertexLabels.get(schemaName + "." + VERTEX_PREFIX + tableName);
-            Preconditions.checkState(vertexLabel != null, "vertexLabel must be present when loading outEdges. Not found for \"%s\"", schemaName + "." + VERTEX_PREFIX + tableName);
-            if (outEdgeVertex != null) {
-                //load the EdgeLabel
-                String edgeLabelName = outEdgeVertex.value(SQLG_SCHEMA_EDGE_LABEL_NAME);
-                PartitionType partitionType = PartitionType.valueOf(outEdgeVertex.value(SQLG_SCHEMA_EDGE_LABEL_PARTITION_TYPE));
-                VertexProperty<String> partitionExpression = outEdgeVertex.property(SQLG_SCHEMA_EDGE_LABEL_PARTITION_EXPRESSION);
-                VertexProperty<Integer> shardCount = outEdgeVertex.property(SQLG_SCHEMA_EDGE_LABEL_DISTRIBUTION_SHARD_COUNT);
-                Optional<EdgeLabel> edgeLabelOptional = this.getEdgeLabel(edgeLabelName);
-                EdgeLabel edgeLabel;
-                if (edgeLabelOptional.isEmpty()) {
-                    if (partitionType.isNone()) {
-                        edgeLabel = EdgeLabel.loadFromDb(vertexLabel.getSchema().getTopology(), edgeLabelName);
+        for (TopologyLoader.LabelRow vertexLabelRow : vertexLabelRows) {
+            VertexLabel vertexLabel = topologyLoader.getLoadedVertexLabel(vertexLabelRow.id);
+            for (TopologyLoader.LabelRow edgeLabelRow : topologyLoader.getOutEdgeLabels(vertexLabelRow.id)) {
+                EdgeLabel edgeLabel = topologyLoader.getLoadedEdgeLabel(edgeLabelRow.id);
+                if (edgeLabel == null) {
+                    Optional<EdgeLabel> edgeLabelOptional = this.getEdgeLabel(edgeLabelRow.name);
+                    if (edgeLabelOptional.isEmpty()) {
+                        if (edgeLabelRow.partitionType.isNone()) {
+                            edgeLabel = EdgeLabel.loadFromDb(this.topology, edgeLabelRow.name);
+                        } else {
+                            Preconditions.checkState(edgeLabelRow.partitionExpression != null);
+                            edgeLabel = EdgeLabel.loadFromDb(this.topology, edgeLabelRow.name, edgeLabelRow.partitionType, edgeLabelRow.partitionExpression);
+                        }
                     } else {
-                        Preconditions.checkState(partitionExpression.isPresent());
-                        edgeLabel = EdgeLabel.loadFromDb(vertexLabel.getSchema().getTopology(), edgeLabelName, partitionType, partitionExpression.value());
+                        edgeLabel = edgeLabelOptional.get();
                     }
-                    vertexLabel.addToOutEdgeLabels(schemaName, edgeLabel);
-                } else {
-                    edgeLabel = edgeLabelOptional.get();
-                    vertexLabel.addToOutEdgeLabels(schemaName, edgeLabel);
-                }
-                if (shardCount.isPresent()) {
-                    edgeLabel.setShardCount(shardCount.value());
-                }
-                if (edgePropertyPartitionVertex != null) {
-                    if (edgePropertyPartitionVertex.label().equals("sqlg_schema.property")) {
-                        //load the property
-                        edgeLabel.addProperty(edgePropertyPartitionVertex);
-                        //Check if the property is an identifier (primary key)
-                        if (edgeIdentifierEdge != null && edgeIdentifierEdge.label().equals("edge_identifier")) {
-                            edgeLabel.addIdentifier(edgePropertyPartitionVertex.value(Topology.SQLG_SCHEMA_EDGE_LABEL_NAME), edgeIdentifierEdge.value(Topology.SQLG_SCHEMA_EDGE_IDENTIFIER_INDEX_EDGE));
-                        } else if (edgeIdentifierEdge != null && edgeIdentifierEdge.label().equals(SQLG_SCHEMA_EDGE_DISTRIBUTION_COLUMN_EDGE)) {
-                            edgeLabel.addDistributionProperty(edgePropertyPartitionVertex);
-                        }
-                    } else if (edgeIdentifierEdge != null && edgeIdentifierEdge.label().equals("edge_colocate")) {
-                        Preconditions.checkState(edgePropertyPartitionVertex.label().equals("sqlg_schema.vertex"));
-                        edgeLabel.addDistributionColocate(edgePropertyPartitionVertex);
-                    } else if (!partitionMap.containsKey(edgePropertyPartitionVertex.<String>value(SQLG_SCHEMA_PARTITION_NAME)) && (partitionParentParentElement == null || partitionParentParentElement.label().equals("edge_partition"))) {
-                        Partition partition = edgeLabel.addPartition(edgePropertyPartitionVertex);
-                        partitionMap.put(partition.getName(), partition);
+                    if (edgeLabelRow.shardCount != null) {
+                        edgeLabel.setShardCount(edgeLabelRow.shardCount);
                     }
+                    loadProperties(
+                            edgeLabel,
+                            topologyLoader.getEdgeProperties(edgeLabelRow.id),
+                            topologyLoader.getEdgeIdentifiers(edgeLabelRow.id),
+                            topologyLoader.getEdgeDistributionProperty(edgeLabelRow.id)
+                    );
+                    loadPartitions(topologyLoader, edgeLabel, topologyLoader.getEdgePartitions(edgeLabelRow.id));
+                    this.outEdgeLabels.put(this.name + "." + EDGE_PREFIX + edgeLabelRow.name, edgeLabel);
+                    topologyLoader.edgeLabelLoaded(edgeLabelRow.id, edgeLabel);
                 }
-                if (subPartition != null) {
-                    Partition partition = partitionMap.get(partitionParentVertex.<String>value(SQLG_SCHEMA_PARTITION_NAME));
-                    Preconditions.checkState(partition != null, "Partition %s not found", partitionParentVertex.<String>value(SQLG_SCHEMA_PARTITION_NAME));
-                    Partition partition1 = partition.addPartition(subPartition);
-                    partitionMap.put(partition1.getName(), partition1);
+                vertexLabel.addToOutEdgeLabels(this.name, edgeLabel);
+            }
+        }
+        //The co-located vertex labels are in this schema and are all loaded now.
+        for (TopologyLoader.LabelRow vertexLabelRow : vertexLabelRows) {
+            String colocate = topologyLoader.getVertexDistributionColocate(vertexLabelRow.id);
+            if (colocate != null) {
+                topologyLoader.getLoadedVertexLabel(vertexLabelRow.id).addDistributionColocate(colocate);
+            }
+            for (TopologyLoader.LabelRow edgeLabelRow : topologyLoader.getOutEdgeLabels(vertexLabelRow.id)) {
+                colocate = topologyLoader.getEdgeDistributionColocate(edgeLabelRow.id);
+                if (colocate != null) {
+                    topologyLoader.getLoadedEdgeLabel(edgeLabelRow.id).addDistributionColocate(colocate);
                 }
-                this.outEdgeLabels.put(schemaName + "." + EDGE_PREFIX + edgeLabelName, edgeLabel);
             }
         }
         //We can clear all AbstractLabel.identifierMap to save some memory
@@ -1237,214 +1082,84 @@ public class Schema implements TopologyInf {
         }
     }
 
-    /**
-     * load indices for all vertices in schema
-     */
-    void loadVertexIndices(GraphTraversalSource traversalSource, Vertex schemaVertex) {
-        List<Path> indices = traversalSource
-                .V(schemaVertex)
-                .out(SQLG_SCHEMA_SCHEMA_VERTEX_EDGE).as("vertex")
-                .out(SQLG_SCHEMA_VERTEX_INDEX_EDGE).as("index")
-                .outE(SQLG_SCHEMA_INDEX_PROPERTY_EDGE)
-                .order().by(SQLG_SCHEMA_INDEX_PROPERTY_EDGE_SEQUENCE)
-                .inV().as("property")
-                .path()
-                .toList();
-        for (Path vertexIndices : indices) {
-            Vertex vertexVertex = null;
-            Vertex vertexIndex = null;
-            Vertex propertyIndex = null;
-            List<Set<String>> labelsList = vertexIndices.labels();
-            for (Set<String> labels : labelsList) {
-                for (String label : labels) {
-                    switch (label) {
-                        case "vertex":
-                            vertexVertex = vertexIndices.get("vertex");
-                            break;
-                        case "index":
-                            vertexIndex = vertexIndices.get("index");
-                            break;
-                        case "property":
-                            propertyIndex = vertexIndices.get("property");
-                            break;
-                        case BaseStrategy.SQLG_PATH_FAKE_LABEL:
-                        case BaseStrategy.SQLG_PATH_ORDER_RANGE_LABEL:
-                        case Schema.MARKER:
-                            break;
-                        default:
-                            throw new IllegalStateException(String.format("BUG: Only \"vertex\",\"index\" and \"property\" is expected as a label. Found %s", label));
-                    }
-                }
-            }
-            Preconditions.checkState(vertexVertex != null, "BUG: Topology vertex not found.");
-            String schemaName = schemaVertex.value(SQLG_SCHEMA_SCHEMA_NAME);
-            String tableName = vertexVertex.value(SQLG_SCHEMA_VERTEX_LABEL_NAME);
-            VertexLabel vertexLabel = this.vertexLabels.get(schemaName + "." + VERTEX_PREFIX + tableName);
-            if (vertexLabel == null) {
-                vertexLabel = new VertexLabel(this, tableName);
-                this.vertexLabels.put(schemaName + "." + VERTEX_PREFIX + tableName, vertexLabel);
-            }
-            if (vertexIndex != null) {
-                String indexName = vertexIndex.value(SQLG_SCHEMA_INDEX_NAME);
-                Optional<Index> oidx = vertexLabel.getIndex(indexName);
-                Index idx;
-                if (oidx.isPresent()) {
-                    idx = oidx.get();
-                } else {
-                    idx = new Index(indexName, IndexType.fromString(vertexIndex.value(SQLG_SCHEMA_INDEX_INDEX_TYPE)), vertexLabel);
-                    vertexLabel.addIndex(idx);
-                }
-                if (propertyIndex != null) {
-                    String propertyName = propertyIndex.value(SQLG_SCHEMA_PROPERTY_NAME);
-                    vertexLabel.getProperty(propertyName).ifPresent(idx::addProperty);
-                }
+    private static void loadProperties(
+            AbstractLabel abstractLabel,
+            List<TopologyLoader.PropertyRow> properties,
+            List<TopologyLoader.PropertyRow> identifiers,
+            TopologyLoader.PropertyRow distributionProperty) {
 
-            }
+        for (TopologyLoader.PropertyRow property : properties) {
+            abstractLabel.addProperty(property.name, PropertyType.valueOf(property.type));
+        }
+        //identifier and distribution properties are properties of the label too, its ok to add them again.
+        for (TopologyLoader.PropertyRow identifier : identifiers) {
+            abstractLabel.addProperty(identifier.name, PropertyType.valueOf(identifier.type));
+            abstractLabel.addIdentifier(identifier.name, identifier.identifierIndex);
+        }
+        if (distributionProperty != null) {
+            abstractLabel.addProperty(distributionProperty.name, PropertyType.valueOf(distributionProperty.type));
+            abstractLabel.addDistributionProperty(distributionProperty.name, PropertyType.valueOf(distributionProperty.type));
         }
     }
 
-    void loadInEdgeLabels(GraphTraversalSource traversalSource, Vertex schemaVertex) {
-        //Load the in edges via the out edges. This is necessary as the out vertex is needed to know the schema the edge is in.
-        //As all edges are already loaded via the out edges this will only set the in edge association.
-        List<Path> inEdges = traversalSource
-                .V(schemaVertex)
-                .out(SQLG_SCHEMA_SCHEMA_VERTEX_EDGE).as("vertex")
-                //a vertex does not necessarily have properties so use optional.
-                .optional(
-                        __.out(SQLG_SCHEMA_OUT_EDGES_EDGE).as("outEdgeVertex")
-                                .in(SQLG_SCHEMA_IN_EDGES_EDGE).as("inVertex")
-                                .in(SQLG_SCHEMA_SCHEMA_VERTEX_EDGE).as("inSchema")
-                )
-                .path()
-                .toList();
-        for (Path inEdgePath : inEdges) {
-            List<Set<String>> labelsList = inEdgePath.labels();
-            Vertex vertexVertex = null;
-            Vertex outEdgeVertex = null;
-            Vertex inVertex = null;
-            Vertex inSchemaVertex = null;
-            for (Set<String> labels : labelsList) {
-                for (String label : labels) {
-                    switch (label) {
-                        case "vertex":
-                            vertexVertex = inEdgePath.get("vertex");
-                            break;
-                        case "outEdgeVertex":
-                            outEdgeVertex = inEdgePath.get("outEdgeVertex");
-                            break;
-                        case "inVertex":
-                            inVertex = inEdgePath.get("inVertex");
-                            break;
-                        case "inSchema":
-                            inSchemaVertex = inEdgePath.get("inSchema");
-                            break;
-                        case BaseStrategy.SQLG_PATH_FAKE_LABEL:
-                        case MARKER:
-                            break;
-                        default:
-                            throw new IllegalStateException(String.format("BUG: Only \"vertex\", \"outEdgeVertex\" and \"inVertex\" are expected as a label. Found %s", label));
-                    }
-                }
-            }
-            Preconditions.checkState(vertexVertex != null, "BUG: Topology vertex not found.");
-            String schemaName = schemaVertex.value(SQLG_SCHEMA_SCHEMA_NAME);
-            String tableName = vertexVertex.value(SQLG_SCHEMA_VERTEX_LABEL_NAME);
-            VertexLabel vertexLabel = this.vertexLabels.get(schemaName + "." + VERTEX_PREFIX + tableName);
-            Preconditions.checkState(vertexLabel != null, "vertexLabel must be present when loading inEdges. Not found for %s", schemaName + "." + VERTEX_PREFIX + tableName);
-            if (outEdgeVertex != null) {
-                String edgeLabelName = outEdgeVertex.value(SQLG_SCHEMA_EDGE_LABEL_NAME);
-
-                //inVertex and inSchema must be present.
-                Preconditions.checkState(inVertex != null, "BUG: In vertex not found edge for \"%s\"", edgeLabelName);
-                Preconditions.checkState(inSchemaVertex != null, "BUG: In schema vertex not found for edge \"%s\"", edgeLabelName);
-
-                Optional<EdgeLabel> outEdgeLabelOptional = this.topology.getEdgeLabel(getName(), edgeLabelName);
-                Preconditions.checkState(outEdgeLabelOptional.isPresent(), "BUG: EdgeLabel for \"%s\" should already be loaded", getName() + "." + edgeLabelName);
-                EdgeLabel outEdgeLabel = outEdgeLabelOptional.get();
-
-                String inVertexLabelName = inVertex.value(SQLG_SCHEMA_VERTEX_LABEL_NAME);
-                String inSchemaVertexLabelName = inSchemaVertex.value(SQLG_SCHEMA_SCHEMA_NAME);
-                Optional<VertexLabel> vertexLabelOptional = this.topology.getVertexLabel(inSchemaVertexLabelName, inVertexLabelName);
-                Preconditions.checkState(vertexLabelOptional.isPresent(), "BUG: VertexLabel not found for schema %s and label %s", inSchemaVertexLabelName, inVertexLabelName);
-                VertexLabel inVertexLabel = vertexLabelOptional.get();
+    private static void loadPartitions(TopologyLoader topologyLoader, AbstractLabel abstractLabel, List<TopologyLoader.PartitionRow> partitionRows) {
+        for (TopologyLoader.PartitionRow partitionRow : partitionRows) {
+            Partition partition = abstractLabel.addPartition(partitionRow);
+            loadSubPartitions(topologyLoader, partition, partitionRow);
+        }
+    }
 
-                inVertexLabel.addToInEdgeLabels(outEdgeLabel);
-            }
+    private static void loadSubPartitions(TopologyLoader topologyLoader, Partition partition, TopologyLoader.PartitionRow partitionRow) {
+        for (TopologyLoader.PartitionRow subPartitionRow : topologyLoader.getSubPartitions(partitionRow.id)) {
+            Partition subPartition = partition.addPartition(subPartitionRow);
+            loadSubPartitions(topologyLoader, subPartition, subPartitionRow);
         }
     }
 
     /**
-     * load indices for (out) edges on all vertices of schema
+     * load indices for all vertices and their (out) edges in schema
      */
-    void loadEdgeIndices(GraphTraversalSource traversalSource, Vertex schemaVertex) {
-        List<Path> indices = traversalSource
-                .V(schemaVertex)
-                .out(SQLG_SCHEMA_SCHEMA_VERTEX_EDGE).as("vertex")
-                .out(SQLG_SCHEMA_OUT_EDGES_EDGE).as("outEdgeVertex")
-                .out(SQLG_SCHEMA_EDGE_INDEX_EDGE).as("index")
-                .outE(SQLG_SCHEMA_INDEX_PROPERTY_EDGE)
-                .order().by(SQLG_SCHEMA_INDEX_PROPERTY_EDGE_SEQUENCE)
-                .inV().as("property")
-                .path()
-                .toList();
-        for (Path vertexIndices : indices) {
-            Vertex vertexVertex = null;
-            Vertex vertexEdge = null;
-            Vertex vertexIndex = null;
-            Vertex propertyIndex = null;
-            List<Set<String>> labelsList = vertexIndices.labels();
-            for (Set<String> labels : labelsList) {
-                for (String label : labels) {
-                    switch (label) {
-                        case "vertex":
-                            vertexVertex = vertexIndices.get("vertex");
-                            break;
-                        case "outEdgeVertex":
-                            vertexEdge = vertexIndices.get("outEdgeVertex");
-                            break;
-                        case "index":
-                            vertexIndex = vertexIndices.get("index");
-                            break;
-                        case "property":
-                            propertyIndex = vertexIndices.get("property");
-                            break;
-                        case BaseStrategy.SQLG_PATH_FAKE_LABEL:
-                        case BaseStrategy.SQLG_PATH_ORDER_RANGE_LABEL:
-                        case MARKER:
-                            break;
-                        default:
-                            throw new IllegalStateException(String.format("BUG: Only \"vertex\",\"outEdgeVertex\",\"index\" and \"property\" is expected as a label. Found %s", label));
-                    }
+    void loadIndices(TopologyLoader topologyLoader) {
+        Set<Long> edgeLabelIds = new HashSet<>();
+        for (TopologyLoader.LabelRow vertexLabelRow : topologyLoader.getVertexLabels(this.name)) {
+            loadIndices(topologyLoader.getLoadedVertexLabel(vertexLabelRow.id), topologyLoader.getVertexIndexes(vertexLabelRow.id));
+            for (TopologyLoader.LabelRow edgeLabelRow : topologyLoader.getOutEdgeLabels(vertexLabelRow.id)) {
+                if (edgeLabelIds.add(edgeLabelRow.id)) {
+                    loadIndices(topologyLoader.getLoadedEdgeLabel(edgeLabelRow.id), topologyLoader.getEdgeIndexes(edgeLabelRow.id));
                 }
             }
-            Preconditions.checkState(vertexVertex != null, "BUG: Topology vertex not found.");
-            String schemaName = schemaVertex.value(SQLG_SCHEMA_SCHEMA_NAME);
-            String tableName = vertexVertex.value(SQLG_SCHEMA_VERTEX_LABEL_NAME);
-            VertexLabel vertexLabel = this.vertexLabels.get(schemaName + "." + VERTEX_PREFIX + tableName);
-            if (vertexLabel == null) {
-                vertexLabel = new VertexLabel(this, tableName);
-                this.vertexLabels.put(schemaName + "." + VERTEX_PREFIX + tableName, vertexLabel);
-            }
-            if (vertexEdge != null) {
-                String edgeName = vertexEdge.value(SQLG_SCHEMA_EDGE_LABEL_NAME);
-                Optional<EdgeLabel> oel = vertexLabel.getOutEdgeLabel(edgeName);
-                if (oel.isPresent()) {
-                    EdgeLabel edgeLabel = oel.get();
-                    if (vertexIndex != null) {
-                        String indexName = vertexIndex.value(SQLG_SCHEMA_INDEX_NAME);
-                        Optional<Index> oidx = edgeLabel.getIndex(indexName);
-                        Index idx;
-                        if (oidx.isPresent()) {
-                            idx = oidx.get();
-                        } else {
-                            idx = new Index(indexName, IndexType.fromString(vertexIndex.value(SQLG_SCHEMA_INDEX_INDEX_TYPE)), edgeLabel);
-                            edgeLabel.addIndex(idx);
-                        }
-                        if (propertyIndex != null) {
-                            String propertyName = propertyIndex.value(SQLG_SCHEMA_PROPERTY_NAME);
-                            edgeLabel.getProperty(propertyName).ifPresent(idx::addProperty);
-                        }
+        }
+    }
+
+    private static void loadIndices(AbstractLabel abstractLabel, List<TopologyLoader.IndexRow> indexRows) {
+        for (TopologyLoader.IndexRow indexRow : indexRows) {
+            Optional<Index> oidx = abstractLabel.getIndex(indexRow.name);
+            Index idx;
+            if (oidx.isPresent()) {
+                idx = oidx.get();
+            } else {
+                idx = new Index(indexRow.name, IndexType.fromString(indexRow.indexType), abstractLabel);
+                abstractLabel.addIndex(idx);
+            }
+            abstractLabel.getProperty(indexRow.property).ifPresent(idx::addProperty);
+        }
+    }
 
+    /**
+     * Sets the in vertex labels of the schema's edge labels. The in vertex labels can be in any schema, so all schemas'
+     * vertex labels must be loaded.
+     */
+    void loadInEdgeLabels(TopologyLoader topologyLoader) {
+        //As all edges are already loaded via the out edges this will only set the in edge association.
+        Set<Long> edgeLabelIds = new HashSet<>();
+        for (TopologyLoader.LabelRow vertexLabelRow : topologyLoader.getVertexLabels(this.name)) {
+            for (TopologyLoader.LabelRow edgeLabelRow : topologyLoader.getOutEdgeLabels(vertexLabelRow.id)) {
+                if (edgeLabelIds.add(edgeLabelRow.id)) {
+                    EdgeLabel outEdgeLabel = topologyLoader.getLoadedEdgeLabel(edgeLabelRow.id);
+                    for (Long inVertexLabelId : topologyLoader.getInVertexLabels(edgeLabelRow.id)) {
+                        VertexLabel inVertexLabel = topologyLoader.getLoadedVertexLabel(inVertexLabelId);
+                        Preconditions.checkState(inVertexLabel != null, "BUG: In vertex label not found for edge \"%s\"", getName() + "." + edgeLabelRow.name);
+                        inVertexLabel.addToInEdgeLabels(outEdgeLabel);
                     }
                 }
             }
@@ -1464,6 +1179,97 @@ public class Schema implements TopologyInf {
         return schemaNode;
     }
 
+    /**
+     * The committed vertex and edge labels for the {@link TopologySnapshot}.
+     * The edge labels are written with the schema of their out vertex labels.
+     */
+    JsonNode toSnapshotJson() {
+        ObjectNode schemaNode = new ObjectNode(Topology.OBJECT_MAPPER.getNodeFactory());
+        schemaNode.put("name", this.getName());
+        ArrayNode vertexLabelArrayNode = new ArrayNode(Topology.OBJECT_MAPPER.getNodeFactory());
+        for (VertexLabel vertexLabel : this.vertexLabels.values()) {
+            vertexLabelArrayNode.add(vertexLabel.toSnapshotJson());
+        }
+        schemaNode.set("vertexLabels", vertexLabelArrayNode);
+        ArrayNode edgeLabelArrayNode = new ArrayNode(Topology.OBJECT_MAPPER.getNodeFactory());
+        for (EdgeLabel edgeLabel : this.outEdgeLabels.values()) {
+            ObjectNode edgeLabelNode = edgeLabel.toSnapshotJson();
+            ArrayNode outVertexLabelArrayNode = new ArrayNode(Topology.OBJECT_MAPPER.getNodeFactory());
+            for (VertexLabel outVertexLabel : edgeLabel.outVertexLabels) {
+                outVertexLabelArrayNode.add(outVertexLabel.getLabel());
+            }
+            edgeLabelNode.set("outVertexLabels", outVertexLabelArrayNode);
+            ArrayNode inVertexLabelArrayNode = new ArrayNode(Topology.OBJECT_MAPPER.getNodeFactory());
+            for (VertexLabel inVertexLabel : edgeLabel.inVertexLabels) {
+                ObjectNode inVertexLabelNode = new ObjectNode(Topology.OBJECT_MAPPER.getNodeFactory());
+                inVertexLabelNode.put("schema", inVertexLabel.getSchema().getName());
+                inVertexLabelNode.put("label", inVertexLabel.getLabel());
+                inVertexLabelArrayNode.add(inVertexLabelNode);
+            }
+            edgeLabelNode.set("inVertexLabels", inVertexLabelArrayNode);
+            edgeLabelArrayNode.add(edgeLabelNode);
+        }
+        schemaNode.set("edgeLabels", edgeLabelArrayNode);
+        return schemaNode;
+    }
+
+    /**
+     * Loads the vertex labels, edge labels and out edges written by {@link #toSnapshotJson()}.
+     * The in edges are loaded by {@link #fromSnapshotJsonInEdges(JsonNode)} once every schema's vertex labels are loaded.
+     */
+    void fromSnapshotJson(JsonNode schemaNode) {
+        for (JsonNode vertexLabelNode : schemaNode.get("vertexLabels")) {
+            String vertexLabelName = vertexLabelNode.get("label").asText();
+            VertexLabel vertexLabel = this.vertexLabels.get(this.name + "." + VERTEX_PREFIX + vertexLabelName);
+            if (vertexLabel == null) {
+                vertexLabel = new VertexLabel(this, vertexLabelName);
+                this.vertexLabels.put(this.name + "." + VERTEX_PREFIX + vertexLabelName, vertexLabel);
+            }
+            vertexLabel.fromSnapshotJson(vertexLabelNode);
+        }
+        for (JsonNode edgeLabelNode : schemaNode.get("edgeLabels")) {
+            String edgeLabelName = edgeLabelNode.get("label").asText();
+            EdgeLabel edgeLabel = getEdgeLabel(edgeLabelName).orElseGet(() -> EdgeLabel.loadFromDb(this.topology, edgeLabelName));
+            for (JsonNode outVertexLabelNode : edgeLabelNode.get("outVertexLabels")) {
+                VertexLabel outVertexLabel = this.vertexLabels.get(this.name + "." + VERTEX_PREFIX + outVertexLabelNode.asText());
+                Preconditions.checkState(outVertexLabel != null, "BUG: VertexLabel %s not found for edge %s", outVertexLabelNode.asText(), edgeLabelName);
+                outVertexLabel.addToOutEdgeLabels(this.name, edgeLabel);
+            }
+            edgeLabel.fromSnapshotJson(edgeLabelNode);
+            this.outEdgeLabels.put(this.name + "." + EDGE_PREFIX + edgeLabelName, edgeLabel);
+        }
+    }
+
+    void fromSnapshotJsonInEdges(JsonNode schemaNode) {
+        for (JsonNode edgeLabelNode : schemaNode.get("edgeLabels")) {
+            EdgeLabel edgeLabel = this.outEdgeLabels.get(this.name + "." + EDGE_PREFIX + edgeLabelNode.get("label").asText());
+            for (JsonNode inVertexLabelNode : edgeLabelNode.get("inVertexLabels")) {
+                String inSchemaName = inVertexLabelNode.get("schema").asText();
+                String inVertexLabelName = inVertexLabelNode.get("label").asText();
+                Optional<VertexLabel> vertexLabelOptional = this.topology.getVertexLabel(inSchemaName, inVertexLabelName);
+                Preconditions.checkState(vertexLabelOptional.isPresent(), "BUG: VertexLabel not found for schema %s and label %s", inSchemaName, inVertexLabelName);
+                vertexLabelOptional.get().addToInEdgeLabels(edgeLabel);
+            }
+        }
+    }
+
+    /**
+     * @return true if the labels can be written to a {@link TopologySnapshot}, partitions and sharding are not.
+     */
+    boolean canSnapshot() {
+        for (VertexLabel vertexLabel : this.vertexLabels.values()) {
+            if (vertexLabel.isPartition() || vertexLabel.isDistributed()) {
+                return false;
+            }
+        }
+        for (EdgeLabel edgeLabel : this.outEdgeLabels.values()) {
+            if (edgeLabel.isPartition() || edgeLabel.isDistributed()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     Optional<JsonNode> toNotifyJson() {
         boolean foundVertexLabels = false;
         ObjectNode schemaNode = new ObjectNode(Topology.OBJECT_MAPPER.getNodeFactory());
@@ -15,6 +15,7 @@ import org.umlg.sqlg.sql.dialect.SqlSchemaChangeDialect;
 import org.umlg.sqlg.structure.*;
 import org.umlg.sqlg.util.ThreadLocalMap;
 
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
@@ -23,7 +24,9 @@ import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -75,7 +78,10 @@ public class Topology {
     private final Set<Integer> ownPids = Collections.synchronizedSet(new HashSet<>());
 
     private final List<TopologyValidationError> validationErrors = new ArrayList<>();
+    private volatile boolean validateTopologyOnRequest;
     private final List<TopologyListener> topologyListeners = new ArrayList<>();
+    //Incremented on every topology change, committed or not. Caches derived from the topology use it to detect staleness.
+    private final AtomicLong version = new AtomicLong();
 
     @SuppressWarnings("WeakerAccess")
     public static final String CREATED_ON = "createdOn";
@@ -501,9 +507,24 @@ public class Topology {
     }
 
     public List<TopologyValidationError> getValidationErrors() {
+        if (this.validateTopologyOnRequest) {
+            synchronized (this.validationErrors) {
+                if (this.validateTopologyOnRequest) {
+                    validateTopology();
+                    this.validateTopologyOnRequest = false;
+                }
+            }
+        }
         return this.validationErrors;
     }
 
+    /**
+     * Defers {@link #validateTopology()} to the first {@link #getValidationErrors()}.
+     */
+    public void validateTopologyOnRequest() {
+        this.validateTopologyOnRequest = true;
+    }
+
     public boolean isImplementingForeignKeys() {
         return this.sqlgGraph.configuration().getBoolean("implement.foreign.keys", true);
     }
@@ -537,7 +558,7 @@ public class Topology {
         return this.locked;
     }
 
-    boolean isSchemaChanged() {
+    public boolean isSchemaChanged() {
         return this.schemaChanged.get();
     }
 
@@ -936,13 +957,17 @@ public class Topology {
     }
 
     private void beforeCommit() {
-        if (this.distributed && isSchemaChanged()) {
+        if (isSchemaChanged()) {
             Optional<JsonNode> jsonNodeOptional = this.toNotifyJson();
             if (jsonNodeOptional.isPresent()) {
-                SqlSchemaChangeDialect sqlSchemaChangeDialect = (SqlSchemaChangeDialect) this.sqlgGraph.getSqlDialect();
                 LocalDateTime timestamp = LocalDateTime.now();
-                int pid = sqlSchemaChangeDialect.notifyChange(this.sqlgGraph, timestamp, jsonNodeOptional.get());
-                this.ownPids.add(pid);
+                //Invalidates the topology snapshots of every graph.
+                TopologyManager.updateGraphUpdatedOn(this.sqlgGraph, timestamp);
+                if (this.distributed) {
+                    SqlSchemaChangeDialect sqlSchemaChangeDialect = (SqlSchemaChangeDialect) this.sqlgGraph.getSqlDialect();
+                    int pid = sqlSchemaChangeDialect.notifyChange(this.sqlgGraph, timestamp, jsonNodeOptional.get());
+                    this.ownPids.add(pid);
+                }
             }
         }
     }
@@ -1011,6 +1036,7 @@ public class Topology {
                 for (Schema schema : this.schemas.values()) {
                     schema.afterCommit();
                 }
+                this.version.incrementAndGet();
             }
         } finally {
             z_internalSqlWriteUnlock();
@@ -1030,6 +1056,7 @@ public class Topology {
             for (Schema schema : this.schemas.values()) {
                 schema.afterRollback();
             }
+            this.version.incrementAndGet();
             z_internalSqlWriteUnlock();
             this.schemaChanged.set(false);
         }
@@ -1064,10 +1091,11 @@ public class Topology {
                 .toList();
         Preconditions.checkState(logs.size() <= 1, "must load one or zero logs in cacheTopology");
 
-        //First load all VertexLabels, their out edges and properties
-        List<Vertex> schemaVertices = traversalSource.V().hasLabel(SQLG_SCHEMA + "." + SQLG_SCHEMA_SCHEMA).toList();
-        for (Vertex schemaVertex : schemaVertices) {
-            String schemaName = schemaVertex.value("name");
+        //Load the VertexLabels, their out edges, properties, indices and partitions of every schema, one query each.
+        TopologyLoader topologyLoader = new TopologyLoader(this.sqlgGraph);
+        topologyLoader.load();
+        List<Schema> schemas = new ArrayList<>();
+        for (String schemaName : topologyLoader.getSchemaNames()) {
             Optional<Schema> schemaOptional = getSchema(schemaName);
             Schema schema;
             if (schemaOptional.isEmpty()) {
@@ -1076,21 +1104,72 @@ public class Topology {
             } else {
                 schema = schemaOptional.get();
             }
-            schema.loadVertexOutEdgesAndProperties(traversalSource, schemaVertex);
-            // load vertex and edge indices
-            schema.loadVertexIndices(traversalSource, schemaVertex);
-            schema.loadEdgeIndices(traversalSource, schemaVertex);
-        }
-        //Now load the in edges
-        schemaVertices = traversalSource.V().hasLabel(SQLG_SCHEMA + "." + SQLG_SCHEMA_SCHEMA).toList();
-        for (Vertex schemaVertex : schemaVertices) {
-            String schemaName = schemaVertex.value("name");
-            Optional<Schema> schemaOptional = getSchema(schemaName);
-            Preconditions.checkState(schemaOptional.isPresent(), "schema \"%s\" must be present when loading in edges.", schemaName);
-            Schema schema = schemaOptional.get();
-            schema.loadInEdgeLabels(traversalSource, schemaVertex);
+            schemas.add(schema);
+        }
+        //A schema's vertex labels, out edge labels and their indices only reference labels of the same schema.
+        assembleSchemas(schemas, schema -> {
+            schema.loadVertexOutEdgesAndProperties(topologyLoader);
+            schema.loadIndices(topologyLoader);
+        });
+        //Now load the in edges, they connect the vertex labels of different schemas.
+        for (Schema schema : schemas) {
+            schema.loadInEdgeLabels(topologyLoader);
+        }
+
+        cacheTables();
+    }
+
+    /**
+     * Assembles the schemas in parallel on the common fork join pool, the calling thread joins in.
+     * The workers do not have the calling thread's schemaChanged flag, so the assembly only uses the labels' load
+     * methods, which do not check it.
+     */
+    private void assembleSchemas(List<Schema> schemas, Consumer<Schema> assemble) {
+        Preconditions.checkState(isSchemaChanged(), "Topology.assembleSchemas must have schemaChanged = true");
+        schemas.parallelStream().forEach(assemble);
+    }
+
+    /**
+     * Caches the topology from the {@link TopologySnapshot} file if it was written for the current topology, else from
+     * sqlg_schema, after which the snapshot file is written.
+     *
+     * @param snapshotPath The snapshot file.
+     * @return true if the topology was loaded from the snapshot file.
+     */
+    public boolean cacheTopology(Path snapshotPath) {
+        TopologySnapshot topologySnapshot = new TopologySnapshot(this.sqlgGraph, snapshotPath);
+        Optional<JsonNode> snapshotOptional = topologySnapshot.read();
+        if (snapshotOptional.isPresent()) {
+            this.startSchemaChange();
+            JsonNode schemas = snapshotOptional.get().get("schemas");
+            for (JsonNode schemaNode : schemas) {
+                String schemaName = schemaNode.get("name").asText();
+                Schema schema = getSchema(schemaName).orElseGet(() -> Schema.loadUserSchema(this, schemaName));
+                this.schemas.put(schemaName, schema);
+                schema.fromSnapshotJson(schemaNode);
+            }
+            //Now load the in edges
+            for (JsonNode schemaNode : schemas) {
+                this.schemas.get(schemaNode.get("name").asText()).fromSnapshotJsonInEdges(schemaNode);
+            }
+            cacheTables();
+            return true;
+        } else {
+            cacheTopology();
+            if (this.schemas.values().stream().allMatch(Schema::canSnapshot)) {
+                ArrayNode schemaArrayNode = new ArrayNode(OBJECT_MAPPER.getNodeFactory());
+                for (Schema schema : this.schemas.values()) {
+                    if (!schema.isSqlgSchema()) {
+                        schemaArrayNode.add(schema.toSnapshotJson());
+                    }
+                }
+                topologySnapshot.write(schemaArrayNode);
+            }
+            return false;
         }
+    }
 
+    private void cacheTables() {
         //populate the allTablesCache
         for (Schema schema : this.schemas.values()) {
             if (!schema.isSqlgSchema()) {
@@ -1210,6 +1289,7 @@ public class Topology {
                 Preconditions.checkState(backEndPid == pid, "notify pids do not match.");
                 ObjectNode log = logs.get(0).value("log");
                 fromNotifyJson(log);
+                this.version.incrementAndGet();
             }
         } finally {
             this.sqlgGraph.tx().rollback();
@@ -1428,41 +1508,56 @@ public class Topology {
             return Collections.unmodifiableMap(this.sqlgSchemaTableCache);
         } else {
             if (isSchemaChanged()) {
-                //Need to make a copy so as not to corrupt the allTableCache with uncommitted schema elements
-                Map<String, Map<String, PropertyType>> result;
-                result = new HashMap<>();
-                for (Map.Entry<String, Map<String, PropertyType>> allTableCacheMapEntry : this.allTableCache.entrySet()) {
-                    String key = allTableCacheMapEntry.getKey();
-                    SchemaTable schemaTable = SchemaTable.from(this.sqlgGraph, key);
-                    if (!this.uncommittedRemovedSchemas.contains(schemaTable.getSchema())) {
-                        result.put(key, new HashMap<>(allTableCacheMapEntry.getValue()));
-                    }
-                }
-                Map<String, AbstractLabel> uncommittedLabels = this.getUncommittedAllTables();
-                for (String table : uncommittedLabels.keySet()) {
-                    Map<String, PropertyType> propertyTypeMap = result.get(table);
-                    if (propertyTypeMap != null) {
-                        propertyTypeMap.putAll(uncommittedLabels.get(table).getPropertyTypeMap());
-                    } else {
-                        result.put(table, uncommittedLabels.get(table).getPropertyTypeMap());
-                    }
-                }
-                for (Schema s : this.schemas.values()) {
-                    for (String removed : s.uncommittedRemovedVertexLabels) {
-                        result.remove(removed);
-                    }
-                    for (String removed : s.uncommittedRemovedEdgeLabels) {
-                        result.remove(removed);
-                    }
-                }
-                return Collections.unmodifiableMap(result);
-
+                //A read through view, copying the allTableCache on every call makes single table lookups O(all tables)
+                return new UncommittedAllTables();
             } else {
                 return Collections.unmodifiableMap(this.allTableCache);
             }
         }
     }
 
+    /**
+     * Looks up a table's properties including the current thread's uncommitted schema changes.
+     * The committed property map is returned as is if the label has no uncommitted property changes.
+     *
+     * @param schemaTable The table prefixed with {@link #VERTEX_PREFIX} or {@link #EDGE_PREFIX}, i.e. 'public.V_Person'
+     * @return the table's properties or null if the table does not exist.
+     */
+    private Map<String, PropertyType> getUncommittedTableFor(String schemaTable) {
+        int indexOfPeriod = schemaTable.indexOf(".");
+        if (indexOfPeriod == -1) {
+            return null;
+        }
+        String schemaName = schemaTable.substring(0, indexOfPeriod);
+        String table = schemaTable.substring(indexOfPeriod + 1);
+        if (schemaName.equals(SQLG_SCHEMA)) {
+            return null;
+        }
+        boolean schemaRemoved = this.uncommittedRemovedSchemas.contains(schemaName);
+        Schema schema = schemaRemoved ? this.uncommittedSchemas.get(schemaName) : getSchema(schemaName).orElse(null);
+        if (schema == null) {
+            return null;
+        }
+        AbstractLabel abstractLabel;
+        if (table.startsWith(VERTEX_PREFIX)) {
+            abstractLabel = schema.getVertexLabel(table.substring(VERTEX_PREFIX.length())).orElse(null);
+        } else if (table.startsWith(EDGE_PREFIX)) {
+            abstractLabel = schema.getEdgeLabel(table.substring(EDGE_PREFIX.length())).orElse(null);
+        } else {
+            return null;
+        }
+        if (abstractLabel == null) {
+            return null;
+        }
+        if (!schemaRemoved && abstractLabel.getUncommittedPropertyTypeMap().isEmpty() && abstractLabel.getUncommittedRemovedProperties().isEmpty()) {
+            Map<String, PropertyType> committed = this.allTableCache.get(schemaTable);
+            if (committed != null) {
+                return committed;
+            }
+        }
+        return abstractLabel.getPropertyTypeMap();
+    }
+
     @SuppressWarnings("unused")
     public Map<String, PropertyColumn> getPropertiesFor(SchemaTable schemaTable) {
         Optional<Schema> schemaOptional = getSchema(schemaTable.getSchema());
@@ -1700,11 +1795,22 @@ public class Topology {
         }
     }
 
+    /**
+     * The topology's version is incremented on every change to the topology, including commits and rollbacks of
+     * changes and changes received from other graphs.
+     *
+     * @return the current version of the topology.
+     */
+    public long getVersion() {
+        return this.version.get();
+    }
+
     public void registerListener(TopologyListener topologyListener) {
         this.topologyListeners.add(topologyListener);
     }
 
     void fire(TopologyInf topologyInf, TopologyInf oldValue, TopologyChangeAction action) {
+        this.version.incrementAndGet();
         for (TopologyListener topologyListener : this.topologyListeners) {
             topologyListener.change(topologyInf, oldValue, action);
         }
@@ -1749,6 +1855,40 @@ public class Topology {
         }
     }
 
+    /**
+     * The tables as seen by a thread with uncommitted schema changes.
+     * Lookups go to the thread's uncommitted labels and fall through to the allTableCache, only iterating visits all tables.
+     */
+    private final class UncommittedAllTables extends AbstractMap<String, Map<String, PropertyType>> {
+
+        @Override
+        public Map<String, PropertyType> get(Object key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            return getUncommittedTableFor((String) key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Set<Entry<String, Map<String, PropertyType>>> entrySet() {
+            Set<String> tables = new HashSet<>(Topology.this.allTableCache.keySet());
+            tables.addAll(getUncommittedAllTables().keySet());
+            Set<Entry<String, Map<String, PropertyType>>> result = new HashSet<>();
+            for (String table : tables) {
+                Map<String, PropertyType> propertyTypeMap = get(table);
+                if (propertyTypeMap != null) {
+                    result.add(new SimpleImmutableEntry<>(table, Collections.unmodifiableMap(propertyTypeMap)));
+                }
+            }
+            return Collections.unmodifiableSet(result);
+        }
+    }
+
     public static class TopologyValidationError {
         private final TopologyInf error;
 
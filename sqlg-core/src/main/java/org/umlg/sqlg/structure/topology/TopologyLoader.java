@@ -0,0 +1,363 @@
+package org.umlg.sqlg.structure.topology;
+
+import org.umlg.sqlg.sql.dialect.SqlDialect;
+import org.umlg.sqlg.structure.SqlgGraph;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.umlg.sqlg.structure.topology.Topology.*;
+
+/**
+ * Reads the topology of every schema from sqlg_schema with a fixed number of queries, one per sqlg_schema table that
+ * is needed, instead of traversing sqlg_schema per schema.
+ * <p>
+ * The rows are kept by the id of the vertex label, edge label or partition they belong to. Only the vertex labels are
+ * kept per schema, as every other row can be reached from them a schema can be assembled independently of the others.
+ */
+final class TopologyLoader {
+
+    private final SqlgGraph sqlgGraph;
+    private final SqlDialect sqlDialect;
+
+    private final List<String> schemaNames = new ArrayList<>();
+    private final Map<String, List<LabelRow>> vertexLabels = new HashMap<>();
+    private final Map<Long, List<PropertyRow>> vertexProperties = new HashMap<>();
+    private final Map<Long, List<PropertyRow>> vertexIdentifiers = new HashMap<>();
+    private final Map<Long, PropertyRow> vertexDistributionProperties = new HashMap<>();
+    private final Map<Long, String> vertexDistributionColocates = new HashMap<>();
+    private final Map<Long, List<PartitionRow>> vertexPartitions = new HashMap<>();
+    private final Map<Long, List<IndexRow>> vertexIndexes = new HashMap<>();
+    private final Map<Long, List<LabelRow>> outEdgeLabels = new HashMap<>();
+    private final Map<Long, List<PropertyRow>> edgeProperties = new HashMap<>();
+    private final Map<Long, List<PropertyRow>> edgeIdentifiers = new HashMap<>();
+    private final Map<Long, PropertyRow> edgeDistributionProperties = new HashMap<>();
+    private final Map<Long, String> edgeDistributionColocates = new HashMap<>();
+    private final Map<Long, List<PartitionRow>> edgePartitions = new HashMap<>();
+    private final Map<Long, List<IndexRow>> edgeIndexes = new HashMap<>();
+    private final Map<Long, List<PartitionRow>> subPartitions = new HashMap<>();
+    private final Map<Long, List<Long>> inVertexLabels = new HashMap<>();
+
+    //The labels as the schemas are assembled, to set the in edges that connect the labels of different schemas.
+    private final Map<Long, VertexLabel> loadedVertexLabels = new ConcurrentHashMap<>();
+    private final Map<Long, EdgeLabel> loadedEdgeLabels = new ConcurrentHashMap<>();
+
+    TopologyLoader(SqlgGraph sqlgGraph) {
+        this.sqlgGraph = sqlgGraph;
+        this.sqlDialect = sqlgGraph.getSqlDialect();
+    }
+
+    void load() {
+        Connection conn = this.sqlgGraph.tx().getConnection();
+        try (Statement statement = conn.createStatement()) {
+            try (ResultSet rs = statement.executeQuery(sql("SELECT " + q(SQLG_SCHEMA_SCHEMA_NAME) + " FROM " + table(VERTEX_PREFIX + SQLG_SCHEMA_SCHEMA)))) {
+                while (rs.next()) {
+                    this.schemaNames.add(rs.getString(1));
+                }
+            }
+            try (ResultSet rs = statement.executeQuery(sql("SELECT s." + q(SQLG_SCHEMA_SCHEMA_NAME) + ", " + labelColumns("v") +
+                    " FROM " + table(VERTEX_PREFIX + SQLG_SCHEMA_SCHEMA) + " s" +
+                    " JOIN " + table(EDGE_PREFIX + SQLG_SCHEMA_SCHEMA_VERTEX_EDGE) + " sv ON s." + q("ID") + " = sv." + out(SQLG_SCHEMA_SCHEMA) +
+                    " JOIN " + table(VERTEX_PREFIX + SQLG_SCHEMA_VERTEX_LABEL) + " v ON sv." + in(SQLG_SCHEMA_VERTEX_LABEL) + " = v." + q("ID")))) {
+                while (rs.next()) {
+                    this.vertexLabels.computeIfAbsent(rs.getString(1), k -> new ArrayList<>()).add(new LabelRow(rs, 2));
+                }
+            }
+            loadProperties(statement, SQLG_SCHEMA_VERTEX_PROPERTIES_EDGE, SQLG_SCHEMA_VERTEX_LABEL, this.vertexProperties);
+            loadIdentifiers(statement, SQLG_SCHEMA_VERTEX_IDENTIFIER_EDGE, SQLG_SCHEMA_VERTEX_LABEL, SQLG_SCHEMA_VERTEX_IDENTIFIER_INDEX_EDGE, this.vertexIdentifiers);
+            loadIndexes(statement, SQLG_SCHEMA_VERTEX_INDEX_EDGE, SQLG_SCHEMA_VERTEX_LABEL, this.vertexIndexes);
+
+            try (ResultSet rs = statement.executeQuery(sql("SELECT oe." + out(SQLG_SCHEMA_VERTEX_LABEL) + ", " + labelColumns("e") +
+                    " FROM " + table(EDGE_PREFIX + SQLG_SCHEMA_OUT_EDGES_EDGE) + " oe" +
+                    " JOIN " + table(VERTEX_PREFIX + SQLG_SCHEMA_EDGE_LABEL) + " e ON oe." + in(SQLG_SCHEMA_EDGE_LABEL) + " = e." + q("ID")))) {
+                while (rs.next()) {
+                    this.outEdgeLabels.computeIfAbsent(rs.getLong(1), k -> new ArrayList<>()).add(new LabelRow(rs, 2));
+                }
+            }
+            try (ResultSet rs = statement.executeQuery(sql("SELECT " + in(SQLG_SCHEMA_EDGE_LABEL) + ", " + out(SQLG_SCHEMA_VERTEX_LABEL) +
+                    " FROM " + table(EDGE_PREFIX + SQLG_SCHEMA_IN_EDGES_EDGE)))) {
+                while (rs.next()) {
+                    this.inVertexLabels.computeIfAbsent(rs.getLong(1), k -> new ArrayList<>()).add(rs.getLong(2));
+                }
+            }
+            loadProperties(statement, SQLG_SCHEMA_EDGE_PROPERTIES_EDGE, SQLG_SCHEMA_EDGE_LABEL, this.edgeProperties);
+            loadIdentifiers(statement, SQLG_SCHEMA_EDGE_IDENTIFIER_EDGE, SQLG_SCHEMA_EDGE_LABEL, SQLG_SCHEMA_EDGE_IDENTIFIER_INDEX_EDGE, this.edgeIdentifiers);
+            loadIndexes(statement, SQLG_SCHEMA_EDGE_INDEX_EDGE, SQLG_SCHEMA_EDGE_LABEL, this.edgeIndexes);
+
+            loadPartitions(statement);
+            if (this.sqlDialect.supportsDistribution()) {
+                loadDistribution(statement, SQLG_SCHEMA_VERTEX_DISTRIBUTION_COLUMN_EDGE, SQLG_SCHEMA_VERTEX_DISTRIBUTION_COLOCATE_EDGE,
+                        SQLG_SCHEMA_VERTEX_LABEL, this.vertexDistributionProperties, this.vertexDistributionColocates);
+                loadDistribution(statement, SQLG_SCHEMA_EDGE_DISTRIBUTION_COLUMN_EDGE, SQLG_SCHEMA_EDGE_DISTRIBUTION_COLOCATE_EDGE,
+                        SQLG_SCHEMA_EDGE_LABEL, this.edgeDistributionProperties, this.edgeDistributionColocates);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void loadProperties(Statement statement, String edge, String label, Map<Long, List<PropertyRow>> result) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql("SELECT lp." + out(label) + ", p." + q(SQLG_SCHEMA_PROPERTY_NAME) + ", p." + q(SQLG_SCHEMA_PROPERTY_TYPE) +
+                " FROM " + table(EDGE_PREFIX + edge) + " lp" +
+                " JOIN " + table(VERTEX_PREFIX + SQLG_SCHEMA_PROPERTY) + " p ON lp." + in(SQLG_SCHEMA_PROPERTY) + " = p." + q("ID")))) {
+            while (rs.next()) {
+                result.computeIfAbsent(rs.getLong(1), k -> new ArrayList<>()).add(new PropertyRow(rs.getString(2), rs.getString(3), -1));
+            }
+        }
+    }
+
+    private void loadIdentifiers(Statement statement, String edge, String label, String identifierIndex, Map<Long, List<PropertyRow>> result) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql("SELECT li." + out(label) + ", p." + q(SQLG_SCHEMA_PROPERTY_NAME) + ", p." + q(SQLG_SCHEMA_PROPERTY_TYPE) + ", li." + q(identifierIndex) +
+                " FROM " + table(EDGE_PREFIX + edge) + " li" +
+                " JOIN " + table(VERTEX_PREFIX + SQLG_SCHEMA_PROPERTY) + " p ON li." + in(SQLG_SCHEMA_PROPERTY) + " = p." + q("ID")))) {
+            while (rs.next()) {
+                result.computeIfAbsent(rs.getLong(1), k -> new ArrayList<>()).add(new PropertyRow(rs.getString(2), rs.getString(3), rs.getInt(4)));
+            }
+        }
+    }
+
+    private void loadIndexes(Statement statement, String edge, String label, Map<Long, List<IndexRow>> result) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql("SELECT li." + out(label) + ", i." + q(SQLG_SCHEMA_INDEX_NAME) + ", i." + q(SQLG_SCHEMA_INDEX_INDEX_TYPE) + ", p." + q(SQLG_SCHEMA_PROPERTY_NAME) +
+                " FROM " + table(EDGE_PREFIX + edge) + " li" +
+                " JOIN " + table(VERTEX_PREFIX + SQLG_SCHEMA_INDEX) + " i ON li." + in(SQLG_SCHEMA_INDEX) + " = i." + q("ID") +
+                " JOIN " + table(EDGE_PREFIX + SQLG_SCHEMA_INDEX_PROPERTY_EDGE) + " ip ON i." + q("ID") + " = ip." + out(SQLG_SCHEMA_INDEX) +
+                " JOIN " + table(VERTEX_PREFIX + SQLG_SCHEMA_PROPERTY) + " p ON ip." + in(SQLG_SCHEMA_PROPERTY) + " = p." + q("ID") +
+                " ORDER BY ip." + q(SQLG_SCHEMA_INDEX_PROPERTY_EDGE_SEQUENCE)))) {
+            while (rs.next()) {
+                result.computeIfAbsent(rs.getLong(1), k -> new ArrayList<>()).add(new IndexRow(rs.getString(2), rs.getString(3), rs.getString(4)));
+            }
+        }
+    }
+
+    private void loadPartitions(Statement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql("SELECT vp." + out(SQLG_SCHEMA_VERTEX_LABEL) + ", ep." + out(SQLG_SCHEMA_EDGE_LABEL) + ", pp." + out(SQLG_SCHEMA_PARTITION) +
+                ", p." + q(SQLG_SCHEMA_PARTITION_NAME) + ", p." + q(SQLG_SCHEMA_PARTITION_FROM) + ", p." + q(SQLG_SCHEMA_PARTITION_TO) + ", p." + q(SQLG_SCHEMA_PARTITION_IN) +
+                ", p." + q(SQLG_SCHEMA_PARTITION_MODULUS) + ", p." + q(SQLG_SCHEMA_PARTITION_REMAINDER) +
+                ", p." + q(SQLG_SCHEMA_PARTITION_PARTITION_TYPE) + ", p." + q(SQLG_SCHEMA_PARTITION_PARTITION_EXPRESSION) + ", p." + q("ID") +
+                " FROM " + table(VERTEX_PREFIX + SQLG_SCHEMA_PARTITION) + " p" +
+                " LEFT JOIN " + table(EDGE_PREFIX + SQLG_SCHEMA_VERTEX_PARTITION_EDGE) + " vp ON p." + q("ID") + " = vp." + in(SQLG_SCHEMA_PARTITION) +
+                " LEFT JOIN " + table(EDGE_PREFIX + SQLG_SCHEMA_EDGE_PARTITION_EDGE) + " ep ON p." + q("ID") + " = ep." + in(SQLG_SCHEMA_PARTITION) +
+                " LEFT JOIN " + table(EDGE_PREFIX + SQLG_SCHEMA_PARTITION_PARTITION_EDGE) + " pp ON p." + q("ID") + " = pp." + in(SQLG_SCHEMA_PARTITION)))) {
+            while (rs.next()) {
+                PartitionRow partitionRow = new PartitionRow(rs);
+                long vertexId = rs.getLong(1);
+                if (!rs.wasNull()) {
+                    this.vertexPartitions.computeIfAbsent(vertexId, k -> new ArrayList<>()).add(partitionRow);
+                }
+                long edgeId = rs.getLong(2);
+                if (!rs.wasNull()) {
+                    this.edgePartitions.computeIfAbsent(edgeId, k -> new ArrayList<>()).add(partitionRow);
+                }
+                long parentId = rs.getLong(3);
+                if (!rs.wasNull()) {
+                    this.subPartitions.computeIfAbsent(parentId, k -> new ArrayList<>()).add(partitionRow);
+                }
+            }
+        }
+    }
+
+    private void loadDistribution(Statement statement, String distributionEdge, String colocateEdge, String label,
+                                  Map<Long, PropertyRow> distributionProperties, Map<Long, String> colocates) throws SQLException {
+
+        try (ResultSet rs = statement.executeQuery(sql("SELECT ld." + out(label) + ", p." + q(SQLG_SCHEMA_PROPERTY_NAME) + ", p." + q(SQLG_SCHEMA_PROPERTY_TYPE) +
+                " FROM " + table(EDGE_PREFIX + distributionEdge) + " ld" +
+                " JOIN " + table(VERTEX_PREFIX + SQLG_SCHEMA_PROPERTY) + " p ON ld." + in(SQLG_SCHEMA_PROPERTY) + " = p." + q("ID")))) {
+            while (rs.next()) {
+                distributionProperties.put(rs.getLong(1), new PropertyRow(rs.getString(2), rs.getString(3), -1));
+            }
+        }
+        try (ResultSet rs = statement.executeQuery(sql("SELECT lc." + out(label) + ", v." + q(SQLG_SCHEMA_VERTEX_LABEL_NAME) +
+                " FROM " + table(EDGE_PREFIX + colocateEdge) + " lc" +
+                " JOIN " + table(VERTEX_PREFIX + SQLG_SCHEMA_VERTEX_LABEL) + " v ON lc." + in(SQLG_SCHEMA_VERTEX_LABEL) + " = v." + q("ID")))) {
+            while (rs.next()) {
+                colocates.put(rs.getLong(1), rs.getString(2));
+            }
+        }
+    }
+
+    List<String> getSchemaNames() {
+        return this.schemaNames;
+    }
+
+    List<LabelRow> getVertexLabels(String schemaName) {
+        return this.vertexLabels.getOrDefault(schemaName, Collections.emptyList());
+    }
+
+    List<PropertyRow> getVertexProperties(long vertexLabelId) {
+        return this.vertexProperties.getOrDefault(vertexLabelId, Collections.emptyList());
+    }
+
+    List<PropertyRow> getVertexIdentifiers(long vertexLabelId) {
+        return this.vertexIdentifiers.getOrDefault(vertexLabelId, Collections.emptyList());
+    }
+
+    PropertyRow getVertexDistributionProperty(long vertexLabelId) {
+        return this.vertexDistributionProperties.get(vertexLabelId);
+    }
+
+    String getVertexDistributionColocate(long vertexLabelId) {
+        return this.vertexDistributionColocates.get(vertexLabelId);
+    }
+
+    List<PartitionRow> getVertexPartitions(long vertexLabelId) {
+        return this.vertexPartitions.getOrDefault(vertexLabelId, Collections.emptyList());
+    }
+
+    List<IndexRow> getVertexIndexes(long vertexLabelId) {
+        return this.vertexIndexes.getOrDefault(vertexLabelId, Collections.emptyList());
+    }
+
+    List<LabelRow> getOutEdgeLabels(long vertexLabelId) {
+        return this.outEdgeLabels.getOrDefault(vertexLabelId, Collections.emptyList());
+    }
+
+    List<PropertyRow> getEdgeProperties(long edgeLabelId) {
+        return this.edgeProperties.getOrDefault(edgeLabelId, Collections.emptyList());
+    }
+
+    List<PropertyRow> getEdgeIdentifiers(long edgeLabelId) {
+        return this.edgeIdentifiers.getOrDefault(edgeLabelId, Collections.emptyList());
+    }
+
+    PropertyRow getEdgeDistributionProperty(long edgeLabelId) {
+        return this.edgeDistributionProperties.get(edgeLabelId);
+    }
+
+    String getEdgeDistributionColocate(long edgeLabelId) {
+        return this.edgeDistributionColocates.get(edgeLabelId);
+    }
+
+    List<PartitionRow> getEdgePartitions(long edgeLabelId) {
+        return this.edgePartitions.getOrDefault(edgeLabelId, Collections.emptyList());
+    }
+
+    List<IndexRow> getEdgeIndexes(long edgeLabelId) {
+        return this.edgeIndexes.getOrDefault(edgeLabelId, Collections.emptyList());
+    }
+
+    List<PartitionRow> getSubPartitions(long partitionId) {
+        return this.subPartitions.getOrDefault(partitionId, Collections.emptyList());
+    }
+
+    List<Long> getInVertexLabels(long edgeLabelId) {
+        return this.inVertexLabels.getOrDefault(edgeLabelId, Collections.emptyList());
+    }
+
+    void vertexLabelLoaded(long vertexLabelId, VertexLabel vertexLabel) {
+        this.loadedVertexLabels.put(vertexLabelId, vertexLabel);
+    }
+
+    void edgeLabelLoaded(long edgeLabelId, EdgeLabel edgeLabel) {
+        this.loadedEdgeLabels.put(edgeLabelId, edgeLabel);
+    }
+
+    VertexLabel getLoadedVertexLabel(long vertexLabelId) {
+        return this.loadedVertexLabels.get(vertexLabelId);
+    }
+
+    EdgeLabel getLoadedEdgeLabel(long edgeLabelId) {
+        return this.loadedEdgeLabels.get(edgeLabelId);
+    }
+
+    private String labelColumns(String alias) {
+        return alias + "." + q("ID") + ", " +
+                alias + "." + q(SQLG_SCHEMA_VERTEX_LABEL_NAME) + ", " +
+                alias + "." + q(SQLG_SCHEMA_VERTEX_LABEL_PARTITION_TYPE) + ", " +
+                alias + "." + q(SQLG_SCHEMA_VERTEX_LABEL_PARTITION_EXPRESSION) + ", " +
+                alias + "." + q(SQLG_SCHEMA_VERTEX_LABEL_DISTRIBUTION_SHARD_COUNT);
+    }
+
+    private String table(String table) {
+        return q(SQLG_SCHEMA) + "." + q(table);
+    }
+
+    private String out(String label) {
+        return q(SQLG_SCHEMA + "." + label + OUT_VERTEX_COLUMN_END);
+    }
+
+    private String in(String label) {
+        return q(SQLG_SCHEMA + "." + label + IN_VERTEX_COLUMN_END);
+    }
+
+    private String q(String identifier) {
+        return this.sqlDialect.maybeWrapInQoutes(identifier);
+    }
+
+    private String sql(String sql) {
+        return this.sqlDialect.needsSemicolon() ? sql + ";" : sql;
+    }
+
+    /**
+     * A row of sqlg_schema's vertex or edge table.
+     */
+    static final class LabelRow {
+        final long id;
+        final String name;
+        final PartitionType partitionType;
+        final String partitionExpression;
+        final Integer shardCount;
+
+        private LabelRow(ResultSet rs, int column) throws SQLException {
+            this.id = rs.getLong(column);
+            this.name = rs.getString(column + 1);
+            this.partitionType = PartitionType.valueOf(rs.getString(column + 2));
+            this.partitionExpression = rs.getString(column + 3);
+            int shardCount = rs.getInt(column + 4);
+            this.shardCount = rs.wasNull() ? null : shardCount;
+        }
+    }
+
+    static final class PropertyRow {
+        final String name;
+        final String type;
+        final int identifierIndex;
+
+        private PropertyRow(String name, String type, int identifierIndex) {
+            this.name = name;
+            this.type = type;
+            this.identifierIndex = identifierIndex;
+        }
+    }
+
+    static final class IndexRow {
+        final String name;
+        final String indexType;
+        final String property;
+
+        private IndexRow(String name, String indexType, String property) {
+            this.name = name;
+            this.indexType = indexType;
+            this.property = property;
+        }
+    }
+
+    static final class PartitionRow {
+        final long id;
+        final String name;
+        final String from;
+        final String to;
+        final String in;
+        final Integer modulus;
+        final Integer remainder;
+        final String partitionType;
+        final String partitionExpression;
+
+        private PartitionRow(ResultSet rs) throws SQLException {
+            this.name = rs.getString(4);
+            this.from = rs.getString(5);
+            this.to = rs.getString(6);
+            this.in = rs.getString(7);
+            int modulus = rs.getInt(8);
+            this.modulus = rs.wasNull() ? null : modulus;
+            int remainder = rs.getInt(9);
+            this.remainder = rs.wasNull() ? null : remainder;
+            this.partitionType = rs.getString(10);
+            this.partitionExpression = rs.getString(11);
+            this.id = rs.getLong(12);
+        }
+    }
+}
@@ -6,14 +6,13 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSo
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
 import org.umlg.sqlg.structure.BatchManager;
 import org.umlg.sqlg.structure.PropertyType;
 import org.umlg.sqlg.structure.SchemaTable;
 import org.umlg.sqlg.structure.SqlgGraph;
 
-import java.sql.Connection;
-import java.sql.DatabaseMetaData;
-import java.sql.SQLException;
+import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -74,6 +73,25 @@ public class TopologyManager {
         }
     }
 
+    /**
+     * Sets the graph's updatedOn with sql as it happens while the transaction commits.
+     */
+    static void updateGraphUpdatedOn(SqlgGraph sqlgGraph, LocalDateTime updatedOn) {
+        SqlDialect sqlDialect = sqlgGraph.getSqlDialect();
+        String sql = "UPDATE " + sqlDialect.maybeWrapInQoutes(SQLG_SCHEMA) + "." + sqlDialect.maybeWrapInQoutes(VERTEX_PREFIX + SQLG_SCHEMA_GRAPH) +
+                " SET " + sqlDialect.maybeWrapInQoutes(UPDATED_ON) + " = ?";
+        if (sqlDialect.needsSemicolon()) {
+            sql += ";";
+        }
+        Connection conn = sqlgGraph.tx().getConnection();
+        try (PreparedStatement preparedStatement = conn.prepareStatement(sql)) {
+            preparedStatement.setTimestamp(1, Timestamp.valueOf(updatedOn));
+            preparedStatement.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public static void addSchema(SqlgGraph sqlgGraph, String schema) {
         BatchManager.BatchModeType batchModeType = flushAndSetTxToNone(sqlgGraph);
         try {
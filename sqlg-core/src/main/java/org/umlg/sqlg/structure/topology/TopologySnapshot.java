@@ -0,0 +1,121 @@
+package org.umlg.sqlg.structure.topology;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
+import org.umlg.sqlg.structure.SqlgGraph;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.*;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.umlg.sqlg.structure.topology.Topology.*;
+
+/**
+ * A local file with the committed topology, loaded on startup instead of querying sqlg_schema.
+ * <p>
+ * The snapshot is only used if it was written for the same database and the graph's updatedOn, which every commit that
+ * changes the topology sets, did not change since. Else the topology is loaded from sqlg_schema and the snapshot file is
+ * written again. Topologies with partitions or sharded labels are not written to a snapshot.
+ */
+public final class TopologySnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TopologySnapshot.class);
+    public static final String TOPOLOGY_SNAPSHOT = "sqlg.topology.snapshot";
+    private static final int FORMAT_VERSION = 1;
+
+    private final SqlgGraph sqlgGraph;
+    private final Path path;
+    private final String url;
+    private final String updatedOn;
+
+    TopologySnapshot(SqlgGraph sqlgGraph, Path path) {
+        this.sqlgGraph = sqlgGraph;
+        this.path = path;
+        this.url = sqlgGraph.getJdbcUrl();
+        this.updatedOn = readUpdatedOn();
+    }
+
+    /**
+     * @return the snapshot if the file exists and was written for the current topology.
+     */
+    Optional<JsonNode> read() {
+        if (!Files.exists(this.path)) {
+            return Optional.empty();
+        }
+        try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(this.path))) {
+            JsonNode snapshot = Topology.OBJECT_MAPPER.readTree(inputStream);
+            if (snapshot.path("formatVersion").asInt() == FORMAT_VERSION &&
+                    this.url.equals(snapshot.path("url").asText()) &&
+                    Objects.equals(this.updatedOn, snapshot.path("updatedOn").asText(null))) {
+
+                return Optional.of(snapshot);
+            } else {
+                LOGGER.debug("Topology snapshot {} is out of date.", this.path);
+                return Optional.empty();
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Topology snapshot " + this.path + " could not be read, the topology is loaded from " + Schema.SQLG_SCHEMA + ".", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the snapshot to a temporary file that replaces the snapshot file, graphs starting up concurrently read
+     * either the old or the new snapshot.
+     */
+    void write(ArrayNode schemas) {
+        ObjectNode snapshot = new ObjectNode(Topology.OBJECT_MAPPER.getNodeFactory());
+        snapshot.put("formatVersion", FORMAT_VERSION);
+        snapshot.put("url", this.url);
+        snapshot.put("updatedOn", this.updatedOn);
+        snapshot.set("schemas", schemas);
+        try {
+            Path directory = this.path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, this.path.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                    Topology.OBJECT_MAPPER.writeValue(outputStream, snapshot);
+                }
+                Files.move(tmp, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Topology snapshot " + this.path + " could not be written.", e);
+        }
+    }
+
+    private String readUpdatedOn() {
+        SqlDialect sqlDialect = this.sqlgGraph.getSqlDialect();
+        String sql = "SELECT " + sqlDialect.maybeWrapInQoutes(UPDATED_ON) + " FROM " +
+                sqlDialect.maybeWrapInQoutes(Schema.SQLG_SCHEMA) + "." + sqlDialect.maybeWrapInQoutes(VERTEX_PREFIX + SQLG_SCHEMA_GRAPH);
+        if (sqlDialect.needsSemicolon()) {
+            sql += ";";
+        }
+        Connection conn = this.sqlgGraph.tx().getConnection();
+        try (Statement statement = conn.createStatement()) {
+            ResultSet resultSet = statement.executeQuery(sql);
+            if (resultSet.next()) {
+                Timestamp timestamp = resultSet.getTimestamp(1);
+                return timestamp != null ? timestamp.toLocalDateTime().toString() : null;
+            } else {
+                return null;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
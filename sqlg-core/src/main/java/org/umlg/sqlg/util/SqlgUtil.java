@@ -22,7 +22,6 @@ import org.umlg.sqlg.sql.parse.ColumnList;
 import org.umlg.sqlg.sql.parse.SchemaTableTree;
 import org.umlg.sqlg.sql.parse.WhereClause;
 import org.umlg.sqlg.strategy.BaseStrategy;
-import org.umlg.sqlg.strategy.Emit;
 import org.umlg.sqlg.structure.*;
 import org.umlg.sqlg.structure.topology.Topology;
 
@@ -36,8 +35,6 @@ import java.util.function.BiPredicate;
 
 import static org.apache.tinkerpop.gremlin.structure.T.label;
 import static org.umlg.sqlg.structure.PropertyType.*;
-import static org.umlg.sqlg.structure.topology.Topology.EDGE_PREFIX;
-import static org.umlg.sqlg.structure.topology.Topology.VERTEX_PREFIX;
 
 /**
  * Date: 2014/07/12
@@ -56,209 +53,6 @@ public class SqlgUtil {
     private SqlgUtil() {
     }
 
-    public static List<Emit<SqlgElement>> loadResultSetIntoResultIterator(
-            SqlgGraph sqlgGraph,
-            ResultSetMetaData resultSetMetaData,
-            ResultSet resultSet,
-            SchemaTableTree rootSchemaTableTree,
-            List<LinkedList<SchemaTableTree>> subQueryStacks,
-            boolean first,
-            Map<String, Integer> lastElementIdCountMap
-
-    ) throws SQLException {
-        return loadResultSetIntoResultIterator(sqlgGraph, resultSetMetaData, resultSet, rootSchemaTableTree, subQueryStacks, first, lastElementIdCountMap, false);
-    }
-
-    /**
-     * @param sqlgGraph
-     * @param resultSetMetaData
-     * @param resultSet
-     * @param rootSchemaTableTree
-     * @param subQueryStacks
-     * @param first
-     * @param idColumnCountMap
-     * @param forParent           Indicates that the gremlin query is for SqlgVertexStep. It is in the context of an incoming traverser, the parent.
-     * @return A list of @{@link Emit}s that represent a single @{@link org.apache.tinkerpop.gremlin.process.traversal.Path}
-     * @throws SQLException
-     */
-    public static List<Emit<SqlgElement>> loadResultSetIntoResultIterator(
-            SqlgGraph sqlgGraph,
-            ResultSetMetaData resultSetMetaData,
-            ResultSet resultSet,
-            SchemaTableTree rootSchemaTableTree,
-            List<LinkedList<SchemaTableTree>> subQueryStacks,
-            boolean first,
-            Map<String, Integer> idColumnCountMap,
-            boolean forParent
-    ) throws SQLException {
-
-        List<Emit<SqlgElement>> result = new ArrayList<>();
-        if (resultSet.next()) {
-            if (first) {
-                for (LinkedList<SchemaTableTree> subQueryStack : subQueryStacks) {
-                    for (SchemaTableTree schemaTableTree : subQueryStack) {
-                        schemaTableTree.clearColumnNamePropertyNameMap();
-                    }
-                }
-                populateIdCountMap(resultSetMetaData, rootSchemaTableTree, idColumnCountMap);
-            }
-            int subQueryDepth = 1;
-            for (LinkedList<SchemaTableTree> subQueryStack : subQueryStacks) {
-
-                List<Emit<SqlgElement>> labeledElements = SqlgUtil.loadLabeledElements(
-                        sqlgGraph,
-                        resultSet,
-                        subQueryStack,
-                        subQueryDepth == subQueryStacks.size(),
-                        idColumnCountMap,
-                        forParent
-//                        subQueryStacks.get(subQueryStacks.size() - 1).getLast().hasAggregateFunction()
-                );
-                result.addAll(labeledElements);
-                if (subQueryDepth == subQueryStacks.size()) {
-                    SchemaTableTree lastSchemaTableTree = subQueryStack.getLast();
-                    Preconditions.checkState(!labeledElements.isEmpty());
-                    if (lastSchemaTableTree.getReplacedStepDepth() == lastSchemaTableTree.getStepDepth() &&
-                            lastSchemaTableTree.isEmit() &&
-                            lastSchemaTableTree.isUntilFirst()) {
-
-                        Emit<SqlgElement> repeatEmit = labeledElements.get(labeledElements.size() - 1);
-                        repeatEmit.setRepeat(true);
-                    }
-                }
-                subQueryDepth++;
-            }
-        }
-        return result;
-    }
-
-    //TODO the identifier logic here is very unoptimal
-    private static void populateIdCountMap(ResultSetMetaData resultSetMetaData, SchemaTableTree rootSchemaTableTree, Map<String, Integer> lastElementIdCountMap) throws SQLException {
-        lastElementIdCountMap.clear();
-        //First load all labeled entries from the resultSet
-        //Translate the columns back from alias to meaningful column headings
-        Set<String> identifiers = new HashSet<>();
-        Set<String> allIdentifiers = rootSchemaTableTree.getAllIdentifiers();
-        for (String allIdentifier : allIdentifiers) {
-            identifiers.add(SchemaTableTree.ALIAS_SEPARATOR + allIdentifier);
-        }
-        for (int columnCount = 1; columnCount <= resultSetMetaData.getColumnCount(); columnCount++) {
-            String columnLabel = resultSetMetaData.getColumnLabel(columnCount);
-            String unAliased = rootSchemaTableTree.getAliasColumnNameMap().get(columnLabel);
-            String mapKey = unAliased != null ? unAliased : columnLabel;
-            if (mapKey.endsWith(SchemaTableTree.ALIAS_SEPARATOR + Topology.ID) || identifiers.stream().anyMatch(mapKey::endsWith)) {
-                lastElementIdCountMap.put(mapKey, columnCount);
-            }
-        }
-    }
-
-    /**
-     * Loads all labeled or emitted elements.
-     *
-     * @param sqlgGraph
-     * @param resultSet
-     * @param subQueryStack
-     * @param lastQueryStack
-     * @param idColumnCountMap
-     * @return
-     * @throws SQLException
-     */
-    @SuppressWarnings("unchecked")
-    private static <E extends SqlgElement> List<Emit<E>> loadLabeledElements(
-            SqlgGraph sqlgGraph,
-            final ResultSet resultSet,
-            LinkedList<SchemaTableTree> subQueryStack,
-            boolean lastQueryStack,
-            Map<String, Integer> idColumnCountMap,
-            boolean forParent
-    ) throws SQLException {
-
-        List<Emit<E>> result = new ArrayList<>();
-        int count = 1;
-        for (SchemaTableTree schemaTableTree : subQueryStack) {
-            if (!schemaTableTree.getLabels().isEmpty()) {
-                E sqlgElement = null;
-                boolean resultSetWasNull = false;
-                long id = -1L;
-                if (schemaTableTree.isHasIDPrimaryKey()) {
-                    //aggregate queries have no ID
-                    if (!schemaTableTree.hasAggregateFunction()) {
-                        String idProperty = schemaTableTree.labeledAliasId();
-                        Integer columnCount = idColumnCountMap.get(idProperty);
-                        id = resultSet.getLong(columnCount);
-                        resultSetWasNull = resultSet.wasNull();
-                    }
-                    if (!resultSetWasNull) {
-                        if (schemaTableTree.getSchemaTable().isVertexTable()) {
-                            String rawLabel = schemaTableTree.getSchemaTable().getTable().substring(VERTEX_PREFIX.length());
-                            sqlgElement = (E) SqlgVertex.of(sqlgGraph, id, schemaTableTree.getSchemaTable().getSchema(), rawLabel);
-                            schemaTableTree.loadProperty(resultSet, sqlgElement);
-                        } else {
-                            String rawLabel = schemaTableTree.getSchemaTable().getTable().substring(EDGE_PREFIX.length());
-                            sqlgElement = (E) new SqlgEdge(sqlgGraph, id, schemaTableTree.getSchemaTable().getSchema(), rawLabel);
-                            schemaTableTree.loadProperty(resultSet, sqlgElement);
-                            schemaTableTree.loadEdgeInOutVertices(resultSet, (SqlgEdge) sqlgElement);
-                        }
-                    }
-                } else {
-                    List<Comparable> identifierObjects = List.of(-1);
-                    //the idColumnCountMap can be empty on aggregation queries where the identifier fields are removed
-                    // when building the outer select statement
-                    if (!schemaTableTree.hasAggregateFunction() && !idColumnCountMap.isEmpty()) {
-                        identifierObjects = schemaTableTree.loadIdentifierObjects(idColumnCountMap, resultSet);
-                        resultSetWasNull = resultSet.wasNull();
-                    }
-                    if (!resultSetWasNull) {
-                        if (schemaTableTree.getSchemaTable().isVertexTable()) {
-                            String rawLabel = schemaTableTree.getSchemaTable().getTable().substring(VERTEX_PREFIX.length());
-                            sqlgElement = (E) SqlgVertex.of(sqlgGraph, identifierObjects, schemaTableTree.getSchemaTable().getSchema(), rawLabel);
-                            schemaTableTree.loadProperty(resultSet, sqlgElement);
-                        } else {
-                            String rawLabel = schemaTableTree.getSchemaTable().getTable().substring(EDGE_PREFIX.length());
-                            sqlgElement = (E) new SqlgEdge(sqlgGraph, identifierObjects, schemaTableTree.getSchemaTable().getSchema(), rawLabel);
-                            schemaTableTree.loadProperty(resultSet, sqlgElement);
-                            schemaTableTree.loadEdgeInOutVertices(resultSet, (SqlgEdge) sqlgElement);
-                        }
-                    }
-                }
-                if (!resultSetWasNull) {
-                    //The following if statement is for for "repeat(traversal()).emit().as('label')"
-                    //i.e. for emit queries with labels
-                    //Only the last node in the subQueryStacks' subQueryStack must get the labels as the label only apply to the exiting element that gets emitted.
-                    //Elements that come before the last element in the path must not get the labels.
-                    Emit<E> emit;
-                    if (schemaTableTree.isEmit() && !lastQueryStack) {
-                        if (forParent) {
-                            //1 is the parentIndex. This is the id of the incoming parent.
-                            emit = new Emit<>(resultSet.getLong(1), sqlgElement, Collections.emptySet(), schemaTableTree.getStepDepth(), schemaTableTree.getSqlgComparatorHolder());
-                        } else {
-                            emit = new Emit<>(sqlgElement, Collections.emptySet(), schemaTableTree.getStepDepth(), schemaTableTree.getSqlgComparatorHolder());
-                        }
-                    } else if (schemaTableTree.isEmit() && lastQueryStack && (count != subQueryStack.size())) {
-                        if (forParent) {
-                            emit = new Emit<>(resultSet.getLong(1), sqlgElement, Collections.emptySet(), schemaTableTree.getStepDepth(), schemaTableTree.getSqlgComparatorHolder());
-                        } else {
-                            emit = new Emit<>(sqlgElement, Collections.emptySet(), schemaTableTree.getStepDepth(), schemaTableTree.getSqlgComparatorHolder());
-                        }
-                    } else {
-                        if (forParent) {
-                            emit = new Emit<>(resultSet.getLong(1), sqlgElement, schemaTableTree.getRealLabels(), schemaTableTree.getStepDepth(), schemaTableTree.getSqlgComparatorHolder());
-                        } else {
-                            emit = new Emit<>(sqlgElement, schemaTableTree.getRealLabels(), schemaTableTree.getStepDepth(), schemaTableTree.getSqlgComparatorHolder());
-                        }
-                    }
-                    SchemaTableTree lastSchemaTableTree = subQueryStack.getLast();
-                    if (lastSchemaTableTree.isLocalStep() && lastSchemaTableTree.isOptionalLeftJoin()) {
-                        emit.setIncomingOnlyLocalOptionalStep(true);
-                    }
-                    result.add(emit);
-                }
-            }
-            count++;
-        }
-        return result;
-    }
-
     public static boolean isBulkWithinAndOut(SqlgGraph sqlgGraph, HasContainer hasContainer) {
         BiPredicate<?, ?> p = hasContainer.getPredicate().getBiPredicate();
         return (p == Contains.within || p == Contains.without) && ((Collection<?>) hasContainer.getPredicate().getValue()).size() > sqlgGraph.configuration().getInt("bulk.within.count", BULK_WITHIN_COUNT);
@@ -301,7 +95,7 @@ public class SqlgUtil {
                 }
             }
             for (AndOrHasContainer andOrHasContainer : schemaTableTree.getAndOrHasContainers()) {
-                andOrHasContainer.setParameterOnStatement(keyValueMap, schemaTableTree);
+                andOrHasContainer.setParameterOnStatement(sqlgGraph, keyValueMap, schemaTableTree);
             }
         }
         List<ImmutablePair<PropertyType, Object>> typeAndValues = SqlgUtil.transformToTypeAndValue(keyValueMap);
@@ -317,7 +111,7 @@ public class SqlgUtil {
 
     public static int setKeyValuesAsParameterUsingPropertyColumn(SqlgGraph sqlgGraph, boolean mod, int parameterStartIndex, PreparedStatement preparedStatement, Collection<Pair<PropertyType, Object>> typeAndValues) throws SQLException {
         for (Pair<PropertyType, Object> pair : typeAndValues) {
-            parameterStartIndex = setKeyValueAsParameter(sqlgGraph, mod, parameterStartIndex, preparedStatement, ImmutablePair.of(pair.getLeft(), pair.getRight()));
+            parameterStartIndex = setKeyValueAsParameter(sqlgGraph, mod, parameterStartIndex, preparedStatement, pair.getLeft(), pair.getRight());
         }
         return parameterStartIndex;
     }
@@ -330,51 +124,55 @@ public class SqlgUtil {
     }
 
     public static int setKeyValueAsParameter(SqlgGraph sqlgGraph, boolean mod, int parameterStartIndex, PreparedStatement preparedStatement, ImmutablePair<PropertyType, Object> pair) throws SQLException {
-        if (pair.right == null) {
-            int[] sqlTypes = sqlgGraph.getSqlDialect().propertyTypeToJavaSqlType(pair.left);
+        return setKeyValueAsParameter(sqlgGraph, mod, parameterStartIndex, preparedStatement, pair.left, pair.right);
+    }
+
+    public static int setKeyValueAsParameter(SqlgGraph sqlgGraph, boolean mod, int parameterStartIndex, PreparedStatement preparedStatement, PropertyType propertyType, Object value) throws SQLException {
+        if (value == null) {
+            int[] sqlTypes = sqlgGraph.getSqlDialect().propertyTypeToJavaSqlType(propertyType);
             for (int sqlType : sqlTypes) {
                 preparedStatement.setNull(parameterStartIndex++, sqlType);
             }
         } else {
-            switch (pair.left.ordinal()) {
+            switch (propertyType.ordinal()) {
                 case BOOLEAN_ORDINAL:
-                    preparedStatement.setBoolean(parameterStartIndex++, (Boolean) pair.right);
+                    preparedStatement.setBoolean(parameterStartIndex++, (Boolean) value);
                     break;
                 case BYTE_ORDINAL:
-                    preparedStatement.setByte(parameterStartIndex++, (Byte) pair.right);
+                    preparedStatement.setByte(parameterStartIndex++, (Byte) value);
                     break;
                 case SHORT_ORDINAL:
-                    preparedStatement.setShort(parameterStartIndex++, (Short) pair.right);
+                    preparedStatement.setShort(parameterStartIndex++, (Short) value);
                     break;
                 case INTEGER_ORDINAL:
-                    preparedStatement.setInt(parameterStartIndex++, (Integer) pair.right);
+                    preparedStatement.setInt(parameterStartIndex++, (Integer) value);
                     break;
                 case LONG_ORDINAL:
-                    preparedStatement.setLong(parameterStartIndex++, (Long) pair.right);
+                    preparedStatement.setLong(parameterStartIndex++, (Long) value);
                     break;
                 case FLOAT_ORDINAL:
-                    preparedStatement.setFloat(parameterStartIndex++, (Float) pair.right);
+                    preparedStatement.setFloat(parameterStartIndex++, (Float) value);
                     break;
                 case DOUBLE_ORDINAL:
-                    preparedStatement.setDouble(parameterStartIndex++, (Double) pair.right);
+                    preparedStatement.setDouble(parameterStartIndex++, (Double) value);
                     break;
                 case STRING_ORDINAL:
-                    preparedStatement.setString(parameterStartIndex++, (String) pair.right);
+                    preparedStatement.setString(parameterStartIndex++, (String) value);
                     break;
                 case VARCHAR_ORDINAL:
-                    preparedStatement.setString(parameterStartIndex++, (String) pair.right);
+                    preparedStatement.setString(parameterStartIndex++, (String) value);
                     break;
                 case LOCALDATE_ORDINAL:
-                    preparedStatement.setTimestamp(parameterStartIndex++, Timestamp.valueOf(((LocalDate) pair.right).atStartOfDay()));
+                    preparedStatement.setTimestamp(parameterStartIndex++, Timestamp.valueOf(((LocalDate) value).atStartOfDay()));
                     break;
                 case LOCALDATETIME_ORDINAL:
-                    Timestamp timestamp = Timestamp.valueOf(((LocalDateTime) pair.right));
+                    Timestamp timestamp = Timestamp.valueOf(((LocalDateTime) value));
                     preparedStatement.setTimestamp(parameterStartIndex++, timestamp);
                     break;
                 case ZONEDDATETIME_ORDINAL:
                     if (sqlgGraph.getSqlDialect().needsTimeZone()) {
                         //This is for postgresql that adjust the timestamp to the server's timezone
-                        ZonedDateTime zonedDateTime = (ZonedDateTime) pair.right;
+                        ZonedDateTime zonedDateTime = (ZonedDateTime) value;
                         preparedStatement.setTimestamp(
                                 parameterStartIndex++,
                                 Timestamp.valueOf(zonedDateTime.toLocalDateTime())
@@ -382,132 +180,132 @@ public class SqlgUtil {
                     } else {
                         preparedStatement.setTimestamp(
                                 parameterStartIndex++,
-                                Timestamp.valueOf(((ZonedDateTime) pair.right).toLocalDateTime())
+                                Timestamp.valueOf(((ZonedDateTime) value).toLocalDateTime())
                         );
                     }
                     if (mod) {
-                        TimeZone tz = TimeZone.getTimeZone(((ZonedDateTime) pair.right).getZone());
+                        TimeZone tz = TimeZone.getTimeZone(((ZonedDateTime) value).getZone());
                         preparedStatement.setString(parameterStartIndex++, tz.getID());
                     }
                     break;
                 case LOCALTIME_ORDINAL:
                     //loses nano seconds
-                    preparedStatement.setTime(parameterStartIndex++, Time.valueOf((LocalTime) pair.right));
+                    preparedStatement.setTime(parameterStartIndex++, Time.valueOf((LocalTime) value));
                     break;
                 case PERIOD_ORDINAL:
-                    preparedStatement.setInt(parameterStartIndex++, ((Period) pair.right).getYears());
-                    preparedStatement.setInt(parameterStartIndex++, ((Period) pair.right).getMonths());
-                    preparedStatement.setInt(parameterStartIndex++, ((Period) pair.right).getDays());
+                    preparedStatement.setInt(parameterStartIndex++, ((Period) value).getYears());
+                    preparedStatement.setInt(parameterStartIndex++, ((Period) value).getMonths());
+                    preparedStatement.setInt(parameterStartIndex++, ((Period) value).getDays());
                     break;
                 case DURATION_ORDINAL:
-                    preparedStatement.setLong(parameterStartIndex++, ((Duration) pair.right).getSeconds());
-                    preparedStatement.setInt(parameterStartIndex++, ((Duration) pair.right).getNano());
+                    preparedStatement.setLong(parameterStartIndex++, ((Duration) value).getSeconds());
+                    preparedStatement.setInt(parameterStartIndex++, ((Duration) value).getNano());
                     break;
                 case JSON_ORDINAL:
-                    sqlgGraph.getSqlDialect().setJson(preparedStatement, parameterStartIndex, (JsonNode) pair.getRight());
+                    sqlgGraph.getSqlDialect().setJson(preparedStatement, parameterStartIndex, (JsonNode) value);
                     parameterStartIndex++;
                     break;
                 case POINT_ORDINAL:
-                    sqlgGraph.getSqlDialect().setPoint(preparedStatement, parameterStartIndex, pair.getRight());
+                    sqlgGraph.getSqlDialect().setPoint(preparedStatement, parameterStartIndex, value);
                     parameterStartIndex++;
                     break;
                 case LINESTRING_ORDINAL:
-                    sqlgGraph.getSqlDialect().setLineString(preparedStatement, parameterStartIndex, pair.getRight());
+                    sqlgGraph.getSqlDialect().setLineString(preparedStatement, parameterStartIndex, value);
                     parameterStartIndex++;
                     break;
                 case POLYGON_ORDINAL:
-                    sqlgGraph.getSqlDialect().setPolygon(preparedStatement, parameterStartIndex, pair.getRight());
+                    sqlgGraph.getSqlDialect().setPolygon(preparedStatement, parameterStartIndex, value);
                     parameterStartIndex++;
                     break;
                 case GEOGRAPHY_POINT_ORDINAL:
-                    sqlgGraph.getSqlDialect().setPoint(preparedStatement, parameterStartIndex, pair.getRight());
+                    sqlgGraph.getSqlDialect().setPoint(preparedStatement, parameterStartIndex, value);
                     parameterStartIndex++;
                     break;
                 case GEOGRAPHY_POLYGON_ORDINAL:
-                    sqlgGraph.getSqlDialect().setPolygon(preparedStatement, parameterStartIndex, pair.getRight());
+                    sqlgGraph.getSqlDialect().setPolygon(preparedStatement, parameterStartIndex, value);
                     parameterStartIndex++;
                     break;
                 case UUID_ORDINAL:
-                    preparedStatement.setObject(parameterStartIndex++, pair.right);
+                    preparedStatement.setObject(parameterStartIndex++, value);
                     break;
                 case BOOLEAN_ARRAY_ORDINAL:
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.BOOLEAN_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, pair.right));
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.BOOLEAN_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, value));
                     break;
                 case boolean_ARRAY_ORDINAL:
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.boolean_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, pair.right));
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.boolean_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, value));
                     break;
                 case BYTE_ARRAY_ORDINAL:
-                    byte[] byteArray = SqlgUtil.convertObjectArrayToBytePrimitiveArray((Object[]) pair.getRight());
+                    byte[] byteArray = SqlgUtil.convertObjectArrayToBytePrimitiveArray((Object[]) value);
                     preparedStatement.setBytes(parameterStartIndex++, byteArray);
                     break;
                 case byte_ARRAY_ORDINAL:
-                    preparedStatement.setBytes(parameterStartIndex++, (byte[]) pair.right);
+                    preparedStatement.setBytes(parameterStartIndex++, (byte[]) value);
                     break;
                 case SHORT_ARRAY_ORDINAL:
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.SHORT_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, pair.right));
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.SHORT_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, value));
                     break;
                 case short_ARRAY_ORDINAL:
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.short_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, pair.right));
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.short_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, value));
                     break;
                 case INTEGER_ARRAY_ORDINAL:
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.INTEGER_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, pair.right));
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.INTEGER_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, value));
                     break;
                 case int_ARRAY_ORDINAL:
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.int_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, pair.right));
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.int_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, value));
                     break;
                 case LONG_ARRAY_ORDINAL:
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.LONG_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, pair.right));
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.LONG_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, value));
                     break;
                 case long_ARRAY_ORDINAL:
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.long_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, pair.right));
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.long_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, value));
                     break;
                 case FLOAT_ARRAY_ORDINAL:
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.FLOAT_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, pair.right));
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.FLOAT_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, value));
                     break;
                 case float_ARRAY_ORDINAL:
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.float_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, pair.right));
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.float_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, value));
                     break;
                 case DOUBLE_ARRAY_ORDINAL:
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.DOUBLE_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, pair.right));
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.DOUBLE_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, value));
                     break;
                 case double_ARRAY_ORDINAL:
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.double_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, pair.right));
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.double_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, value));
                     break;
                 case STRING_ARRAY_ORDINAL:
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.STRING_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, pair.right));
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.STRING_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, value));
                     break;
                 case LOCALDATETIME_ARRAY_ORDINAL:
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.LOCALDATETIME_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, pair.right));
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.LOCALDATETIME_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, value));
                     break;
                 case LOCALDATE_ARRAY_ORDINAL:
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.LOCALDATE_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, pair.right));
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.LOCALDATE_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, value));
                     break;
                 case LOCALTIME_ARRAY_ORDINAL:
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.LOCALTIME_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, pair.right));
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.LOCALTIME_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, value));
                     break;
                 case ZONEDDATETIME_ARRAY_ORDINAL:
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.ZONEDDATETIME_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, pair.right));
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.ZONEDDATETIME_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, value));
                     if (mod) {
-                        sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.STRING_ARRAY, SqlgUtil.transformArrayToInsertValue(PropertyType.STRING_ARRAY, Arrays.stream((ZonedDateTime[]) pair.right).map(z -> z.getZone().getId()).toArray()));
+                        sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.STRING_ARRAY, SqlgUtil.transformArrayToInsertValue(PropertyType.STRING_ARRAY, Arrays.stream((ZonedDateTime[]) value).map(z -> z.getZone().getId()).toArray()));
                     }
                     break;
                 case DURATION_ARRAY_ORDINAL:
-                    Duration[] durations = (Duration[]) pair.getRight();
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.long_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, Arrays.stream(durations).map(Duration::getSeconds).toArray()));
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.int_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, Arrays.stream(durations).map(Duration::getNano).toArray()));
+                    Duration[] durations = (Duration[]) value;
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.long_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, Arrays.stream(durations).map(Duration::getSeconds).toArray()));
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.int_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, Arrays.stream(durations).map(Duration::getNano).toArray()));
                     break;
                 case PERIOD_ARRAY_ORDINAL:
-                    Period[] periods = (Period[]) pair.getRight();
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.int_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, Arrays.stream(periods).map(Period::getYears).toArray()));
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.int_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, Arrays.stream(periods).map(Period::getMonths).toArray()));
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.int_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, Arrays.stream(periods).map(Period::getDays).toArray()));
+                    Period[] periods = (Period[]) value;
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.int_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, Arrays.stream(periods).map(Period::getYears).toArray()));
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.int_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, Arrays.stream(periods).map(Period::getMonths).toArray()));
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.int_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, Arrays.stream(periods).map(Period::getDays).toArray()));
                     break;
                 case JSON_ARRAY_ORDINAL:
-                    JsonNode[] objectNodes = (JsonNode[]) pair.getRight();
-                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.JSON_ARRAY, SqlgUtil.transformArrayToInsertValue(pair.left, objectNodes));
+                    JsonNode[] objectNodes = (JsonNode[]) value;
+                    sqlgGraph.getSqlDialect().setArray(preparedStatement, parameterStartIndex++, PropertyType.JSON_ARRAY, SqlgUtil.transformArrayToInsertValue(propertyType, objectNodes));
                     break;
                 default:
-                    throw new IllegalStateException("Unhandled type " + pair.left.name());
+                    throw new IllegalStateException("Unhandled type " + propertyType.name());
             }
         }
         return parameterStartIndex;
@@ -678,7 +476,7 @@ public class SqlgUtil {
         return Triple.of(keyPropertyTypeMap, resultAllValues, resultNotNullValues);
     }
 
-    private static List<ImmutablePair<PropertyType, Object>> transformToTypeAndValue(Multimap<String, Object> keyValues) {
+    public static List<ImmutablePair<PropertyType, Object>> transformToTypeAndValue(Multimap<String, Object> keyValues) {
         List<ImmutablePair<PropertyType, Object>> result = new ArrayList<>();
         for (Map.Entry<String, Object> entry : keyValues.entries()) {
             Object value = entry.getValue();
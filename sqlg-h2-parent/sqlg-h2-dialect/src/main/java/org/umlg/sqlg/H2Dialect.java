@@ -48,6 +48,31 @@ public class H2Dialect extends BaseSqlDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsRecursiveCommonTableExpressions() {
+        return true;
+    }
+
+    @Override
+    public String recursivePathStart(String id) {
+        return "ARRAY[" + id + "]";
+    }
+
+    @Override
+    public String recursivePathAppend(String path, String id) {
+        return path + " || ARRAY[" + id + "]";
+    }
+
+    @Override
+    public String recursivePathNotContains(String path, String id) {
+        return "NOT ARRAY_CONTAINS(" + path + ", " + id + ")";
+    }
+
+    @Override
+    public long[] readRecursivePath(ResultSet resultSet, int columnIndex) throws SQLException {
+        return readRecursivePathArray(resultSet, columnIndex);
+    }
+
     @Override
     public String dialectName() {
         return "H2Dialect";
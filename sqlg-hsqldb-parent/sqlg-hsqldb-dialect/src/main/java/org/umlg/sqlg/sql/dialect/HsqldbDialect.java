@@ -734,6 +734,11 @@ public class HsqldbDialect extends BaseSqlDialect implements SqlBulkDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsRecursiveCommonTableExpressions() {
+        return true;
+    }
+
     @Override
     public boolean supportsBulkWithinOut() {
         return true;
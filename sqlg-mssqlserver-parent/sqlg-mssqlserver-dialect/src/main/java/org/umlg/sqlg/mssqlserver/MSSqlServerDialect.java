@@ -768,6 +768,11 @@ public class MSSqlServerDialect extends BaseSqlDialect {
         return " OFFSET " + skip + " ROWS";
     }
 
+    @Override
+    public String getRandomFunction() {
+        return "NEWID()";
+    }
+
     @Override
     public boolean isSystemIndex(String indexName) {
         return indexName.startsWith("PK_") || indexName.startsWith("FK_") || indexName.endsWith("_idx");
@@ -68,6 +68,15 @@ public class MysqlDialect extends BaseSqlDialect {
         return false;
     }
 
+    /**
+     * CAST does not accept the column definitions, i.e. BIGINT or LONGTEXT. The type of a UNION's column is aggregated
+     * over all the branches so a plain NULL takes the type of the branch that selects the column.
+     */
+    @Override
+    public String typedNull(PropertyType propertyType) {
+        return "NULL";
+    }
+
     @Override
     public String createSchemaStatement(String schemaName) {
         return "CREATE DATABASE IF NOT EXISTS " + maybeWrapInQoutes(schemaName) + " DEFAULT CHARACTER SET latin1 COLLATE latin1_general_cs";
@@ -0,0 +1,382 @@
+package org.umlg.sqlg.sql.dialect;
+
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.SqlgExceptions;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.TimeZone;
+import java.util.UUID;
+
+import static org.umlg.sqlg.structure.PropertyType.*;
+
+/**
+ * Writes tuples in postgres' binary copy format, i.e. for {@code COPY ... FROM STDIN (FORMAT binary)}.
+ * The values are encoded from their {@link PropertyType} straight into a reusable buffer that is flushed to the
+ * copy stream when full.
+ * <p>
+ * Only the property types returned by {@link #supports(PropertyType)} can be written. The values are encoded to the
+ * same column values as the text copy path writes, e.g. a {@link LocalTime} is truncated to seconds.
+ */
+class BinaryCopyWriter implements AutoCloseable {
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final int BUFFER_SIZE = 65536;
+    private static final LocalDate POSTGRES_EPOCH_DATE = LocalDate.of(2000, 1, 1);
+    private static final LocalDateTime POSTGRES_EPOCH = POSTGRES_EPOCH_DATE.atStartOfDay();
+
+    //postgres type oids of the array elements
+    private static final int BOOL_OID = 16;
+    private static final int INT8_OID = 20;
+    private static final int INT2_OID = 21;
+    private static final int INT4_OID = 23;
+    private static final int TEXT_OID = 25;
+    private static final int FLOAT4_OID = 700;
+    private static final int FLOAT8_OID = 701;
+    private static final int DATE_OID = 1082;
+    private static final int TIME_OID = 1083;
+    private static final int TIMESTAMP_OID = 1114;
+
+    private final OutputStream outputStream;
+    private final ByteBuffer buffer;
+
+    BinaryCopyWriter(OutputStream outputStream) {
+        this.outputStream = outputStream;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.buffer.put(SIGNATURE);
+        //flags
+        this.buffer.putInt(0);
+        //header extension length
+        this.buffer.putInt(0);
+    }
+
+    static boolean supports(PropertyType propertyType) {
+        switch (propertyType.ordinal()) {
+            case BOOLEAN_ORDINAL:
+            case SHORT_ORDINAL:
+            case INTEGER_ORDINAL:
+            case LONG_ORDINAL:
+            case FLOAT_ORDINAL:
+            case DOUBLE_ORDINAL:
+            case STRING_ORDINAL:
+            case VARCHAR_ORDINAL:
+            case UUID_ORDINAL:
+            case LOCALDATE_ORDINAL:
+            case LOCALDATETIME_ORDINAL:
+            case LOCALTIME_ORDINAL:
+            case ZONEDDATETIME_ORDINAL:
+            case PERIOD_ORDINAL:
+            case DURATION_ORDINAL:
+            case byte_ARRAY_ORDINAL:
+            case BYTE_ARRAY_ORDINAL:
+            case boolean_ARRAY_ORDINAL:
+            case BOOLEAN_ARRAY_ORDINAL:
+            case short_ARRAY_ORDINAL:
+            case SHORT_ARRAY_ORDINAL:
+            case int_ARRAY_ORDINAL:
+            case INTEGER_ARRAY_ORDINAL:
+            case long_ARRAY_ORDINAL:
+            case LONG_ARRAY_ORDINAL:
+            case float_ARRAY_ORDINAL:
+            case FLOAT_ARRAY_ORDINAL:
+            case double_ARRAY_ORDINAL:
+            case DOUBLE_ARRAY_ORDINAL:
+            case STRING_ARRAY_ORDINAL:
+            case LOCALDATE_ARRAY_ORDINAL:
+            case LOCALDATETIME_ARRAY_ORDINAL:
+            case LOCALTIME_ARRAY_ORDINAL:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    static boolean supports(Collection<PropertyType> propertyTypes) {
+        for (PropertyType propertyType : propertyTypes) {
+            if (!supports(propertyType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void startRow(int numberOfColumns) throws IOException {
+        ensureCapacity(2);
+        this.buffer.putShort((short) numberOfColumns);
+    }
+
+    void writeLong(long value) throws IOException {
+        ensureCapacity(12);
+        this.buffer.putInt(8);
+        this.buffer.putLong(value);
+    }
+
+    /**
+     * Writes the value's columns, one for most property types but more for e.g. a {@link ZonedDateTime}.
+     */
+    void write(PropertyType propertyType, Object value) throws IOException {
+        switch (propertyType.ordinal()) {
+            case ZONEDDATETIME_ORDINAL:
+                if (value == null) {
+                    writeNull();
+                    writeNull();
+                } else {
+                    ZonedDateTime zonedDateTime = (ZonedDateTime) value;
+                    writeTimestamp(zonedDateTime.toLocalDateTime());
+                    writeText(TimeZone.getTimeZone(zonedDateTime.getZone()).getID());
+                }
+                return;
+            case PERIOD_ORDINAL:
+                if (value == null) {
+                    writeNull();
+                    writeNull();
+                    writeNull();
+                } else {
+                    Period period = (Period) value;
+                    writeInt(period.getYears());
+                    writeInt(period.getMonths());
+                    writeInt(period.getDays());
+                }
+                return;
+            case DURATION_ORDINAL:
+                if (value == null) {
+                    writeNull();
+                    writeNull();
+                } else {
+                    Duration duration = (Duration) value;
+                    writeLong(duration.getSeconds());
+                    writeInt(duration.getNano());
+                }
+                return;
+            default:
+        }
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        switch (propertyType.ordinal()) {
+            case BOOLEAN_ORDINAL:
+                ensureCapacity(5);
+                this.buffer.putInt(1);
+                this.buffer.put((byte) ((Boolean) value ? 1 : 0));
+                break;
+            case SHORT_ORDINAL:
+                ensureCapacity(6);
+                this.buffer.putInt(2);
+                this.buffer.putShort(((Number) value).shortValue());
+                break;
+            case INTEGER_ORDINAL:
+                writeInt(((Number) value).intValue());
+                break;
+            case LONG_ORDINAL:
+                writeLong(((Number) value).longValue());
+                break;
+            case FLOAT_ORDINAL:
+                ensureCapacity(8);
+                this.buffer.putInt(4);
+                this.buffer.putFloat(((Number) value).floatValue());
+                break;
+            case DOUBLE_ORDINAL:
+                ensureCapacity(12);
+                this.buffer.putInt(8);
+                this.buffer.putDouble(((Number) value).doubleValue());
+                break;
+            case STRING_ORDINAL:
+            case VARCHAR_ORDINAL:
+                writeText(value.toString());
+                break;
+            case UUID_ORDINAL:
+                UUID uuid = (UUID) value;
+                ensureCapacity(20);
+                this.buffer.putInt(16);
+                this.buffer.putLong(uuid.getMostSignificantBits());
+                this.buffer.putLong(uuid.getLeastSignificantBits());
+                break;
+            case LOCALDATE_ORDINAL:
+                writeDate((LocalDate) value);
+                break;
+            case LOCALDATETIME_ORDINAL:
+                writeTimestamp((LocalDateTime) value);
+                break;
+            case LOCALTIME_ORDINAL:
+                writeTime((LocalTime) value);
+                break;
+            case byte_ARRAY_ORDINAL:
+                writeBytes((byte[]) value);
+                break;
+            case BYTE_ARRAY_ORDINAL:
+                writeBytes((byte[]) SqlgUtil.convertByteArrayToPrimitiveArray((Byte[]) value));
+                break;
+            case boolean_ARRAY_ORDINAL:
+            case BOOLEAN_ARRAY_ORDINAL:
+                writeArray(value, BOOL_OID, PropertyType.BOOLEAN);
+                break;
+            case short_ARRAY_ORDINAL:
+            case SHORT_ARRAY_ORDINAL:
+                writeArray(value, INT2_OID, PropertyType.SHORT);
+                break;
+            case int_ARRAY_ORDINAL:
+            case INTEGER_ARRAY_ORDINAL:
+                writeArray(value, INT4_OID, PropertyType.INTEGER);
+                break;
+            case long_ARRAY_ORDINAL:
+            case LONG_ARRAY_ORDINAL:
+                writeArray(value, INT8_OID, PropertyType.LONG);
+                break;
+            case float_ARRAY_ORDINAL:
+            case FLOAT_ARRAY_ORDINAL:
+                writeArray(value, FLOAT4_OID, PropertyType.FLOAT);
+                break;
+            case double_ARRAY_ORDINAL:
+            case DOUBLE_ARRAY_ORDINAL:
+                writeArray(value, FLOAT8_OID, PropertyType.DOUBLE);
+                break;
+            case STRING_ARRAY_ORDINAL:
+                writeArray(value, TEXT_OID, PropertyType.STRING);
+                break;
+            case LOCALDATE_ARRAY_ORDINAL:
+                writeArray(value, DATE_OID, PropertyType.LOCALDATE);
+                break;
+            case LOCALDATETIME_ARRAY_ORDINAL:
+                writeArray(value, TIMESTAMP_OID, PropertyType.LOCALDATETIME);
+                break;
+            case LOCALTIME_ARRAY_ORDINAL:
+                writeArray(value, TIME_OID, PropertyType.LOCALTIME);
+                break;
+            default:
+                throw SqlgExceptions.invalidPropertyType(propertyType);
+        }
+    }
+
+    private void writeNull() throws IOException {
+        ensureCapacity(4);
+        this.buffer.putInt(-1);
+    }
+
+    private void writeInt(int value) throws IOException {
+        ensureCapacity(8);
+        this.buffer.putInt(4);
+        this.buffer.putInt(value);
+    }
+
+    private void writeText(String value) throws IOException {
+        writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeDate(LocalDate localDate) throws IOException {
+        writeInt((int) ChronoUnit.DAYS.between(POSTGRES_EPOCH_DATE, localDate));
+    }
+
+    private void writeTimestamp(LocalDateTime localDateTime) throws IOException {
+        Duration sinceEpoch = Duration.between(POSTGRES_EPOCH, localDateTime);
+        writeLong(Math.addExact(Math.multiplyExact(sinceEpoch.getSeconds(), 1_000_000L), sinceEpoch.getNano() / 1_000L));
+    }
+
+    private void writeTime(LocalTime localTime) throws IOException {
+        //the text copy path writes java.sql.Time which has no fractional seconds
+        writeLong(localTime.toSecondOfDay() * 1_000_000L);
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        ensureCapacity(4);
+        this.buffer.putInt(bytes.length);
+        put(bytes);
+    }
+
+    private void writeArray(Object array, int elementOid, PropertyType elementType) throws IOException {
+        int length = Array.getLength(array);
+        Object[] elements = new Object[length];
+        boolean hasNull = false;
+        int size = 20;
+        for (int i = 0; i < length; i++) {
+            Object element = Array.get(array, i);
+            if (element == null) {
+                hasNull = true;
+            } else if (elementType == PropertyType.STRING) {
+                element = element.toString().getBytes(StandardCharsets.UTF_8);
+                size += ((byte[]) element).length;
+            } else {
+                size += elementSize(elementType);
+            }
+            elements[i] = element;
+            size += 4;
+        }
+        ensureCapacity(4 + 20);
+        this.buffer.putInt(size);
+        //dimensions, has nulls, element type, dimension size and lower bound
+        this.buffer.putInt(1);
+        this.buffer.putInt(hasNull ? 1 : 0);
+        this.buffer.putInt(elementOid);
+        this.buffer.putInt(length);
+        this.buffer.putInt(1);
+        for (Object element : elements) {
+            if (element == null) {
+                writeNull();
+            } else if (elementType == PropertyType.STRING) {
+                writeBytes((byte[]) element);
+            } else {
+                write(elementType, element);
+            }
+        }
+    }
+
+    private static int elementSize(PropertyType elementType) {
+        switch (elementType.ordinal()) {
+            case BOOLEAN_ORDINAL:
+                return 1;
+            case SHORT_ORDINAL:
+                return 2;
+            case INTEGER_ORDINAL:
+            case FLOAT_ORDINAL:
+            case LOCALDATE_ORDINAL:
+                return 4;
+            default:
+                return 8;
+        }
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        put(bytes, bytes.length);
+    }
+
+    private void put(byte[] bytes, int length) throws IOException {
+        if (length > this.buffer.remaining()) {
+            flushBuffer();
+            if (length > this.buffer.capacity()) {
+                this.outputStream.write(bytes, 0, length);
+                return;
+            }
+        }
+        this.buffer.put(bytes, 0, length);
+    }
+
+    private void ensureCapacity(int length) throws IOException {
+        if (this.buffer.remaining() < length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        this.outputStream.write(this.buffer.array(), 0, this.buffer.position());
+        this.buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            //file trailer
+            ensureCapacity(2);
+            this.buffer.putShort((short) -1);
+            flushBuffer();
+        } finally {
+            this.outputStream.close();
+        }
+    }
+}
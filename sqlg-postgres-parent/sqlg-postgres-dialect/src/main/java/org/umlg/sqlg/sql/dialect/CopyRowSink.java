@@ -0,0 +1,29 @@
+package org.umlg.sqlg.sql.dialect;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * The {@link StreamingRowSink} of postgres. The rows are written as text to the stdin of a {@code COPY} command.
+ */
+final class CopyRowSink implements StreamingRowSink {
+
+    private final Writer writer;
+
+    CopyRowSink(Writer writer) {
+        this.writer = writer;
+    }
+
+    Writer getWriter() {
+        return this.writer;
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.writer.close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
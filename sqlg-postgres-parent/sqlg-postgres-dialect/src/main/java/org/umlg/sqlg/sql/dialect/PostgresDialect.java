@@ -61,7 +61,18 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
     private static final char ESCAPE = '\\';
     private static final int PARAMETER_LIMIT = 32767;
     private static final String COPY_DUMMY = "_copy_dummy";
+    /**
+     * When true the batch mode flushes vertices and edges with {@code COPY ... FROM STDIN (FORMAT binary)} instead of
+     * the csv text format. Labels with property types that {@link BinaryCopyWriter} can not encode use the text format.
+     */
+    public static final String COPY_BINARY = "postgres.copy.binary";
+    /**
+     * The number of "ID" sequence values that the batch mode reserves ahead per label, 0, the default, fetches exactly
+     * the ids that a flush needs. With reserved ids the order of the ids no longer follows the order of the inserts.
+     */
+    public static final String ID_BLOCK_SIZE = "postgres.idBlock.size";
     private PropertyType postGisType;
+    private final SequenceIdBlocks sequenceIdBlocks = new SequenceIdBlocks();
 
     private ScheduledFuture<?> future;
     private ExecutorService executorService;
@@ -93,11 +104,69 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsRecursiveCommonTableExpressions() {
+        return true;
+    }
+
+    @Override
+    public String recursivePathStart(String id) {
+        return "ARRAY[" + id + "]";
+    }
+
+    @Override
+    public String recursivePathAppend(String path, String id) {
+        return path + " || " + id;
+    }
+
+    @Override
+    public String recursivePathNotContains(String path, String id) {
+        return id + " <> ALL(" + path + ")";
+    }
+
+    @Override
+    public long[] readRecursivePath(ResultSet resultSet, int columnIndex) throws SQLException {
+        return readRecursivePathArray(resultSet, columnIndex);
+    }
+
+    @Override
+    public String getRandomFunction() {
+        return "random()";
+    }
+
+    @Override
+    public boolean supportsExportSnapshot() {
+        return true;
+    }
+
+    @Override
+    public String exportSnapshot(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            ResultSet resultSet = statement.executeQuery("SELECT pg_export_snapshot()");
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    @Override
+    public void importSnapshot(Connection connection, String snapshot) throws SQLException {
+        //Only a repeatable read or serializable transaction can import a snapshot.
+        connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET TRANSACTION SNAPSHOT '" + snapshot + "'");
+        }
+    }
+
     @Override
     public boolean supportsStreamingBatchMode() {
         return true;
     }
 
+    @Override
+    public boolean supportsStreamingWithLockBatchMode() {
+        return true;
+    }
+
     @Override
     public Set<String> getInternalSchemas() {
         return ImmutableSet.copyOf(Arrays.asList("pg_catalog", "information_schema", "tiger", "tiger_data", "topology", "citus", "citus_internal", "columnar"));
@@ -218,25 +287,16 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
             }
 
             //We pre-create the sequence ids and pass them through in the copy command.
-            List<Long> ids = new LinkedList<>();
+            long[] ids = null;
             if (vertexLabel != null && vertexLabel.hasIDPrimaryKey()) {
-                // get all ids from sequence first
-                String sql = "SELECT NEXTVAL('" + maybeWrapInQoutes(schemaTable.getSchema()) + "." + maybeWrapInQoutes(VERTEX_PREFIX + schemaTable.getTable() + "_ID_seq") + "') from generate_series(1," + vertices.getRight().values().size() + ") ;";
-                if (logger.isDebugEnabled()) {
-                    logger.debug(sql);
-                }
-                try (PreparedStatement preparedStatement = con.prepareStatement(sql)) {
-                    ResultSet resultSet = preparedStatement.executeQuery();
-                    while (resultSet.next()) {
-                        ids.add(resultSet.getLong(1));
-                    }
-                    resultSet.close();
-                } catch (SQLException e) {
-                    throw new RuntimeException(e);
-                }
+                ids = nextIds(sqlgGraph, con, schemaTable.getSchema(), VERTEX_PREFIX + schemaTable.getTable(), vertices.getRight().size());
             }
-            Iterator<Long> it = ids.iterator();
 
+            if (vertexLabel != null && copyBinary(sqlgGraph, vertexLabel.hasIDPrimaryKey(), vertices.getLeft(), vertexLabel.getProperties())) {
+                String sql = internalConstructCompleteCopyCommandSqlVertex(sqlgGraph, false, schemaTable.getSchema(), schemaTable.getTable(), vertexLabel.hasIDPrimaryKey(), vertices.getLeft(), true);
+                writeVertexRowsBinary(streamBinarySql(sqlgGraph, sql), schemaTable, vertexLabel.hasIDPrimaryKey(), vertexLabel.getIdentifiers().asList(), propertyTypes(vertexLabel, vertices.getLeft()), ids, vertices);
+                continue;
+            }
             String sql = internalConstructCompleteCopyCommandSqlVertex(
                     sqlgGraph,
                     schemaTable.isTemporary(),
@@ -244,41 +304,81 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
                     schemaTable.getTable(),
                     vertexLabel != null && vertexLabel.hasIDPrimaryKey(),
                     vertices.getLeft());
-            int numberInserted = 0;
-            try (Writer writer = streamSql(sqlgGraph, sql)) {
-                for (Map.Entry<SqlgVertex, Map<String, Object>> sqlgVertexKeyValueMapEntry : vertices.getRight().entrySet()) {
-                    SqlgVertex sqlgVertex = sqlgVertexKeyValueMapEntry.getKey();
-                    Map<String, Object> keyValueMap = sqlgVertexKeyValueMapEntry.getValue();
-                    //The map must contain all the keys, so make a copy with it all.
-                    LinkedHashMap<String, Object> values = new LinkedHashMap<>();
-                    if (vertexLabel != null && vertexLabel.hasIDPrimaryKey()) {
-                        long id = it.next();
-                        sqlgVertex.setInternalPrimaryKey(RecordId.from(schemaTable, id));
-                        values.put("ID", id);
-                    }
-                    for (String key : vertices.getLeft()) {
-                        values.put(key, keyValueMap.get(key));
-                    }
-                    if (schemaTable.isTemporary()) {
-                        writeTemporaryStreamingVertex(writer, values);
-                    } else {
-                        writeStreamingVertex(writer, values, vertexLabel);
-                    }
-                    numberInserted++;
-                    if (vertexLabel != null && !vertexLabel.hasIDPrimaryKey()) {
-                        List<Comparable> identifiers = new ArrayList<>();
-                        for (String identifier : vertexLabel.getIdentifiers()) {
-                            identifiers.add((Comparable) values.get(identifier));
-                        }
-                        sqlgVertex.setInternalPrimaryKey(RecordId.from(SchemaTable.of(schemaTable.getSchema(), schemaTable.getTable()), identifiers));
-                    }
+            try (StreamingRowSink sink = streamSql(sqlgGraph, sql)) {
+                writeVertexRows(sink, schemaTable, vertexLabel, ids, vertices);
+            }
+        }
+    }
+
+    private void writeVertexRows(
+            StreamingRowSink sink,
+            SchemaTable schemaTable,
+            VertexLabel vertexLabel,
+            long[] ids,
+            Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>> vertices) {
+
+        int index = 0;
+        for (Map.Entry<SqlgVertex, Map<String, Object>> sqlgVertexKeyValueMapEntry : vertices.getRight().entrySet()) {
+            SqlgVertex sqlgVertex = sqlgVertexKeyValueMapEntry.getKey();
+            Map<String, Object> keyValueMap = sqlgVertexKeyValueMapEntry.getValue();
+            //The map must contain all the keys, so make a copy with it all.
+            LinkedHashMap<String, Object> values = new LinkedHashMap<>();
+            if (vertexLabel != null && vertexLabel.hasIDPrimaryKey()) {
+                long id = ids[index++];
+                sqlgVertex.setInternalPrimaryKey(RecordId.from(schemaTable, id));
+                values.put("ID", id);
+            }
+            for (String key : vertices.getLeft()) {
+                values.put(key, keyValueMap.get(key));
+            }
+            if (schemaTable.isTemporary()) {
+                writeTemporaryStreamingVertex(sink, values);
+            } else {
+                writeStreamingVertex(sink, values, vertexLabel);
+            }
+            if (vertexLabel != null && !vertexLabel.hasIDPrimaryKey()) {
+                List<Comparable> identifiers = new ArrayList<>();
+                for (String identifier : vertexLabel.getIdentifiers()) {
+                    identifiers.add((Comparable) values.get(identifier));
                 }
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+                sqlgVertex.setInternalPrimaryKey(RecordId.from(SchemaTable.of(schemaTable.getSchema(), schemaTable.getTable()), identifiers));
             }
         }
     }
 
+    /**
+     * @return the next count values of the table's "ID" sequence, taken from the reserved ids if
+     * {@link #ID_BLOCK_SIZE} is set.
+     */
+    private long[] nextIds(SqlgGraph sqlgGraph, Connection con, String schema, String table, int count) {
+        String sequence = maybeWrapInQoutes(schema) + "." + maybeWrapInQoutes(table + "_ID_seq");
+        int blockSize = sqlgGraph.configuration().getInt(ID_BLOCK_SIZE, 0);
+        //uncommitted labels might still be rolled back together with their sequence.
+        if (blockSize <= 0 || sqlgGraph.getTopology().isSchemaChanged()) {
+            return fetchIds(con, sequence, count);
+        }
+        return this.sequenceIdBlocks.nextIds(sqlgGraph.getTopology(), sequence, count, blockSize, c -> fetchIds(con, sequence, c));
+    }
+
+    private long[] fetchIds(Connection con, String sequence, int count) {
+        long[] ids = new long[count];
+        String sql = "SELECT NEXTVAL('" + sequence + "') from generate_series(1," + count + ") ;";
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql);
+        }
+        try (PreparedStatement preparedStatement = con.prepareStatement(sql)) {
+            ResultSet resultSet = preparedStatement.executeQuery();
+            int i = 0;
+            while (resultSet.next()) {
+                ids[i++] = resultSet.getLong(1);
+            }
+            resultSet.close();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        return ids;
+    }
+
     @SuppressWarnings("Duplicates")
     @Override
     public void flushEdgeCache(SqlgGraph sqlgGraph, Map<MetaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>>> edgeCache) {
@@ -295,24 +395,9 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
                 Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>> triples = edgeCache.get(metaEdge);
                 Map<String, PropertyType> propertyTypeMap = sqlgGraph.getTopology().getTableFor(metaEdge.getSchemaTable().withPrefix(EDGE_PREFIX));
 
-                Iterator<Long> it = null;
+                long[] ids = null;
                 if (edgeLabel.hasIDPrimaryKey()) {
-                    List<Long> ids = new LinkedList<>();
-                    // get all ids from sequence first
-                    String seqsql = "SELECT NEXTVAL('" + maybeWrapInQoutes(metaEdge.getSchemaTable().getSchema()) + "." + maybeWrapInQoutes(EDGE_PREFIX + metaEdge.getSchemaTable().getTable() + "_ID_seq") + "') from generate_series(1," + triples.getRight().values().size() + ") ;";
-                    if (logger.isDebugEnabled()) {
-                        logger.debug(seqsql);
-                    }
-                    try (PreparedStatement preparedStatement = con.prepareStatement(seqsql)) {
-                        ResultSet resultSet = preparedStatement.executeQuery();
-                        while (resultSet.next()) {
-                            ids.add(resultSet.getLong(1));
-                        }
-                        resultSet.close();
-                    } catch (SQLException e) {
-                        throw new RuntimeException(e);
-                    }
-                    it = ids.iterator();
+                    ids = nextIds(sqlgGraph, con, metaEdge.getSchemaTable().getSchema(), EDGE_PREFIX + metaEdge.getSchemaTable().getTable(), triples.getRight().size());
                 }
 
                 StringBuilder sql = new StringBuilder();
@@ -363,6 +448,26 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
                 }
                 sql.append(") ");
 
+                if (copyBinary(sqlgGraph, edgeLabel.hasIDPrimaryKey(), triples.getLeft(), edgeLabel.getProperties()) &&
+                        (outVertexLabel.hasIDPrimaryKey() || copyBinary(sqlgGraph, false, outVertexLabel.getIdentifiers(), outVertexLabel.getProperties())) &&
+                        (inVertexLabel.hasIDPrimaryKey() || copyBinary(sqlgGraph, false, inVertexLabel.getIdentifiers(), inVertexLabel.getProperties()))) {
+
+                    sql.append(" FROM STDIN (FORMAT binary);");
+                    if (logger.isDebugEnabled()) {
+                        logger.debug(sql.toString());
+                    }
+                    writeEdgeRowsBinary(
+                            streamBinarySql(sqlgGraph, sql.toString()),
+                            metaEdge.getSchemaTable(),
+                            edgeLabel.hasIDPrimaryKey(),
+                            edgeLabel.getIdentifiers().asList(),
+                            identifierPropertyTypes(outVertexLabel),
+                            identifierPropertyTypes(inVertexLabel),
+                            propertyTypes(edgeLabel, triples.getLeft()),
+                            ids,
+                            triples);
+                    continue;
+                }
                 sql.append(" FROM stdin CSV DELIMITER '");
                 sql.append(COPY_COMMAND_DELIMITER);
                 sql.append("' ");
@@ -374,40 +479,8 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
                 if (logger.isDebugEnabled()) {
                     logger.debug(sql.toString());
                 }
-                long numberInserted = 0;
-                try (Writer writer = streamSql(sqlgGraph, sql.toString())) {
-                    for (Map.Entry<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>> sqlgEdgeTripleEntry : triples.getRight().entrySet()) {
-                        SqlgEdge sqlgEdge = sqlgEdgeTripleEntry.getKey();
-
-                        Triple<SqlgVertex, SqlgVertex, Map<String, Object>> outInVertexKeyValueMap = sqlgEdgeTripleEntry.getValue();
-                        LinkedHashMap<String, Object> values = new LinkedHashMap<>();
-                        if (edgeLabel.hasIDPrimaryKey()) {
-                            long id = Objects.requireNonNull(it).next();
-                            sqlgEdge.setInternalPrimaryKey(RecordId.from(metaEdge.getSchemaTable(), id));
-                            values.put("ID", id);
-                        }
-                        for (String key : triples.getLeft()) {
-                            values.put(key, outInVertexKeyValueMap.getRight().get(key));
-                        }
-                        writeStreamingEdge(
-                                writer,
-                                sqlgEdge,
-                                outVertexLabel,
-                                inVertexLabel,
-                                outInVertexKeyValueMap.getLeft(),
-                                outInVertexKeyValueMap.getMiddle(),
-                                values,
-                                edgeLabel);
-
-                        numberInserted++;
-                        if (!edgeLabel.hasIDPrimaryKey()) {
-                            List<Comparable> identifiers = new ArrayList<>();
-                            for (String identifier : edgeLabel.getIdentifiers()) {
-                                identifiers.add((Comparable) values.get(identifier));
-                            }
-                            sqlgEdge.setInternalPrimaryKey(RecordId.from(SchemaTable.of(metaEdge.getSchemaTable().getSchema(), metaEdge.getSchemaTable().getTable()), identifiers));
-                        }
-                    }
+                try (StreamingRowSink sink = streamSql(sqlgGraph, sql.toString())) {
+                    writeEdgeRows(sink, metaEdge, outVertexLabel, inVertexLabel, edgeLabel, ids, triples);
                 }
             }
         } catch (Exception e) {
@@ -415,6 +488,203 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
         }
     }
 
+    private void writeEdgeRows(
+            StreamingRowSink sink,
+            MetaEdge metaEdge,
+            VertexLabel outVertexLabel,
+            VertexLabel inVertexLabel,
+            EdgeLabel edgeLabel,
+            long[] ids,
+            Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>> triples) {
+
+        int index = 0;
+        for (Map.Entry<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>> sqlgEdgeTripleEntry : triples.getRight().entrySet()) {
+            SqlgEdge sqlgEdge = sqlgEdgeTripleEntry.getKey();
+
+            Triple<SqlgVertex, SqlgVertex, Map<String, Object>> outInVertexKeyValueMap = sqlgEdgeTripleEntry.getValue();
+            LinkedHashMap<String, Object> values = new LinkedHashMap<>();
+            if (edgeLabel.hasIDPrimaryKey()) {
+                long id = ids[index++];
+                sqlgEdge.setInternalPrimaryKey(RecordId.from(metaEdge.getSchemaTable(), id));
+                values.put("ID", id);
+            }
+            for (String key : triples.getLeft()) {
+                values.put(key, outInVertexKeyValueMap.getRight().get(key));
+            }
+            writeStreamingEdge(
+                    sink,
+                    sqlgEdge,
+                    outVertexLabel,
+                    inVertexLabel,
+                    outInVertexKeyValueMap.getLeft(),
+                    outInVertexKeyValueMap.getMiddle(),
+                    values,
+                    edgeLabel);
+
+            if (!edgeLabel.hasIDPrimaryKey()) {
+                List<Comparable> identifiers = new ArrayList<>();
+                for (String identifier : edgeLabel.getIdentifiers()) {
+                    identifiers.add((Comparable) values.get(identifier));
+                }
+                sqlgEdge.setInternalPrimaryKey(RecordId.from(SchemaTable.of(metaEdge.getSchemaTable().getSchema(), metaEdge.getSchemaTable().getTable()), identifiers));
+            }
+        }
+    }
+
+    /**
+     * The binary format is only used when it is enabled and all the columns' property types can be encoded by
+     * {@link BinaryCopyWriter}. A copy command needs at least one column so labels without an "ID" column and without
+     * properties use the text format's dummy column.
+     */
+    private boolean copyBinary(SqlgGraph sqlgGraph, boolean hasIDPrimaryKey, Collection<String> keys, Map<String, ? extends PropertyColumn> propertyColumns) {
+        return sqlgGraph.configuration().getBoolean(COPY_BINARY, false) && binaryCopySupported(hasIDPrimaryKey, keys, propertyColumns);
+    }
+
+    private static boolean binaryCopySupported(boolean hasIDPrimaryKey, Collection<String> keys, Map<String, ? extends PropertyColumn> propertyColumns) {
+        if (!hasIDPrimaryKey && keys.isEmpty()) {
+            return false;
+        }
+        for (String key : keys) {
+            PropertyColumn propertyColumn = propertyColumns.get(key);
+            if (propertyColumn == null || !BinaryCopyWriter.supports(propertyColumn.getPropertyType())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int numberOfColumns(PropertyType propertyType) {
+        return propertyType.getPostFixes().length + 1;
+    }
+
+    /**
+     * Writes the vertices in the binary copy format. The property types are resolved up front so that no topology
+     * lookups are needed while writing.
+     */
+    private static void writeVertexRowsBinary(
+            OutputStream outputStream,
+            SchemaTable schemaTable,
+            boolean hasIDPrimaryKey,
+            List<String> identifiers,
+            PropertyType[] propertyTypes,
+            long[] ids,
+            Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>> vertices) {
+
+        int numberOfColumns = hasIDPrimaryKey ? 1 : 0;
+        for (PropertyType propertyType : propertyTypes) {
+            numberOfColumns += numberOfColumns(propertyType);
+        }
+        int index = 0;
+        try (BinaryCopyWriter writer = new BinaryCopyWriter(outputStream)) {
+            for (Map.Entry<SqlgVertex, Map<String, Object>> sqlgVertexKeyValueMapEntry : vertices.getRight().entrySet()) {
+                SqlgVertex sqlgVertex = sqlgVertexKeyValueMapEntry.getKey();
+                Map<String, Object> keyValueMap = sqlgVertexKeyValueMapEntry.getValue();
+                writer.startRow(numberOfColumns);
+                if (hasIDPrimaryKey) {
+                    long id = ids[index++];
+                    sqlgVertex.setInternalPrimaryKey(RecordId.from(schemaTable, id));
+                    writer.writeLong(id);
+                }
+                int i = 0;
+                for (String key : vertices.getLeft()) {
+                    writer.write(propertyTypes[i++], keyValueMap.get(key));
+                }
+                if (!hasIDPrimaryKey) {
+                    sqlgVertex.setInternalPrimaryKey(RecordId.from(schemaTable, identifierValues(identifiers, keyValueMap)));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Writes the edges in the binary copy format. The foreign key property types are empty for vertex labels with an
+     * "ID" column.
+     */
+    private static void writeEdgeRowsBinary(
+            OutputStream outputStream,
+            SchemaTable schemaTable,
+            boolean hasIDPrimaryKey,
+            List<String> identifiers,
+            PropertyType[] outPropertyTypes,
+            PropertyType[] inPropertyTypes,
+            PropertyType[] propertyTypes,
+            long[] ids,
+            Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>> triples) {
+
+        int numberOfColumns = (hasIDPrimaryKey ? 1 : 0) +
+                (outPropertyTypes.length == 0 ? 1 : outPropertyTypes.length) +
+                (inPropertyTypes.length == 0 ? 1 : inPropertyTypes.length);
+        for (PropertyType propertyType : propertyTypes) {
+            numberOfColumns += numberOfColumns(propertyType);
+        }
+        int index = 0;
+        try (BinaryCopyWriter writer = new BinaryCopyWriter(outputStream)) {
+            for (Map.Entry<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>> sqlgEdgeTripleEntry : triples.getRight().entrySet()) {
+                SqlgEdge sqlgEdge = sqlgEdgeTripleEntry.getKey();
+                Triple<SqlgVertex, SqlgVertex, Map<String, Object>> outInVertexKeyValueMap = sqlgEdgeTripleEntry.getValue();
+                writer.startRow(numberOfColumns);
+                writeBinaryForeignKey(writer, (RecordId) outInVertexKeyValueMap.getLeft().id(), outPropertyTypes);
+                writeBinaryForeignKey(writer, (RecordId) outInVertexKeyValueMap.getMiddle().id(), inPropertyTypes);
+                if (hasIDPrimaryKey) {
+                    long id = ids[index++];
+                    sqlgEdge.setInternalPrimaryKey(RecordId.from(schemaTable, id));
+                    writer.writeLong(id);
+                }
+                Map<String, Object> keyValueMap = outInVertexKeyValueMap.getRight();
+                int i = 0;
+                for (String key : triples.getLeft()) {
+                    writer.write(propertyTypes[i++], keyValueMap.get(key));
+                }
+                if (!hasIDPrimaryKey) {
+                    sqlgEdge.setInternalPrimaryKey(RecordId.from(schemaTable, identifierValues(identifiers, keyValueMap)));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static List<Comparable> identifierValues(List<String> identifiers, Map<String, Object> keyValueMap) {
+        List<Comparable> result = new ArrayList<>(identifiers.size());
+        for (String identifier : identifiers) {
+            result.add((Comparable) keyValueMap.get(identifier));
+        }
+        return result;
+    }
+
+    private static PropertyType[] propertyTypes(AbstractLabel abstractLabel, Collection<String> keys) {
+        Map<String, PropertyColumn> propertyColumns = abstractLabel.getProperties();
+        PropertyType[] propertyTypes = new PropertyType[keys.size()];
+        int i = 0;
+        for (String key : keys) {
+            propertyTypes[i++] = propertyColumns.get(key).getPropertyType();
+        }
+        return propertyTypes;
+    }
+
+    /**
+     * @return the property types of the vertex label's identifiers, empty if the vertex label has an "ID" column.
+     */
+    private static PropertyType[] identifierPropertyTypes(VertexLabel vertexLabel) {
+        if (vertexLabel.hasIDPrimaryKey()) {
+            return new PropertyType[0];
+        }
+        return propertyTypes(vertexLabel, vertexLabel.getIdentifiers());
+    }
+
+    private static void writeBinaryForeignKey(BinaryCopyWriter writer, RecordId recordId, PropertyType[] identifierPropertyTypes) throws IOException {
+        if (identifierPropertyTypes.length == 0) {
+            writer.writeLong(recordId.sequenceId());
+        } else {
+            List<Comparable> identifiers = recordId.getID().getIdentifiers();
+            for (int i = 0; i < identifierPropertyTypes.length; i++) {
+                writer.write(identifierPropertyTypes[i], identifiers.get(i));
+            }
+        }
+    }
+
     @Override
     public void flushVertexPropertyCache(SqlgGraph sqlgGraph, Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> schemaVertexPropertyCache) {
         flushElementPropertyCache(sqlgGraph, true, schemaVertexPropertyCache);
@@ -1181,6 +1451,10 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
     }
 
     private String internalConstructCompleteCopyCommandSqlVertex(SqlgGraph sqlgGraph, boolean isTemp, String schema, String table, boolean needID, Set<String> keys) {
+        return internalConstructCompleteCopyCommandSqlVertex(sqlgGraph, isTemp, schema, table, needID, keys, false);
+    }
+
+    private String internalConstructCompleteCopyCommandSqlVertex(SqlgGraph sqlgGraph, boolean isTemp, String schema, String table, boolean needID, Set<String> keys, boolean binary) {
         Map<String, PropertyType> propertyTypeMap;
         if (isTemp) {
             propertyTypeMap = sqlgGraph.getTopology().getPublicSchema().getTemporaryTable(VERTEX_PREFIX + table);
@@ -1226,17 +1500,21 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
             }
         }
         sql.append(")");
-        sql.append(" FROM stdin CSV DELIMITER '");
-        sql.append(COPY_COMMAND_DELIMITER);
-        sql.append("' ");
-        sql.append("QUOTE ");
-        sql.append(COPY_COMMAND_QUOTE);
-        sql.append(" ESCAPE '");
-        sql.append(ESCAPE);
-        sql.append("'");
-        sql.append(" NULL'");
-        sql.append(BATCH_NULL);
-        sql.append("';");
+        if (binary) {
+            sql.append(" FROM STDIN (FORMAT binary);");
+        } else {
+            sql.append(" FROM stdin CSV DELIMITER '");
+            sql.append(COPY_COMMAND_DELIMITER);
+            sql.append("' ");
+            sql.append("QUOTE ");
+            sql.append(COPY_COMMAND_QUOTE);
+            sql.append(" ESCAPE '");
+            sql.append(ESCAPE);
+            sql.append("'");
+            sql.append(" NULL'");
+            sql.append(BATCH_NULL);
+            sql.append("';");
+        }
         if (logger.isDebugEnabled()) {
             logger.debug(sql.toString());
         }
@@ -1376,7 +1654,8 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
     }
 
     @Override
-    public void writeStreamingVertex(Writer writer, Map<String, Object> keyValueMap, VertexLabel vertexLabel) {
+    public void writeStreamingVertex(StreamingRowSink sink, Map<String, Object> keyValueMap, VertexLabel vertexLabel) {
+        Writer writer = ((CopyRowSink) sink).getWriter();
         try {
             int countKeys = 1;
             if (keyValueMap.isEmpty()) {
@@ -1406,7 +1685,8 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
     }
 
     @Override
-    public void writeTemporaryStreamingVertex(Writer writer, Map<String, Object> keyValueMap) {
+    public void writeTemporaryStreamingVertex(StreamingRowSink sink, Map<String, Object> keyValueMap) {
+        Writer writer = ((CopyRowSink) sink).getWriter();
         try {
             int countKeys = 1;
             if (keyValueMap.isEmpty()) {
@@ -1435,7 +1715,7 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
 
     @Override
     public void writeStreamingEdge(
-            Writer writer,
+            StreamingRowSink sink,
             SqlgEdge sqlgEdge,
             VertexLabel outVertexLabel,
             VertexLabel inVertexLabel,
@@ -1444,6 +1724,7 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
             Map<String, Object> keyValueMap,
             EdgeLabel edgeLabel) {
 
+        Writer writer = ((CopyRowSink) sink).getWriter();
         try {
             String encoding = "UTF-8";
             if (outVertexLabel.hasIDPrimaryKey()) {
@@ -2452,7 +2733,11 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
     }
 
     @Override
-    public Writer streamSql(SqlgGraph sqlgGraph, String sql) {
+    public StreamingRowSink streamSql(SqlgGraph sqlgGraph, String sql) {
+        return new CopyRowSink(copyWriter(sqlgGraph, sql));
+    }
+
+    private Writer copyWriter(SqlgGraph sqlgGraph, String sql) {
         Connection conn = sqlgGraph.tx().getConnection();
         PGConnection pgConnection;
         try {
@@ -2464,6 +2749,15 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
         }
     }
 
+    private OutputStream streamBinarySql(SqlgGraph sqlgGraph, String sql) {
+        Connection conn = sqlgGraph.tx().getConnection();
+        try {
+            return new PGCopyOutputStream(conn.unwrap(PGConnection.class), sql);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private <L, R> void copyInBulkTempEdges(SqlgGraph sqlgGraph, SchemaTable schemaTable, Collection<Pair<L, R>> uids, PropertyType inPropertyType, PropertyType outPropertyType) {
         try {
             StringBuilder sql = new StringBuilder();
@@ -2491,7 +2785,7 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
             if (logger.isDebugEnabled()) {
                 logger.debug(sql.toString());
             }
-            Writer writer = streamSql(sqlgGraph, sql.toString());
+            Writer writer = copyWriter(sqlgGraph, sql.toString());
             for (Pair<L, R> uid : uids) {
                 valueToStreamBytes(writer, inPropertyType, uid.getLeft());
                 writer.write(COPY_COMMAND_DELIMITER);
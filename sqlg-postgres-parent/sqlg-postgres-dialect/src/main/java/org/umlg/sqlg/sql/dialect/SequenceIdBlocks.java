@@ -0,0 +1,62 @@
+package org.umlg.sqlg.sql.dialect;
+
+import org.umlg.sqlg.structure.topology.Topology;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out the ids that the batch mode assigns to new vertices and edges from blocks of sequence values that were
+ * reserved ahead of time. Flushes smaller than what is left of a block need no query.
+ * <p>
+ * The ids of a block are not contiguous, they are whatever the sequence returned when the block was reserved.
+ * The blocks are discarded whenever the topology changes as a dropped and recreated label restarts its sequence.
+ */
+class SequenceIdBlocks {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    interface IdFetcher {
+        long[] fetch(int count);
+    }
+
+    /**
+     * @param sequence  The fully qualified sequence.
+     * @param count     The number of ids needed.
+     * @param blockSize The number of ids to reserve beyond count when the block runs out.
+     * @param fetcher   Fetches the next values of the sequence.
+     * @return count ids.
+     */
+    long[] nextIds(Topology topology, String sequence, int count, int blockSize, IdFetcher fetcher) {
+        Block block = this.blocks.computeIfAbsent(sequence, k -> new Block());
+        synchronized (block) {
+            long topologyVersion = topology.getVersion();
+            if (block.topologyVersion != topologyVersion) {
+                block.ids = EMPTY;
+                block.next = 0;
+                block.topologyVersion = topologyVersion;
+            }
+            long[] result = new long[count];
+            int available = Math.min(count, block.ids.length - block.next);
+            System.arraycopy(block.ids, block.next, result, 0, available);
+            block.next += available;
+            if (available < count) {
+                int missing = count - available;
+                long[] fetched = fetcher.fetch(missing + blockSize);
+                System.arraycopy(fetched, 0, result, available, missing);
+                block.ids = fetched;
+                block.next = missing;
+            }
+            return result;
+        }
+    }
+
+    private static final class Block {
+        private long[] ids = EMPTY;
+        private int next;
+        private long topologyVersion = -1;
+    }
+}
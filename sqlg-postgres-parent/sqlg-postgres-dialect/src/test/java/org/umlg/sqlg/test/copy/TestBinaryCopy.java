@@ -0,0 +1,143 @@
+package org.umlg.sqlg.test.copy;
+
+import org.apache.commons.collections4.set.ListOrderedSet;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.sql.dialect.PostgresDialect;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.time.*;
+import java.util.*;
+
+/**
+ * Tests the batch mode flushing with {@code COPY ... FROM STDIN (FORMAT binary)}.
+ */
+public class TestBinaryCopy extends BaseTest {
+
+    private void openWithBinaryCopy(boolean binary) {
+        this.sqlgGraph.close();
+        Configuration conf = getConfigurationClone();
+        conf.setProperty(PostgresDialect.COPY_BINARY, binary);
+        this.sqlgGraph = SqlgGraph.open(conf);
+    }
+
+    @Test
+    public void testBinaryCopyVertexProperties() {
+        openWithBinaryCopy(true);
+        LocalDateTime localDateTime = LocalDateTime.of(2021, 3, 4, 5, 6, 7, 8000);
+        ZonedDateTime zonedDateTime = ZonedDateTime.of(LocalDateTime.of(1999, 12, 31, 23, 59, 59), ZoneId.of("Africa/Johannesburg"));
+        UUID uuid = UUID.randomUUID();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A",
+                "boolean", true,
+                "short", (short) 1,
+                "integer", 2,
+                "long", 3L,
+                "float", 4.4F,
+                "double", 5.5D,
+                "string", "halo\tdaar\n\"quote\" \u00eb",
+                "uuid", uuid,
+                "localDate", LocalDate.of(1970, 1, 1),
+                "localDateTime", localDateTime,
+                "localTime", LocalTime.of(13, 14, 15),
+                "zonedDateTime", zonedDateTime,
+                "period", Period.of(1, 2, 3),
+                "duration", Duration.ofSeconds(10, 20),
+                "bytes", new byte[]{1, 2, 3},
+                "ints", new int[]{1, 2, 3},
+                "longs", new Long[]{4L, 5L},
+                "doubles", new double[]{1.1D, 2.2D},
+                "strings", new String[]{"a", "b,c", ""},
+                "localDateTimes", new LocalDateTime[]{localDateTime, localDateTime.plusDays(1)}
+        );
+        Vertex nulls = this.sqlgGraph.addVertex(T.label, "A", "integer", 10);
+        this.sqlgGraph.tx().commit();
+
+        a = this.sqlgGraph.traversal().V(a.id()).next();
+        Assert.assertEquals(true, a.value("boolean"));
+        Assert.assertEquals((short) 1, (short) a.value("short"));
+        Assert.assertEquals(2, (int) a.value("integer"));
+        Assert.assertEquals(3L, (long) a.value("long"));
+        Assert.assertEquals(4.4F, a.value("float"), 0F);
+        Assert.assertEquals(5.5D, a.value("double"), 0D);
+        Assert.assertEquals("halo\tdaar\n\"quote\" \u00eb", a.value("string"));
+        Assert.assertEquals(uuid, a.value("uuid"));
+        Assert.assertEquals(LocalDate.of(1970, 1, 1), a.value("localDate"));
+        Assert.assertEquals(localDateTime, a.value("localDateTime"));
+        Assert.assertEquals(LocalTime.of(13, 14, 15), a.value("localTime"));
+        Assert.assertEquals(zonedDateTime, a.value("zonedDateTime"));
+        Assert.assertEquals(Period.of(1, 2, 3), a.value("period"));
+        Assert.assertEquals(Duration.ofSeconds(10, 20), a.value("duration"));
+        Assert.assertArrayEquals(new byte[]{1, 2, 3}, a.value("bytes"));
+        Assert.assertArrayEquals(new int[]{1, 2, 3}, a.value("ints"));
+        Assert.assertArrayEquals(new Long[]{4L, 5L}, a.value("longs"));
+        Assert.assertArrayEquals(new double[]{1.1D, 2.2D}, a.value("doubles"), 0D);
+        Assert.assertArrayEquals(new String[]{"a", "b,c", ""}, a.value("strings"));
+        Assert.assertArrayEquals(new LocalDateTime[]{localDateTime, localDateTime.plusDays(1)}, a.value("localDateTimes"));
+
+        nulls = this.sqlgGraph.traversal().V(nulls.id()).next();
+        Assert.assertEquals(10, (int) nulls.value("integer"));
+        Assert.assertFalse(nulls.property("string").isPresent());
+        Assert.assertFalse(nulls.property("zonedDateTime").isPresent());
+        Assert.assertFalse(nulls.property("period").isPresent());
+        Assert.assertFalse(nulls.property("ints").isPresent());
+    }
+
+    @Test
+    public void testBinaryCopyEdges() {
+        openWithBinaryCopy(true);
+        this.sqlgGraph.tx().normalBatchModeOn();
+        List<Vertex> outs = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Vertex out = this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+            Vertex in = this.sqlgGraph.addVertex(T.label, "B", "name", "b" + i);
+            out.addEdge("ab", in, "index", i, "duration", Duration.ofMillis(i));
+            outs.add(out);
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(100, this.sqlgGraph.traversal().E().hasLabel("ab").count().next().intValue());
+        for (int i = 0; i < 100; i++) {
+            Edge edge = this.sqlgGraph.traversal().V(outs.get(i).id()).outE("ab").next();
+            Assert.assertEquals(i, (int) edge.value("index"));
+            Assert.assertEquals(Duration.ofMillis(i), edge.value("duration"));
+            Assert.assertEquals("b" + i, edge.inVertex().value("name"));
+        }
+    }
+
+    @Test
+    public void testBinaryCopyUserSuppliedIdentifiers() {
+        openWithBinaryCopy(true);
+        this.sqlgGraph.getTopology().getPublicSchema().ensureVertexLabelExist(
+                "Person",
+                new HashMap<>() {{
+                    put("uid", PropertyType.varChar(100));
+                    put("name", PropertyType.STRING);
+                }},
+                ListOrderedSet.listOrderedSet(Collections.singletonList("uid"))
+        );
+        this.sqlgGraph.getTopology().getPublicSchema().ensureEdgeLabelExist(
+                "knows",
+                this.sqlgGraph.getTopology().getPublicSchema().getVertexLabel("Person").orElseThrow(),
+                this.sqlgGraph.getTopology().getPublicSchema().getVertexLabel("Person").orElseThrow(),
+                new HashMap<>() {{
+                    put("uid", PropertyType.STRING);
+                }},
+                ListOrderedSet.listOrderedSet(Collections.singletonList("uid"))
+        );
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex marko = this.sqlgGraph.addVertex(T.label, "Person", "uid", "1", "name", "marko");
+        Vertex john = this.sqlgGraph.addVertex(T.label, "Person", "uid", "2", "name", "john");
+        marko.addEdge("knows", john, "uid", "1-2");
+        this.sqlgGraph.tx().commit();
+        List<Vertex> known = this.sqlgGraph.traversal().V().hasLabel("Person").has("name", "marko").out("knows").toList();
+        Assert.assertEquals(1, known.size());
+        Assert.assertEquals("john", known.get(0).value("name"));
+    }
+}
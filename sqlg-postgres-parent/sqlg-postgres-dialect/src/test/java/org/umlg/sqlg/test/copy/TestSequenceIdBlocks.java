@@ -0,0 +1,83 @@
+package org.umlg.sqlg.test.copy;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.sql.dialect.PostgresDialect;
+import org.umlg.sqlg.structure.RecordId;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests the batch mode taking the ids of new vertices and edges from reserved blocks of sequence values.
+ */
+public class TestSequenceIdBlocks extends BaseTest {
+
+    @Before
+    public void before() throws Exception {
+        super.before();
+        this.sqlgGraph.close();
+        Configuration conf = getConfigurationClone();
+        conf.setProperty(PostgresDialect.ID_BLOCK_SIZE, 100);
+        this.sqlgGraph = SqlgGraph.open(conf);
+    }
+
+    @Test
+    public void testIdsComeFromTheReservedBlock() {
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        List<Vertex> first = addVertices(10);
+        this.sqlgGraph.tx().commit();
+        //the first flush reserved 100 ids beyond the 10 it needed
+        Vertex normal = this.sqlgGraph.addVertex(T.label, "A", "name", "normal");
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(sequenceId(first.get(9)) + 101, sequenceId(normal));
+        this.sqlgGraph.tx().normalBatchModeOn();
+        List<Vertex> second = addVertices(10);
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(sequenceId(first.get(9)) + 1, sequenceId(second.get(0)));
+        Assert.assertEquals(22, this.sqlgGraph.traversal().V().hasLabel("A").count().next().intValue());
+    }
+
+    @Test
+    public void testLargeFlushAndEdges() {
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        this.sqlgGraph.tx().commit();
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            this.sqlgGraph.tx().normalBatchModeOn();
+            for (int j = 0; j < 250; j++) {
+                Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a" + j);
+                Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b" + j);
+                a.addEdge("ab", b);
+            }
+            this.sqlgGraph.tx().commit();
+        }
+        this.sqlgGraph.traversal().E().hasLabel("ab").forEachRemaining(e -> Assert.assertTrue(ids.add(((RecordId) e.id()).sequenceId())));
+        Assert.assertEquals(750, ids.size());
+        Assert.assertEquals(751, this.sqlgGraph.traversal().V().hasLabel("A").count().next().intValue());
+        Assert.assertEquals(750, this.sqlgGraph.traversal().V().hasLabel("A").out("ab").count().next().intValue());
+    }
+
+    private List<Vertex> addVertices(int count) {
+        List<Vertex> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            result.add(this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i));
+        }
+        return result;
+    }
+
+    private static long sequenceId(Vertex vertex) {
+        return ((RecordId) vertex.id()).sequenceId();
+    }
+}
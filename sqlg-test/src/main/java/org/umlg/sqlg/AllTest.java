@@ -15,6 +15,7 @@ import org.umlg.sqlg.test.event.TestTinkerPopEvent;
 import org.umlg.sqlg.test.filter.and.TestAndStep;
 import org.umlg.sqlg.test.filter.and.barrier.TestAndStepBarrier;
 import org.umlg.sqlg.test.filter.connectivestep.TestAndandOrStep;
+import org.umlg.sqlg.test.filter.exists.TestFilterTraversalExists;
 import org.umlg.sqlg.test.filter.not.barrier.TestNotStepBarrier;
 import org.umlg.sqlg.test.filter.or.TestOrStep;
 import org.umlg.sqlg.test.filter.or.TestOrStepAfterVertexStepBarrier;
@@ -44,11 +45,14 @@ import org.umlg.sqlg.test.match.TestMatch;
 import org.umlg.sqlg.test.memory.TestMemoryUsage;
 import org.umlg.sqlg.test.mod.*;
 import org.umlg.sqlg.test.partition.TestJoinAcrossPartition;
+import org.umlg.sqlg.test.preparedStatement.TestStatementCache;
 import org.umlg.sqlg.test.process.dropstep.*;
 import org.umlg.sqlg.test.properties.TestEscapedValues;
+import org.umlg.sqlg.test.properties.TestPropertyLayout;
 import org.umlg.sqlg.test.properties.TestPropertyValues;
 import org.umlg.sqlg.test.reducing.*;
 import org.umlg.sqlg.test.remove.TestRemoveEdge;
+import org.umlg.sqlg.test.repeatstep.TestRecursiveRepeatStep;
 import org.umlg.sqlg.test.repeatstep.TestUnoptimizedRepeatStep;
 import org.umlg.sqlg.test.roles.TestReadOnlyRole;
 import org.umlg.sqlg.test.rollback.TestRollback;
@@ -65,6 +69,7 @@ import org.umlg.sqlg.test.usersuppliedpk.topology.TestUserSuppliedPKTopology;
 import org.umlg.sqlg.test.uuid.TestUUID;
 import org.umlg.sqlg.test.vertex.*;
 import org.umlg.sqlg.test.vertexout.TestVertexOutWithHas;
+import org.umlg.sqlg.test.vertexout.TestVertexStepBatchSize;
 import org.umlg.sqlg.test.where.TestTraversalFilterStepBarrier;
 
 /**
@@ -99,6 +104,7 @@ import org.umlg.sqlg.test.where.TestTraversalFilterStepBarrier;
         TestSchema.class,
         TestIndex.class,
         TestVertexOutWithHas.class,
+        TestVertexStepBatchSize.class,
         TestEdgeHas.class,
         TestBatch.class,
         TestBatchNormalUpdate.class,
@@ -118,6 +124,8 @@ import org.umlg.sqlg.test.where.TestTraversalFilterStepBarrier;
         TestRemovedVertex.class,
         TestCaptureSchemaTableEdges.class,
         TestGremlinCompileWithHas.class,
+        TestQueryPlanCache.class,
+        TestStatementCache.class,
         TestGremlinCompileE.class,
         TestEmptyGraph.class,
         TestOutE.class,
@@ -188,6 +196,8 @@ import org.umlg.sqlg.test.where.TestTraversalFilterStepBarrier;
         TestEscapedValues.class,
         TestRepeatStepOnEdges.class,
         TestLoadingAdjacent.class,
+        TestLoadGroup.class,
+        TestIdentityMap.class,
         TestLabelsSchema.class,
         MidTraversalGraphTest.class,
         //TODO fails, issue #65
@@ -200,9 +210,14 @@ import org.umlg.sqlg.test.where.TestTraversalFilterStepBarrier;
         TestVertexEdges.class,
         TestSqlgSchema.class,
         TestValidateTopology.class,
+        TestTopologySnapshot.class,
         TestBatchNormalUpdateDateTimeArrays.class,
         TestTopologyChangeListener.class,
         TestRangeLimit.class,
+        TestDedupSampleTail.class,
+        TestParallelQueries.class,
+        TestUnionQuery.class,
+        TestRowDecoder.class,
         TestReplacedStepEmitComparator.class,
         TestLocalStepCompile.class,
         TestLocalVertexStepLimit.class,
@@ -220,6 +235,7 @@ import org.umlg.sqlg.test.where.TestTraversalFilterStepBarrier;
         TestTopologyDelete.class,
         TestTopologyDeleteSpecific.class,
         TestTopologyDeleteEdgeRole.class,
+        TestTopologyUncommittedTables.class,
         TestTinkerPopEvent.class,
         TestIo.class,
         TestComplex.class,
@@ -237,12 +253,14 @@ import org.umlg.sqlg.test.where.TestTraversalFilterStepBarrier;
         TestOrStep.class,
         TestAndStep.class,
         TestAndandOrStep.class,
+        TestFilterTraversalExists.class,
         TestOrStepAfterVertexStepBarrier.class,
         TestDropStep.class,
         TestDropStepBarrier.class,
         TestDropStepTruncate.class,
         TestTopologyGraph.class,
         TestUnoptimizedRepeatStep.class,
+        TestRecursiveRepeatStep.class,
         TestPropertyReference.class,
         TestPartitioning.class,
         TestJoinAcrossPartition.class,
@@ -257,6 +275,7 @@ import org.umlg.sqlg.test.where.TestTraversalFilterStepBarrier;
 //        TestShardingGremlin.class,
         TestRecordId.class,
         TestPropertyValues.class,
+        TestPropertyLayout.class,
         TestReadOnlyRole.class,
         TestVarChar.class,
         TestTopologySchemaDeleteMultipleGraphs.class,
@@ -270,6 +289,8 @@ import org.umlg.sqlg.test.where.TestTraversalFilterStepBarrier;
         TestPartitionedDrop.class,
         TestDropStepPartition.class,
         TestBatchUpdatePartitioning.class,
+        TestBatchMultiRowInsert.class,
+        TestBatchSpillFlush.class,
         TestLargeSchemaPerformance.class,
         TestInject.class,
         TestFoldStep.class,
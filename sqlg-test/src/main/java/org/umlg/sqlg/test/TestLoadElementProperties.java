@@ -8,6 +8,7 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.umlg.sqlg.structure.PropertyType;
 
+import java.time.*;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.UUID;
@@ -70,4 +71,45 @@ public class TestLoadElementProperties extends BaseTest {
         Assert.assertEquals(1, this.sqlgGraph.traversal().E(friend.id()).next().property("weight").value());
     }
 
+    @Test
+    public void testLoadIdOnlyElementsWithMultiColumnProperties() {
+        ZonedDateTime zonedDateTime = ZonedDateTime.of(LocalDateTime.of(2020, 1, 2, 3, 4, 5), ZoneId.of("Africa/Johannesburg"));
+        Duration duration = Duration.ofSeconds(10, 20);
+        Period period = Period.of(1, 2, 3);
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a", "zonedDateTime", zonedDateTime, "duration", duration, "period", period, "age", 1);
+        b.addEdge("ba", a, "zonedDateTime", zonedDateTime, "duration", duration, "period", period);
+        this.sqlgGraph.tx().commit();
+        Edge edge = this.sqlgGraph.traversal().V(b).outE("ba").next();
+        Assert.assertEquals(zonedDateTime, edge.value("zonedDateTime"));
+        Assert.assertEquals(duration, edge.value("duration"));
+        Assert.assertEquals(period, edge.value("period"));
+        Vertex inVertex = edge.inVertex();
+        Assert.assertEquals("a", inVertex.value("name"));
+        Assert.assertEquals(zonedDateTime, inVertex.value("zonedDateTime"));
+        Assert.assertEquals(duration, inVertex.value("duration"));
+        Assert.assertEquals(period, inVertex.value("period"));
+        Assert.assertEquals(1, (int) inVertex.value("age"));
+    }
+
+    @Test
+    public void testLoadIdOnlyVertexAfterTopologyChange() {
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        b.addEdge("ba", a);
+        this.sqlgGraph.tx().commit();
+        Vertex inVertex = this.sqlgGraph.traversal().V(b).outE("ba").next().inVertex();
+        Assert.assertEquals("a", inVertex.value("name"));
+        Assert.assertFalse(inVertex.property("surname").isPresent());
+        this.sqlgGraph.tx().commit();
+
+        a.property("surname", "s");
+        inVertex = this.sqlgGraph.traversal().V(b).outE("ba").next().inVertex();
+        Assert.assertEquals("s", inVertex.value("surname"));
+        this.sqlgGraph.tx().commit();
+        inVertex = this.sqlgGraph.traversal().V(b).outE("ba").next().inVertex();
+        Assert.assertEquals("a", inVertex.value("name"));
+        Assert.assertEquals("s", inVertex.value("surname"));
+    }
+
 }
@@ -0,0 +1,169 @@
+package org.umlg.sqlg.test.batch;
+
+import org.apache.commons.collections4.set.ListOrderedSet;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.sql.dialect.BaseSqlDialect;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.SqlgVertex;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+
+/**
+ * Tests the batch modes inserting more rows than fit into one multi row insert statement.
+ */
+public class TestBatchMultiRowInsert extends BaseTest {
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsBatchMode());
+    }
+
+    @Test
+    public void testVerticesAcrossChunks() {
+        assertVerticesAcrossChunks(2500);
+    }
+
+    @Test
+    public void testVerticesWithMultiRowInsertOff() {
+        this.sqlgGraph.close();
+        Configuration conf = getConfigurationClone();
+        conf.setProperty(BaseSqlDialect.MULTI_ROW_INSERT, false);
+        this.sqlgGraph = SqlgGraph.open(conf);
+        assertVerticesAcrossChunks(1500);
+    }
+
+    private void assertVerticesAcrossChunks(int count) {
+        ZonedDateTime zonedDateTime = ZonedDateTime.of(LocalDateTime.of(2020, 1, 1, 0, 0), ZoneId.of("Africa/Johannesburg"));
+        this.sqlgGraph.tx().normalBatchModeOn();
+        List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            vertices.add(this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i, "number", i, "zonedDateTime", zonedDateTime.plusDays(i)));
+        }
+        this.sqlgGraph.tx().commit();
+        Map<Object, Vertex> loaded = new HashMap<>();
+        this.sqlgGraph.traversal().V().hasLabel("A").forEachRemaining(v -> loaded.put(v.id(), v));
+        Assert.assertEquals(count, loaded.size());
+        for (int i = 0; i < count; i++) {
+            Vertex vertex = loaded.get(vertices.get(i).id());
+            Assert.assertEquals(i, (int) vertex.value("number"));
+            Assert.assertEquals("a" + i, vertex.value("name"));
+            Assert.assertEquals(zonedDateTime.plusDays(i), vertex.value("zonedDateTime"));
+        }
+    }
+
+    @Test
+    public void testEdgesAcrossChunks() {
+        int count = 1500;
+        this.sqlgGraph.tx().normalBatchModeOn();
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A", "number", i);
+            Vertex b = this.sqlgGraph.addVertex(T.label, "B", "number", i);
+            edges.add(a.addEdge("ab", b, "number", i, "weight", (double) i));
+        }
+        this.sqlgGraph.tx().commit();
+        Map<Object, Edge> loaded = new HashMap<>();
+        this.sqlgGraph.traversal().E().hasLabel("ab").forEachRemaining(e -> loaded.put(e.id(), e));
+        Assert.assertEquals(count, loaded.size());
+        for (int i = 0; i < count; i++) {
+            Edge edge = loaded.get(edges.get(i).id());
+            Assert.assertEquals(i, (int) edge.value("number"));
+            Assert.assertEquals(i, (int) edge.outVertex().value("number"));
+            Assert.assertEquals(i, (int) edge.inVertex().value("number"));
+        }
+    }
+
+    @Test
+    public void testStreamingAcrossChunks() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsStreamingBatchMode());
+        int count = 2500;
+        this.sqlgGraph.tx().streamingBatchModeOn();
+        for (int i = 0; i < count; i++) {
+            this.sqlgGraph.streamVertex(T.label, "A", "name", "a" + i, "number", i);
+        }
+        this.sqlgGraph.tx().flush();
+        for (int i = 0; i < count; i++) {
+            this.sqlgGraph.streamVertex(T.label, "B", "number", i);
+        }
+        this.sqlgGraph.tx().commit();
+        Map<Integer, Vertex> bs = new HashMap<>();
+        this.sqlgGraph.traversal().V().hasLabel("B").forEachRemaining(b -> bs.put(b.value("number"), b));
+        List<Vertex> as = this.sqlgGraph.traversal().V().hasLabel("A").toList();
+        List<Integer> numbers = new ArrayList<>();
+        as.forEach(a -> numbers.add(a.value("number")));
+        this.sqlgGraph.tx().streamingBatchModeOn();
+        for (int i = 0; i < as.size(); i++) {
+            int number = numbers.get(i);
+            LinkedHashMap<String, Object> keyValues = new LinkedHashMap<>();
+            keyValues.put("weight", (double) number);
+            ((SqlgVertex) as.get(i)).streamEdge("ab", bs.get(number), keyValues);
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(count, this.sqlgGraph.traversal().V().hasLabel("A").count().next().intValue());
+        Assert.assertEquals(count, this.sqlgGraph.traversal().E().hasLabel("ab").count().next().intValue());
+        this.sqlgGraph.traversal().E().hasLabel("ab").forEachRemaining(e -> {
+            Assert.assertEquals(e.outVertex().<Integer>value("number"), e.inVertex().<Integer>value("number"));
+            Assert.assertEquals(e.outVertex().<Integer>value("number").doubleValue(), e.<Double>value("weight"), 0);
+        });
+    }
+
+    @Test
+    public void testUserSuppliedIdentifiersAcrossChunks() {
+        int count = 1200;
+        this.sqlgGraph.getTopology().getPublicSchema().ensureVertexLabelExist(
+                "Person",
+                new LinkedHashMap<>() {{
+                    put("uid", PropertyType.varChar(100));
+                    put("name", PropertyType.STRING);
+                }},
+                ListOrderedSet.listOrderedSet(Collections.singletonList("uid"))
+        );
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex previous = null;
+        for (int i = 0; i < count; i++) {
+            Vertex person = this.sqlgGraph.addVertex(T.label, "Person", "uid", "uid" + i, "name", "name" + i);
+            if (previous != null) {
+                previous.addEdge("knows", person, "since", i);
+            }
+            previous = person;
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(count, this.sqlgGraph.traversal().V().hasLabel("Person").count().next().intValue());
+        Assert.assertEquals(count - 1, this.sqlgGraph.traversal().E().hasLabel("knows").count().next().intValue());
+        Assert.assertEquals(
+                "name1000",
+                this.sqlgGraph.traversal().V().hasLabel("Person").has("uid", "uid999").out("knows").values("name").next()
+        );
+    }
+
+    @Test
+    public void testVerticesWithoutProperties() {
+        int count = 1200;
+        this.sqlgGraph.addVertex(T.label, "A");
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Set<Object> ids = new HashSet<>();
+        List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            vertices.add(this.sqlgGraph.addVertex(T.label, "A"));
+        }
+        this.sqlgGraph.tx().commit();
+        for (Vertex vertex : vertices) {
+            Assert.assertTrue(ids.add(vertex.id()));
+        }
+        Assert.assertEquals(count + 1, this.sqlgGraph.traversal().V().hasLabel("A").count().next().intValue());
+    }
+}
@@ -37,7 +37,8 @@ public class TestBatchServerSideEdgeCreation extends BaseTest {
 
     @Before
     public void beforeTest() {
-        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsStreamingBatchMode());
+        //bulkAddEdges is only implemented for postgres
+        Assume.assumeTrue(isPostgres());
     }
 
     private void testBulkEdges_assert(SqlgGraph sqlgGraph) { assertEquals(10, sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
@@ -0,0 +1,102 @@
+package org.umlg.sqlg.test.batch;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.structure.BatchManager;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests the normal batch mode flushing once it holds more than the configured number or size of new elements.
+ */
+public class TestBatchSpillFlush extends BaseTest {
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsBatchMode());
+    }
+
+    @Test
+    public void testMaxPendingRows() {
+        reopen(BatchManager.MAX_PENDING_ROWS, 100);
+        this.sqlgGraph.tx().normalBatchModeOn();
+        List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            vertices.add(this.sqlgGraph.addVertex(T.label, "A", "number", i));
+        }
+        //2 flushes of 100 vertices, the last 50 are still pending
+        Assert.assertNotNull(vertices.get(199).id());
+        Assert.assertNull(vertices.get(200).id());
+        this.sqlgGraph.tx().commit();
+        Assert.assertNotNull(vertices.get(249).id());
+        Assert.assertEquals(250, this.sqlgGraph.traversal().V().hasLabel("A").count().next().intValue());
+    }
+
+    @Test
+    public void testMaxPendingRowsWithEdges() {
+        reopen(BatchManager.MAX_PENDING_ROWS, 99);
+        this.sqlgGraph.tx().normalBatchModeOn();
+        List<Edge> edges = new ArrayList<>();
+        Vertex previous = this.sqlgGraph.addVertex(T.label, "A", "number", 0);
+        for (int i = 1; i < 500; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A", "number", i);
+            edges.add(previous.addEdge("next", a, "number", i));
+            a.property("name", "a" + i);
+            previous = a;
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(500, this.sqlgGraph.traversal().V().hasLabel("A").count().next().intValue());
+        Assert.assertEquals(499, this.sqlgGraph.traversal().E().hasLabel("next").count().next().intValue());
+        for (Edge edge : edges) {
+            Edge loaded = this.sqlgGraph.traversal().E(edge.id()).next();
+            int number = loaded.value("number");
+            Assert.assertEquals(number - 1, (int) loaded.outVertex().value("number"));
+            Assert.assertEquals(number, (int) loaded.inVertex().value("number"));
+            Assert.assertEquals("a" + number, loaded.inVertex().value("name"));
+        }
+    }
+
+    @Test
+    public void testMaxPendingBytes() {
+        reopen(BatchManager.MAX_PENDING_BYTES, 64 * 1024);
+        this.sqlgGraph.tx().normalBatchModeOn();
+        String name = "a".repeat(1000);
+        List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            vertices.add(this.sqlgGraph.addVertex(T.label, "A", "name", name));
+        }
+        Assert.assertNotNull(vertices.get(0).id());
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(100, this.sqlgGraph.traversal().V().hasLabel("A").has("name", name).count().next().intValue());
+    }
+
+    @Test
+    public void testRollbackAfterSpillFlush() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsTransactionalSchema());
+        this.sqlgGraph.addVertex(T.label, "A", "number", -1);
+        this.sqlgGraph.tx().commit();
+        reopen(BatchManager.MAX_PENDING_ROWS, 10);
+        this.sqlgGraph.tx().normalBatchModeOn();
+        for (int i = 0; i < 55; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "number", i);
+        }
+        this.sqlgGraph.tx().rollback();
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("A").count().next().intValue());
+    }
+
+    private void reopen(String key, Object value) {
+        this.sqlgGraph.close();
+        Configuration conf = getConfigurationClone();
+        conf.setProperty(key, value);
+        this.sqlgGraph = SqlgGraph.open(conf);
+    }
+}
@@ -11,6 +11,7 @@ import org.umlg.sqlg.structure.SqlgVertex;
 import org.umlg.sqlg.test.BaseTest;
 
 import java.time.*;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -262,6 +263,9 @@ public class TestBatchStreamEdge extends BaseTest {
         List<Vertex> females = this.sqlgGraph.traversal().V().hasLabel("Female").toList();
         LinkedHashMap<String, Object> edgeKeyValues = new LinkedHashMap<>();
         LocalDateTime now = LocalDateTime.now();
+        if (isHsqldb() || isMariaDb()) {
+            now = now.truncatedTo(ChronoUnit.MILLIS);
+        }
         edgeKeyValues.put("localDateTime", now);
         for (Vertex man : men) {
             SqlgVertex female = (SqlgVertex) females.get(count++);
@@ -388,6 +392,9 @@ public class TestBatchStreamEdge extends BaseTest {
         List<Vertex> females = this.sqlgGraph.traversal().V().hasLabel("Female").toList();
         LinkedHashMap<String, Object> edgeKeyValues = new LinkedHashMap<>();
         ZonedDateTime zonedDateTime = ZonedDateTime.now();
+        if (isHsqldb() || isMariaDb()) {
+            zonedDateTime = zonedDateTime.truncatedTo(ChronoUnit.MILLIS);
+        }
         edgeKeyValues.put("zonedDateTime", zonedDateTime);
         for (Vertex man : men) {
             SqlgVertex female = (SqlgVertex) females.get(count++);
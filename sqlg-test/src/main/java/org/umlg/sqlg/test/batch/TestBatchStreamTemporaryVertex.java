@@ -46,7 +46,9 @@ public class TestBatchStreamTemporaryVertex extends BaseTest {
         int count = 0;
         Connection conn = this.sqlgGraph.tx().getConnection();
         try (PreparedStatement s = conn.prepareStatement("select * from \"V_halo\"")) {
-            Assert.assertEquals("", s.getMetaData().getSchemaName(1));
+            if (isPostgres()) {
+                Assert.assertEquals("", s.getMetaData().getSchemaName(1));
+            }
             ResultSet resultSet = s.executeQuery();
             while (resultSet.next()) {
                 count++;
@@ -61,6 +63,8 @@ public class TestBatchStreamTemporaryVertex extends BaseTest {
     //Testing issue #226
     @Test
     public void testStreamTemporaryVertexMultipleThreads() throws InterruptedException {
+        //h2 does not allow a temporary table with the same name as the label's table
+        Assume.assumeFalse(isH2());
 
         VertexLabel haloVertexLabel = this.sqlgGraph.getTopology().ensureVertexLabelExist("halo");
         haloVertexLabel.ensurePropertiesExist(new HashMap<String, PropertyType>() {{
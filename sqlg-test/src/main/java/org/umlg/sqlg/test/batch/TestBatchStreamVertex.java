@@ -14,6 +14,7 @@ import org.umlg.sqlg.structure.*;
 import org.umlg.sqlg.test.BaseTest;
 
 import java.time.*;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
@@ -40,6 +41,7 @@ public class TestBatchStreamVertex extends BaseTest {
 
     @Test(expected = SqlgExceptions.InvalidTableException.class)
     public void testStreamTooLongLabelName() {
+        Assume.assumeTrue(isPostgres());
         this.sqlgGraph.tx().streamingBatchModeOn();
         this.sqlgGraph.streamVertex(T.label, "AAAAAAAAAABBBBBBBBBBCCCCCCCCCCDDDDDDDDDDEEEEEEEEEEFFFFFFFFFFABCDEFGH", "name", "halo");
         this.sqlgGraph.tx().commit();
@@ -47,6 +49,7 @@ public class TestBatchStreamVertex extends BaseTest {
 
     @Test(expected = SqlgExceptions.InvalidTableException.class)
     public void testStreamTooLongLabelNameEnsureMethods() {
+        Assume.assumeTrue(isPostgres());
         this.sqlgGraph.getTopology().getPublicSchema().ensureVertexLabelExist(
                 "AAAAAAAAAABBBBBBBBBBCCCCCCCCCCDDDDDDDDDDEEEEEEEEEEFFFFFFFFFFABCDEFGH",
                 new LinkedHashMap<String, PropertyType>() {{
@@ -61,6 +64,7 @@ public class TestBatchStreamVertex extends BaseTest {
 
     @Test(expected = SqlgExceptions.InvalidColumnException.class)
     public void testStreamColumnTooLongLabelNameEnsureMethods() {
+        Assume.assumeTrue(isPostgres());
         this.sqlgGraph.getTopology().getPublicSchema().ensureVertexLabelExist(
                 "AAAAAAAAAA",
                 new LinkedHashMap<String, PropertyType>() {{
@@ -369,6 +373,7 @@ public class TestBatchStreamVertex extends BaseTest {
 
     @Test
     public void testStreamingRollback() throws InterruptedException {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsTransactionalSchema());
         this.sqlgGraph.tx().streamingBatchModeOn();
         LinkedHashMap<String, Object> keyValues = new LinkedHashMap<>();
         keyValues.put("name", "halo");
@@ -413,6 +418,9 @@ public class TestBatchStreamVertex extends BaseTest {
     public void testStreamLocalDateTime() throws InterruptedException {
         this.sqlgGraph.tx().streamingBatchModeOn();
         LocalDateTime now = LocalDateTime.now();
+        if (isHsqldb() || isMariaDb()) {
+            now = now.truncatedTo(ChronoUnit.MILLIS);
+        }
         for (int i = 0; i < 10; i++) {
             this.sqlgGraph.streamVertex(T.label, "Person", "createOn", now);
         }
@@ -475,6 +483,9 @@ public class TestBatchStreamVertex extends BaseTest {
     @Test
     public void testStreamZonedDateTime() throws InterruptedException {
         ZonedDateTime zonedDateTime = ZonedDateTime.now();
+        if (isHsqldb() || isMariaDb()) {
+            zonedDateTime = zonedDateTime.truncatedTo(ChronoUnit.MILLIS);
+        }
         this.sqlgGraph.tx().streamingBatchModeOn();
         for (int i = 0; i < 10; i++) {
             this.sqlgGraph.streamVertex(T.label, "Person", "createOn", zonedDateTime);
@@ -645,6 +656,7 @@ public class TestBatchStreamVertex extends BaseTest {
 
     @Test
     public void testStreamFloatArray() throws InterruptedException {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsFloatArrayValues());
         this.sqlgGraph.tx().streamingBatchModeOn();
         float[] floatArray = new float[]{11,11f, 22.22f};
         for (int i = 0; i < 10; i++) {
@@ -731,6 +743,11 @@ public class TestBatchStreamVertex extends BaseTest {
     public void testLocalDateTimeArray() throws InterruptedException {
         this.sqlgGraph.tx().streamingBatchModeOn();
         LocalDateTime[] localDateTimes = new LocalDateTime[]{LocalDateTime.now().minusDays(1), LocalDateTime.now()};
+        if (isHsqldb() || isMariaDb()) {
+            for (int i = 0; i < localDateTimes.length; i++) {
+                localDateTimes[i] = localDateTimes[i].truncatedTo(ChronoUnit.MILLIS);
+            }
+        }
         for (int i = 0; i < 10; i++) {
             this.sqlgGraph.streamVertex(T.label, "Person", "names", localDateTimes);
         }
@@ -797,6 +814,11 @@ public class TestBatchStreamVertex extends BaseTest {
     @Test
     public void testZonedDateTimeArray() throws InterruptedException {
         ZonedDateTime[] zonedDateTimes = new ZonedDateTime[]{ZonedDateTime.now().minusHours(1), ZonedDateTime.now()};
+        if (isHsqldb() || isMariaDb()) {
+            for (int i = 0; i < zonedDateTimes.length; i++) {
+                zonedDateTimes[i] = zonedDateTimes[i].truncatedTo(ChronoUnit.MILLIS);
+            }
+        }
         this.sqlgGraph.addVertex(T.label, "Person", "names", zonedDateTimes);
         this.sqlgGraph.tx().commit();
         this.sqlgGraph.tx().streamingBatchModeOn();
@@ -907,6 +929,7 @@ public class TestBatchStreamVertex extends BaseTest {
 
     @Test(expected = SqlgExceptions.InvalidPropertyTypeException.class)
     public void testStreamJsonAsArray() {
+        Assume.assumeTrue(isPostgres());
         ObjectMapper objectMapper =  new ObjectMapper();
         ObjectNode json1 = new ObjectNode(objectMapper.getNodeFactory());
         json1.put("username", "john1");
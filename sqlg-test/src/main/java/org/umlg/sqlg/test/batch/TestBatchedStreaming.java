@@ -89,6 +89,7 @@ public class TestBatchedStreaming extends BaseTest {
 
     @Test
     public void testStreamingWithBatchSize() throws InterruptedException {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsStreamingWithLockBatchMode());
         int BATCH_SIZE = 100;
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
@@ -151,6 +152,7 @@ public class TestBatchedStreaming extends BaseTest {
 
     @Test
     public void testStreamingWithBatchSizeNonDefaultSchema() throws InterruptedException {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsStreamingWithLockBatchMode());
         final int BATCH_SIZE = 1000;
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
@@ -210,6 +212,7 @@ public class TestBatchedStreaming extends BaseTest {
 
     @Test
     public void testStreamingWithBatchSizeWithCallBack() throws InterruptedException {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsStreamingWithLockBatchMode());
         LinkedHashMap<String, Object> properties = new LinkedHashMap<>();
         List<Vertex> persons = new ArrayList<>();
         this.sqlgGraph.tx().streamingWithLockBatchModeOn();
@@ -259,6 +262,7 @@ public class TestBatchedStreaming extends BaseTest {
 
     @Test
     public void testBatchContinuations() throws InterruptedException {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsStreamingWithLockBatchMode());
         this.sqlgGraph.tx().normalBatchModeOn();
         Vertex v1 = this.sqlgGraph.addVertex(T.label, "Person");
         Vertex v2 = this.sqlgGraph.addVertex(T.label, "Dog");
@@ -18,7 +18,8 @@ public class TestLoadEdgeWithSpecialCharacters extends BaseTest {
 
     @Before
     public void beforeTest() {
-        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsStreamingBatchMode());
+        //bulkAddEdges is only implemented for postgres
+        Assume.assumeTrue(isPostgres());
     }
 
     @Test
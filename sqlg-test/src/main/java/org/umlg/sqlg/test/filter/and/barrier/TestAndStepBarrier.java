@@ -188,8 +188,9 @@ public class TestAndStepBarrier extends BaseTest {
         Assert.assertEquals(1, vertices.size());
         Assert.assertTrue(vertices.contains(a1));
 
+        //the vertex steps are executed as EXISTS in the vertices' query
         List<SqlgAndStepBarrier> sqlgAndStepBarriers = TraversalHelper.getStepsOfAssignableClassRecursively(SqlgAndStepBarrier.class, traversal);
-        Assert.assertEquals(1, sqlgAndStepBarriers.size());
+        Assert.assertEquals(0, sqlgAndStepBarriers.size());
     }
 
     @Test
@@ -257,8 +258,9 @@ public class TestAndStepBarrier extends BaseTest {
         Assert.assertEquals(1, vertices.size());
         Assert.assertTrue(vertices.contains(a1));
 
+        //the vertex steps are executed as EXISTS in the vertices' query
         List<SqlgAndStepBarrier> sqlgAndStepBarriers = TraversalHelper.getStepsOfAssignableClassRecursively(SqlgAndStepBarrier.class, traversal);
-        Assert.assertEquals(1, sqlgAndStepBarriers.size());
+        Assert.assertEquals(0, sqlgAndStepBarriers.size());
     }
 
     @Test
@@ -286,8 +288,35 @@ public class TestAndStepBarrier extends BaseTest {
         Assert.assertEquals(1, vertices.size());
         Assert.assertTrue(vertices.contains(a1));
 
+        //the vertex steps are executed as EXISTS in the vertices' query
         List<SqlgAndStepBarrier> sqlgAndStepBarriers = TraversalHelper.getStepsOfAssignableClassRecursively(SqlgAndStepBarrier.class, traversal);
-        Assert.assertEquals(1, sqlgAndStepBarriers.size());
+        Assert.assertEquals(0, sqlgAndStepBarriers.size());
+    }
+
+    @Test
+    public void testAndStepBarrierManyStarts() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B");
+        Vertex c = this.sqlgGraph.addVertex(T.label, "C");
+        for (int i = 0; i < 1000; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A", "number", i);
+            if (i % 2 == 0) {
+                a.addEdge("ab", b);
+                a.addEdge("ab", b);
+            }
+            if (i % 3 == 0) {
+                a.addEdge("ac", c);
+            }
+        }
+        this.sqlgGraph.tx().commit();
+        List<Integer> numbers = this.sqlgGraph.traversal().V().hasLabel("A")
+                .and(__.out("ab"), __.out("ac"))
+                .<Integer>values("number")
+                .toList();
+        Assert.assertEquals(167, numbers.size());
+        Assert.assertEquals(167, numbers.stream().distinct().count());
+        Assert.assertTrue(numbers.stream().allMatch(n -> n % 6 == 0));
+        Assert.assertEquals(333, this.sqlgGraph.traversal().V().hasLabel("A").or(__.out("ab"), __.out("ac")).not(__.out("ac")).count().next().intValue());
     }
 
 }
@@ -0,0 +1,318 @@
+package org.umlg.sqlg.test.filter.exists;
+
+import org.apache.commons.collections4.set.ListOrderedSet;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Tests where, not, and and or steps with a traversal of vertex steps executing as an EXISTS in the vertex step's query.
+ */
+public class TestFilterTraversalExists extends BaseTest {
+
+    @Test
+    public void testWhereOutHas() {
+        Vertex order1 = this.sqlgGraph.addVertex(T.label, "Order", "number", 1);
+        Vertex order2 = this.sqlgGraph.addVertex(T.label, "Order", "number", 2);
+        this.sqlgGraph.addVertex(T.label, "Order", "number", 3);
+        Vertex product1 = this.sqlgGraph.addVertex(T.label, "Product", "sku", "p1");
+        Vertex product2 = this.sqlgGraph.addVertex(T.label, "Product", "sku", "p2");
+        order1.addEdge("contains", product1);
+        order1.addEdge("contains", product2);
+        order2.addEdge("contains", product2);
+        this.sqlgGraph.tx().commit();
+
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("Order")
+                .where(__.out("contains").has("sku", "p1"));
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertEquals(Collections.singletonList(order1), vertices);
+
+        traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("Order")
+                .where(__.out("contains").has("sku", P.within("p1", "p2")));
+        vertices = traversal.toList();
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertTrue(vertices.contains(order1) && vertices.contains(order2));
+
+        traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("Order")
+                .where(__.out("contains"))
+                .has("number", P.gt(1));
+        vertices = traversal.toList();
+        Assert.assertEquals(Collections.singletonList(order2), vertices);
+    }
+
+    @Test
+    public void testNotOut() {
+        Vertex order1 = this.sqlgGraph.addVertex(T.label, "Order", "number", 1);
+        Vertex order2 = this.sqlgGraph.addVertex(T.label, "Order", "number", 2);
+        Vertex order3 = this.sqlgGraph.addVertex(T.label, "Order", "number", 3);
+        Vertex product1 = this.sqlgGraph.addVertex(T.label, "Product", "sku", "p1");
+        Vertex product2 = this.sqlgGraph.addVertex(T.label, "Product", "sku", "p2");
+        order1.addEdge("contains", product1);
+        order2.addEdge("contains", product2);
+        this.sqlgGraph.tx().commit();
+
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("Order")
+                .not(__.out("contains"));
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertEquals(Collections.singletonList(order3), vertices);
+
+        traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("Order")
+                .not(__.out("contains").has("sku", "p2"));
+        vertices = traversal.toList();
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertTrue(vertices.contains(order1) && vertices.contains(order3));
+
+        traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("Product")
+                .not(__.in("contains").has("number", 1));
+        vertices = traversal.toList();
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertEquals(Collections.singletonList(product2), vertices);
+    }
+
+    @Test
+    public void testEdgeLabelWithoutTopologyPath() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        b1.addEdge("ba", a1);
+        this.sqlgGraph.tx().commit();
+
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("A")
+                .where(__.out("ba"));
+        Assert.assertTrue(traversal.toList().isEmpty());
+        Assert.assertEquals(1, traversal.getSteps().size());
+
+        traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("A")
+                .not(__.out("ba"));
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertTrue(vertices.contains(a1) && vertices.contains(a2));
+
+        traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("A")
+                .where(__.in("ba").has("surname", "b1"));
+        Assert.assertTrue(traversal.toList().isEmpty());
+        Assert.assertEquals(1, traversal.getSteps().size());
+    }
+
+    @Test
+    public void testManyHopsAndVertexLabels() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex a3 = this.sqlgGraph.addVertex(T.label, "A", "name", "a3");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        Vertex c1 = this.sqlgGraph.addVertex(T.label, "C", "name", "c1");
+        Vertex c2 = this.sqlgGraph.addVertex(T.label, "C", "name", "c2");
+        Vertex d1 = this.sqlgGraph.addVertex(T.label, "D", "name", "d1");
+        a1.addEdge("ab", b1);
+        a2.addEdge("ab", c1);
+        a3.addEdge("ab", c2);
+        b1.addEdge("next", d1);
+        c1.addEdge("next", d1);
+        this.sqlgGraph.tx().commit();
+
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("A")
+                .where(__.out("ab").hasLabel("C"));
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertTrue(vertices.contains(a2) && vertices.contains(a3));
+
+        traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("A")
+                .where(__.out("ab").out("next").has("name", "d1"));
+        vertices = traversal.toList();
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertTrue(vertices.contains(a1) && vertices.contains(a2));
+
+        traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("A")
+                .where(__.out("ab").hasLabel("C").out("next"));
+        vertices = traversal.toList();
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertEquals(Collections.singletonList(a2), vertices);
+
+        traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("D")
+                .where(__.in("next").in("ab").has("name", "a2"));
+        vertices = traversal.toList();
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertEquals(Collections.singletonList(d1), vertices);
+
+        traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("C")
+                .where(__.both().has("name", P.within("a3", "d1")));
+        vertices = traversal.toList();
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertTrue(vertices.contains(c1) && vertices.contains(c2));
+    }
+
+    @Test
+    public void testEdgeHas() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        Vertex b2 = this.sqlgGraph.addVertex(T.label, "B", "name", "b2");
+        a1.addEdge("ab", b1, "weight", 1);
+        a1.addEdge("ab", b2, "weight", 2);
+        a2.addEdge("ab", b1, "weight", 2);
+        this.sqlgGraph.tx().commit();
+
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("A")
+                .where(__.outE("ab").has("weight", P.gt(1)).inV().has("name", "b2"));
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertEquals(Collections.singletonList(a1), vertices);
+
+        traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("A")
+                .not(__.outE("ab").has("weight", 1));
+        vertices = traversal.toList();
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertEquals(Collections.singletonList(a2), vertices);
+
+        traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("B")
+                .where(__.inE("ab").has("weight", 2).outV().has("name", "a2"));
+        vertices = traversal.toList();
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertEquals(Collections.singletonList(b1), vertices);
+    }
+
+    @Test
+    public void testAndOr() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex a3 = this.sqlgGraph.addVertex(T.label, "A", "name", "a3");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        Vertex c1 = this.sqlgGraph.addVertex(T.label, "C", "name", "c1");
+        a1.addEdge("ab", b1);
+        a1.addEdge("ac", c1);
+        a2.addEdge("ac", c1);
+        this.sqlgGraph.tx().commit();
+
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("A")
+                .or(
+                        __.out("ab"),
+                        __.has("name", "a3")
+                );
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertTrue(vertices.contains(a1) && vertices.contains(a3));
+
+        traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("A")
+                .and(
+                        __.out("ac"),
+                        __.not(__.out("ab"))
+                );
+        vertices = traversal.toList();
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertEquals(Collections.singletonList(a2), vertices);
+
+        traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("A")
+                .or(
+                        __.has("name", "a3"),
+                        __.and(
+                                __.out("ac").has("name", "c1"),
+                                __.has("name", "a2")
+                        )
+                );
+        vertices = traversal.toList();
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertTrue(vertices.contains(a2) && vertices.contains(a3));
+    }
+
+    @Test
+    public void testAfterVertexStep() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        Vertex b2 = this.sqlgGraph.addVertex(T.label, "B", "name", "b2");
+        Vertex c1 = this.sqlgGraph.addVertex(T.label, "C", "name", "c1");
+        a1.addEdge("ab", b1);
+        a1.addEdge("ab", b2);
+        b2.addEdge("bc", c1);
+        this.sqlgGraph.tx().commit();
+
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("A")
+                .out("ab")
+                .where(__.out("bc"));
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertEquals(Collections.singletonList(b2), vertices);
+
+        List<Object> names = this.sqlgGraph.traversal()
+                .V().hasLabel("A").as("a")
+                .out("ab")
+                .not(__.out("bc"))
+                .select("a").by("name")
+                .toList();
+        Assert.assertEquals(Collections.singletonList("a1"), names);
+    }
+
+    @Test
+    public void testUserSuppliedIdentifiers() {
+        this.sqlgGraph.getTopology().getPublicSchema().ensureVertexLabelExist(
+                "Person",
+                new LinkedHashMap<>() {{
+                    put("uid", PropertyType.varChar(100));
+                    put("name", PropertyType.STRING);
+                }},
+                ListOrderedSet.listOrderedSet(Collections.singletonList("uid"))
+        );
+        this.sqlgGraph.tx().commit();
+        Vertex p1 = this.sqlgGraph.addVertex(T.label, "Person", "uid", "u1", "name", "p1");
+        Vertex p2 = this.sqlgGraph.addVertex(T.label, "Person", "uid", "u2", "name", "p2");
+        Vertex p3 = this.sqlgGraph.addVertex(T.label, "Person", "uid", "u3", "name", "p3");
+        Vertex city = this.sqlgGraph.addVertex(T.label, "City", "name", "c1");
+        p1.addEdge("knows", p2);
+        p2.addEdge("livesIn", city);
+        this.sqlgGraph.tx().commit();
+
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("Person")
+                .where(__.out("knows").out("livesIn").has("name", "c1"));
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertEquals(Collections.singletonList(p1), vertices);
+
+        traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("Person")
+                .not(__.both("knows"));
+        vertices = traversal.toList();
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertEquals(Collections.singletonList(p3), vertices);
+    }
+}
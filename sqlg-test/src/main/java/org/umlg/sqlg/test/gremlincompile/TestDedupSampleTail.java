@@ -0,0 +1,192 @@
+package org.umlg.sqlg.test.gremlincompile;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.umlg.sqlg.sql.parse.ReplacedStep;
+import org.umlg.sqlg.step.SqlgGraphStep;
+import org.umlg.sqlg.step.SqlgStep;
+import org.umlg.sqlg.step.SqlgVertexStep;
+import org.umlg.sqlg.strategy.SqlgDedupSampleTailHolder;
+import org.umlg.sqlg.strategy.SqlgDedupSampleTailStrategy;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Tests dedup(), sample(n) and tail(n) that reduce the rows of the query that precedes them.
+ */
+public class TestDedupSampleTail extends BaseTest {
+
+    @Test
+    public void testDedup() {
+        createEvents();
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("Event").out("by").dedup();
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertEquals(5, vertices.size());
+        Assert.assertEquals(5, new HashSet<>(vertices).size());
+        assertHolder(traversal, SqlgGraphStep.class, SqlgDedupSampleTailHolder.Type.DEDUP);
+        Assert.assertEquals(5L, this.sqlgGraph.traversal().V().hasLabel("Event").out("by").dedup().count().next(), 0);
+        assertSame(g -> g.V().hasLabel("Event").out("by").dedup());
+        assertSame(g -> g.V().hasLabel("Event").out("by").dedup().values("name"));
+        assertSame(g -> g.V().hasLabel("Event").outE("by").dedup());
+        assertSame(g -> g.V().hasLabel("Event").out("by").in("by").dedup());
+        assertSame(g -> g.V().hasLabel("Event").as("e").out("by").dedup().path());
+        assertSame(g -> g.V().out().dedup());
+    }
+
+    @Test
+    public void testDedupVertexStep() {
+        createEvents();
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("Event").sideEffect(__.identity()).out("by").dedup();
+        Assert.assertEquals(5, traversal.toList().size());
+        assertHolder(traversal, SqlgVertexStep.class, SqlgDedupSampleTailHolder.Type.DEDUP);
+        assertSame(g -> g.V().hasLabel("Event").sideEffect(__.identity()).out("by").dedup());
+        assertSame(g -> g.V().hasLabel("Event").local(__.out("by").dedup()));
+    }
+
+    @Test
+    public void testDedupOnDuplicateLabelsInPath() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "Person", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "Person", "name", "a2");
+        Vertex a3 = this.sqlgGraph.addVertex(T.label, "Person", "name", "a3");
+        a1.addEdge("knows", a2);
+        a1.addEdge("knows", a3);
+        a2.addEdge("knows", a3);
+        a3.addEdge("knows", a2);
+        a3.addEdge("knows", a1);
+        this.sqlgGraph.tx().commit();
+        assertSame(g -> g.V().hasLabel("Person").out("knows").out("knows").dedup());
+        assertSame(g -> g.V().hasLabel("Person").out("knows").out("knows").out("knows").dedup());
+    }
+
+    @Test
+    public void testDedupWithArrayProperty() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsStringArrayValues());
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "names", new String[]{"b1", "b2"});
+        a.addEdge("ab", b);
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a2").addEdge("ab", b);
+        this.sqlgGraph.tx().commit();
+        assertSame(g -> g.V().hasLabel("A").out("ab").dedup());
+    }
+
+    @Test
+    public void testDedupAfterRangeOrOrderIsNotInTheQuery() {
+        createEvents();
+        assertSame(g -> g.V().hasLabel("Event").out("by").limit(4).dedup());
+        assertSame(g -> g.V().hasLabel("Event").out("by").order().by("name").dedup());
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("Event").out("by").order().by("name").dedup();
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertEquals(Arrays.asList("p0", "p1", "p2", "p3", "p4"), vertices.stream().map(v -> v.<String>value("name")).collect(Collectors.toList()));
+        assertNoHolder(traversal);
+    }
+
+    @Test
+    public void testSample() {
+        createEvents();
+        Set<Vertex> all = new HashSet<>(this.sqlgGraph.traversal().V().hasLabel("Event").toList());
+        for (int i = 0; i < 5; i++) {
+            DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                    .V().hasLabel("Event").sample(3);
+            List<Vertex> vertices = traversal.toList();
+            Assert.assertEquals(3, vertices.size());
+            Assert.assertEquals(3, new HashSet<>(vertices).size());
+            Assert.assertTrue(all.containsAll(vertices));
+            assertHolder(traversal, SqlgGraphStep.class, SqlgDedupSampleTailHolder.Type.SAMPLE);
+        }
+        Assert.assertEquals(20, this.sqlgGraph.traversal().V().hasLabel("Event").sample(100).toList().size());
+        Assert.assertEquals(3, this.sqlgGraph.traversal().V().sample(3).toList().size());
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V().hasLabel("Event").has("day", 1).out("by").sample(2).toList().size());
+    }
+
+    @Test
+    public void testTail() {
+        createEvents();
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("Event").order().by("name").tail(3);
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertEquals(Arrays.asList("e17", "e18", "e19"), vertices.stream().map(v -> v.<String>value("name")).collect(Collectors.toList()));
+        assertHolder(traversal, SqlgGraphStep.class, SqlgDedupSampleTailHolder.Type.TAIL);
+        assertSameInOrder(g -> g.V().hasLabel("Event").order().by("name", Order.desc).tail(4));
+        assertSameInOrder(g -> g.V().hasLabel("Event").order().by("day").by("name", Order.desc).tail(5));
+        assertSameInOrder(g -> g.V().hasLabel("Event").order().by("name").tail(1));
+        assertSameInOrder(g -> g.V().hasLabel("Event").order().by("name").tail(100));
+        assertSameInOrder(g -> g.V().hasLabel("Event").out("by").order().by("name").tail(3));
+        //multiple labels
+        assertSameInOrder(g -> g.V().order().by("name").tail(3));
+        //an order over a previous step is applied in memory
+        assertSameInOrder(g -> g.V().hasLabel("Event").order().by("name").out("by").tail(3));
+    }
+
+    /**
+     * 20 events on 4 days, each by 2 of 5 persons.
+     */
+    private void createEvents() {
+        List<Vertex> persons = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            persons.add(this.sqlgGraph.addVertex(T.label, "Person", "name", "p" + i));
+        }
+        for (int i = 0; i < 20; i++) {
+            Vertex event = this.sqlgGraph.addVertex(T.label, "Event", "name", String.format("e%02d", i), "day", i % 4);
+            event.addEdge("by", persons.get(i % 5));
+            event.addEdge("by", persons.get((i + 1) % 5));
+        }
+        this.sqlgGraph.tx().commit();
+    }
+
+    private void assertHolder(DefaultGraphTraversal<?, ?> traversal, Class<? extends SqlgStep> stepClass, SqlgDedupSampleTailHolder.Type type) {
+        List<? extends SqlgStep> sqlgSteps = TraversalHelper.getStepsOfAssignableClassRecursively(stepClass, traversal);
+        Assert.assertFalse(sqlgSteps.isEmpty());
+        List<ReplacedStep<?, ?>> replacedSteps = sqlgSteps.get(sqlgSteps.size() - 1).getReplacedSteps();
+        SqlgDedupSampleTailHolder holder = replacedSteps.get(replacedSteps.size() - 1).getSqlgDedupSampleTailHolder();
+        Assert.assertNotNull(holder);
+        Assert.assertEquals(type, holder.getType());
+        Assert.assertTrue(holder.isApplyOnDb());
+    }
+
+    private void assertNoHolder(DefaultGraphTraversal<?, ?> traversal) {
+        for (SqlgStep sqlgStep : TraversalHelper.getStepsOfAssignableClassRecursively(SqlgStep.class, traversal)) {
+            for (ReplacedStep<?, ?> replacedStep : sqlgStep.getReplacedSteps()) {
+                Assert.assertFalse(replacedStep.hasDedupSampleTail());
+            }
+        }
+    }
+
+    private void assertSame(Function<GraphTraversalSource, Traversal<Vertex, ?>> traversal) {
+        Map<Object, Long> expected = count(traversal.apply(this.sqlgGraph.traversal().withoutStrategies(SqlgDedupSampleTailStrategy.class)).toList());
+        Map<Object, Long> actual = count(traversal.apply(this.sqlgGraph.traversal()).toList());
+        Assert.assertEquals(expected, actual);
+    }
+
+    private void assertSameInOrder(Function<GraphTraversalSource, Traversal<Vertex, ?>> traversal) {
+        List<?> expected = traversal.apply(this.sqlgGraph.traversal().withoutStrategies(SqlgDedupSampleTailStrategy.class)).toList();
+        List<?> actual = traversal.apply(this.sqlgGraph.traversal()).toList();
+        Assert.assertEquals(expected, actual);
+    }
+
+    private Map<Object, Long> count(List<?> objects) {
+        Map<Object, Long> result = new HashMap<>();
+        for (Object object : objects) {
+            if (object instanceof Path) {
+                object = ((Path) object).objects();
+            }
+            result.merge(object, 1L, Long::sum);
+        }
+        return result;
+    }
+}
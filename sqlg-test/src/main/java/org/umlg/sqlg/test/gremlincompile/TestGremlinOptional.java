@@ -20,6 +20,29 @@ import java.util.function.Predicate;
 @SuppressWarnings("DuplicatedCode")
 public class TestGremlinOptional extends BaseTest {
 
+    @Test
+    public void testOptionalOnEdgeLabelAlreadyTraversed() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        for (int i = 0; i < 3; i++) {
+            a.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B", "name", "b" + i));
+        }
+        Vertex leaf = this.sqlgGraph.addVertex(T.label, "A", "name", "leaf");
+        this.sqlgGraph.addVertex(T.label, "B", "name", "b3").addEdge("ab", leaf);
+        this.sqlgGraph.tx().commit();
+
+        List<Object> names = this.sqlgGraph.traversal().V().hasLabel("B").in("ab")
+                .optional(__.out("ab").has("name", "b0"))
+                .values("name")
+                .toList();
+        Assert.assertEquals(Arrays.asList("b0", "b0", "b0"), names);
+
+        names = this.sqlgGraph.traversal().V().hasLabel("B").out("ab")
+                .optional(__.out("ab"))
+                .values("name")
+                .toList();
+        Assert.assertEquals(Collections.singletonList("leaf"), names);
+    }
+
     @Test
     public void testAnotherOptionalWithSelect() {
         Vertex activityInstance = this.sqlgGraph.addVertex(T.label, "ActivityInstance");
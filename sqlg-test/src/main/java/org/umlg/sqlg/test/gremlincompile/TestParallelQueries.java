@@ -0,0 +1,145 @@
+package org.umlg.sqlg.test.gremlincompile;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.structure.ParallelQueries;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.time.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Tests the per label queries of a traversal executing in parallel in a read only transaction.
+ */
+public class TestParallelQueries extends BaseTest {
+
+    @Test
+    public void testParallelQueriesReturnTheSameResult() {
+        createTenants();
+        assertSame(g -> g.V().has("tenant", "t1").toList());
+        assertSame(g -> g.V().has("tenant", "t2").values("name").toList());
+        assertSame(g -> g.V().has("tenant", "t1").out("next").toList());
+        assertSame(g -> g.V().has("tenant", "t1").as("a").out("next").as("b").select("a", "b").toList());
+        assertSame(g -> g.V().has("tenant", "t1").order().by("name", Order.desc).toList());
+        assertSame(g -> g.E().hasLabel("next").toList());
+        assertSame(g -> g.V().has("tenant", "t3").toList());
+        Assert.assertTrue(Thread.getAllStackTraces().keySet().stream().anyMatch(t -> t.getName().startsWith("sqlg-parallel-query-")));
+    }
+
+    @Test
+    public void testParallelQueriesNotIteratedToTheEnd() {
+        createTenants();
+        this.sqlgGraph.tx().parallelQueriesOn();
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(1, this.sqlgGraph.traversal().V().has("tenant", "t1").limit(1).toList().size());
+        }
+        Assert.assertEquals("t1", this.sqlgGraph.traversal().V().has("tenant", "t1").next().value("tenant"));
+        this.sqlgGraph.tx().commit();
+        //the connection is writable again
+        this.sqlgGraph.addVertex(T.label, "A0", "tenant", "t1", "name", "a0_extra", "index", 100);
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(31, this.sqlgGraph.traversal().V().has("tenant", "t1").count().next(), 0);
+    }
+
+    @Test
+    public void testParallelQueriesEager() {
+        createTenants();
+        List<Vertex> expected = this.sqlgGraph.traversal().V().has("tenant", "t1").toList();
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().parallelQueriesOn();
+        this.sqlgGraph.tx().setLazyQueries(false);
+        Assert.assertEquals(expected, this.sqlgGraph.traversal().V().has("tenant", "t1").toList());
+        this.sqlgGraph.tx().rollback();
+    }
+
+    @Test
+    public void testParallelQueriesSeeCommittedData() {
+        createTenants();
+        this.sqlgGraph.tx().parallelQueriesOn();
+        Assert.assertTrue(this.sqlgGraph.tx().isInParallelQueriesMode());
+        Assert.assertEquals(30, this.sqlgGraph.traversal().V().has("tenant", "t1").toList().size());
+        this.sqlgGraph.tx().commit();
+        Assert.assertFalse(this.sqlgGraph.tx().isInParallelQueriesMode());
+    }
+
+    @Test
+    public void testParallelQueriesPropertyTypes() {
+        for (String label : List.of("A", "B", "C")) {
+            Map<String, Object> properties = new HashMap<>();
+            properties.put("tenant", "t1");
+            properties.put("aBoolean", true);
+            properties.put("aShort", (short) 1);
+            properties.put("anInteger", 2);
+            properties.put("aLong", 3L);
+            properties.put("aDouble", 4.5D);
+            properties.put("aLocalDate", LocalDate.now());
+            properties.put("aLocalDateTime", LocalDateTime.now().withNano(0));
+            properties.put("aLocalTime", LocalTime.now().withNano(0));
+            properties.put("aZonedDateTime", ZonedDateTime.now().withNano(0));
+            properties.put("aDuration", Duration.ofSeconds(5, 6));
+            properties.put("aPeriod", Period.of(1, 2, 3));
+            if (this.sqlgGraph.getSqlDialect().supportsStringArrayValues()) {
+                properties.put("aStringArray", new String[]{"a", "b"});
+            }
+            if (this.sqlgGraph.getSqlDialect().supportsIntegerArrayValues()) {
+                properties.put("anIntArray", new int[]{1, 2});
+            }
+            this.sqlgGraph.addVertex(label, properties);
+        }
+        this.sqlgGraph.tx().commit();
+        assertSame(g -> g.V().has("tenant", "t1").valueMap().toList().stream()
+                .map(m -> m.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> Arrays.deepToString(((List<?>) e.getValue()).toArray()))))
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testParallelQueriesOverMaxRowsExecuteSerially() throws Exception {
+        this.sqlgGraph.close();
+        Configuration conf = getConfigurationClone();
+        conf.setProperty(ParallelQueries.PARALLEL_QUERIES_MAX_ROWS, 2);
+        this.sqlgGraph = SqlgGraph.open(conf);
+        this.gt = this.sqlgGraph.traversal();
+        createTenants();
+        assertSame(g -> g.V().has("tenant", "t1").toList());
+        assertSame(g -> g.V().has("tenant", "t2").values("name").toList());
+        assertSame(g -> g.V().has("tenant", "t1").out("next").toList());
+        assertSame(g -> g.V().has("tenant", "t1").order().by("name", Order.desc).toList());
+    }
+
+    /**
+     * 10 labels, each with 3 vertices of tenant t1 and 2 of tenant t2.
+     */
+    private void createTenants() {
+        for (int i = 0; i < 10; i++) {
+            Vertex previous = null;
+            for (int j = 0; j < 5; j++) {
+                Vertex v = this.sqlgGraph.addVertex(T.label, "A" + i, "tenant", j < 3 ? "t1" : "t2", "name", "a" + i + "_" + j, "index", j);
+                if (previous != null) {
+                    previous.addEdge("next", v);
+                }
+                previous = v;
+            }
+        }
+        this.sqlgGraph.tx().commit();
+    }
+
+    private <R> void assertSame(Function<GraphTraversalSource, List<R>> traversal) {
+        List<R> expected = traversal.apply(this.sqlgGraph.traversal());
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().parallelQueriesOn();
+        List<R> actual = traversal.apply(this.sqlgGraph.traversal());
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(expected, actual);
+    }
+}
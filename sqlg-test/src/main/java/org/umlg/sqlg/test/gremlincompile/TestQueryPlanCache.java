@@ -0,0 +1,79 @@
+package org.umlg.sqlg.test.gremlincompile;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.sql.parse.QueryPlanCache;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.List;
+
+/**
+ * Tests the {@link QueryPlanCache} reusing the compiled sql for traversals of the same shape.
+ */
+public class TestQueryPlanCache extends BaseTest {
+
+    @Test
+    public void testSameShapeHitsTheCache() {
+        for (int i = 0; i < 10; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i, "age", i);
+            Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b" + i);
+            a.addEdge("ab", b);
+        }
+        this.sqlgGraph.tx().commit();
+        QueryPlanCache queryPlanCache = this.sqlgGraph.getQueryPlanCache();
+        queryPlanCache.clear();
+        long hits = queryPlanCache.hitCount();
+
+        for (int i = 0; i < 10; i++) {
+            List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").has("name", "a" + i).toList();
+            Assert.assertEquals(1, vertices.size());
+            Assert.assertEquals("a" + i, vertices.get(0).value("name"));
+        }
+        Assert.assertEquals(hits + 9, queryPlanCache.hitCount());
+
+        for (int i = 0; i < 10; i++) {
+            List<String> names = this.sqlgGraph.traversal().V().hasLabel("A").has("age", P.gte(i)).out("ab").<String>values("name").toList();
+            Assert.assertEquals(10 - i, names.size());
+        }
+        Assert.assertEquals(hits + 18, queryPlanCache.hitCount());
+
+        //a different number of within values is a different shape
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V().hasLabel("A").has("name", P.within("a1", "a2")).toList().size());
+        Assert.assertEquals(3, this.sqlgGraph.traversal().V().hasLabel("A").has("name", P.within("a1", "a2", "a3")).toList().size());
+        Assert.assertEquals(hits + 18, queryPlanCache.hitCount());
+
+        List<String> names = this.sqlgGraph.traversal().V().hasLabel("A").order().by("name", Order.desc).limit(2).<String>values("name").toList();
+        Assert.assertEquals(List.of("a9", "a8"), names);
+        names = this.sqlgGraph.traversal().V().hasLabel("A").order().by("name", Order.desc).limit(3).<String>values("name").toList();
+        Assert.assertEquals(List.of("a9", "a8", "a7"), names);
+        names = this.sqlgGraph.traversal().V().hasLabel("A").order().by("name", Order.asc).limit(3).<String>values("name").toList();
+        Assert.assertEquals(List.of("a0", "a1", "a2"), names);
+    }
+
+    @Test
+    public void testTopologyChangeInvalidatesTheCache() {
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        this.sqlgGraph.tx().commit();
+        QueryPlanCache queryPlanCache = this.sqlgGraph.getQueryPlanCache();
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").toList();
+        Assert.assertEquals(1, vertices.size());
+        Assert.assertTrue(queryPlanCache.size() > 0);
+
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a2", "surname", "s2");
+        Assert.assertEquals(0, queryPlanCache.size());
+        vertices = this.sqlgGraph.traversal().V().hasLabel("A").toList();
+        Assert.assertEquals(2, vertices.size());
+        this.sqlgGraph.tx().commit();
+
+        vertices = this.sqlgGraph.traversal().V().hasLabel("A").has("surname", "s2").toList();
+        Assert.assertEquals(1, vertices.size());
+        Assert.assertEquals("s2", vertices.get(0).value("surname"));
+        vertices = this.sqlgGraph.traversal().V().hasLabel("A").order().by("name").toList();
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertEquals("s2", vertices.get(1).value("surname"));
+    }
+}
@@ -0,0 +1,130 @@
+package org.umlg.sqlg.test.gremlincompile;
+
+import org.apache.commons.collections4.set.ListOrderedSet;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.RecordId;
+import org.umlg.sqlg.structure.topology.VertexLabel;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Tests the rows of the queries being read with the column indexes resolved on their first row.
+ */
+public class TestRowDecoder extends BaseTest {
+
+    @Test
+    public void testMultiHopPathWithProperties() {
+        for (int i = 0; i < 3; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i, "age", i, "born", LocalDate.of(2000, 1, i + 1));
+            for (int j = 0; j < 2; j++) {
+                Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b" + i + j, "weight", (double) j);
+                a.addEdge("ab", b, "since", (long) j);
+                b.addEdge("bc", this.sqlgGraph.addVertex(T.label, "C", "name", "c" + i + j, "alive", j == 0));
+            }
+        }
+        this.sqlgGraph.tx().commit();
+        List<Path> paths = this.sqlgGraph.traversal().V().hasLabel("A").outE("ab").inV().out("bc").path().toList();
+        Assert.assertEquals(6, paths.size());
+        for (Path path : paths) {
+            Vertex a = path.get(0);
+            Edge ab = path.get(1);
+            Vertex b = path.get(2);
+            Vertex c = path.get(3);
+            int i = a.value("age");
+            Assert.assertEquals("a" + i, a.value("name"));
+            Assert.assertEquals(LocalDate.of(2000, 1, i + 1), a.value("born"));
+            long j = ab.value("since");
+            Assert.assertEquals(a, ab.outVertex());
+            Assert.assertEquals(b, ab.inVertex());
+            Assert.assertEquals("b" + i + j, b.value("name"));
+            Assert.assertEquals((double) j, b.<Double>value("weight"), 0D);
+            Assert.assertEquals("c" + i + j, c.value("name"));
+            Assert.assertEquals(j == 0, c.value("alive"));
+        }
+        Assert.assertEquals(
+                Set.of("a0", "a1", "a2"),
+                new HashSet<>(this.sqlgGraph.traversal().V().hasLabel("C").in("bc").in("ab").<String>values("name").toList())
+        );
+    }
+
+    @Test
+    public void testUserSuppliedIdentifiers() {
+        VertexLabel personVertexLabel = this.sqlgGraph.getTopology().getPublicSchema().ensureVertexLabelExist(
+                "Person",
+                new LinkedHashMap<>() {{
+                    put("name", PropertyType.varChar(100));
+                    put("surname", PropertyType.varChar(100));
+                    put("age", PropertyType.INTEGER);
+                }},
+                ListOrderedSet.listOrderedSet(Arrays.asList("name", "surname"))
+        );
+        personVertexLabel.ensureEdgeLabelExist(
+                "knows",
+                personVertexLabel,
+                new LinkedHashMap<>() {{
+                    put("uid", PropertyType.varChar(100));
+                    put("since", PropertyType.INTEGER);
+                }},
+                ListOrderedSet.listOrderedSet(Collections.singletonList("uid"))
+        );
+        Vertex john = this.sqlgGraph.addVertex(T.label, "Person", "name", "John", "surname", "Smith", "age", 1);
+        Vertex peter = this.sqlgGraph.addVertex(T.label, "Person", "name", "Peter", "surname", "Smith", "age", 2);
+        Vertex paul = this.sqlgGraph.addVertex(T.label, "Person", "name", "Paul", "surname", "Smith", "age", 3);
+        john.addEdge("knows", peter, "uid", "1", "since", 2000);
+        peter.addEdge("knows", paul, "uid", "2", "since", 2001);
+        this.sqlgGraph.tx().commit();
+
+        List<Path> paths = this.sqlgGraph.traversal().V(john.id()).outE("knows").inV().outE("knows").inV().path().toList();
+        Assert.assertEquals(1, paths.size());
+        Path path = paths.get(0);
+        Assert.assertEquals(Arrays.asList(john, john.edges(Direction.OUT).next(), peter, peter.edges(Direction.OUT).next(), paul), path.objects());
+        Edge second = path.get(3);
+        Assert.assertEquals(2001, (int) second.value("since"));
+        Assert.assertEquals(peter.id(), second.outVertex().id());
+        Assert.assertEquals(paul.id(), second.inVertex().id());
+        Assert.assertEquals(RecordId.class, second.id().getClass());
+        Assert.assertEquals(3, (int) path.<Vertex>get(4).value("age"));
+    }
+
+    @Test
+    public void testOptionalRowsWithoutElements() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        a1.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B", "name", "b1"));
+        this.sqlgGraph.tx().commit();
+        List<String> names = this.sqlgGraph.traversal().V().hasLabel("A").optional(__.out("ab")).<String>values("name").toList();
+        Collections.sort(names);
+        Assert.assertEquals(Arrays.asList("a2", "b1"), names);
+        List<Path> paths = this.sqlgGraph.traversal().V().hasLabel("A").repeat(__.out("ab")).emit().times(2).path().toList();
+        Assert.assertEquals(1, paths.size());
+        Assert.assertEquals(a1, paths.get(0).get(0));
+        Assert.assertNotEquals(a2, paths.get(0).get(0));
+    }
+
+    @Test
+    public void testAggregates() {
+        int[] ages = {1, 2, 4, 5};
+        for (int i = 0; i < ages.length; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "name", "a" + (i % 2), "age", ages[i]);
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(12L, this.sqlgGraph.traversal().V().hasLabel("A").values("age").sum().next());
+        Assert.assertEquals(3D, this.sqlgGraph.traversal().V().hasLabel("A").values("age").mean().next());
+        Assert.assertEquals(5, this.sqlgGraph.traversal().V().hasLabel("A").values("age").max().next());
+        Map<String, Long> counts = this.sqlgGraph.traversal().V().hasLabel("A").<String, Long>group().by("name").by(__.count()).next();
+        Assert.assertEquals(Map.of("a0", 2L, "a1", 2L), counts);
+        Map<String, Number> sums = this.sqlgGraph.traversal().V().hasLabel("A").<String, Number>group().by("name").by(__.values("age").sum()).next();
+        Assert.assertEquals(Map.of("a0", 5L, "a1", 7L), sums.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().longValue())));
+    }
+}
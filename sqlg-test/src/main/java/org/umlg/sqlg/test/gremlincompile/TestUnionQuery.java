@@ -0,0 +1,199 @@
+package org.umlg.sqlg.test.gremlincompile;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Tests the per label queries of an ordered graph step executing as one UNION ALL query.
+ */
+public class TestUnionQuery extends BaseTest {
+
+    @Test
+    public void testOrderLimitOverLabels() {
+        createPersons();
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().order().by("name").limit(5);
+        Assert.assertEquals(expected(Comparator.comparing(v -> v.value("name")), 0, 5), names(traversal.toList()));
+        assertStep(traversal.getSteps().get(0), true, false, true, false, true);
+
+        traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().order().by("name", Order.desc).range(3, 8);
+        Assert.assertEquals(expected(Comparator.<Vertex, String>comparing(v -> v.value("name")).reversed(), 3, 8), names(traversal.toList()));
+        assertStep(traversal.getSteps().get(0), true, false, true, false, true);
+
+        Assert.assertEquals(
+                expected(Comparator.comparing(v -> v.<String>value("name")), 25, 30),
+                names(this.sqlgGraph.traversal().V().order().by("name").skip(25).toList())
+        );
+        Assert.assertEquals(
+                expected(Comparator.comparing(v -> v.<String>value("name")), 0, 30),
+                names(this.sqlgGraph.traversal().V().order().by("name").toList())
+        );
+    }
+
+    @Test
+    public void testOrderByMultipleProperties() {
+        createPersons();
+        Comparator<Vertex> comparator = Comparator.<Vertex, Integer>comparing(v -> v.value("age")).reversed().thenComparing(v -> v.value("name"));
+        Assert.assertEquals(
+                expected(comparator, 0, 7),
+                names(this.sqlgGraph.traversal().V().order().by("age", Order.desc).by("name").limit(7).toList())
+        );
+        Assert.assertEquals(
+                expected(Comparator.comparing(v -> v.value("born")), 0, 4),
+                names(this.sqlgGraph.traversal().V().order().by("born").limit(4).toList())
+        );
+    }
+
+    @Test
+    public void testHasContainersAndProjections() {
+        createPersons();
+        List<String> expected = this.sqlgGraph.traversal().V().toList().stream()
+                .filter(v -> v.<Integer>value("age") > 3)
+                .map(v -> v.<String>value("name"))
+                .sorted()
+                .limit(4)
+                .collect(Collectors.toList());
+        Assert.assertEquals(expected, names(this.sqlgGraph.traversal().V().has("age", P.gt(3)).order().by("name").limit(4).toList()));
+        Assert.assertEquals(expected, this.sqlgGraph.traversal().V().has("age", P.gt(3)).order().by("name").limit(4).values("name").toList());
+        Assert.assertEquals(
+                Arrays.asList("a03", "c03"),
+                names(this.sqlgGraph.traversal().V().has("name", P.within("c03", "a03", "x")).order().by("name").toList())
+        );
+        //the properties of the returned elements are loaded
+        Vertex first = this.sqlgGraph.traversal().V().order().by("name").limit(1).next();
+        Assert.assertEquals("a00", first.value("name"));
+        Assert.assertEquals(0, (int) first.value("age"));
+        Assert.assertEquals(LocalDate.of(2000, 1, 1), first.value("born"));
+    }
+
+    @Test
+    public void testOrderTies() {
+        for (String label : Arrays.asList("A", "B", "C")) {
+            for (int i = 0; i < 3; i++) {
+                this.sqlgGraph.addVertex(T.label, label, "name", label + i, "group", i % 2);
+            }
+        }
+        this.sqlgGraph.tx().commit();
+        //ties keep the order of the labels and the insertion, as a stable sort of the separate queries' rows does
+        List<Vertex> expected = new ArrayList<>(this.sqlgGraph.traversal().V().hasLabel("A", "B", "C").toList());
+        expected.sort(Comparator.comparing(v -> v.value("group")));
+        Assert.assertEquals(
+                names(expected),
+                names(this.sqlgGraph.traversal().V().hasLabel("A", "B", "C").order().by("group").toList())
+        );
+    }
+
+    @Test
+    public void testOrderEdges() {
+        createPersons();
+        List<Vertex> persons = this.sqlgGraph.traversal().V().toList();
+        for (int i = 0; i < persons.size(); i++) {
+            persons.get(i).addEdge(i % 2 == 0 ? "knows" : "likes", persons.get((i + 1) % persons.size()), "weight", (double) ((i * 7) % persons.size()));
+        }
+        this.sqlgGraph.tx().commit();
+        List<Double> expected = this.sqlgGraph.traversal().E().toList().stream()
+                .map(e -> e.<Double>value("weight"))
+                .sorted(Comparator.reverseOrder())
+                .limit(5)
+                .collect(Collectors.toList());
+        List<Edge> edges = this.sqlgGraph.traversal().E().order().by("weight", Order.desc).limit(5).toList();
+        Assert.assertEquals(expected, edges.stream().map(e -> e.<Double>value("weight")).collect(Collectors.toList()));
+        for (Edge edge : edges) {
+            Assert.assertNotNull(edge.outVertex().value("name"));
+            Assert.assertNotNull(edge.inVertex().value("name"));
+        }
+    }
+
+    @Test
+    public void testNotCombined() {
+        createPersons();
+        //the property does not have the same type on all the labels
+        this.sqlgGraph.addVertex(T.label, "D", "name", "d00", "age", 3L, "born", LocalDate.of(2000, 1, 1));
+        this.sqlgGraph.tx().commit();
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().order().by("name").limit(5);
+        Assert.assertEquals(expected(Comparator.comparing(v -> v.value("name")), 0, 5), names(traversal.toList()));
+        traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().order().by("age").limit(5);
+        Assert.assertEquals(5, traversal.toList().size());
+        assertStep(traversal.getSteps().get(0), true, true, true, true, false);
+    }
+
+    @Test
+    public void testNotCombinedArrayProperty() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsStringArrayValues());
+        createPersons();
+        this.sqlgGraph.addVertex(T.label, "D", "name", "a015", "age", 3, "born", LocalDate.of(2000, 1, 1), "nicknames", new String[]{"d"});
+        this.sqlgGraph.tx().commit();
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().order().by("name").limit(3);
+        Assert.assertEquals(Arrays.asList("a00", "a01", "a015"), names(traversal.toList()));
+        assertStep(traversal.getSteps().get(0), true, true, true, true, false);
+    }
+
+    @Test
+    public void testNotCombinedTooManyColumns() {
+        //30 labels of 40 properties select more than the default maximum of 1000 columns
+        for (int label = 0; label < 30; label++) {
+            Map<String, Object> properties = new HashMap<>();
+            properties.put("name", "n" + String.format("%02d", (label * 7) % 30));
+            for (int i = 0; i < 40; i++) {
+                properties.put("p" + i, i);
+            }
+            this.sqlgGraph.addVertex("L" + label, properties);
+        }
+        this.sqlgGraph.tx().commit();
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().order().by("name").limit(3);
+        Assert.assertEquals(Arrays.asList("n00", "n01", "n02"), names(traversal.toList()));
+        assertStep(traversal.getSteps().get(0), true, true, true, true, false);
+
+        traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("L0", "L1", "L2").order().by("name").limit(2);
+        Assert.assertEquals(Arrays.asList("n00", "n07"), names(traversal.toList()));
+        assertStep(traversal.getSteps().get(0), true, false, true, false, true);
+    }
+
+    /**
+     * 30 persons over the labels A, B and C, the names interleave over the labels.
+     */
+    private void createPersons() {
+        List<String> labels = Arrays.asList("A", "B", "C");
+        for (int i = 0; i < 30; i++) {
+            this.sqlgGraph.addVertex(
+                    T.label, labels.get(i % 3),
+                    "name", "a" + String.format("%02d", i),
+                    "age", (i * 7) % 10,
+                    "born", LocalDate.of(2000, 1, 1).plusDays((i * 11) % 30)
+            );
+        }
+        this.sqlgGraph.tx().commit();
+        //rename the 3rd person of C to c03 for the within test
+        this.sqlgGraph.traversal().V().has("name", "a05").property("name", "c03").iterate();
+        this.sqlgGraph.tx().commit();
+    }
+
+    private List<String> expected(Comparator<Vertex> comparator, int low, int high) {
+        List<Vertex> vertices = new ArrayList<>(this.sqlgGraph.traversal().V().toList());
+        vertices.sort(comparator);
+        return names(vertices.subList(low, Math.min(high, vertices.size())));
+    }
+
+    private static List<String> names(List<? extends Element> elements) {
+        return elements.stream().map(e -> e.<String>value("name")).collect(Collectors.toList());
+    }
+}
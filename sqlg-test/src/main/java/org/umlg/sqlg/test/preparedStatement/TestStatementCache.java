@@ -0,0 +1,93 @@
+package org.umlg.sqlg.test.preparedStatement;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.List;
+
+/**
+ * Tests the per connection prepared statement cache.
+ */
+public class TestStatementCache extends BaseTest {
+
+    @Test
+    public void testStatementsAreReusedAcrossTransactions() {
+        for (int i = 0; i < 10; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+        }
+        this.sqlgGraph.tx().commit();
+        for (int i = 0; i < 10; i++) {
+            List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").has("name", "a" + i).toList();
+            Assert.assertEquals(1, vertices.size());
+            Assert.assertEquals("a" + i, vertices.get(0).value("name"));
+            Assert.assertTrue(this.sqlgGraph.tx().getPreparedStatementCache().isEmpty());
+            Assert.assertTrue(this.sqlgGraph.tx().getStatementCacheSize() > 0);
+            this.sqlgGraph.tx().commit();
+        }
+    }
+
+    @Test
+    public void testSameStatementIteratedTwice() {
+        for (int i = 0; i < 10; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+        }
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().setLazyQueries(true);
+        this.sqlgGraph.tx().setFetchSize(2);
+        GraphTraversal<Vertex, Vertex> traversal1 = this.sqlgGraph.traversal().V().hasLabel("A");
+        GraphTraversal<Vertex, Vertex> traversal2 = this.sqlgGraph.traversal().V().hasLabel("A");
+        int count = 0;
+        while (traversal1.hasNext()) {
+            Assert.assertTrue(traversal2.hasNext());
+            Assert.assertEquals(traversal1.next(), traversal2.next());
+            count++;
+        }
+        Assert.assertFalse(traversal2.hasNext());
+        Assert.assertEquals(10, count);
+        this.sqlgGraph.tx().commit();
+    }
+
+    @Test
+    public void testPartiallyIteratedStatementIsReleasedOnCommit() {
+        for (int i = 0; i < 10; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+        }
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().setLazyQueries(true);
+        this.sqlgGraph.tx().setFetchSize(2);
+        GraphTraversal<Vertex, Vertex> traversal = this.sqlgGraph.traversal().V().hasLabel("A");
+        Assert.assertTrue(traversal.hasNext());
+        traversal.next();
+        Assert.assertFalse(this.sqlgGraph.tx().getPreparedStatementCache().isEmpty());
+        this.sqlgGraph.tx().commit();
+
+        this.sqlgGraph.tx().setLazyQueries(true);
+        this.sqlgGraph.tx().setFetchSize(2);
+        Assert.assertEquals(10, this.sqlgGraph.traversal().V().hasLabel("A").toList().size());
+        Assert.assertTrue(this.sqlgGraph.tx().getPreparedStatementCache().isEmpty());
+        Assert.assertTrue(this.sqlgGraph.tx().getStatementCacheSize() > 0);
+        this.sqlgGraph.tx().commit();
+    }
+
+    @Test
+    public void testTopologyChangeInvalidatesTheStatements() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals("a1", this.sqlgGraph.traversal().V(a1.id()).next().value("name"));
+        this.sqlgGraph.tx().commit();
+
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a2", "surname", "s2");
+        this.sqlgGraph.tx().commit();
+        Vertex a = this.sqlgGraph.traversal().V(a1.id()).next();
+        Assert.assertEquals("a1", a.value("name"));
+        Assert.assertFalse(a.property("surname").isPresent());
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").has("surname", "s2").toList();
+        Assert.assertEquals(1, vertices.size());
+        Assert.assertEquals("a2", vertices.get(0).value("name"));
+        this.sqlgGraph.tx().commit();
+    }
+}
@@ -0,0 +1,106 @@
+package org.umlg.sqlg.test.properties;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.structure.PropertyLayout;
+import org.umlg.sqlg.structure.topology.VertexLabel;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Tests the elements loaded from the database keeping their properties in the slots of their label's layout.
+ */
+public class TestPropertyLayout extends BaseTest {
+
+    @Test
+    public void testLoadedElementsUseTheLabelLayout() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a", "age", 1, "weight", 1.5D, "alive", true);
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        a.addEdge("ab", b, "since", 2000L);
+        this.sqlgGraph.tx().commit();
+        VertexLabel vertexLabel = this.sqlgGraph.getTopology().getPublicSchema().getVertexLabel("A").orElseThrow();
+        PropertyLayout propertyLayout = vertexLabel.getPropertyLayout();
+        Assert.assertTrue(propertyLayout.containsAll(vertexLabel.getProperties()));
+        Assert.assertSame(propertyLayout, vertexLabel.getPropertyLayout());
+
+        a = this.sqlgGraph.traversal().V().hasLabel("A").next();
+        Assert.assertEquals(Map.of("name", "a", "age", 1, "weight", 1.5D, "alive", true), properties(a));
+        Assert.assertEquals("a", a.value("name"));
+        Assert.assertEquals(1, (int) a.value("age"));
+        Assert.assertFalse(a.property("unknown").isPresent());
+        Edge edge = this.sqlgGraph.traversal().V().hasLabel("A").outE("ab").next();
+        Assert.assertEquals(2000L, (long) edge.value("since"));
+        Assert.assertEquals("b", edge.inVertex().value("name"));
+        //loaded by id
+        Assert.assertEquals(Map.of("name", "a", "age", 1, "weight", 1.5D, "alive", true), properties(this.sqlgGraph.traversal().V(a.id()).next()));
+    }
+
+    @Test
+    public void testUpdateAndRemoveLoadedProperties() {
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a", "age", 1);
+        this.sqlgGraph.tx().commit();
+        Vertex a = this.sqlgGraph.traversal().V().hasLabel("A").next();
+        a.property("age", 2);
+        a.property("name").remove();
+        Assert.assertEquals(Map.of("age", 2), properties(a));
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(Map.of("age", 2), properties(this.sqlgGraph.traversal().V().hasLabel("A").next()));
+    }
+
+    @Test
+    public void testPropertiesAddedAfterTheLayout() {
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        this.sqlgGraph.tx().commit();
+        Vertex a = this.sqlgGraph.traversal().V().hasLabel("A").next();
+        //the property is not in the layout the element was loaded with
+        a.property("surname", "s");
+        Assert.assertEquals(Map.of("name", "a", "surname", "s"), properties(a));
+        Assert.assertEquals(Map.of("name", "a", "surname", "s"), properties(this.sqlgGraph.traversal().V().hasLabel("A").next()));
+        this.sqlgGraph.tx().commit();
+        VertexLabel vertexLabel = this.sqlgGraph.getTopology().getPublicSchema().getVertexLabel("A").orElseThrow();
+        Assert.assertTrue(vertexLabel.getPropertyLayout().containsAll(vertexLabel.getProperties()));
+        Assert.assertEquals(Map.of("name", "a", "surname", "s"), properties(this.sqlgGraph.traversal().V().hasLabel("A").next()));
+        Assert.assertEquals("s", a.value("surname"));
+    }
+
+    @Test
+    public void testRemovedPropertyColumn() {
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a", "surname", "s");
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(Map.of("name", "a", "surname", "s"), properties(this.sqlgGraph.traversal().V().hasLabel("A").next()));
+        this.sqlgGraph.getTopology().getPublicSchema().getVertexLabel("A").orElseThrow().getProperty("surname").orElseThrow().remove(false);
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(Map.of("name", "a"), properties(this.sqlgGraph.traversal().V().hasLabel("A").next()));
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a2", "surname", 2);
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(
+                Set.of(Map.of("name", "a"), Map.of("name", "a2", "surname", 2)),
+                this.sqlgGraph.traversal().V().hasLabel("A").toList().stream().map(TestPropertyLayout::properties).collect(Collectors.toSet())
+        );
+    }
+
+    @Test
+    public void testRollbackClearsLoadedProperties() {
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        this.sqlgGraph.tx().commit();
+        Vertex a = this.sqlgGraph.traversal().V().hasLabel("A").next();
+        a.property("name", "b");
+        this.sqlgGraph.tx().rollback();
+        Assert.assertEquals("a", a.value("name"));
+    }
+
+    private static Map<String, Object> properties(Vertex vertex) {
+        Map<String, Object> result = new HashMap<>();
+        for (Iterator<? extends Property<Object>> it = vertex.properties(); it.hasNext(); ) {
+            Property<Object> property = it.next();
+            result.put(property.key(), property.value());
+        }
+        return result;
+    }
+}
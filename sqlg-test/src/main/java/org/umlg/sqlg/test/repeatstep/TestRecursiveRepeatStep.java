@@ -0,0 +1,238 @@
+package org.umlg.sqlg.test.repeatstep;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.step.barrier.SqlgRecursiveRepeatStepBarrier;
+import org.umlg.sqlg.step.barrier.SqlgRepeatStepBarrier;
+import org.umlg.sqlg.strategy.barrier.SqlgRepeatStepStrategy;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Tests repeat steps over a single edge label that executes as one recursive query against the same traversals
+ * executed by TinkerPop's RepeatStep.
+ */
+public class TestRecursiveRepeatStep extends BaseTest {
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsRecursiveCommonTableExpressions());
+    }
+
+    @Test
+    public void testUntilHasDeepHierarchy() {
+        List<Vertex> employees = new ArrayList<>();
+        Vertex ceo = this.sqlgGraph.addVertex(T.label, "Employee", "name", "e0", "title", "CEO");
+        employees.add(ceo);
+        for (int i = 1; i < 30; i++) {
+            Vertex employee = this.sqlgGraph.addVertex(T.label, "Employee", "name", "e" + i, "title", "engineer");
+            employee.addEdge("manager", employees.get(i - 1));
+            employees.add(employee);
+        }
+        this.sqlgGraph.tx().commit();
+        Vertex last = employees.get(employees.size() - 1);
+
+        DefaultGraphTraversal<Vertex, Path> traversal = (DefaultGraphTraversal<Vertex, Path>) this.sqlgGraph.traversal()
+                .V(last)
+                .repeat(__.out("manager"))
+                .until(__.has("title", "CEO"))
+                .path();
+        List<Path> paths = traversal.toList();
+        assertRecursive(traversal);
+        Assert.assertEquals(1, paths.size());
+        Assert.assertEquals(30, paths.get(0).size());
+        Assert.assertEquals(last, paths.get(0).get(0));
+        Assert.assertEquals(ceo, paths.get(0).get(29));
+        assertSame(g -> g.V().hasLabel("Employee").repeat(__.out("manager")).until(__.has("title", "CEO")).path());
+        assertSame(g -> g.V().hasLabel("Employee").until(__.has("title", "CEO")).repeat(__.out("manager")).path());
+    }
+
+    @Test
+    public void testEmit() {
+        Vertex root = createTree();
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V(root)
+                .repeat(__.out("contains"))
+                .emit();
+        List<Vertex> vertices = traversal.toList();
+        assertRecursive(traversal);
+        Assert.assertEquals(12, vertices.size());
+        assertSame(g -> g.V(root).repeat(__.out("contains")).emit());
+        assertSame(g -> g.V(root).emit().repeat(__.out("contains")));
+        assertSame(g -> g.V().hasLabel("Part").repeat(__.in("contains")).emit().path());
+        assertSame(g -> g.V(root).repeat(__.out("contains")).emit(__.has("level", 2)).values("name"));
+        assertSame(g -> g.V(root).emit(__.has("level", 0)).repeat(__.out("contains")).values("name"));
+    }
+
+    @Test
+    public void testUntilAndEmit() {
+        Vertex root = createTree();
+        assertSame(g -> g.V(root).repeat(__.out("contains")).until(__.has("level", 2)).emit().path());
+        assertSame(g -> g.V(root).repeat(__.out("contains")).emit().until(__.has("level", 2)).path());
+        assertSame(g -> g.V(root).until(__.has("level", 2)).repeat(__.out("contains")).emit().path());
+        assertSame(g -> g.V(root).emit().until(__.has("level", 2)).repeat(__.out("contains")).path());
+        assertSame(g -> g.V(root).emit(__.has("level", 1)).until(__.has("level", 1)).repeat(__.out("contains")).path());
+        assertSame(g -> g.V(root).until(__.has("level", 1)).repeat(__.out("contains")).emit(__.has("level", 1)).path());
+        assertSame(g -> g.V().hasLabel("Part").until(__.has("level", 0)).repeat(__.in("contains")).values("name"));
+    }
+
+    @Test
+    public void testSimplePathOnCycle() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "Station", "name", "a");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "Station", "name", "b");
+        Vertex c = this.sqlgGraph.addVertex(T.label, "Station", "name", "c");
+        Vertex d = this.sqlgGraph.addVertex(T.label, "Station", "name", "d");
+        a.addEdge("next", b);
+        b.addEdge("next", c);
+        c.addEdge("next", a);
+        c.addEdge("next", d);
+        d.addEdge("next", b);
+        this.sqlgGraph.tx().commit();
+
+        DefaultGraphTraversal<Vertex, Path> traversal = (DefaultGraphTraversal<Vertex, Path>) this.sqlgGraph.traversal()
+                .V(a)
+                .repeat(__.out("next").simplePath())
+                .emit()
+                .path();
+        List<Path> paths = traversal.toList();
+        assertRecursive(traversal);
+        Assert.assertEquals(3, paths.size());
+        assertSame(g -> g.V().hasLabel("Station").repeat(__.out("next").simplePath()).emit().path());
+        assertSame(g -> g.V().hasLabel("Station").repeat(__.out("next").simplePath()).until(__.has("name", "d")).path());
+        assertSame(g -> g.V().hasLabel("Station").repeat(__.in("next").simplePath()).until(__.has("name", "a")).path());
+        //The path before the repeat is part of the simple path.
+        assertSame(g -> g.V(a).out("next").repeat(__.out("next").simplePath()).emit().path());
+        assertSame(g -> g.V(a).out("next").out("next").out("next").repeat(__.out("next").simplePath()).emit().path());
+    }
+
+    @Test
+    public void testTimes() {
+        Vertex root = createTree();
+        //times after a step that the vertex query does not absorb is not unrolled into joins.
+        assertSame(g -> g.V(root).sideEffect(__.identity()).repeat(__.out("contains")).emit(__.has("level", 1)).times(2).path());
+        assertSame(g -> g.V(root).sideEffect(__.identity()).emit(__.has("level", 1)).repeat(__.out("contains")).times(1).path());
+        assertSame(g -> g.V(root).sideEffect(__.identity()).emit().times(1).repeat(__.out("contains")).path());
+    }
+
+    @Test
+    public void testStartsOfAnotherLabel() {
+        Vertex root = createTree();
+        Vertex other = this.sqlgGraph.addVertex(T.label, "Other", "level", 0);
+        other.addEdge("uses", root);
+        this.sqlgGraph.tx().commit();
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().has("level", 0)
+                .emit()
+                .repeat(__.out("contains"));
+        List<Vertex> vertices = traversal.toList();
+        assertRecursive(traversal);
+        Assert.assertEquals(14, vertices.size());
+        Assert.assertTrue(vertices.contains(other));
+        assertSame(g -> g.V().has("level", 0).emit().repeat(__.out("contains")));
+        assertSame(g -> g.V().has("level", 0).until(__.has("level", 0)).repeat(__.out("contains")));
+    }
+
+    @Test
+    public void testEdgeLabelBetweenLabelsIsNotRecursive() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        a.addEdge("link", a2);
+        a2.addEdge("link", b);
+        this.sqlgGraph.tx().commit();
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V(a)
+                .repeat(__.out("link"))
+                .until(__.has("name", "b"));
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertEquals(1, vertices.size());
+        Assert.assertEquals(b, vertices.get(0));
+        Assert.assertTrue(TraversalHelper.getStepsOfAssignableClassRecursively(SqlgRecursiveRepeatStepBarrier.class, traversal).isEmpty());
+        Assert.assertEquals(1, TraversalHelper.getStepsOfAssignableClassRecursively(SqlgRepeatStepBarrier.class, traversal).size());
+    }
+
+    @Test
+    public void testPathVerticesLoadTheirProperties() {
+        createTree();
+        DefaultGraphTraversal<Vertex, Path> traversal = (DefaultGraphTraversal<Vertex, Path>) this.sqlgGraph.traversal()
+                .V().hasLabel("Part").has("level", 2)
+                .repeat(__.in("contains"))
+                .until(__.has("level", 0))
+                .path();
+        List<Path> paths = traversal.toList();
+        assertRecursive(traversal);
+        Assert.assertEquals(9, paths.size());
+        for (Path path : paths) {
+            Assert.assertEquals(3, path.size());
+            for (int i = 0; i < 3; i++) {
+                Vertex vertex = path.get(i);
+                Assert.assertEquals(2 - i, (int) vertex.value("level"));
+            }
+            Assert.assertEquals("root", ((Vertex) path.get(2)).value("name"));
+            Assert.assertTrue(((Vertex) path.get(1)).<String>value("name").startsWith("child"));
+        }
+    }
+
+    @Test
+    public void testUntilOnMissingProperty() {
+        Vertex root = createTree();
+        assertSame(g -> g.V(root).repeat(__.out("contains")).until(__.has("weight", 1)).emit());
+    }
+
+    /**
+     * A tree of Part vertices, 1 root, 3 children and 9 grand children.
+     */
+    private Vertex createTree() {
+        Vertex root = this.sqlgGraph.addVertex(T.label, "Part", "name", "root", "level", 0);
+        for (int i = 0; i < 3; i++) {
+            Vertex child = this.sqlgGraph.addVertex(T.label, "Part", "name", "child" + i, "level", 1);
+            root.addEdge("contains", child);
+            for (int j = 0; j < 3; j++) {
+                Vertex grandChild = this.sqlgGraph.addVertex(T.label, "Part", "name", "grandChild" + i + j, "level", 2);
+                child.addEdge("contains", grandChild);
+            }
+        }
+        this.sqlgGraph.tx().commit();
+        return root;
+    }
+
+    private void assertRecursive(DefaultGraphTraversal<?, ?> traversal) {
+        Assert.assertEquals(1, TraversalHelper.getStepsOfAssignableClassRecursively(SqlgRecursiveRepeatStepBarrier.class, traversal).size());
+        Assert.assertTrue(TraversalHelper.getStepsOfAssignableClassRecursively(SqlgRepeatStepBarrier.class, traversal).isEmpty());
+    }
+
+    private void assertSame(Function<GraphTraversalSource, Traversal<Vertex, ?>> traversal) {
+        DefaultGraphTraversal<Vertex, ?> recursive = (DefaultGraphTraversal<Vertex, ?>) traversal.apply(this.sqlgGraph.traversal());
+        Map<Object, Long> expected = count(traversal.apply(this.sqlgGraph.traversal().withoutStrategies(SqlgRepeatStepStrategy.class)).toList());
+        Map<Object, Long> actual = count(recursive.toList());
+        assertRecursive(recursive);
+        Assert.assertEquals(expected, actual);
+    }
+
+    private Map<Object, Long> count(List<?> objects) {
+        Map<Object, Long> result = new HashMap<>();
+        for (Object object : objects) {
+            if (object instanceof Path) {
+                //sqlg's internal path labels differ between the two executions, compare the path's objects.
+                object = ((Path) object).objects();
+            }
+            result.merge(object, 1L, Long::sum);
+        }
+        return result;
+    }
+}
@@ -11,6 +11,7 @@ import org.junit.Test;
 import org.umlg.sqlg.structure.PropertyType;
 import org.umlg.sqlg.structure.SchemaTable;
 import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.topology.*;
 import org.umlg.sqlg.test.BaseTest;
 
 import java.time.LocalDate;
@@ -19,6 +20,7 @@ import java.time.LocalTime;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 
@@ -185,6 +187,48 @@ public class TestLoadSchema extends BaseTest {
         }
     }
 
+    @Test
+    public void testLoadManySchemasWithEdgesAndIndexesAcrossSchemas() {
+        int schemas = 10;
+        for (int i = 0; i < schemas; i++) {
+            VertexLabel aVertexLabel = this.sqlgGraph.getTopology().ensureVertexLabelExist("S" + i, "A", Map.of("name", PropertyType.STRING));
+            aVertexLabel.ensureIndexExists(IndexType.UNIQUE, List.of(aVertexLabel.getProperty("name").orElseThrow()));
+            VertexLabel bVertexLabel = this.sqlgGraph.getTopology().ensureVertexLabelExist("S" + ((i + 1) % schemas), "B", Map.of("name", PropertyType.STRING));
+            EdgeLabel edgeLabel = aVertexLabel.ensureEdgeLabelExist("ab", bVertexLabel, Map.of("weight", PropertyType.DOUBLE));
+            edgeLabel.ensureIndexExists(IndexType.NON_UNIQUE, List.of(edgeLabel.getProperty("weight").orElseThrow()));
+        }
+        this.sqlgGraph.tx().commit();
+        for (int i = 0; i < schemas; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "S" + i + ".A", "name", "a" + i);
+            Vertex b = this.sqlgGraph.addVertex(T.label, "S" + ((i + 1) % schemas) + ".B", "name", "b" + i);
+            a.addEdge("ab", b, "weight", (double) i);
+        }
+        this.sqlgGraph.tx().commit();
+        Map<String, Map<String, PropertyType>> allTables = this.sqlgGraph.getTopology().getAllTables();
+        Map<String, Set<ForeignKey>> edgeForeignKeys = this.sqlgGraph.getTopology().getEdgeForeignKeys();
+        this.sqlgGraph.close();
+        try (SqlgGraph sqlgGraph1 = SqlgGraph.open(configuration)) {
+            assertEquals(allTables, sqlgGraph1.getTopology().getAllTables());
+            assertEquals(edgeForeignKeys, sqlgGraph1.getTopology().getEdgeForeignKeys());
+            for (int i = 0; i < schemas; i++) {
+                VertexLabel aVertexLabel = sqlgGraph1.getTopology().getVertexLabel("S" + i, "A").orElseThrow();
+                assertEquals(1, aVertexLabel.getIndexes().size());
+                EdgeLabel edgeLabel = aVertexLabel.getOutEdgeLabel("ab").orElseThrow();
+                assertEquals(1, edgeLabel.getIndexes().size());
+                VertexLabel bVertexLabel = sqlgGraph1.getTopology().getVertexLabel("S" + ((i + 1) % schemas), "B").orElseThrow();
+                Assert.assertTrue(bVertexLabel.getInEdgeLabels().containsKey("S" + i + ".ab"));
+                assertEquals(
+                        List.of("b" + i),
+                        sqlgGraph1.traversal().V().hasLabel("S" + i + ".A").out("ab").values("name").toList()
+                );
+                assertEquals(
+                        List.of("a" + i),
+                        sqlgGraph1.traversal().V().hasLabel("S" + ((i + 1) % schemas) + ".B").in("ab").values("name").toList()
+                );
+            }
+        }
+    }
+
     @Test
     public void loadForeignKeys() {
         Vertex v1 = this.sqlgGraph.addVertex(T.label, "Person", "aBoolean", true, "aShort", (short) 1,
@@ -0,0 +1,202 @@
+package org.umlg.sqlg.test.topology;
+
+import org.apache.commons.collections4.set.ListOrderedSet;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.SchemaTable;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.topology.*;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Tests the topology being loaded from a {@link TopologySnapshot} file on startup.
+ */
+public class TestTopologySnapshot extends BaseTest {
+
+    private Path directory;
+    private Path snapshot;
+
+    @Before
+    public void createSnapshotDirectory() throws IOException {
+        this.directory = Files.createTempDirectory("sqlgTopologySnapshot");
+        this.snapshot = this.directory.resolve("topology.snapshot");
+    }
+
+    @After
+    public void deleteSnapshotDirectory() throws IOException {
+        Files.deleteIfExists(this.snapshot);
+        Files.deleteIfExists(this.directory);
+    }
+
+    @Test
+    public void testTopologyFromSnapshot() throws Exception {
+        createTopology();
+        //loaded from sqlg_schema, the snapshot is written
+        openWithSnapshot(false);
+        Assert.assertTrue(Files.exists(this.snapshot));
+        String expected = describe(this.sqlgGraph.getTopology());
+        Map<String, Map<String, PropertyType>> expectedAllTables = this.sqlgGraph.getTopology().getAllTables();
+        Map<String, Set<ForeignKey>> expectedEdgeForeignKeys = this.sqlgGraph.getTopology().getEdgeForeignKeys();
+        Pair<Set<SchemaTable>, Set<SchemaTable>> expectedTableLabels = this.sqlgGraph.getTopology().getTableLabels(SchemaTable.of(this.sqlgGraph.getSqlDialect().getPublicSchema(), Topology.VERTEX_PREFIX + "A"));
+        Assert.assertNotNull(expectedTableLabels);
+        openWithSnapshot(false);
+        Assert.assertEquals(expected, describe(this.sqlgGraph.getTopology()));
+        Assert.assertEquals(expectedAllTables, this.sqlgGraph.getTopology().getAllTables());
+        Assert.assertEquals(expectedEdgeForeignKeys, this.sqlgGraph.getTopology().getEdgeForeignKeys());
+        Assert.assertEquals(
+                expectedTableLabels,
+                this.sqlgGraph.getTopology().getTableLabels(SchemaTable.of(this.sqlgGraph.getSqlDialect().getPublicSchema(), Topology.VERTEX_PREFIX + "A"))
+        );
+
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "id1", 1, "id2", 2, "age", 3);
+        Vertex b = this.sqlgGraph.addVertex(T.label, "S.B", "name", "b");
+        a.addEdge("ab", b, "uid", 1, "weight", 1.5D);
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(List.of("b"), this.sqlgGraph.traversal().V().hasLabel("A").out("ab").values("name").toList());
+        Assert.assertEquals(List.of(3), this.sqlgGraph.traversal().V().hasLabel("S.B").in("ab").values("age").toList());
+        Assert.assertEquals(List.of(1.5D), this.sqlgGraph.traversal().E().hasLabel("ab").values("weight").toList());
+    }
+
+    @Test
+    public void testSnapshotIsUsedUntilTheTopologyChanges() throws Exception {
+        createTopology();
+        openWithSnapshot(false);
+        //change sqlg_schema behind sqlg's back, the graph's updatedOn does not change
+        renameAgeProperty();
+        openWithSnapshot(false);
+        Assert.assertTrue(this.sqlgGraph.getTopology().getPublicSchema().getVertexLabel("A").orElseThrow().getProperty("age").isPresent());
+        //a change of the topology makes the snapshot out of date
+        this.sqlgGraph.getTopology().getPublicSchema().getVertexLabel("A").orElseThrow()
+                .ensurePropertiesExist(Map.of("other", PropertyType.STRING));
+        this.sqlgGraph.tx().commit();
+        openWithSnapshot(false);
+        VertexLabel vertexLabel = this.sqlgGraph.getTopology().getPublicSchema().getVertexLabel("A").orElseThrow();
+        Assert.assertFalse(vertexLabel.getProperty("age").isPresent());
+        Assert.assertTrue(vertexLabel.getProperty("renamedAge").isPresent());
+        Assert.assertTrue(vertexLabel.getProperty("other").isPresent());
+    }
+
+    @Test
+    public void testUnreadableSnapshot() throws Exception {
+        createTopology();
+        Files.write(this.snapshot, "not a snapshot".getBytes());
+        openWithSnapshot(false);
+        String expected = describe(this.sqlgGraph.getTopology());
+        openWithSnapshot(false);
+        Assert.assertEquals(expected, describe(this.sqlgGraph.getTopology()));
+    }
+
+    @Test
+    public void testValidateTopologyOnRequest() throws Exception {
+        createTopology();
+        openWithSnapshot(true);
+        Assert.assertTrue(this.sqlgGraph.getTopology().getValidationErrors().isEmpty());
+        Connection conn = this.sqlgGraph.tx().getConnection();
+        try (Statement statement = conn.createStatement()) {
+            statement.execute("DROP TABLE " + this.sqlgGraph.getSqlDialect().maybeWrapInQoutes("S") + "." +
+                    this.sqlgGraph.getSqlDialect().maybeWrapInQoutes("V_C"));
+        }
+        this.sqlgGraph.tx().commit();
+        openWithSnapshot(true);
+        Assert.assertEquals(1, this.sqlgGraph.getTopology().getValidationErrors().size());
+    }
+
+    /**
+     * A vertex label with identifiers and indexes, an edge label to another schema and a vertex label without edges.
+     * The varChar property has no PropertyType once loaded from sqlg_schema, the snapshot keeps it that way.
+     */
+    private void createTopology() {
+        Schema schema = this.sqlgGraph.getTopology().ensureSchemaExist("S");
+        VertexLabel aVertexLabel = this.sqlgGraph.getTopology().getPublicSchema().ensureVertexLabelExist(
+                "A",
+                new LinkedHashMap<>() {{
+                    put("id1", PropertyType.INTEGER);
+                    put("id2", PropertyType.INTEGER);
+                    put("name", PropertyType.varChar(100));
+                    put("age", PropertyType.INTEGER);
+                }},
+                ListOrderedSet.listOrderedSet(Arrays.asList("id2", "id1"))
+        );
+        aVertexLabel.ensureIndexExists(IndexType.NON_UNIQUE, List.of(aVertexLabel.getProperty("age").orElseThrow()));
+        VertexLabel bVertexLabel = schema.ensureVertexLabelExist("B", Map.of("name", PropertyType.STRING));
+        EdgeLabel edgeLabel = aVertexLabel.ensureEdgeLabelExist(
+                "ab",
+                bVertexLabel,
+                new LinkedHashMap<>() {{
+                    put("uid", PropertyType.INTEGER);
+                    put("weight", PropertyType.DOUBLE);
+                }},
+                ListOrderedSet.listOrderedSet(Collections.singletonList("uid"))
+        );
+        edgeLabel.ensureIndexExists(IndexType.UNIQUE, List.of(edgeLabel.getProperty("weight").orElseThrow()));
+        schema.ensureVertexLabelExist("C", Map.of("name", PropertyType.STRING));
+        this.sqlgGraph.tx().commit();
+    }
+
+    private static String describe(Topology topology) {
+        StringBuilder result = new StringBuilder();
+        for (Schema schema : topology.getSchemas().stream().sorted(Comparator.comparing(Schema::getName)).collect(Collectors.toList())) {
+            List<AbstractLabel> abstractLabels = new ArrayList<>(schema.getVertexLabels().values());
+            abstractLabels.addAll(schema.getEdgeLabels().values());
+            abstractLabels.sort(Comparator.comparing(AbstractLabel::getFullName));
+            for (AbstractLabel abstractLabel : abstractLabels) {
+                result.append(abstractLabel.getFullName()).append(abstractLabel.getIdentifiers().asList());
+                for (PropertyColumn propertyColumn : new TreeMap<>(abstractLabel.getProperties()).values()) {
+                    result.append(propertyColumn.getName()).append(":")
+                            .append(propertyColumn.getPropertyType() == null ? null : propertyColumn.getPropertyType().name());
+                }
+                for (Index index : new TreeMap<>(abstractLabel.getIndexes()).values()) {
+                    result.append(index.getName()).append(index.getIndexType())
+                            .append(index.getProperties().stream().map(PropertyColumn::getName).collect(Collectors.toList()));
+                }
+                if (abstractLabel instanceof VertexLabel) {
+                    VertexLabel vertexLabel = (VertexLabel) abstractLabel;
+                    result.append(new TreeSet<>(vertexLabel.getOutEdgeLabels().keySet()))
+                            .append(new TreeSet<>(vertexLabel.getInEdgeLabels().keySet()));
+                } else {
+                    EdgeLabel edgeLabel = (EdgeLabel) abstractLabel;
+                    result.append(edgeLabel.getOutVertexLabels().stream().map(AbstractLabel::getFullName).sorted().collect(Collectors.toList()))
+                            .append(edgeLabel.getInVertexLabels().stream().map(AbstractLabel::getFullName).sorted().collect(Collectors.toList()));
+                }
+                result.append("\n");
+            }
+        }
+        return result.toString();
+    }
+
+    private void renameAgeProperty() throws SQLException {
+        Connection conn = this.sqlgGraph.tx().getConnection();
+        try (Statement statement = conn.createStatement()) {
+            statement.executeUpdate("UPDATE " +
+                    this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(Topology.SQLG_SCHEMA) + "." +
+                    this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(Topology.VERTEX_PREFIX + Topology.SQLG_SCHEMA_PROPERTY) + " SET " +
+                    this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(Topology.SQLG_SCHEMA_PROPERTY_NAME) + " = 'renamedAge' WHERE " +
+                    this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(Topology.SQLG_SCHEMA_PROPERTY_NAME) + " = 'age'");
+        }
+        this.sqlgGraph.tx().commit();
+    }
+
+    private void openWithSnapshot(boolean validateTopology) throws Exception {
+        this.sqlgGraph.close();
+        Configuration conf = getConfigurationClone();
+        conf.setProperty(TopologySnapshot.TOPOLOGY_SNAPSHOT, this.snapshot.toString());
+        conf.setProperty("validate.topology", validateTopology);
+        this.sqlgGraph = SqlgGraph.open(conf);
+    }
+}
@@ -0,0 +1,70 @@
+package org.umlg.sqlg.test.topology;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.SchemaTable;
+import org.umlg.sqlg.structure.topology.EdgeLabel;
+import org.umlg.sqlg.structure.topology.Schema;
+import org.umlg.sqlg.structure.topology.VertexLabel;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.umlg.sqlg.structure.topology.Topology.EDGE_PREFIX;
+import static org.umlg.sqlg.structure.topology.Topology.VERTEX_PREFIX;
+
+/**
+ * Tests the tables and their properties as seen by a thread with uncommitted schema changes.
+ */
+public class TestTopologyUncommittedTables extends BaseTest {
+
+    @Test
+    public void testUncommittedTables() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsTransactionalSchema());
+        Schema publicSchema = this.sqlgGraph.getTopology().getPublicSchema();
+        String schema = publicSchema.getName();
+        VertexLabel aVertexLabel = publicSchema.ensureVertexLabelExist("A", new HashMap<>() {{
+            put("name", PropertyType.STRING);
+        }});
+        VertexLabel bVertexLabel = publicSchema.ensureVertexLabelExist("B");
+        EdgeLabel abEdgeLabel = aVertexLabel.ensureEdgeLabelExist("ab", aVertexLabel, new HashMap<>() {{
+            put("weight", PropertyType.DOUBLE);
+        }});
+        this.sqlgGraph.tx().commit();
+
+        publicSchema.ensureVertexLabelExist("C", new HashMap<>() {{
+            put("x", PropertyType.INTEGER);
+        }});
+        aVertexLabel.ensurePropertiesExist(new HashMap<>() {{
+            put("age", PropertyType.INTEGER);
+        }});
+        abEdgeLabel.getProperty("weight").orElseThrow().remove(false);
+        bVertexLabel.remove(false);
+
+        Map<String, Map<String, PropertyType>> allTables = this.sqlgGraph.getTopology().getAllTables();
+        Assert.assertEquals(PropertyType.STRING, allTables.get(schema + "." + VERTEX_PREFIX + "A").get("name"));
+        Assert.assertEquals(PropertyType.INTEGER, allTables.get(schema + "." + VERTEX_PREFIX + "A").get("age"));
+        Assert.assertEquals(PropertyType.INTEGER, allTables.get(schema + "." + VERTEX_PREFIX + "C").get("x"));
+        Assert.assertTrue(allTables.containsKey(schema + "." + EDGE_PREFIX + "ab"));
+        Assert.assertTrue(allTables.get(schema + "." + EDGE_PREFIX + "ab").isEmpty());
+        Assert.assertFalse(allTables.containsKey(schema + "." + VERTEX_PREFIX + "B"));
+        Assert.assertNull(allTables.get(schema + "." + VERTEX_PREFIX + "D"));
+        Assert.assertTrue(allTables.keySet().contains(schema + "." + VERTEX_PREFIX + "C"));
+        Assert.assertFalse(allTables.keySet().contains(schema + "." + VERTEX_PREFIX + "B"));
+        Assert.assertEquals(
+                allTables.get(schema + "." + VERTEX_PREFIX + "A"),
+                this.sqlgGraph.getTopology().getTableFor(SchemaTable.of(schema, VERTEX_PREFIX + "A"))
+        );
+        Assert.assertTrue(this.sqlgGraph.getTopology().getTableFor(SchemaTable.of(schema, VERTEX_PREFIX + "B")).isEmpty());
+
+        this.sqlgGraph.tx().rollback();
+        allTables = this.sqlgGraph.getTopology().getAllTables();
+        Assert.assertFalse(allTables.containsKey(schema + "." + VERTEX_PREFIX + "C"));
+        Assert.assertTrue(allTables.containsKey(schema + "." + VERTEX_PREFIX + "B"));
+        Assert.assertFalse(allTables.get(schema + "." + VERTEX_PREFIX + "A").containsKey("age"));
+        Assert.assertEquals(PropertyType.DOUBLE, allTables.get(schema + "." + EDGE_PREFIX + "ab").get("weight"));
+    }
+}
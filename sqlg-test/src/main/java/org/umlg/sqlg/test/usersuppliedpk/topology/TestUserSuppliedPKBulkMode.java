@@ -115,6 +115,77 @@ public class TestUserSuppliedPKBulkMode extends BaseTest {
 
     }
 
+    @Test
+    public void testBulkUpdateDistinctValuesUserSuppliedBulkMode() {
+        this.sqlgGraph.getTopology().ensureVertexLabelExist(
+                "A",
+                new HashMap<String, PropertyType>() {{
+                    put("nameA", PropertyType.STRING);
+                    put("nameB", PropertyType.STRING);
+                    put("other", PropertyType.STRING);
+                }},
+                ListOrderedSet.listOrderedSet(Arrays.asList("nameA", "nameB"))
+        );
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        for (int i = 0; i < 2; i++) {
+            for (int j = 0; j < 2; j++) {
+                this.sqlgGraph.addVertex(T.label, "A", "nameA", "a" + i, "nameB", "b" + j, "other", "o");
+            }
+        }
+        this.sqlgGraph.tx().commit();
+
+        this.sqlgGraph.tx().normalBatchModeOn();
+        for (Vertex vertex : this.sqlgGraph.traversal().V().hasLabel("A").toList()) {
+            vertex.property("other", vertex.<String>value("nameA") + vertex.<String>value("nameB"));
+        }
+        this.sqlgGraph.tx().commit();
+
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").toList();
+        Assert.assertEquals(4, vertices.size());
+        for (Vertex vertex : vertices) {
+            Assert.assertEquals(vertex.<String>value("nameA") + vertex.<String>value("nameB"), vertex.value("other"));
+        }
+    }
+
+    @Test
+    public void testBulkUpdateDistinctValuesUserSuppliedBulkModeOnEdges() {
+        VertexLabel aVertexLabel = this.sqlgGraph.getTopology().ensureVertexLabelExist("A");
+        VertexLabel bVertexLabel = this.sqlgGraph.getTopology().ensureVertexLabelExist("B");
+        aVertexLabel.ensureEdgeLabelExist(
+                "ab",
+                bVertexLabel,
+                new HashMap<String, PropertyType>() {{
+                    put("nameA", PropertyType.STRING);
+                    put("nameB", PropertyType.STRING);
+                    put("other", PropertyType.STRING);
+                }},
+                ListOrderedSet.listOrderedSet(Arrays.asList("nameA", "nameB"))
+        );
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B");
+        for (int i = 0; i < 2; i++) {
+            for (int j = 0; j < 2; j++) {
+                a1.addEdge("ab", b1, "nameA", "a" + i, "nameB", "b" + j, "other", "o");
+            }
+        }
+        this.sqlgGraph.tx().commit();
+
+        this.sqlgGraph.tx().normalBatchModeOn();
+        for (Edge edge : this.sqlgGraph.traversal().E().hasLabel("ab").toList()) {
+            edge.property("other", edge.<String>value("nameA") + edge.<String>value("nameB"));
+        }
+        this.sqlgGraph.tx().commit();
+
+        List<Edge> edges = this.sqlgGraph.traversal().E().hasLabel("ab").toList();
+        Assert.assertEquals(4, edges.size());
+        for (Edge edge : edges) {
+            Assert.assertEquals(edge.<String>value("nameA") + edge.<String>value("nameB"), edge.value("other"));
+        }
+    }
+
     @Test
     public void testVertexLabelUserSuppliedBulkMode() {
         //noinspection Duplicates
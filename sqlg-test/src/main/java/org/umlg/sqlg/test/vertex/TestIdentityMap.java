@@ -0,0 +1,138 @@
+package org.umlg.sqlg.test.vertex;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.structure.IdentityMap;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Tests the transaction's identity map returning the same element instance for the rows of the same element.
+ */
+public class TestIdentityMap extends BaseTest {
+
+    @Test
+    public void testDisabledByDefault() {
+        createHub();
+        List<Map<String, Object>> result = selectHubAndLeaves();
+        Assert.assertNotSame(result.get(0).get("a"), result.get(1).get("a"));
+        Assert.assertEquals(0, this.sqlgGraph.tx().getIdentityMapSize());
+    }
+
+    @Test
+    public void testSameInstanceForTheSameElement() throws Exception {
+        createHub();
+        String expected = selectHubAndLeaves().toString();
+        this.sqlgGraph.tx().rollback();
+        openWithIdentityMap(1000);
+        List<Map<String, Object>> result = selectHubAndLeaves();
+        Assert.assertEquals(expected, result.toString());
+        Vertex hub = (Vertex) result.get(0).get("a");
+        for (Map<String, Object> row : result) {
+            Assert.assertSame(hub, row.get("a"));
+        }
+        Assert.assertEquals("a", hub.value("name"));
+        Assert.assertSame(hub, this.sqlgGraph.traversal().V().hasLabel("A").next());
+        List<Edge> edges = this.sqlgGraph.traversal().E().hasLabel("ab").toList();
+        Assert.assertSame(edges.get(0), this.sqlgGraph.traversal().E(edges.get(0).id()).next());
+        Assert.assertEquals(21, this.sqlgGraph.tx().getIdentityMapSize());
+        //a new transaction starts with an empty identity map
+        this.sqlgGraph.tx().rollback();
+        Assert.assertNotSame(hub, this.sqlgGraph.traversal().V().hasLabel("A").next());
+    }
+
+    @Test
+    public void testColumnsAreReadAgainByANewQuery() throws Exception {
+        openWithIdentityMap(1000);
+        createHub();
+        Vertex hub = this.sqlgGraph.traversal().V().hasLabel("A").next();
+        Assert.assertEquals("a", hub.value("name"));
+        rename();
+        Assert.assertSame(hub, this.sqlgGraph.traversal().V().hasLabel("A").next());
+        Assert.assertEquals("renamed", hub.value("name"));
+        //a query that only reads some columns does not remove the others
+        hub.property("surname", "s");
+        Assert.assertEquals(List.of("renamed"), this.sqlgGraph.traversal().V().hasLabel("A").values("name").toList());
+        Assert.assertEquals("s", hub.value("surname"));
+        this.sqlgGraph.tx().rollback();
+    }
+
+    @Test
+    public void testIdentityMapSize() throws Exception {
+        openWithIdentityMap(3);
+        createHub();
+        Assert.assertEquals(10, this.sqlgGraph.traversal().V().hasLabel("B").toList().size());
+        Assert.assertEquals(3, this.sqlgGraph.tx().getIdentityMapSize());
+        Assert.assertEquals(10, this.sqlgGraph.traversal().E().toList().size());
+        Assert.assertEquals(6, this.sqlgGraph.tx().getIdentityMapSize());
+        this.sqlgGraph.tx().rollback();
+    }
+
+    @Test
+    public void testSharedStartsInBranchSteps() throws Exception {
+        createHub();
+        Function<GraphTraversalSource, List<?>> choose = g -> g.V().hasLabel("B").in("ab")
+                .choose(__.out("ab").count().is(P.gt(5)), __.constant("hub"), __.constant("leaf"))
+                .toList();
+        Function<GraphTraversalSource, List<?>> optional = g -> g.V().hasLabel("B").in("ab")
+                .optional(__.out("ab").has("name", "b0"))
+                .values("name")
+                .toList();
+        List<?> expectedChoose = choose.apply(this.sqlgGraph.traversal());
+        List<?> expectedOptional = optional.apply(this.sqlgGraph.traversal());
+        Assert.assertEquals(10, expectedChoose.size());
+        this.sqlgGraph.tx().rollback();
+        openWithIdentityMap(1000);
+        Assert.assertEquals(expectedChoose, choose.apply(this.sqlgGraph.traversal()));
+        Assert.assertEquals(expectedOptional, optional.apply(this.sqlgGraph.traversal()));
+        this.sqlgGraph.tx().rollback();
+    }
+
+    /**
+     * Vertex a with an edge to each of the 10 b vertices.
+     */
+    private void createHub() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        for (int i = 0; i < 10; i++) {
+            a.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B", "name", "b" + i));
+        }
+        this.sqlgGraph.tx().commit();
+    }
+
+    private List<Map<String, Object>> selectHubAndLeaves() {
+        List<Map<String, Object>> result = this.sqlgGraph.traversal().V().hasLabel("A").as("a").out("ab").as("b").<Object>select("a", "b").toList();
+        Assert.assertEquals(10, result.size());
+        return result;
+    }
+
+    private void openWithIdentityMap(int size) throws Exception {
+        this.sqlgGraph.close();
+        Configuration conf = getConfigurationClone();
+        conf.setProperty(IdentityMap.IDENTITY_MAP_SIZE, size);
+        this.sqlgGraph = SqlgGraph.open(conf);
+    }
+
+    private void rename() throws SQLException {
+        Connection connection = this.sqlgGraph.tx().getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE " +
+                    this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(this.sqlgGraph.getSqlDialect().getPublicSchema()) + "." +
+                    this.sqlgGraph.getSqlDialect().maybeWrapInQoutes("V_A") + " SET " +
+                    this.sqlgGraph.getSqlDialect().maybeWrapInQoutes("name") + " = 'renamed'");
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.umlg.sqlg.test.vertex;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.structure.LoadGroup;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests id only elements of the same query loading their properties in groups.
+ */
+public class TestLoadGroup extends BaseTest {
+
+    private final Map<Object, String> names = new HashMap<>();
+
+    @Test
+    public void testInVerticesLoadAsAGroup() throws Exception {
+        List<Edge> edges = createEdges();
+        Assert.assertEquals(this.names.get(edges.get(0).inVertex().id()), edges.get(0).inVertex().value("name"));
+        renameAll();
+        //the group was loaded by the first inVertex, before the rename
+        for (Edge edge : edges) {
+            Assert.assertEquals(this.names.get(edge.inVertex().id()), edge.inVertex().value("name"));
+        }
+        this.sqlgGraph.tx().rollback();
+    }
+
+    @Test
+    public void testLoadGroupSize() throws Exception {
+        this.sqlgGraph.close();
+        Configuration conf = getConfigurationClone();
+        conf.setProperty(LoadGroup.LOAD_GROUP_SIZE, 3);
+        this.sqlgGraph = SqlgGraph.open(conf);
+        List<Edge> edges = createEdges();
+        Assert.assertEquals(this.names.get(edges.get(0).inVertex().id()), edges.get(0).inVertex().value("name"));
+        renameAll();
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(this.names.get(edges.get(i).inVertex().id()), edges.get(i).inVertex().value("name"));
+        }
+        for (int i = 3; i < 10; i++) {
+            Assert.assertEquals("renamed", edges.get(i).inVertex().value("name"));
+        }
+        this.sqlgGraph.tx().rollback();
+    }
+
+    @Test
+    public void testSameVertexAfterTheGroupLoaded() {
+        this.sqlgGraph.close();
+        Configuration conf = getConfigurationClone();
+        conf.setProperty(LoadGroup.LOAD_GROUP_SIZE, 3);
+        this.sqlgGraph = SqlgGraph.open(conf);
+        createEdges();
+        //Every edge's out vertex is the same hub, each row's copy must load its properties.
+        Iterator<Edge> edges = this.sqlgGraph.traversal().E().hasLabel("ba");
+        int count = 0;
+        while (edges.hasNext()) {
+            Assert.assertEquals("b", edges.next().outVertex().value("name"));
+            count++;
+        }
+        Assert.assertEquals(10, count);
+        this.sqlgGraph.tx().rollback();
+    }
+
+    @Test
+    public void testLoadGroupDisabled() throws Exception {
+        this.sqlgGraph.close();
+        Configuration conf = getConfigurationClone();
+        conf.setProperty(LoadGroup.LOAD_GROUP_SIZE, 0);
+        this.sqlgGraph = SqlgGraph.open(conf);
+        List<Edge> edges = createEdges();
+        Assert.assertEquals(this.names.get(edges.get(0).inVertex().id()), edges.get(0).inVertex().value("name"));
+        renameAll();
+        for (int i = 1; i < 10; i++) {
+            Assert.assertEquals("renamed", edges.get(i).inVertex().value("name"));
+        }
+        this.sqlgGraph.tx().rollback();
+    }
+
+    @Test
+    public void testRemovedVertexInGroup() {
+        List<Edge> edges = createEdges();
+        Object removedId = edges.get(5).inVertex().id();
+        this.sqlgGraph.traversal().V(removedId).drop().iterate();
+        Assert.assertEquals(this.names.get(edges.get(0).inVertex().id()), edges.get(0).inVertex().value("name"));
+        try {
+            edges.get(5).inVertex().value("name");
+            Assert.fail("the vertex was removed");
+        } catch (IllegalStateException e) {
+            //expected
+        }
+        this.sqlgGraph.tx().rollback();
+    }
+
+    private List<Edge> createEdges() {
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        for (int i = 0; i < 10; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+            b.addEdge("ba", a);
+            this.names.put(a.id(), "a" + i);
+        }
+        this.sqlgGraph.tx().commit();
+        List<Edge> edges = this.sqlgGraph.traversal().V(b).outE("ba").toList();
+        Assert.assertEquals(10, edges.size());
+        return edges;
+    }
+
+    private void renameAll() throws SQLException {
+        Connection connection = this.sqlgGraph.tx().getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE " +
+                    this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(this.sqlgGraph.getSqlDialect().getPublicSchema()) + "." +
+                    this.sqlgGraph.getSqlDialect().maybeWrapInQoutes("V_A") + " SET " +
+                    this.sqlgGraph.getSqlDialect().maybeWrapInQoutes("name") + " = 'renamed'");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.umlg.sqlg.test.vertexout;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.step.SqlgVertexStep;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests the SqlgVertexStep pulling its starts in batches of {@link SqlgVertexStep#VERTEX_STEP_BATCH_SIZE}.
+ */
+public class TestVertexStepBatchSize extends BaseTest {
+
+    private static final int BATCH_SIZE = 3;
+
+    @Before
+    public void before() throws Exception {
+        super.before();
+        this.sqlgGraph.close();
+        Configuration conf = getConfigurationClone();
+        conf.setProperty(SqlgVertexStep.VERTEX_STEP_BATCH_SIZE, BATCH_SIZE);
+        this.sqlgGraph = SqlgGraph.open(conf);
+        this.gt = this.sqlgGraph.traversal();
+    }
+
+    @Test
+    public void testVertexStepBatchesTheStarts() {
+        List<Vertex> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+            for (int j = 0; j < 2; j++) {
+                Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b" + i + "_" + j);
+                Vertex c = this.sqlgGraph.addVertex(T.label, "C", "name", "c" + i + "_" + j);
+                a.addEdge("ab", b);
+                a.addEdge("ac", c);
+                expected.add(b);
+                expected.add(c);
+            }
+        }
+        this.sqlgGraph.tx().commit();
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").out().toList();
+        Assert.assertEquals(40, vertices.size());
+        Assert.assertTrue(vertices.containsAll(expected));
+
+        List<String> names = this.sqlgGraph.traversal().V().hasLabel("A").order().by("name").out("ab").<String>values("name").toList();
+        Assert.assertEquals(20, names.size());
+        //The starts are ordered, the results must stay in the order of the starts over all the batches.
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(names.get(i * 2).startsWith("b" + i + "_"));
+            Assert.assertTrue(names.get(i * 2 + 1).startsWith("b" + i + "_"));
+        }
+    }
+
+    @Test
+    public void testVertexStepBatchesWithRange() {
+        for (int i = 0; i < 10; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+            for (int j = 0; j < 2; j++) {
+                Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b" + i + "_" + j);
+                a.addEdge("ab", b);
+            }
+        }
+        this.sqlgGraph.tx().commit();
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").out("ab").limit(7).toList();
+        Assert.assertEquals(7, vertices.size());
+        vertices = this.sqlgGraph.traversal().V().hasLabel("A").out("ab").range(5, 13).toList();
+        Assert.assertEquals(8, vertices.size());
+        List<String> names = this.sqlgGraph.traversal().V().hasLabel("A").out("ab").order().by("name", Order.desc).limit(3).<String>values("name").toList();
+        Assert.assertEquals(List.of("b9_1", "b9_0", "b8_1"), names);
+        long count = this.sqlgGraph.traversal().V().hasLabel("A").out("ab").count().next();
+        Assert.assertEquals(20, count);
+    }
+}